@@ -63,6 +63,16 @@ public final class Environment {
 	 */
 	public static final String QUEUEINGPROCESSOR_BATCHSIZE = "hibernate.search.batch_size";
 
+	/**
+	 * Number of threads used to send the changes of a transaction to the different
+	 * indexes (or shards) it affects in parallel, instead of one index after the other.
+	 * <ul>
+	 * <li>failures are reported to the ErrorHandler per index</li>
+	 * <li>default 1: indexes are processed sequentially</li>
+	 * </ul>
+	 */
+	public static final String INDEX_DISPATCH_THREADPOOL_SIZE = "hibernate.search.index_dispatch.thread_pool.size";
+
 	/**
 	 * Thread pool size
 	 * default 1
@@ -78,6 +88,28 @@ public final class Environment {
 	 */
 	public static final String WORKER_WORKQUEUE_SIZE = Environment.WORKER_PREFIX + "buffer_queue.max";
 
+	/**
+	 * When enabled, transactions applying changes to the same index while a commit
+	 * is in progress are applied to the IndexWriter and then share the next commit,
+	 * instead of each committing on its own.
+	 * <ul>
+	 * <li>only used when execution is sync: each transaction still waits for its changes to be committed</li>
+	 * <li>default false</li>
+	 * </ul>
+	 */
+	public static final String WORKER_GROUP_COMMIT = Environment.WORKER_PREFIX + "group_commit";
+
+	/**
+	 * When enabled, the operations of a transaction (or batch) are split in one contiguous slice
+	 * per worker thread, and each slice is applied in a single task, instead of submitting
+	 * each operation to the worker threads on its own.
+	 * <ul>
+	 * <li>see also WORKER_THREADPOOL_SIZE</li>
+	 * <li>default false</li>
+	 * </ul>
+	 */
+	public static final String WORKER_CHUNKED_EXECUTION = Environment.WORKER_PREFIX + "chunked_execution";
+
 	/**
 	 * define the reader prefix
 	 */
@@ -89,7 +121,34 @@ public final class Environment {
 	public static final String READER_STRATEGY = READER_PREFIX + "." + "strategy";
 
 	/**
-	 * filter caching strategy class (must have a no-arg constructor and implement FilterCachingStrategy)
+	 * Only used by the <code>background-refresh</code> reader strategy: the interval in milliseconds
+	 * at which the shared IndexReader is refreshed to see changes not committed by the local backend,
+	 * as when the index is updated by a master node. Set it to 0 to refresh only after local commits,
+	 * which also trigger a refresh in background.
+	 * This is an index-scoped property and defaults to 1000.
+	 */
+	public static final String READER_REFRESH_INTERVAL = READER_PREFIX + "." + "refresh_interval_ms";
+
+	/**
+	 * Comma separated list of the IndexReaderWarmer implementations applied to the new segments
+	 * of a refreshed IndexReader before it's made available to queries: <code>field-cache</code> for
+	 * the fields derived from the mapping, or a class name (must have a no-arg constructor and
+	 * implement IndexReaderWarmer).
+	 * Used by the <code>shared</code> and <code>background-refresh</code> reader strategies and by the
+	 * near-real-time IndexManager. This is an index-scoped property; by default no warming is done.
+	 */
+	public static final String READER_WARMER = READER_PREFIX + "." + "warmer";
+
+	/**
+	 * Comma separated list of the fields used to sort on strings, which the <code>field-cache</code>
+	 * IndexReaderWarmer loads in the FieldCache in addition to the fields derived from the mapping.
+	 * This is an index-scoped property.
+	 */
+	public static final String READER_WARMER_SORT_FIELDS = READER_WARMER + "." + "sort_fields";
+
+	/**
+	 * filter caching strategy: <code>mru</code> (default), <code>concurrent</code> or a class
+	 * (must have a no-arg constructor and implement FilterCachingStrategy)
 	 */
 	public static final String FILTER_CACHING_STRATEGY = "hibernate.search.filter.cache_strategy";
 
@@ -98,6 +157,60 @@ public final class Environment {
 	 */
 	public static final String CACHE_DOCIDRESULTS_SIZE = "hibernate.search.filter.cache_docidresults.size";
 
+	/**
+	 * number of query results kept in hard reference by the query result cache; more results are
+	 * kept in soft reference. Only used by queries enabling the cache, see {@link org.hibernate.search.query.engine.spi.HSQuery#useResultCache(boolean)}.
+	 */
+	public static final String QUERY_RESULT_CACHE_SIZE = "hibernate.search.query.result_cache.size";
+
+	/**
+	 * Number of threads searching in parallel the indexes (or shards) targeted by a query; the
+	 * hits found in each index are then merged. The threads are shared by all queries.
+	 * <ul>
+	 * <li>default 0: each query searches its indexes sequentially, in the calling thread</li>
+	 * </ul>
+	 */
+	public static final String QUERY_PARALLEL_THREADPOOL_SIZE = "hibernate.search.query.parallel.thread_pool_size";
+
+	/**
+	 * When set to true, the queries searching this index collect the hits of its segments in parallel,
+	 * using the threads of {@link #QUERY_PARALLEL_THREADPOOL_SIZE}, if the index holds at least
+	 * {@link #QUERY_PARALLEL_SEGMENTS_MIN_DOCS} documents. A query can enable it on all the indexes it
+	 * targets, see {@link org.hibernate.search.query.engine.spi.HSQuery#parallelSegments(boolean)}.
+	 * This is an index-scoped property and defaults to false.
+	 */
+	public static final String QUERY_PARALLEL_SEGMENTS = "query.parallel_segments";
+
+	/**
+	 * The minimum number of documents, deleted ones included, of an index for its segments to be
+	 * searched in parallel: see {@link #QUERY_PARALLEL_SEGMENTS}.
+	 * This is an index-scoped property and defaults to 100000.
+	 */
+	public static final String QUERY_PARALLEL_SEGMENTS_MIN_DOCS = "query.parallel_segments.min_docs";
+
+	/**
+	 * When set to true, the queries loading their results from a database stream the hits in chunks to
+	 * the loader: the next chunk of hits is read from the index while the entities of the previous one are loaded,
+	 * in a pool of {@link #QUERY_PARALLEL_THREADPOOL_SIZE} threads separate from the parallel searches.
+	 * A query can override it, see {@code FullTextQuery#setPipelinedLoading(boolean)}.
+	 * <ul>
+	 * <li>default false: all the hits are read from the index before loading the entities</li>
+	 * </ul>
+	 */
+	public static final String QUERY_PIPELINED_LOADING = "hibernate.search.query.pipelined_loading";
+
+	/**
+	 * Number of threads running the queries executed asynchronously, see
+	 * {@link org.hibernate.search.query.engine.spi.HSQuery#queryEntityInfosAsync()}. The threads are shared
+	 * by all queries, and only search the indexes: the entities are still loaded by the thread owning the session.
+	 * When too many queries are waiting for a thread, the {@code Future} of the next ones fails right away.
+	 * <ul>
+	 * <li>default the number of available processors</li>
+	 * <li>0: asynchronous queries are run in the calling thread, and return an already completed {@code Future}</li>
+	 * </ul>
+	 */
+	public static final String QUERY_ASYNC_THREADPOOL_SIZE = "hibernate.search.query.async.thread_pool_size";
+
 	/**
 	 * When set to true a lock on the index will not be released until the
 	 * SearchFactory (or SessionFactory) is closed.
@@ -210,4 +323,22 @@ public final class Environment {
 	 * </ul>
 	 */
 	public static final String INDEX_MANAGER_IMPL_NAME = "indexmanager";
+
+	/**
+	 * Only used by the near-real-time IndexManager: the interval in milliseconds at which
+	 * changes applied to the IndexWriter are made visible to new IndexReaders.
+	 * When set to 0 (the default) the IndexReader is refreshed after each transaction;
+	 * otherwise a background task refreshes it at most once per interval, and only
+	 * when some change was applied.
+	 * This is an index-scoped property.
+	 */
+	public static final String NRT_REFRESH_INTERVAL = "nrt_refresh_interval_ms";
+
+	/**
+	 * Only used by the near-real-time IndexManager when {@link #NRT_REFRESH_INTERVAL} is set:
+	 * when enabled, a query opening an IndexReader while some changes are not yet visible
+	 * waits for the next refresh, so that it can see all changes applied to the index so far.
+	 * This is an index-scoped property and defaults to false.
+	 */
+	public static final String NRT_READ_YOUR_WRITES = "nrt_read_your_writes";
 }
@@ -31,7 +31,7 @@ package org.hibernate.search.annotations;
 public enum FieldCacheType {
 
 	/**
-	 * Disable all caching options. (ie CLASS, ID)
+	 * Disable all caching options. (ie CLASS, ID, PROJECTIONS)
 	 * CacheFromIndex(NOTHING) or CacheFromIndex(value=FieldCacheType[]{}) are equivalent.
 	 */
 	NOTHING,
@@ -47,5 +47,14 @@ public enum FieldCacheType {
 	 * Attempts to the object identifier (@DocumentId).
 	 * Not all identifier types are supported.
 	 */
-	ID
+	ID,
+
+	/**
+	 * Serve the projections on stored, single-valued and untokenized fields from the
+	 * {@code FieldCache} rather than reading the stored fields of each hit: this applies to
+	 * {@code @NumericField}s and to the fields using a built-in two-way String bridge.
+	 * The other projected fields are still read from the stored fields.
+	 * The values of the projected fields of all documents are kept in memory.
+	 */
+	PROJECTIONS
 }
@@ -97,6 +97,24 @@ public class BackendFactory {
 		return !"async".equalsIgnoreCase( properties.getProperty( Environment.WORKER_EXECUTION ) );
 	}
 	
+	/**
+	 * @param properties the configuration to parse
+	 * @return true if synchronous transactions should share a single commit when possible
+	 * @see Environment#WORKER_GROUP_COMMIT
+	 */
+	public static boolean isConfiguredWithGroupCommit(Properties properties) {
+		return ConfigurationParseHelper.getBooleanValue( properties, Environment.WORKER_GROUP_COMMIT, false );
+	}
+	
+	/**
+	 * @param properties the configuration to parse
+	 * @return true if work lists should be applied in one slice per worker thread
+	 * @see Environment#WORKER_CHUNKED_EXECUTION
+	 */
+	public static boolean isConfiguredWithChunkedExecution(Properties properties) {
+		return ConfigurationParseHelper.getBooleanValue( properties, Environment.WORKER_CHUNKED_EXECUTION, false );
+	}
+	
 	/**
 	 * Builds an ExecutorService to run backend work. 
 	 * @param properties Might optionally contain configuration options for the ExecutorService
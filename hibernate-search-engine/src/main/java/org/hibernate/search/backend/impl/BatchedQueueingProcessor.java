@@ -23,14 +23,21 @@
  */
 package org.hibernate.search.backend.impl;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 import org.hibernate.search.Environment;
 import org.hibernate.search.backend.LuceneWork;
 import org.hibernate.search.backend.spi.Work;
+import org.hibernate.search.batchindexing.impl.Executors;
 import org.hibernate.search.engine.spi.EntityIndexBinder;
+import org.hibernate.search.exception.ErrorHandler;
+import org.hibernate.search.indexes.spi.IndexManager;
 import org.hibernate.search.store.IndexShardingStrategy;
 import org.hibernate.search.util.configuration.impl.ConfigurationParseHelper;
 import org.hibernate.search.util.logging.impl.Log;
@@ -51,9 +58,39 @@ public class BatchedQueueingProcessor implements QueueingProcessor {
 
 	private final Map<Class<?>, EntityIndexBinder> entityIndexBinders;
 
-	public BatchedQueueingProcessor(Map<Class<?>, EntityIndexBinder> entityIndexBinders, Properties properties) {
+	private final ErrorHandler errorHandler;
+
+	/**
+	 * Sends the operations of a transaction to the different IndexManagers in parallel;
+	 * null when parallel dispatch is not enabled.
+	 */
+	private final ExecutorService indexDispatcher;
+
+	/**
+	 * Number of IndexManagers the operations are split across: used to presize the per-index queues
+	 */
+	private final int indexCount;
+
+	public BatchedQueueingProcessor(Map<Class<?>, EntityIndexBinder> entityIndexBinders, Properties properties, ErrorHandler errorHandler) {
 		this.entityIndexBinders = entityIndexBinders;
+		this.errorHandler = errorHandler;
 		batchSize = ConfigurationParseHelper.getIntValue( properties, Environment.QUEUEINGPROCESSOR_BATCHSIZE, 0 );
+		int dispatchThreads = ConfigurationParseHelper.getIntValue( properties, Environment.INDEX_DISPATCH_THREADPOOL_SIZE, 1 );
+		if ( dispatchThreads > 1 ) {
+			indexDispatcher = Executors.newFixedThreadPool( dispatchThreads, "Index dispatcher" );
+		}
+		else {
+			indexDispatcher = null;
+		}
+		indexCount = countIndexManagers( entityIndexBinders );
+	}
+
+	private static int countIndexManagers(Map<Class<?>, EntityIndexBinder> entityIndexBinders) {
+		Set<IndexManager> indexManagers = Collections.newSetFromMap( new IdentityHashMap<IndexManager, Boolean>() );
+		for ( EntityIndexBinder binder : entityIndexBinders.values() ) {
+			Collections.addAll( indexManagers, binder.getIndexManagers() );
+		}
+		return Math.max( 1, indexManagers.size() );
 	}
 
 	public void add(Work work, WorkQueue workQueue) {
@@ -85,7 +122,9 @@ public class BatchedQueueingProcessor implements QueueingProcessor {
 			sb.append( "]" );
 			log.trace( sb.toString() );
 		}
-		WorkQueuePerIndexSplitter context = new WorkQueuePerIndexSplitter();
+		// assumes the operations are spread evenly, the queues grow as needed otherwise
+		int expectedIndexQueueSize = ( sealedQueue.size() + indexCount - 1 ) / indexCount;
+		WorkQueuePerIndexSplitter context = new WorkQueuePerIndexSplitter( indexDispatcher, errorHandler, expectedIndexQueueSize );
 		for ( LuceneWork work : sealedQueue ) {
 			final Class<?> entityType = work.getEntityClass();
 			EntityIndexBinder entityIndexBinding = entityIndexBinders.get( entityType );
@@ -100,4 +139,10 @@ public class BatchedQueueingProcessor implements QueueingProcessor {
 		workQueue.clear();
 	}
 
+	public void close() {
+		if ( indexDispatcher != null ) {
+			indexDispatcher.shutdown();
+		}
+	}
+
 }
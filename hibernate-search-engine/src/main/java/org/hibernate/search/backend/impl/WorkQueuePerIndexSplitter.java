@@ -20,14 +20,22 @@
  */
 package org.hibernate.search.backend.impl;
 
+import java.util.ArrayList;
 import java.util.IdentityHashMap;
-import java.util.LinkedList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.hibernate.search.backend.IndexingMonitor;
 import org.hibernate.search.backend.LuceneWork;
+import org.hibernate.search.exception.ErrorHandler;
+import org.hibernate.search.exception.impl.ErrorContextBuilder;
 import org.hibernate.search.indexes.spi.IndexManager;
+import org.hibernate.search.util.logging.impl.Log;
+import org.hibernate.search.util.logging.impl.LoggerFactory;
 
 /**
  * Used by {@link ContextAwareSelectionDelegate} to split a list of operations
@@ -36,16 +44,37 @@ import org.hibernate.search.indexes.spi.IndexManager;
  * @author Sanne Grinovero <sanne@hibernate.org> (C) 2011 Red Hat Inc.
  */
 public class WorkQueuePerIndexSplitter {
-	
+
+	private static final Log log = LoggerFactory.make();
+
 	private IdentityHashMap<IndexManager,List<LuceneWork>> queues = new IdentityHashMap<IndexManager,List<LuceneWork>>();
 
+	private final ExecutorService dispatcher;
+	private final ErrorHandler errorHandler;
+	private final int expectedIndexQueueSize;
+
+	public WorkQueuePerIndexSplitter() {
+		this( null, null, 1 );
+	}
+
+	/**
+	 * @param dispatcher when not null, used to send the operations to the different IndexManagers in parallel
+	 * @param errorHandler receives the failures of each IndexManager when dispatching in parallel
+	 * @param expectedIndexQueueSize the expected number of operations for each IndexManager: used to presize the queues
+	 */
+	public WorkQueuePerIndexSplitter(ExecutorService dispatcher, ErrorHandler errorHandler, int expectedIndexQueueSize) {
+		this.dispatcher = dispatcher;
+		this.errorHandler = errorHandler;
+		this.expectedIndexQueueSize = expectedIndexQueueSize;
+	}
+
 	/**
 	 * @param indexManager
 	 */
 	public List<LuceneWork> getIndexManagerQueue(IndexManager indexManager) {
 		List<LuceneWork> list = queues.get( indexManager );
 		if ( list == null ) {
-			list = new LinkedList<LuceneWork>();
+			list = new ArrayList<LuceneWork>( expectedIndexQueueSize );
 			queues.put( indexManager, list );
 		}
 		return list;
@@ -54,11 +83,74 @@ public class WorkQueuePerIndexSplitter {
 	/**
 	 * Send all operations stored so far to the backend to be performed, atomically and/or transactionally
 	 * if supported/enabled by each specific backend.
+	 * When a dispatcher is available and multiple IndexManagers are involved, they are all
+	 * sent their operations in parallel: this method returns when all of them are done.
 	 */
 	public void commitOperations(IndexingMonitor monitor) {
-		// FIXME move executor here to parallel work - optionally? See HSEARCH-826
-		for ( Entry<IndexManager,List<LuceneWork>> entry : queues.entrySet() ) {
-			entry.getKey().performOperations( entry.getValue(), monitor );
+		if ( dispatcher == null || queues.size() < 2 ) {
+			for ( Entry<IndexManager,List<LuceneWork>> entry : queues.entrySet() ) {
+				entry.getKey().performOperations( entry.getValue(), monitor );
+			}
+		}
+		else {
+			commitOperationsInParallel( monitor );
+		}
+	}
+
+	private void commitOperationsInParallel(IndexingMonitor monitor) {
+		List<Future<?>> futures = new ArrayList<Future<?>>( queues.size() - 1 );
+		List<List<LuceneWork>> dispatchedQueues = new ArrayList<List<LuceneWork>>( queues.size() - 1 );
+		Iterator<Entry<IndexManager,List<LuceneWork>>> iterator = queues.entrySet().iterator();
+		// the first index is processed by the current thread, which would otherwise just be waiting
+		Entry<IndexManager,List<LuceneWork>> localEntry = iterator.next();
+		while ( iterator.hasNext() ) {
+			Entry<IndexManager,List<LuceneWork>> entry = iterator.next();
+			futures.add( dispatcher.submit( new IndexDispatchTask( entry.getKey(), entry.getValue(), monitor ) ) );
+			dispatchedQueues.add( entry.getValue() );
+		}
+		try {
+			localEntry.getKey().performOperations( localEntry.getValue(), monitor );
+		}
+		catch (RuntimeException re) {
+			handleFailure( re, localEntry.getValue() );
+		}
+		for ( int i = 0; i < futures.size(); i++ ) {
+			try {
+				futures.get( i ).get();
+			}
+			catch (ExecutionException ee) {
+				handleFailure( ee.getCause(), dispatchedQueues.get( i ) );
+			}
+			catch (InterruptedException ie) {
+				log.interruptedWhileWaitingForIndexActivity( ie );
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	private void handleFailure(Throwable cause, List<LuceneWork> failedQueue) {
+		ErrorContextBuilder builder = new ErrorContextBuilder();
+		builder.errorThatOccurred( cause );
+		builder.addAllWorkThatFailed( failedQueue );
+		builder.allWorkToBeDone( failedQueue );
+		errorHandler.handle( builder.createErrorContext() );
+	}
+
+	private static final class IndexDispatchTask implements Runnable {
+
+		private final IndexManager indexManager;
+		private final List<LuceneWork> queue;
+		private final IndexingMonitor monitor;
+
+		IndexDispatchTask(IndexManager indexManager, List<LuceneWork> queue, IndexingMonitor monitor) {
+			this.indexManager = indexManager;
+			this.queue = queue;
+			this.monitor = monitor;
+		}
+
+		public void run() {
+			indexManager.performOperations( queue, monitor );
 		}
 	}
 
@@ -0,0 +1,80 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.backend.impl.lucene;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.hibernate.search.backend.IndexingMonitor;
+import org.hibernate.search.backend.LuceneWork;
+
+/**
+ * The work list of a single transaction waiting to be applied to the index
+ * by the {@link LuceneBackendGroupCommitTask}.
+ * The thread which enqueued it can wait for it to be applied and committed.
+ */
+final class Changeset {
+
+	private final List<LuceneWork> workList;
+	private final IndexingMonitor monitor;
+	private final CountDownLatch processed = new CountDownLatch( 1 );
+	private volatile boolean discarded = false;
+
+	Changeset(List<LuceneWork> workList, IndexingMonitor monitor) {
+		this.workList = workList;
+		this.monitor = monitor;
+	}
+
+	List<LuceneWork> getWorkList() {
+		return workList;
+	}
+
+	IndexingMonitor getMonitor() {
+		return monitor;
+	}
+
+	/**
+	 * Invoked by the backend after the commit including this changeset was performed,
+	 * or when it has been dealt with by the ErrorHandler.
+	 */
+	void markProcessed() {
+		processed.countDown();
+	}
+
+	/**
+	 * Invoked when the backend is closed before this changeset could be applied.
+	 */
+	void markDiscarded() {
+		discarded = true;
+		processed.countDown();
+	}
+
+	/**
+	 * Blocks the invoking thread until {@link #markProcessed()} or {@link #markDiscarded()} is invoked.
+	 *
+	 * @return false if the changeset was discarded without being applied
+	 */
+	boolean waitForProcessing() throws InterruptedException {
+		processed.await();
+		return ! discarded;
+	}
+
+}
@@ -21,6 +21,7 @@
 package org.hibernate.search.backend.impl.lucene;
 
 import java.io.IOException;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.SimpleAnalyzer;
@@ -64,18 +65,33 @@ class IndexWriterHolder {
 	private final ParameterSet indexParameters;
 	private final DirectoryProvider directoryProvider;
 	private final String indexName;
+	private final DirectoryBasedIndexManager indexManager;
 	
 	// variable state:
 	
 	/**
-	 * Current open IndexWriter, or null when closed. Guarded by synchronization.
+	 * Current open IndexWriter, or null when closed.
+	 * Can be read without locking; changes are guarded by writerInitializationLock.
 	 */
-	private IndexWriter writer;
+	private volatile IndexWriter writer;
+
+	/**
+	 * Guards the opening and closing of the IndexWriter; not needed to lookup an already open one.
+	 */
+	private final ReentrantLock writerInitializationLock = new ReentrantLock();
+
+	/**
+	 * Serializes commits: an in-flight commit doesn't block IndexWriter lookups
+	 * nor the opening of NRT IndexReaders.
+	 * When both locks are needed, writerInitializationLock is acquired first.
+	 */
+	private final ReentrantLock commitLock = new ReentrantLock();
 
 
 	IndexWriterHolder(ErrorHandler errorHandler, DirectoryBasedIndexManager indexManager) {
 		this.errorHandler = errorHandler;
 		this.indexName = indexManager.getIndexName();
+		this.indexManager = indexManager;
 		this.luceneParameters = indexManager.getIndexingParameters();
 		this.indexParameters = luceneParameters.getIndexParameters();
 		this.directoryProvider = indexManager.getDirectoryProvider();
@@ -95,18 +111,30 @@ class IndexWriterHolder {
 	 *  Is an optional parameter.
 	 * @return a new IndexWriter or one already open.
 	 */
-	public synchronized IndexWriter getIndexWriter(ErrorContextBuilder errorContextBuilder) {
-		if ( writer != null )
-			return writer;
+	public IndexWriter getIndexWriter(ErrorContextBuilder errorContextBuilder) {
+		IndexWriter indexWriter = writer;
+		if ( indexWriter != null ) {
+			return indexWriter;
+		}
+		writerInitializationLock.lock();
 		try {
-			writer = createNewIndexWriter();
-			log.trace( "IndexWriter opened" );
+			indexWriter = writer;
+			if ( indexWriter == null ) {
+				try {
+					indexWriter = createNewIndexWriter();
+					writer = indexWriter;
+					log.trace( "IndexWriter opened" );
+				}
+				catch ( IOException ioe ) {
+					indexWriter = null;
+					handleIOException( ioe, errorContextBuilder );
+				}
+			}
+			return indexWriter;
 		}
-		catch ( IOException ioe ) {
-			writer = null;
-			handleIOException( ioe, errorContextBuilder );
+		finally {
+			writerInitializationLock.unlock();
 		}
-		return writer;
 	}
 
 	public IndexWriter getIndexWriter() {
@@ -132,17 +160,28 @@ class IndexWriterHolder {
 	 * Commits changes to a previously opened IndexWriter.
 	 * @param errorContextBuilder use it to handle exceptions, as it might contain a reference to the work performed before the commit
 	 */
-	//TODO HSEARCH-852 : a commit should not block a getIndexWriter: split the locking
-	public synchronized void commitIndexWriter(ErrorContextBuilder errorContextBuilder) {
-		if ( writer != null ) {
-			try {
-				writer.commit();
-				log.trace( "Index changes commited." );
-			}
-			catch ( IOException ioe ) {
-				handleIOException( ioe, errorContextBuilder );
+	public void commitIndexWriter(ErrorContextBuilder errorContextBuilder) {
+		boolean committed = false;
+		commitLock.lock();
+		try {
+			IndexWriter indexWriter = writer;
+			if ( indexWriter != null ) {
+				try {
+					indexWriter.commit();
+					committed = true;
+					log.trace( "Index changes commited." );
+				}
+				catch ( IOException ioe ) {
+					handleIOException( ioe, errorContextBuilder );
+				}
 			}
 		}
+		finally {
+			commitLock.unlock();
+		}
+		if ( committed ) {
+			indexManager.indexCommitted();
+		}
 	}
 
 	/**
@@ -155,52 +194,84 @@ class IndexWriterHolder {
 	/**
 	 * Closes a previously opened IndexWriter.
 	 */
-	public synchronized void closeIndexWriter() {
-		IndexWriter toClose = writer;
-		writer = null;
-		if ( toClose != null ) {
+	public void closeIndexWriter() {
+		boolean committed = false;
+		writerInitializationLock.lock();
+		try {
+			// make sure we're not closing it during a commit
+			commitLock.lock();
 			try {
-				toClose.close();
-				log.trace( "IndexWriter closed" );
+				IndexWriter toClose = writer;
+				writer = null;
+				if ( toClose != null ) {
+					try {
+						toClose.close();
+						committed = true;
+						log.trace( "IndexWriter closed" );
+					}
+					catch ( IOException ioe ) {
+						forceLockRelease();
+						handleIOException( ioe, null );
+					}
+				}
 			}
-			catch ( IOException ioe ) {
-				forceLockRelease();
-				handleIOException( ioe, null );
+			finally {
+				commitLock.unlock();
 			}
 		}
+		finally {
+			writerInitializationLock.unlock();
+		}
+		if ( committed ) {
+			// closing the IndexWriter commits pending changes
+			indexManager.indexCommitted();
+		}
 	}
 
 	/**
 	 * Forces release of Directory lock. Should be used only to cleanup as error recovery.
 	 */
-	public synchronized void forceLockRelease() {
+	public void forceLockRelease() {
 		log.forcingReleaseIndexWriterLock();
+		writerInitializationLock.lock();
 		try {
+			commitLock.lock();
 			try {
-				if ( writer != null ) {
-					writer.close();
-					log.trace( "IndexWriter closed" );
+				try {
+					if ( writer != null ) {
+						writer.close();
+						log.trace( "IndexWriter closed" );
+					}
+				}
+				finally {
+					writer = null; //make sure to send a faulty writer into garbage
+					IndexWriter.unlock( directoryProvider.getDirectory() );
 				}
 			}
 			finally {
-				writer = null; //make sure to send a faulty writer into garbage
-				IndexWriter.unlock( directoryProvider.getDirectory() );
+				commitLock.unlock();
 			}
 		}
 		catch (IOException ioe) {
 			handleIOException( ioe, null );
 		}
+		finally {
+			writerInitializationLock.unlock();
+		}
 	}
 
 	/**
 	 * Opens an IndexReader having visibility on uncommitted writes from
 	 * the IndexWriter, if any writer is open, or null if no IndexWriter is open.
 	 */
-	//TODO HSEARCH-852 : fine grained synchronization
-	public synchronized IndexReader openNRTIndexReader(boolean applyDeletes) {
+	public IndexReader openNRTIndexReader(boolean applyDeletes) {
+		// an NRT IndexReader can be opened while a commit is in progress,
+		// but we need to make sure the IndexWriter isn't being closed
+		writerInitializationLock.lock();
 		try {
-			if ( writer != null ) {
-				return IndexReader.open( writer, applyDeletes );
+			IndexWriter indexWriter = writer;
+			if ( indexWriter != null ) {
+				return IndexReader.open( indexWriter, applyDeletes );
 			}
 			else {
 				return null;
@@ -214,6 +285,9 @@ class IndexWriterHolder {
 		catch ( IOException ioe ) {
 			throw log.ioExceptionOnIndex( ioe, indexName );
 		}
+		finally {
+			writerInitializationLock.unlock();
+		}
 	}
 
 	/**
@@ -0,0 +1,150 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.backend.impl.lucene;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.locks.Lock;
+
+import org.apache.lucene.index.IndexWriter;
+import org.hibernate.search.backend.LuceneWork;
+import org.hibernate.search.exception.impl.ErrorContextBuilder;
+import org.hibernate.search.util.logging.impl.Log;
+import org.hibernate.search.util.logging.impl.LoggerFactory;
+
+/**
+ * Version of LuceneBackendQueueTask used by synchronous backends having group commit enabled.
+ * Each task applies all the Changesets pending at the time it's run, and then performs
+ * a single commit for all of them: transactions enqueued while a commit is in progress
+ * are applied to the IndexWriter and share the next commit.
+ * The threads waiting on each Changeset are released only after that commit.
+ * When a previous task already applied the pending Changesets this one has nothing to do.
+ */
+final class LuceneBackendGroupCommitTask implements Runnable {
+
+	private static final Log log = LoggerFactory.make();
+
+	private final Queue<Changeset> pendingChangesets;
+	private final LuceneBackendResources resources;
+	private final Lock modificationLock;
+
+	LuceneBackendGroupCommitTask(Queue<Changeset> pendingChangesets, LuceneBackendResources resources) {
+		this.pendingChangesets = pendingChangesets;
+		this.resources = resources;
+		this.modificationLock = resources.getParallelModificationLock();
+	}
+
+	public void run() {
+		modificationLock.lock();
+		try {
+			List<Changeset> changesets = drainPendingChangesets();
+			if ( changesets.isEmpty() ) {
+				return;
+			}
+			try {
+				applyChangesets( changesets );
+			}
+			catch ( InterruptedException e ) {
+				log.interruptedWhileWaitingForIndexActivity( e );
+				Thread.currentThread().interrupt();
+				handleException( changesets, e );
+			}
+			catch ( Exception e ) {
+				log.backendError( e );
+				handleException( changesets, e );
+			}
+			finally {
+				for ( Changeset changeset : changesets ) {
+					changeset.markProcessed();
+				}
+			}
+		}
+		finally {
+			modificationLock.unlock();
+		}
+	}
+
+	private List<Changeset> drainPendingChangesets() {
+		List<Changeset> changesets = new ArrayList<Changeset>();
+		Changeset changeset = pendingChangesets.poll();
+		while ( changeset != null ) {
+			changesets.add( changeset );
+			changeset = pendingChangesets.poll();
+		}
+		return changesets;
+	}
+
+	private void handleException(List<Changeset> changesets, Exception e) {
+		ErrorContextBuilder builder = new ErrorContextBuilder();
+		builder.allWorkToBeDone( allWork( changesets ) );
+		builder.errorThatOccurred( e );
+		resources.getErrorHandler().handle( builder.createErrorContext() );
+	}
+
+	/**
+	 * Applies all changesets in order on the same IndexWriter, then commits once.
+	 * Errors happening on a single changeset are reported in the context of the
+	 * changeset only.
+	 * @throws InterruptedException
+	 */
+	private void applyChangesets(List<Changeset> changesets) throws InterruptedException {
+		AbstractWorkspaceImpl workspace = resources.getWorkspace();
+
+		ErrorContextBuilder errorContextBuilder = new ErrorContextBuilder();
+		errorContextBuilder.allWorkToBeDone( allWork( changesets ) );
+
+		IndexWriter indexWriter = workspace.getIndexWriter( errorContextBuilder );
+		if ( indexWriter == null ) {
+			log.cannotOpenIndexWriterCausePreviousError();
+			return;
+		}
+		boolean someFailureHappened = false;
+		try {
+			for ( Changeset changeset : changesets ) {
+				List<LuceneWork> workList = changeset.getWorkList();
+				ErrorContextBuilder changesetErrorContextBuilder = new ErrorContextBuilder();
+				changesetErrorContextBuilder.allWorkToBeDone( workList );
+				boolean failed = LuceneBackendQueueTask.applyWorkList(
+						workList, resources, indexWriter, changeset.getMonitor(), changesetErrorContextBuilder
+				);
+				if ( failed ) {
+					someFailureHappened = true;
+				}
+				else {
+					workspace.optimizerPhase();
+				}
+			}
+		}
+		finally {
+			workspace.afterTransactionApplied( someFailureHappened, false );
+		}
+	}
+
+	private static List<LuceneWork> allWork(List<Changeset> changesets) {
+		List<LuceneWork> allWork = new ArrayList<LuceneWork>();
+		for ( Changeset changeset : changesets ) {
+			allWork.addAll( changeset.getWorkList() );
+		}
+		return allWork;
+	}
+
+}
@@ -25,8 +25,11 @@ package org.hibernate.search.backend.impl.lucene;
 
 import java.util.List;
 import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.locks.Lock;
 
 import org.hibernate.search.SearchException;
@@ -55,11 +58,15 @@ public class LuceneBackendQueueProcessor implements BackendQueueProcessor {
 
 	private volatile LuceneBackendResources resources;
 	private boolean sync;
+	private boolean groupCommit;
+	private final Queue<Changeset> pendingChangesets = new ConcurrentLinkedQueue<Changeset>();
+	private volatile boolean closed = false;
 	private AbstractWorkspaceImpl workspaceOverride;
 	private LuceneBackendTaskStreamer streamWorker;
 
 	public void initialize(Properties props, WorkerBuildContext context, DirectoryBasedIndexManager indexManager) {
 		sync = BackendFactory.isConfiguredAsSync( props );
+		groupCommit = sync && BackendFactory.isConfiguredWithGroupCommit( props );
 		if ( workspaceOverride == null ) {
 			workspaceOverride = WorkspaceFactory.createWorkspace(
 					indexManager, context, props
@@ -70,7 +77,18 @@ public class LuceneBackendQueueProcessor implements BackendQueueProcessor {
 	}
 
 	public void close() {
-		resources.shutdown();
+		closed = true;
+		try {
+			resources.shutdown();
+		}
+		finally {
+			// no task is left to apply them: release the threads waiting for them
+			Changeset changeset = pendingChangesets.poll();
+			while ( changeset != null ) {
+				changeset.markDiscarded();
+				changeset = pendingChangesets.poll();
+			}
+		}
 	}
 
 	@Override
@@ -86,6 +104,10 @@ public class LuceneBackendQueueProcessor implements BackendQueueProcessor {
 		if ( workList == null ) {
 			throw new IllegalArgumentException( "workList should not be null" );
 		}
+		if ( groupCommit ) {
+			applyWorkWithGroupCommit( workList, monitor );
+			return;
+		}
 		LuceneBackendQueueTask luceneBackendQueueProcessor = new LuceneBackendQueueTask(
 				workList,
 				resources,
@@ -109,6 +131,46 @@ public class LuceneBackendQueueProcessor implements BackendQueueProcessor {
 		}
 	}
 
+	/**
+	 * Enqueues the work as a Changeset and waits for it to be committed; the commit might be
+	 * shared with the other Changesets enqueued meanwhile.
+	 * The Changeset is enqueued before the task, so that the task can't miss it; if the task
+	 * can't run the Changeset is taken back, unless a previous task already took it.
+	 */
+	private void applyWorkWithGroupCommit(List<LuceneWork> workList, IndexingMonitor monitor) {
+		Changeset changeset = new Changeset( workList, monitor );
+		pendingChangesets.add( changeset );
+		if ( closed ) {
+			takeBack( changeset, null );
+		}
+		else {
+			try {
+				resources.getQueueingExecutor().execute( new LuceneBackendGroupCommitTask( pendingChangesets, resources ) );
+			}
+			catch (RejectedExecutionException e) {
+				takeBack( changeset, e );
+			}
+		}
+		try {
+			if ( ! changeset.waitForProcessing() ) {
+				throw new SearchException( "The backend was closed before the changes were applied to the Lucene index" );
+			}
+		}
+		catch ( InterruptedException e ) {
+			log.interruptedWhileWaitingForIndexActivity( e );
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Removes a Changeset no task will apply, unless a previous task or {@link #close()} took it already.
+	 */
+	private void takeBack(Changeset changeset, RejectedExecutionException e) {
+		if ( pendingChangesets.remove( changeset ) ) {
+			throw new SearchException( "Unable to queue the changes to the Lucene index: the backend is closed or its queue is full", e );
+		}
+	}
+
 	@Override
 	public Lock getExclusiveWriteLock() {
 		return resources.getExclusiveModificationLock();
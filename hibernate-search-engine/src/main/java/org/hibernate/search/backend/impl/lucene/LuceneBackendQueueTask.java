@@ -23,7 +23,7 @@
  */
 package org.hibernate.search.backend.impl.lucene;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -33,6 +33,8 @@ import java.util.concurrent.locks.Lock;
 import org.apache.lucene.index.IndexWriter;
 import org.hibernate.search.backend.IndexingMonitor;
 import org.hibernate.search.backend.LuceneWork;
+import org.hibernate.search.backend.impl.lucene.works.DeletionBatch;
+import org.hibernate.search.backend.impl.lucene.works.LuceneWorkDelegate;
 import org.hibernate.search.util.logging.impl.LoggerFactory;
 import org.hibernate.search.util.logging.impl.Log;
 import org.hibernate.search.exception.impl.ErrorContextBuilder;
@@ -101,41 +103,149 @@ final class LuceneBackendQueueTask implements Runnable {
 			log.cannotOpenIndexWriterCausePreviousError();
 			return;
 		}
-		LinkedList<LuceneWork> failedUpdates = null;
+		boolean someFailureHappened = false;
 		try {
-			ExecutorService executor = resources.getWorkersExecutor();
-			int queueSize = queue.size();
-			Future[] submittedTasks = new Future[ queueSize ];
-			for ( int i = 0; i < queueSize; i++ ) {
-				SingleTaskRunnable task = new SingleTaskRunnable( queue.get( i ), resources, indexWriter, monitor );
-				submittedTasks[i] = executor.submit( task );
+			someFailureHappened = applyWorkList( queue, resources, indexWriter, monitor, errorContextBuilder );
+			if ( ! someFailureHappened ) {
+				workspace.optimizerPhase();
+			}
+		}
+		finally {
+			workspace.afterTransactionApplied( someFailureHappened, false );
+		}
+	}
+
+	/**
+	 * Applies the operations of a single work list to an already open IndexWriter,
+	 * in parallel using the workers executor; it doesn't commit the changes.
+	 * Failures are reported to the ErrorHandler using the provided errorContextBuilder.
+	 *
+	 * @return true if any of the operations failed
+	 * @throws InterruptedException
+	 */
+	static boolean applyWorkList(List<LuceneWork> queue, LuceneBackendResources resources, IndexWriter indexWriter,
+			IndexingMonitor monitor, ErrorContextBuilder errorContextBuilder) throws InterruptedException {
+		// the queue might not support efficient random access
+		LuceneWork[] works = queue.toArray( new LuceneWork[queue.size()] );
+		Throwable[] failures = new Throwable[works.length];
+		LuceneWorkDelegate[] delegates = applyDeletions( works, failures, resources, indexWriter );
+		if ( resources.isChunkedExecution() ) {
+			applyInSlices( works, delegates, failures, resources, indexWriter, monitor );
+		}
+		else {
+			applyEachSeparately( works, delegates, failures, resources, indexWriter, monitor );
+		}
+		List<LuceneWork> failedUpdates = null;
+		for ( int i = 0; i < works.length; i++ ) {
+			if ( failures[i] == null ) {
+				errorContextBuilder.workCompleted( works[i] );
 			}
-			// now wait for all tasks being completed before releasing our lock
-			// (this thread waits even in async backend mode)
-			for ( int i = 0; i < queueSize; i++ ) {
-				Future task = submittedTasks[i];
-				try {
-					task.get();
-					errorContextBuilder.workCompleted( queue.get( i ) );
+			else {
+				if ( failedUpdates == null ) {
+					failedUpdates = new ArrayList<LuceneWork>();
 				}
-				catch (ExecutionException e) {
-					if ( failedUpdates == null ) {
-						failedUpdates = new LinkedList<LuceneWork>();
-					}
-					failedUpdates.add( queue.get( i ) );
-					errorContextBuilder.errorThatOccurred( e.getCause() );
+				failedUpdates.add( works[i] );
+				errorContextBuilder.errorThatOccurred( failures[i] );
+			}
+		}
+		if ( failedUpdates != null ) {
+			errorContextBuilder.addAllWorkThatFailed( failedUpdates );
+			resources.getErrorHandler().handle( errorContextBuilder.createErrorContext() );
+			return true;
+		}
+		else {
+			return false;
+		}
+	}
+
+	/**
+	 * Applies the deletions of all the operations at once, before the other operations: see
+	 * {@link DeletionBatch}. If they fail, all the operations they belong to are failed.
+	 *
+	 * @return for each operation, the delegate applying what remains of it, or null if nothing remains
+	 */
+	private static LuceneWorkDelegate[] applyDeletions(LuceneWork[] works, Throwable[] failures,
+			LuceneBackendResources resources, IndexWriter indexWriter) {
+		DeletionBatch deletions = resources.getVisitor().startDeletionBatch();
+		LuceneWorkDelegate[] delegates = new LuceneWorkDelegate[works.length];
+		for ( int i = 0; i < works.length; i++ ) {
+			delegates[i] = works[i].getWorkDelegate( deletions );
+		}
+		try {
+			deletions.applyDeletions( indexWriter );
+		}
+		catch (RuntimeException e) {
+			for ( int i = 0; i < works.length; i++ ) {
+				if ( deletions.isBatched( works[i] ) ) {
+					failures[i] = e;
+					delegates[i] = null;
 				}
 			}
-			if ( failedUpdates != null ) {
-				errorContextBuilder.addAllWorkThatFailed( failedUpdates );
-				resources.getErrorHandler().handle( errorContextBuilder.createErrorContext() );
+		}
+		return delegates;
+	}
+
+	/**
+	 * Submits each operation to the workers executor on its own.
+	 */
+	private static void applyEachSeparately(LuceneWork[] works, LuceneWorkDelegate[] delegates, Throwable[] failures,
+			LuceneBackendResources resources, IndexWriter indexWriter, IndexingMonitor monitor) throws InterruptedException {
+		ExecutorService executor = resources.getWorkersExecutor();
+		int queueSize = works.length;
+		Future[] submittedTasks = new Future[ queueSize ];
+		for ( int i = 0; i < queueSize; i++ ) {
+			if ( delegates[i] != null ) {
+				SingleTaskRunnable task = new SingleTaskRunnable( works[i], delegates[i], indexWriter, monitor );
+				submittedTasks[i] = executor.submit( task );
+			}
+		}
+		// now wait for all tasks being completed before releasing our lock
+		// (this thread waits even in async backend mode)
+		for ( int i = 0; i < queueSize; i++ ) {
+			if ( submittedTasks[i] == null ) {
+				continue;
+			}
+			try {
+				submittedTasks[i].get();
 			}
-			else {
-				workspace.optimizerPhase();
+			catch (ExecutionException e) {
+				failures[i] = e.getCause();
 			}
 		}
-		finally {
-			workspace.afterTransactionApplied( failedUpdates != null, false );
+	}
+
+	/**
+	 * Splits the operations in one contiguous slice per worker thread; each slice is applied
+	 * in a single task, so we don't pay the executor overhead for each operation.
+	 */
+	private static void applyInSlices(LuceneWork[] works, LuceneWorkDelegate[] delegates, Throwable[] failures,
+			LuceneBackendResources resources, IndexWriter indexWriter, IndexingMonitor monitor) throws InterruptedException {
+		int queueSize = works.length;
+		int slices = Math.min( resources.getWorkersThreadPoolSize(), queueSize );
+		if ( slices <= 1 ) {
+			// not worth a thread handoff
+			new WorkSliceRunnable( works, delegates, 0, queueSize, failures, indexWriter, monitor ).run();
+			return;
+		}
+		ExecutorService executor = resources.getWorkersExecutor();
+		Future[] submittedTasks = new Future[ slices ];
+		for ( int s = 0; s < slices; s++ ) {
+			int from = (int) ( (long) queueSize * s / slices );
+			int to = (int) ( (long) queueSize * ( s + 1 ) / slices );
+			submittedTasks[s] = executor.submit( new WorkSliceRunnable( works, delegates, from, to, failures, indexWriter, monitor ) );
+		}
+		for ( int s = 0; s < slices; s++ ) {
+			try {
+				submittedTasks[s].get();
+			}
+			catch (ExecutionException e) {
+				// not a failure of a single operation: consider the whole slice as failed
+				int from = (int) ( (long) queueSize * s / slices );
+				int to = (int) ( (long) queueSize * ( s + 1 ) / slices );
+				for ( int i = from; i < to; i++ ) {
+					failures[i] = e.getCause();
+				}
+			}
 		}
 	}
 
@@ -57,6 +57,8 @@ public final class LuceneBackendResources {
 	private final ExecutorService queueingExecutor;
 	private final ExecutorService workersExecutor;
 	private final int maxQueueLength;
+	private final int workersThreadPoolSize;
+	private final boolean chunkedExecution;
 	private final String indexName;
 
 	private final ReadLock readLock;
@@ -70,6 +72,8 @@ public final class LuceneBackendResources {
 		this.maxQueueLength = CommonPropertiesParse.extractMaxQueueSize( indexName, props );
 		this.queueingExecutor = Executors.newFixedThreadPool( 1, "Index updates queue processor for index " + indexName, maxQueueLength );
 		this.workersExecutor = BackendFactory.buildWorkersExecutor( props, indexName );
+		this.workersThreadPoolSize = BackendFactory.getWorkerThreadPoolSize( props );
+		this.chunkedExecution = BackendFactory.isConfiguredWithChunkedExecution( props );
 		ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
 		readLock = readWriteLock.readLock();
 		writeLock = readWriteLock.writeLock();
@@ -83,6 +87,8 @@ public final class LuceneBackendResources {
 		this.maxQueueLength = previous.maxQueueLength;
 		this.queueingExecutor = previous.queueingExecutor;
 		this.workersExecutor = previous.workersExecutor;
+		this.workersThreadPoolSize = previous.workersThreadPoolSize;
+		this.chunkedExecution = previous.chunkedExecution;
 		this.readLock = previous.readLock;
 		this.writeLock = previous.writeLock;
 	}
@@ -95,6 +101,18 @@ public final class LuceneBackendResources {
 		return workersExecutor;
 	}
 
+	public int getWorkersThreadPoolSize() {
+		return workersThreadPoolSize;
+	}
+
+	/**
+	 * @return true if work lists should be split in one slice per worker thread,
+	 * rather than submitting each operation to the workers executor on its own.
+	 */
+	public boolean isChunkedExecution() {
+		return chunkedExecution;
+	}
+
 	public int getMaxQueueLength() {
 		return maxQueueLength;
 	}
@@ -22,15 +22,24 @@ package org.hibernate.search.backend.impl.lucene;
 
 import java.io.IOException;
 import java.util.Properties;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock.ReadLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock.WriteLock;
 
 import org.apache.lucene.index.CorruptIndexException;
 import org.apache.lucene.index.IndexReader;
+import org.hibernate.search.Environment;
+import org.hibernate.search.batchindexing.impl.Executors;
 import org.hibernate.search.indexes.impl.DirectoryBasedIndexManager;
+import org.hibernate.search.indexes.impl.IndexReaderWarming;
 import org.hibernate.search.indexes.spi.DirectoryBasedReaderProvider;
 import org.hibernate.search.spi.WorkerBuildContext;
+import org.hibernate.search.util.configuration.impl.ConfigurationParseHelper;
+import org.hibernate.search.util.configuration.impl.MaskedProperty;
 import org.hibernate.search.util.logging.impl.Log;
 import org.hibernate.search.util.logging.impl.LoggerFactory;
 
@@ -46,6 +55,9 @@ import org.hibernate.search.util.logging.impl.LoggerFactory;
  * 
  * Since the backend is forced to create a reference IndexReader after each (skipped) commit,
  * some IndexReaders might be opened without being ever used.
+ * When a refresh interval is configured via {@link Environment#NRT_REFRESH_INTERVAL}
+ * the reference IndexReader is instead refreshed by a background task, at most once per interval:
+ * the cost of reopening then depends on time rather than on the number of transactions.
  * 
  * This class implements both Workspace and ReaderProvider.
  * 
@@ -64,9 +76,51 @@ public class NRTWorkspaceImpl extends AbstractWorkspaceImpl implements Directory
 	//guardedBy readLock/writeLok
 	private IndexReader currentReferenceReader = null;
 
+	/**
+	 * Interval in milliseconds between background refreshes, or 0 to refresh after each transaction.
+	 */
+	private final long refreshInterval;
+	private final boolean readYourWrites;
+
+	/**
+	 * Counts the transactions applied to the IndexWriter, to be compared with
+	 * refreshedTransactions to know if the reference IndexReader is stale.
+	 */
+	private final AtomicLong appliedTransactions = new AtomicLong( 0L );
+
+	//guardedBy refreshMonitor, but can be read without it to check for staleness
+	private volatile long refreshedTransactions = 0L;
+	private final Object refreshMonitor = new Object();
+
+	// only started when a refreshInterval is set
+	private ScheduledExecutorService refresher;
+
+	private final IndexReaderWarming warming;
+
 	public NRTWorkspaceImpl(DirectoryBasedIndexManager indexManager, WorkerBuildContext buildContext, Properties cfg) {
 		super( indexManager, buildContext, cfg );
 		indexName = indexManager.getIndexName();
+		refreshInterval = ConfigurationParseHelper.getIntValue( cfg, Environment.NRT_REFRESH_INTERVAL, 0 );
+		readYourWrites = refreshInterval > 0 && ConfigurationParseHelper.getBooleanValue( cfg, Environment.NRT_READ_YOUR_WRITES, false );
+		warming = IndexReaderWarming.create( indexManager, new MaskedProperty( cfg, Environment.READER_PREFIX ) );
+	}
+
+	/**
+	 * Starts the background refresh of the reference IndexReader, if a refresh interval is configured.
+	 * @param backendModificationLock the exclusive lock of the backend using this workspace: the refresh
+	 * needs to acquire it so that each IndexReader includes only fully applied transactions.
+	 */
+	public void startBackgroundRefresh(final Lock backendModificationLock) {
+		if ( refreshInterval <= 0 ) {
+			return;
+		}
+		refresher = Executors.newScheduledThreadPool( 1, "Near-real-time IndexReader refresher for index " + indexName );
+		refresher.scheduleWithFixedDelay( new Runnable() {
+				@Override
+				public void run() {
+					refreshIfStale( backendModificationLock );
+				}
+			}, refreshInterval, refreshInterval, TimeUnit.MILLISECONDS );
 	}
 
 	@Override
@@ -76,13 +130,65 @@ public class NRTWorkspaceImpl extends AbstractWorkspaceImpl implements Directory
 		}
 		else {
 			if ( ! streaming ) {
+				if ( refresher == null ) {
+					flush();
+				}
+				else {
+					// the background refresher will pick it up
+					appliedTransactions.incrementAndGet();
+				}
+			}
+		}
+	}
+
+	private boolean isStale() {
+		return appliedTransactions.get() != refreshedTransactions;
+	}
+
+	private void refreshIfStale(Lock backendModificationLock) {
+		if ( ! isStale() ) {
+			return;
+		}
+		try {
+			backendModificationLock.lock();
+			try {
 				flush();
 			}
+			finally {
+				backendModificationLock.unlock();
+			}
+		}
+		catch (RuntimeException e) {
+			// don't propagate it as it would cancel the scheduled refreshes
+			log.unableToRefreshNRTIndexReader( e, indexName );
+		}
+	}
+
+	/**
+	 * When read-your-writes is enabled and some transaction was applied after the last
+	 * refresh, waits for the next refresh to happen.
+	 */
+	private void waitForPendingRefresh() {
+		final long target = appliedTransactions.get();
+		synchronized ( refreshMonitor ) {
+			while ( refreshedTransactions < target && ! refresher.isShutdown() ) {
+				try {
+					refreshMonitor.wait( refreshInterval );
+				}
+				catch ( InterruptedException e ) {
+					log.interruptedWhileWaitingForIndexActivity( e );
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
 		}
 	}
 
 	@Override
 	public IndexReader openIndexReader() {
+		if ( readYourWrites && isStale() ) {
+			waitForPendingRefresh();
+		}
 		// we need to readLock to read the state of the currentReferenceReader
 		readLock.lock(); // balanced by the finally block
 		boolean readlockAcquired = true;
@@ -97,7 +203,9 @@ public class NRTWorkspaceImpl extends AbstractWorkspaceImpl implements Directory
 				try {
 					// check again as we had to release the lock after the first check:
 					if ( currentReferenceReader == null) {
-						currentReferenceReader = writerHolder.openDirectoryIndexReader();
+						IndexReader reader = writerHolder.openDirectoryIndexReader();
+						warming.warm( reader );
+						currentReferenceReader = reader;
 					}
 				}
 				finally {
@@ -151,6 +259,17 @@ public class NRTWorkspaceImpl extends AbstractWorkspaceImpl implements Directory
 
 	@Override
 	public void stop() {
+		if ( refresher != null ) {
+			// don't interrupt a running refresh, as it would close the Directory's file channels
+			refresher.shutdown();
+			try {
+				refresher.awaitTermination( Long.MAX_VALUE, TimeUnit.SECONDS );
+			}
+			catch ( InterruptedException e ) {
+				log.interruptedWhileWaitingForIndexActivity( e );
+				Thread.currentThread().interrupt();
+			}
+		}
 		writeLock.lock();
 		try {
 			closeIndexReader( currentReferenceReader );
@@ -162,16 +281,25 @@ public class NRTWorkspaceImpl extends AbstractWorkspaceImpl implements Directory
 
 	@Override
 	public void flush() {
+		final long refreshingTransactions = appliedTransactions.get();
 		IndexReader newIndexReader = writerHolder.openNRTIndexReader( true );
+		readLock.lock();
+		try {
+			warming.warmNewSegments( currentReferenceReader, newIndexReader );
+		}
+		finally {
+			readLock.unlock();
+		}
 		writeLock.lock();
 		IndexReader oldReader = currentReferenceReader;
 		currentReferenceReader = newIndexReader;
 		writeLock.unlock();
-		try {
-			oldReader.close();
-		}
-		catch ( IOException e ) {
-			log.unableToCLoseLuceneIndexReader( e );
+		closeIndexReader( oldReader );
+		synchronized ( refreshMonitor ) {
+			if ( refreshingTransactions > refreshedTransactions ) {
+				refreshedTransactions = refreshingTransactions;
+			}
+			refreshMonitor.notifyAll();
 		}
 	}
 
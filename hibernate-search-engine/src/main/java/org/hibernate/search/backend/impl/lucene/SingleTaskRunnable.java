@@ -23,6 +23,7 @@ package org.hibernate.search.backend.impl.lucene;
 import org.apache.lucene.index.IndexWriter;
 import org.hibernate.search.backend.IndexingMonitor;
 import org.hibernate.search.backend.LuceneWork;
+import org.hibernate.search.backend.impl.lucene.works.LuceneWorkDelegate;
 
 /**
  * Applies an update operation to the IndexWriter
@@ -32,20 +33,20 @@ import org.hibernate.search.backend.LuceneWork;
 public class SingleTaskRunnable implements Runnable {
 	
 	private final LuceneWork work;
-	private final LuceneBackendResources resources;
+	private final LuceneWorkDelegate delegate;
 	private final IndexWriter indexWriter;
 	private final IndexingMonitor monitor;
 
-	public SingleTaskRunnable(LuceneWork work, LuceneBackendResources resources, IndexWriter indexWriter, IndexingMonitor monitor) {
+	public SingleTaskRunnable(LuceneWork work, LuceneWorkDelegate delegate, IndexWriter indexWriter, IndexingMonitor monitor) {
 		this.work = work;
-		this.resources = resources;
+		this.delegate = delegate;
 		this.indexWriter = indexWriter;
 		this.monitor = monitor;
 	}
 
 	@Override
 	public void run() {
-		work.getWorkDelegate( resources.getVisitor() ).performWork( work, indexWriter, monitor );
+		delegate.performWork( work, indexWriter, monitor );
 	}
 
 }
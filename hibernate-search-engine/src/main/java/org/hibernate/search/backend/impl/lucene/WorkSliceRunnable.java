@@ -0,0 +1,77 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.backend.impl.lucene;
+
+import org.apache.lucene.index.IndexWriter;
+import org.hibernate.search.backend.IndexingMonitor;
+import org.hibernate.search.backend.LuceneWork;
+import org.hibernate.search.backend.impl.lucene.works.LuceneWorkDelegate;
+
+/**
+ * Applies a contiguous slice of a work list to the IndexWriter, one operation after the other.
+ * A failing operation doesn't prevent the next ones from being applied: its cause, even an Error,
+ * is stored in the failures array at the same position of the operation, as it would be
+ * by the Future of an operation submitted on its own.
+ */
+final class WorkSliceRunnable implements Runnable {
+
+	private final LuceneWork[] works;
+	private final LuceneWorkDelegate[] delegates;
+	private final int from;
+	private final int to;
+	private final Throwable[] failures;
+	private final IndexWriter indexWriter;
+	private final IndexingMonitor monitor;
+
+	/**
+	 * @param works the whole work list
+	 * @param delegates the delegate applying each operation, by position; null to skip the operation
+	 * @param from index of the first operation to apply, inclusive
+	 * @param to index of the last operation to apply, exclusive
+	 * @param failures where failures are stored, by position
+	 */
+	WorkSliceRunnable(LuceneWork[] works, LuceneWorkDelegate[] delegates, int from, int to, Throwable[] failures,
+			IndexWriter indexWriter, IndexingMonitor monitor) {
+		this.works = works;
+		this.delegates = delegates;
+		this.from = from;
+		this.to = to;
+		this.failures = failures;
+		this.indexWriter = indexWriter;
+		this.monitor = monitor;
+	}
+
+	@Override
+	public void run() {
+		for ( int i = from; i < to; i++ ) {
+			if ( delegates[i] == null ) {
+				continue;
+			}
+			try {
+				delegates[i].performWork( works[i], indexWriter, monitor );
+			}
+			catch (Throwable e) {
+				failures[i] = e;
+			}
+		}
+	}
+
+}
@@ -26,12 +26,10 @@ package org.hibernate.search.backend.impl.lucene.works;
 import java.io.Serializable;
 
 import org.apache.lucene.index.IndexWriter;
-import org.apache.lucene.index.Term;
 import org.hibernate.annotations.common.AssertionFailure;
 import org.hibernate.search.SearchException;
 import org.hibernate.search.backend.IndexingMonitor;
 import org.hibernate.search.backend.LuceneWork;
-import org.hibernate.search.bridge.util.impl.NumericFieldUtils;
 import org.hibernate.search.engine.spi.DocumentBuilderIndexedEntity;
 import org.hibernate.search.store.Workspace;
 import org.hibernate.search.util.logging.impl.LoggerFactory;
@@ -65,12 +63,7 @@ public final class DeleteExtWorkDelegate extends DeleteWorkDelegate {
 		Serializable id = work.getId();
 		log.tracef( "Removing %s#%s by id using an IndexWriter.", managedType, id );
 		try {
-			if( idIsNumeric ) {
-				writer.deleteDocuments( NumericFieldUtils.createExactMatchQuery( builder.getIdKeywordName(), id ) );
-			} else {
-				Term idTerm = new Term( builder.getIdKeywordName(), work.getIdInString() );
-				writer.deleteDocuments( idTerm );
-			}
+			writer.deleteDocuments( createIdTerm( builder, idIsNumeric, work ) );
 			workspace.incrementModificationCounter( 1 );
 		}
 		catch ( Exception e ) {
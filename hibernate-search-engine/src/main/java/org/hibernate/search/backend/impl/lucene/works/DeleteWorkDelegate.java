@@ -100,4 +100,16 @@ class DeleteWorkDelegate implements LuceneWorkDelegate {
 		return idBridge instanceof NumericFieldBridge;
 	}
 
+	/**
+	 * @return the Term matching the documents of the entity targeted by the work, whatever its type
+	 */
+	protected static Term createIdTerm(DocumentBuilderIndexedEntity<?> documentBuilder, boolean idIsNumeric, LuceneWork work) {
+		if ( idIsNumeric ) {
+			return NumericFieldUtils.createExactMatchTerm( documentBuilder.getIdKeywordName(), work.getId() );
+		}
+		else {
+			return new Term( documentBuilder.getIdKeywordName(), work.getIdInString() );
+		}
+	}
+
 }
@@ -0,0 +1,219 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.backend.impl.lucene.works;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.CachingWrapperFilter;
+import org.apache.lucene.search.Filter;
+import org.apache.lucene.search.FilteredQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.QueryWrapperFilter;
+import org.apache.lucene.search.TermQuery;
+
+import org.hibernate.search.ProjectionConstants;
+import org.hibernate.search.SearchException;
+import org.hibernate.search.backend.AddLuceneWork;
+import org.hibernate.search.backend.DeleteLuceneWork;
+import org.hibernate.search.backend.FlushLuceneWork;
+import org.hibernate.search.backend.LuceneWork;
+import org.hibernate.search.backend.OptimizeLuceneWork;
+import org.hibernate.search.backend.PurgeAllLuceneWork;
+import org.hibernate.search.backend.UpdateLuceneWork;
+import org.hibernate.search.backend.impl.WorkVisitor;
+import org.hibernate.search.engine.spi.DocumentBuilderIndexedEntity;
+import org.hibernate.search.store.Workspace;
+import org.hibernate.search.util.logging.impl.Log;
+import org.hibernate.search.util.logging.impl.LoggerFactory;
+
+/**
+ * Collects the deletions of a work list, to apply them to the IndexWriter in a single call
+ * before the other operations, rather than one delete query for each operation, each resolved
+ * on all the segments when the IndexWriter flushes.
+ * <p/>
+ * When single term deletes are safe the documents are deleted by their id terms; otherwise
+ * the ids of each entity type are looked for in the documents of that type only, using a class
+ * filter cached per segment across work lists.
+ * <p/>
+ * The delegates returned by this visitor apply what remains of each operation once the
+ * deletions are applied; they are null for the operations fully applied by {@link #applyDeletions(IndexWriter)}.
+ * Instances are not thread safe, and are used for a single work list.
+ *
+ * @see LuceneWorkVisitor#startDeletionBatch()
+ */
+public final class DeletionBatch implements WorkVisitor<LuceneWorkDelegate> {
+
+	private static final Log log = LoggerFactory.make();
+
+	private final LuceneWorkVisitor visitor;
+	private final Workspace workspace;
+	private final AddWorkDelegate addDelegate;
+	private final ConcurrentMap<Class<?>, Filter> classFilters;
+	private final boolean singleTermDeletesSafe;
+
+	private final Set<LuceneWork> deletions = Collections.newSetFromMap( new IdentityHashMap<LuceneWork, Boolean>() );
+	private final Map<Class<?>, List<LuceneWork>> deletionsByType = new LinkedHashMap<Class<?>, List<LuceneWork>>();
+
+	DeletionBatch(LuceneWorkVisitor visitor, Workspace workspace, AddWorkDelegate addDelegate,
+			ConcurrentMap<Class<?>, Filter> classFilters) {
+		this.visitor = visitor;
+		this.workspace = workspace;
+		this.addDelegate = addDelegate;
+		this.classFilters = classFilters;
+		this.singleTermDeletesSafe = workspace.areSingleTermDeletesSafe();
+	}
+
+	public LuceneWorkDelegate getDelegate(AddLuceneWork addLuceneWork) {
+		return visitor.getDelegate( addLuceneWork );
+	}
+
+	public LuceneWorkDelegate getDelegate(DeleteLuceneWork deleteLuceneWork) {
+		collect( deleteLuceneWork );
+		return null;
+	}
+
+	public LuceneWorkDelegate getDelegate(OptimizeLuceneWork optimizeLuceneWork) {
+		return visitor.getDelegate( optimizeLuceneWork );
+	}
+
+	public LuceneWorkDelegate getDelegate(PurgeAllLuceneWork purgeAllLuceneWork) {
+		return visitor.getDelegate( purgeAllLuceneWork );
+	}
+
+	public LuceneWorkDelegate getDelegate(UpdateLuceneWork updateLuceneWork) {
+		if ( singleTermDeletesSafe ) {
+			// IndexWriter#updateDocument already replaces the document in one step
+			return visitor.getDelegate( updateLuceneWork );
+		}
+		// the old document is deleted with the batch, as it is applied before the new one is added
+		collect( updateLuceneWork );
+		return addDelegate;
+	}
+
+	public LuceneWorkDelegate getDelegate(FlushLuceneWork flushLuceneWork) {
+		return visitor.getDelegate( flushLuceneWork );
+	}
+
+	/**
+	 * @return true if the deletion of the documents of this operation is applied by {@link #applyDeletions(IndexWriter)}
+	 */
+	public boolean isBatched(LuceneWork work) {
+		return deletions.contains( work );
+	}
+
+	/**
+	 * Deletes the documents of all the collected operations.
+	 *
+	 * @throws SearchException if the IndexWriter rejects the deletions, which then failed altogether
+	 */
+	public void applyDeletions(IndexWriter writer) {
+		if ( deletions.isEmpty() ) {
+			return;
+		}
+		log.tracef( "Removing %d entities from index in a batch.", deletions.size() );
+		try {
+			if ( singleTermDeletesSafe ) {
+				writer.deleteDocuments( buildIdTerms() );
+			}
+			else {
+				writer.deleteDocuments( buildClassScopedQueries() );
+			}
+		}
+		catch ( Exception e ) {
+			String message = "Unable to remove " + deletions.size() + " entities from index.";
+			throw new SearchException( message, e );
+		}
+		workspace.incrementModificationCounter( deletions.size() );
+	}
+
+	private void collect(LuceneWork work) {
+		deletions.add( work );
+		List<LuceneWork> works = deletionsByType.get( work.getEntityClass() );
+		if ( works == null ) {
+			works = new ArrayList<LuceneWork>();
+			deletionsByType.put( work.getEntityClass(), works );
+		}
+		works.add( work );
+	}
+
+	private Term[] buildIdTerms() {
+		List<Term> terms = new ArrayList<Term>( deletions.size() );
+		for ( Map.Entry<Class<?>, List<LuceneWork>> entry : deletionsByType.entrySet() ) {
+			DocumentBuilderIndexedEntity<?> builder = workspace.getDocumentBuilder( entry.getKey() );
+			boolean idIsNumeric = DeleteWorkDelegate.isIdNumeric( builder );
+			for ( LuceneWork work : entry.getValue() ) {
+				terms.add( DeleteWorkDelegate.createIdTerm( builder, idIsNumeric, work ) );
+			}
+		}
+		return terms.toArray( new Term[terms.size()] );
+	}
+
+	/**
+	 * Builds, for each entity type, queries matching the ids to delete among the documents of that type,
+	 * each of them within the maximum number of clauses of a BooleanQuery.
+	 */
+	private Query[] buildClassScopedQueries() {
+		int maxClauseCount = BooleanQuery.getMaxClauseCount();
+		List<Query> queries = new ArrayList<Query>();
+		for ( Map.Entry<Class<?>, List<LuceneWork>> entry : deletionsByType.entrySet() ) {
+			DocumentBuilderIndexedEntity<?> builder = workspace.getDocumentBuilder( entry.getKey() );
+			boolean idIsNumeric = DeleteWorkDelegate.isIdNumeric( builder );
+			Filter classFilter = getClassFilter( entry.getKey() );
+			BooleanQuery ids = null;
+			for ( LuceneWork work : entry.getValue() ) {
+				if ( ids == null || ids.clauses().size() == maxClauseCount ) {
+					ids = new BooleanQuery( true );
+					queries.add( new FilteredQuery( ids, classFilter ) );
+				}
+				ids.add( new TermQuery( DeleteWorkDelegate.createIdTerm( builder, idIsNumeric, work ) ), BooleanClause.Occur.SHOULD );
+			}
+		}
+		return queries.toArray( new Query[queries.size()] );
+	}
+
+	private Filter getClassFilter(Class<?> entityType) {
+		Filter filter = classFilters.get( entityType );
+		if ( filter == null ) {
+			// Lucene's CachingWrapperFilter keys the cached bits on the segment core only, so they survive
+			// the deletions in the segment: the documents deleted since don't match the id terms anymore
+			filter = new CachingWrapperFilter(
+					new QueryWrapperFilter( new TermQuery( new Term( ProjectionConstants.OBJECT_CLASS, entityType.getName() ) ) )
+			);
+			Filter previous = classFilters.putIfAbsent( entityType, filter );
+			if ( previous != null ) {
+				filter = previous;
+			}
+		}
+		return filter;
+	}
+
+}
@@ -23,6 +23,10 @@
  */
 package org.hibernate.search.backend.impl.lucene.works;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.lucene.search.Filter;
 import org.hibernate.search.backend.AddLuceneWork;
 import org.hibernate.search.backend.DeleteLuceneWork;
 import org.hibernate.search.backend.FlushLuceneWork;
@@ -43,12 +47,15 @@ public class LuceneWorkVisitor implements WorkVisitor<LuceneWorkDelegate> {
 	private final OptimizeWorkDelegate optimizeDelegate;
 	private final PurgeAllWorkDelegate purgeAllDelegate;
 	private final FlushWorkDelegate flushDelegate;
+	private final Workspace workspace;
+	private final ConcurrentMap<Class<?>, Filter> classFilters = new ConcurrentHashMap<Class<?>, Filter>();
 	
 	public LuceneWorkVisitor(Workspace workspace) {
+		this.workspace = workspace;
 		this.addDelegate = new AddWorkDelegate( workspace );
 		if ( workspace.areSingleTermDeletesSafe() ) {
 			this.deleteDelegate = new DeleteExtWorkDelegate( workspace );
-			this.updateDelegate = new UpdateExtWorkDelegate( workspace, addDelegate );
+			this.updateDelegate = new UpdateExtWorkDelegate( workspace );
 		}
 		else {
 			this.deleteDelegate = new DeleteWorkDelegate( workspace );
@@ -84,4 +91,11 @@ public class LuceneWorkVisitor implements WorkVisitor<LuceneWorkDelegate> {
 		return flushDelegate;
 	}
 
+	/**
+	 * @return a new DeletionBatch to collect the deletions of a work list
+	 */
+	public DeletionBatch startDeletionBatch() {
+		return new DeletionBatch( this, workspace, addDelegate, classFilters );
+	}
+
 }
@@ -33,7 +33,6 @@ import org.hibernate.annotations.common.AssertionFailure;
 import org.hibernate.search.SearchException;
 import org.hibernate.search.backend.IndexingMonitor;
 import org.hibernate.search.backend.LuceneWork;
-import org.hibernate.search.bridge.util.impl.NumericFieldUtils;
 import org.hibernate.search.engine.spi.DocumentBuilderIndexedEntity;
 import org.hibernate.search.store.Workspace;
 import org.hibernate.search.util.impl.ScopedAnalyzer;
@@ -45,7 +44,7 @@ import org.hibernate.search.util.logging.impl.LoggerFactory;
  * {@link IndexWriter#updateDocument(Term, org.apache.lucene.document.Document, org.apache.lucene.analysis.Analyzer)}
  * 
  * This is the most efficient way to update the index, but we can apply it only if the Document is uniquely identified
- * by a single term (so no index sharing across entities or Numeric ids).
+ * by a single term (so no index sharing across entities); Numeric ids are matched by their full precision term.
  * 
  * @author Sanne Grinovero <sanne@hibernate.org> (C) 2012 Red Hat Inc.
  */
@@ -53,16 +52,14 @@ public final class UpdateExtWorkDelegate extends UpdateWorkDelegate {
 
 	private static final Log log = LoggerFactory.make();
 
-	private final AddWorkDelegate addDelegate;
 	private final Class<?> managedType;
 	private final DocumentBuilderIndexedEntity<?> builder;
 	private final boolean idIsNumeric;
 	private final Workspace workspace;
 
-	UpdateExtWorkDelegate(Workspace workspace, AddWorkDelegate addDelegate) {
+	UpdateExtWorkDelegate(Workspace workspace) {
 		super( null, null );
 		this.workspace = workspace;
-		this.addDelegate = addDelegate;
 		this.managedType = workspace.getEntitiesInIndexManager().iterator().next();
 		this.builder = workspace.getDocumentBuilder( managedType );
 		this.idIsNumeric = DeleteWorkDelegate.isIdNumeric( builder );
@@ -72,20 +69,12 @@ public final class UpdateExtWorkDelegate extends UpdateWorkDelegate {
 		checkType( work );
 		final Serializable id = work.getId();
 		try {
-			if ( idIsNumeric ) {
-				log.tracef( "Deleting %s#%s by query using an IndexWriter#updateDocument as id is Numeric", managedType, id );
-				writer.deleteDocuments( NumericFieldUtils.createExactMatchQuery( builder.getIdKeywordName(), id ) );
-				// no need to log the Add operation as we'll log in the delegate
-				this.addDelegate.performWork( work, writer, monitor );
-			}
-			else {
-				log.tracef( "Updating %s#%s by id using an IndexWriter#updateDocument.", managedType, id );
-				Term idTerm = new Term( builder.getIdKeywordName(), work.getIdInString() );
-				Map<String, String> fieldToAnalyzerMap = work.getFieldToAnalyzerMap();
-				ScopedAnalyzer analyzer = builder.getAnalyzer();
-				analyzer = AddWorkDelegate.updateAnalyzerMappings( workspace, analyzer, fieldToAnalyzerMap );
-				writer.updateDocument( idTerm, work.getDocument(), analyzer );
-			}
+			log.tracef( "Updating %s#%s by id using an IndexWriter#updateDocument.", managedType, id );
+			Term idTerm = DeleteWorkDelegate.createIdTerm( builder, idIsNumeric, work );
+			Map<String, String> fieldToAnalyzerMap = work.getFieldToAnalyzerMap();
+			ScopedAnalyzer analyzer = builder.getAnalyzer();
+			analyzer = AddWorkDelegate.updateAnalyzerMappings( workspace, analyzer, fieldToAnalyzerMap );
+			writer.updateDocument( idTerm, work.getDocument(), analyzer );
 			workspace.incrementModificationCounter( 1 );
 		}
 		catch ( Exception e ) {
@@ -25,6 +25,7 @@ package org.hibernate.search.batchindexing.impl;
 
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -78,6 +79,36 @@ public class Executors {
 	            new BlockPolicy() );
 	}
 	
+	/**
+	 * Creates a new fixed size ThreadPoolExecutor which, unlike {@link #newFixedThreadPool(int, String, int)},
+	 * never blocks the caller: a task submitted while the queue is full, or after the executor
+	 * was shut down, is rejected with a {@link java.util.concurrent.RejectedExecutionException}.
+	 * @param threads the number of threads
+	 * @param groupname a label to identify the threadpool; useful for profiling.
+	 * @param queueSize the size of the queue to store Runnables when all threads are busy
+	 * @return the new ExecutorService
+	 */
+	public static ThreadPoolExecutor newRejectingFixedThreadPool(int threads, String groupname, int queueSize) {
+		return new ThreadPoolExecutor(
+				threads,
+				threads,
+				0L, TimeUnit.MILLISECONDS,
+				new LinkedBlockingQueue<Runnable>( queueSize ),
+				new SearchThreadFactory( groupname ),
+				new ThreadPoolExecutor.AbortPolicy() );
+	}
+
+	/**
+	 * Creates a new ScheduledThreadPoolExecutor, using the same thread naming scheme
+	 * of the other executors.
+	 * @param threads the number of threads
+	 * @param groupname a label to identify the threadpool; useful for profiling.
+	 * @return the new ScheduledThreadPoolExecutor
+	 */
+	public static ScheduledThreadPoolExecutor newScheduledThreadPool(int threads, String groupname) {
+		return new ScheduledThreadPoolExecutor( threads, new SearchThreadFactory( groupname ) );
+	}
+
 	/**
      * The thread factory, used to customize thread names
      */
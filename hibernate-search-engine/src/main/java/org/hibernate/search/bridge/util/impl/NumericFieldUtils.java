@@ -1,8 +1,10 @@
 package org.hibernate.search.bridge.util.impl;
 
 import org.apache.lucene.document.NumericField;
+import org.apache.lucene.index.Term;
 import org.apache.lucene.search.NumericRangeQuery;
 import org.apache.lucene.search.Query;
+import org.apache.lucene.util.NumericUtils;
 import org.hibernate.search.SearchException;
 
 /**
@@ -59,6 +61,32 @@ public class NumericFieldUtils {
 		return createNumericRangeQuery(fieldName, value, value, true, true);
 	}
 
+	/**
+	 * Will create the Term indexed at full precision for the provided value by
+	 * a NumericField: it matches the same documents as {@link #createExactMatchQuery(String, Object)},
+	 * and can be used where only a Term is accepted, as in IndexWriter#deleteDocuments(Term...).
+	 * @param fieldName
+	 * @param value
+	 * @return the created Term
+	 */
+	public static Term createExactMatchTerm(String fieldName, Object value) {
+		if ( value instanceof Double ) {
+			return new Term( fieldName, NumericUtils.longToPrefixCoded( NumericUtils.doubleToSortableLong( (Double) value ) ) );
+		}
+		if ( value instanceof Long ) {
+			return new Term( fieldName, NumericUtils.longToPrefixCoded( (Long) value ) );
+		}
+		if ( value instanceof Integer ) {
+			return new Term( fieldName, NumericUtils.intToPrefixCoded( (Integer) value ) );
+		}
+		if ( value instanceof Float ) {
+			return new Term( fieldName, NumericUtils.intToPrefixCoded( NumericUtils.floatToSortableInt( (Float) value ) ) );
+		}
+		throw new SearchException(
+				"Cannot create numeric term for field " + fieldName + ", since value is not numeric " +
+						"(int, long, float or double) ");
+	}
+
 	public static void setNumericValue(Object value, NumericField numericField) {
 		Class numericClass = value.getClass();
 		if ( numericClass.isAssignableFrom( Double.class ) ) {
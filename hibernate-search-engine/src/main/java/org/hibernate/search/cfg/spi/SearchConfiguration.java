@@ -29,6 +29,7 @@ import java.util.Properties;
 
 import org.hibernate.annotations.common.reflection.ReflectionManager;
 import org.hibernate.search.cfg.SearchMapping;
+import org.hibernate.search.spi.EntityIdentifierMetadata;
 import org.hibernate.search.spi.InstanceInitializer;
 import org.hibernate.search.spi.ServiceProvider;
 
@@ -117,4 +118,10 @@ public interface SearchConfiguration {
 	boolean isIndexMetadataComplete();
 
 	InstanceInitializer getInstanceInitializer();
+
+	/**
+	 * @return tells whether the document ids are also the identifiers of the entities,
+	 * so that query results can be looked up by id when loading them.
+	 */
+	EntityIdentifierMetadata getEntityIdentifierMetadata();
 }
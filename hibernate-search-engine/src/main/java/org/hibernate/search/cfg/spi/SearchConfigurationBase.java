@@ -21,6 +21,8 @@
 package org.hibernate.search.cfg.spi;
 
 import org.hibernate.search.impl.SimpleInitializer;
+import org.hibernate.search.impl.UnknownEntityIdentifierMetadata;
+import org.hibernate.search.spi.EntityIdentifierMetadata;
 import org.hibernate.search.spi.InstanceInitializer;
 
 
@@ -55,4 +57,12 @@ public abstract class SearchConfigurationBase implements SearchConfiguration {
 		return SimpleInitializer.INSTANCE;
 	}
 
+	/**
+	 * Safest to assume the document ids are not the entity identifiers.
+	 */
+	@Override
+	public EntityIdentifierMetadata getEntityIdentifierMetadata() {
+		return UnknownEntityIdentifierMetadata.INSTANCE;
+	}
+
 }
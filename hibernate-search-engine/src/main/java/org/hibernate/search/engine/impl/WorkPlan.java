@@ -160,7 +160,7 @@ public class WorkPlan {
 	 * @return returns the current plan converted as a list of {@code LuceneWork}
 	 */
 	public List<LuceneWork> getPlannedLuceneWork() {
-		List<LuceneWork> luceneQueue = new ArrayList<LuceneWork>();
+		List<LuceneWork> luceneQueue = new ArrayList<LuceneWork>( approximateWorkQueueSize );
 		for ( PerClassWork perClassWork : byClass.values() ) {
 			perClassWork.enqueueLuceneWork( luceneQueue );
 		}
@@ -70,6 +70,7 @@ import org.hibernate.search.backend.AddLuceneWork;
 import org.hibernate.search.backend.DeleteLuceneWork;
 import org.hibernate.search.backend.LuceneWork;
 import org.hibernate.search.backend.UpdateLuceneWork;
+import org.hibernate.search.bridge.builtin.impl.NullEncodingTwoWayFieldBridge;
 import org.hibernate.search.bridge.builtin.impl.TwoWayString2FieldBridgeAdaptor;
 import org.hibernate.search.bridge.impl.BridgeFactory;
 import org.hibernate.search.bridge.FieldBridge;
@@ -84,6 +85,7 @@ import org.hibernate.search.impl.ConfigContext;
 import org.hibernate.search.query.collector.impl.FieldCacheCollectorFactory;
 import org.hibernate.search.query.fieldcache.impl.ClassLoadingStrategySelector;
 import org.hibernate.search.query.fieldcache.impl.FieldCacheLoadingType;
+import org.hibernate.search.query.fieldcache.impl.FieldCacheProjection;
 import org.hibernate.search.util.logging.impl.LoggerFactory;
 
 /**
@@ -164,6 +166,11 @@ public class DocumentBuilderIndexedEntity<T> extends AbstractDocumentBuilder<T>
 	 */
 	private final FieldCacheCollectorFactory idFieldCacheCollectorFactory;
 
+	/**
+	 * The fields whose projections are read from the FieldCache, by field name
+	 */
+	private final Map<String, FieldCacheProjection> projectionFieldCaches;
+
 	/**
 	 * Creates a document builder for entities annotated with <code>@Indexed</code>.
 	 *
@@ -202,6 +209,7 @@ public class DocumentBuilderIndexedEntity<T> extends AbstractDocumentBuilder<T>
 		}
 		checkAllowFieldSelection();
 		idFieldCacheCollectorFactory = figureIdFieldCacheUsage();
+		projectionFieldCaches = figureProjectionFieldCacheUsage();
 		if ( log.isDebugEnabled() ) {
 			log.debugf(
 					"Field selection in projections is set to %b for entity %s.",
@@ -234,6 +242,83 @@ public class DocumentBuilderIndexedEntity<T> extends AbstractDocumentBuilder<T>
 		return idFieldCacheCollectorFactory;
 	}
 
+	private Map<String, FieldCacheProjection> figureProjectionFieldCacheUsage() {
+		if ( !this.fieldCacheUsage.contains( org.hibernate.search.annotations.FieldCacheType.PROJECTIONS ) ) {
+			return Collections.emptyMap();
+		}
+		Map<String, FieldCacheProjection> projections = new HashMap<String, FieldCacheProjection>();
+		Set<String> multiValuedFields = new HashSet<String>();
+		// the id is projected using its own bridge
+		multiValuedFields.add( getIdKeywordName() );
+		collectProjectionFieldCaches( getMetadata(), true, projections, multiValuedFields );
+		projections.keySet().removeAll( multiValuedFields );
+		return Collections.unmodifiableMap( projections );
+	}
+
+	/**
+	 * Collects the fields which can be projected from the FieldCache: stored, untokenized fields having
+	 * a single value per document, and a bridge converting the cached value.
+	 * Fields added more than once to the documents are collected in multiValuedFields.
+	 */
+	private static void collectProjectionFieldCaches(PropertiesMetadata metadata, boolean singleValued,
+			Map<String, FieldCacheProjection> projections, Set<String> multiValuedFields) {
+		for ( int i = 0; i < metadata.fieldNames.size(); i++ ) {
+			String fieldName = metadata.fieldNames.get( i );
+			FieldCacheProjection projection = singleValued ? createFieldCacheProjection( metadata, i ) : null;
+			if ( projection == null || projections.containsKey( fieldName ) ) {
+				multiValuedFields.add( fieldName );
+			}
+			else {
+				projections.put( fieldName, projection );
+			}
+		}
+		multiValuedFields.addAll( metadata.classNames );
+		multiValuedFields.addAll( metadata.embeddedNullFields );
+		for ( int i = 0; i < metadata.embeddedPropertiesMetadata.size(); i++ ) {
+			collectProjectionFieldCaches(
+					metadata.embeddedPropertiesMetadata.get( i ),
+					singleValued && metadata.embeddedContainers.get( i ) == PropertiesMetadata.Container.OBJECT,
+					projections,
+					multiValuedFields
+			);
+		}
+	}
+
+	private static FieldCacheProjection createFieldCacheProjection(PropertiesMetadata metadata, int fieldIndex) {
+		FieldBridge fieldBridge = metadata.fieldBridges.get( fieldIndex );
+		// a null token is indexed but projected as null: leave it to the stored fields
+		if ( metadata.fieldStore.get( fieldIndex ) == Store.NO
+				|| !( fieldBridge instanceof TwoWayFieldBridge )
+				|| fieldBridge instanceof NullEncodingTwoWayFieldBridge ) {
+			return null;
+		}
+		TwoWayFieldBridge twoWayFieldBridge = (TwoWayFieldBridge) fieldBridge;
+		FieldCacheLoadingType loadingType = ClassLoadingStrategySelector.guessAppropriateCollectorType( twoWayFieldBridge );
+		if ( loadingType == null ) {
+			return null;
+		}
+		String fieldName = metadata.fieldNames.get( fieldIndex );
+		if ( loadingType != FieldCacheLoadingType.STRING ) {
+			return new FieldCacheProjection( fieldName, loadingType, null );
+		}
+		Field.Index index = metadata.fieldIndex.get( fieldIndex );
+		if ( index != Field.Index.NOT_ANALYZED && index != Field.Index.NOT_ANALYZED_NO_NORMS ) {
+			// the FieldCache only holds a single term of a tokenized field
+			return null;
+		}
+		return new FieldCacheProjection(
+				fieldName, loadingType, ClassLoadingStrategySelector.getTwoWayStringBridge( twoWayFieldBridge )
+		);
+	}
+
+	/**
+	 * @return the fields whose projections can be read from the FieldCache rather than from the stored fields,
+	 * by field name; empty unless enabled by {@code FieldCacheType.PROJECTIONS}
+	 */
+	public Map<String, FieldCacheProjection> getProjectionFieldCaches() {
+		return projectionFieldCaches;
+	}
+
 	protected void documentBuilderSpecificChecks(XProperty member, PropertiesMetadata propertiesMetadata, boolean isRoot, String prefix, ConfigContext context, PathsContext pathsContext) {
 		checkDocumentId( member, propertiesMetadata, isRoot, prefix, context, pathsContext );
 	}
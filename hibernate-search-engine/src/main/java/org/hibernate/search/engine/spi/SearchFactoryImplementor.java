@@ -28,6 +28,10 @@ import org.hibernate.search.batchindexing.MassIndexerProgressMonitor;
 import org.hibernate.search.engine.impl.FilterDef;
 import org.hibernate.search.filter.FilterCachingStrategy;
 import org.hibernate.search.indexes.impl.IndexManagerHolder;
+import org.hibernate.search.query.engine.impl.ParallelQueryExecutor;
+import org.hibernate.search.query.engine.impl.QueryResultCache;
+import org.hibernate.search.query.engine.impl.SearcherPlanCache;
+import org.hibernate.search.spi.EntityIdentifierMetadata;
 import org.hibernate.search.spi.InstanceInitializer;
 import org.hibernate.search.spi.SearchFactoryIntegrator;
 import org.hibernate.search.stat.spi.StatisticsImplementor;
@@ -79,5 +83,26 @@ public interface SearchFactoryImplementor extends SearchFactoryIntegrator {
 	 */
 	InstanceInitializer getInstanceInitializer();
 
+	/**
+	 * @return tells whether the document ids are also the identifiers of the entities, as computed
+	 * once by the integrating framework.
+	 */
+	EntityIdentifierMetadata getEntityIdentifierMetadata();
+
 	TimingSource getTimingSource();
+
+	/**
+	 * @return the cache of the targets of recently executed queries, valid for the currently mapped entities
+	 */
+	SearcherPlanCache getSearcherPlanCache();
+
+	/**
+	 * @return the cache of the results of the queries enabling it
+	 */
+	QueryResultCache getQueryResultCache();
+
+	/**
+	 * @return the threads searching in parallel the indexes targeted by a query
+	 */
+	ParallelQueryExecutor getParallelQueryExecutor();
 }
@@ -24,7 +24,10 @@
 package org.hibernate.search.exception.impl;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
 import org.hibernate.search.backend.LuceneWork;
 import org.hibernate.search.exception.ErrorContext;
@@ -68,14 +71,20 @@ public class ErrorContextBuilder {
 
 		// for situation when there is a primary failure
 		if ( workToBeDone != null ) {
-			List<LuceneWork> workLeft = new ArrayList<LuceneWork>( workToBeDone );
-			if ( !operationsThatWorked.isEmpty() ) {
-				workLeft.removeAll( operationsThatWorked );
-			}
-
-			if ( !workLeft.isEmpty() ) {
-				context.setOperationAtFault( workLeft.remove( 0 ) );
-				failingOperations.addAll( workLeft );
+			// a Set makes this linear on large work lists
+			Set<LuceneWork> worked = Collections.newSetFromMap( new IdentityHashMap<LuceneWork, Boolean>( operationsThatWorked.size() ) );
+			worked.addAll( operationsThatWorked );
+			boolean first = true;
+			for ( LuceneWork work : workToBeDone ) {
+				if ( !worked.contains( work ) ) {
+					if ( first ) {
+						context.setOperationAtFault( work );
+						first = false;
+					}
+					else {
+						failingOperations.add( work );
+					}
+				}
 			}
 		}
 		context.setFailingOperations( failingOperations );
@@ -25,13 +25,17 @@ package org.hibernate.search.filter.impl;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 
 import org.apache.lucene.search.DocIdSet;
 import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.util.Bits;
+import org.apache.lucene.util.DocIdBitSet;
+import org.apache.lucene.util.FixedBitSet;
 import org.apache.lucene.util.OpenBitSet;
-
-import static java.lang.Math.max;
+import org.apache.lucene.util.SortedVIntList;
 
 /**
  * A DocIdSet built as applying "AND" operation to a list of other DocIdSet(s).
@@ -69,100 +73,176 @@ public class AndDocIdSet extends DocIdSet {
 		if ( docIdBitSet != null ) {
 			return docIdBitSet;
 		} // check for concurrent initialization
-		//TODO if all andedDocIdSets are actually DocIdBitSet, use their internal BitSet instead of next algo.
-		//TODO if some andedDocIdSets are DocIdBitSet, merge them first.
-		int size = andedDocIdSets.size();
-		DocIdSetIterator[] iterators = new DocIdSetIterator[size];
+		// bitsets are intersected word by word first
+		List<DocIdSet> mergedDocIdSets = FilterOptimizationHelper.mergeByBitAnds( andedDocIdSets );
+		int size = mergedDocIdSets.size();
+		if ( size == 1 ) {
+			docIdBitSet = mergedDocIdSets.get( 0 );
+			andedDocIdSets.clear();
+			return docIdBitSet;
+		}
+		Clause[] clauses = new Clause[size];
 		for ( int i = 0; i < size; i++ ) {
-			// build all iterators
-			DocIdSetIterator docIdSetIterator = andedDocIdSets.get( i ).iterator();
-			if ( docIdSetIterator == null ) {
+			Clause clause = new Clause( mergedDocIdSets.get( i ), maxDocNumber );
+			if ( clause.iterator == null ) {
 				// the Lucene API permits to return null on any iterator for empty matches
 				return DocIdSet.EMPTY_DOCIDSET;
 			}
-			iterators[i] = docIdSetIterator;
+			clauses[i] = clause;
 		}
 		andedDocIdSets.clear(); // contained DocIdSets are not needed any more, release them.
-		docIdBitSet = makeDocIdSetOnAgreedBits( iterators ); // before returning hold a copy as cache
+		// the sparsest set drives the iteration, so that the others are probed as little as possible
+		Arrays.sort( clauses );
+		docIdBitSet = makeDocIdSetOnAgreedBits( clauses ); // before returning hold a copy as cache
 		return docIdBitSet;
 	}
 
-	private DocIdSet makeDocIdSetOnAgreedBits(final DocIdSetIterator[] iterators) throws IOException {
-		final OpenBitSet result = new OpenBitSet( maxDocNumber );
-		final int numberOfIterators = iterators.length;
-
-		int targetPosition = findFirstTargetPosition( iterators, result );
-
-		if ( targetPosition == DocIdSetIterator.NO_MORE_DOCS ) {
-			return DocIdSet.EMPTY_DOCIDSET;
+	private DocIdSet makeDocIdSetOnAgreedBits(final Clause[] clauses) throws IOException {
+		final DocIdSetIterator lead = clauses[0].iterator;
+		final int numberOfClauses = clauses.length;
+		final AgreedBitsCollector result = new AgreedBitsCollector( maxDocNumber );
+
+		int targetPosition = lead.nextDoc();
+		candidates:
+		while ( targetPosition != DocIdSetIterator.NO_MORE_DOCS ) {
+			for ( int i = 1; i < numberOfClauses; i++ ) {
+				final Clause clause = clauses[i];
+				if ( clause.bits != null ) {
+					// random access on bitsets
+					if ( !clause.bits.get( targetPosition ) ) {
+						targetPosition = lead.nextDoc();
+						continue candidates;
+					}
+				}
+				else {
+					final DocIdSetIterator iterator = clause.iterator;
+					int position = iterator.docID();
+					// see  HSEARCH-610
+					if ( position < targetPosition ) {
+						position = iterator.advance( targetPosition );
+					}
+					if ( position != targetPosition ) {
+						if ( position == DocIdSetIterator.NO_MORE_DOCS ) {
+							break candidates;
+						}
+						// this iterator jumped further, no document before its position can match
+						targetPosition = lead.advance( position );
+						continue candidates;
+					}
+				}
+			}
+			result.add( targetPosition );
+			targetPosition = lead.nextDoc();
 		}
+		return result.getDocIdSet();
+	}
 
-		// Each iterator can vote "ok" for the current target to
-		// be reached; when all agree the bit is set.
-		// if an iterator disagrees (it jumped longer), it's current position becomes the new targetPosition
-		// for the others and he is considered "first" in the voting round (every iterator votes for himself ;-)
-
-		int i = 0;
-		int votes = 0; //could be smarter but would make the code even more complex for a minor optimization out of cycle.
-		// enter main loop:
-		while ( true ) {
-			final DocIdSetIterator iterator = iterators[i];
-			int position = targetPosition;
-			if ( !iteratorAlreadyOnTargetPosition( targetPosition, iterator ) ) {
-				position = iterator.advance( targetPosition );
+	/**
+	 * One of the DocIdSet to "and", with an estimate of the documents it contains.
+	 * When it's a bitset and it isn't the sparsest set, it's probed by random access
+	 * instead of being iterated.
+	 */
+	private static final class Clause implements Comparable<Clause> {
+
+		private final DocIdSetIterator iterator;
+		private final Bits bits;
+		private final int cost;
+
+		Clause(DocIdSet docIdSet, int maxDocNumber) throws IOException {
+			this.iterator = docIdSet.iterator();
+			if ( docIdSet instanceof OpenBitSet ) {
+				OpenBitSet openBitSet = (OpenBitSet) docIdSet;
+				this.bits = openBitSet;
+				this.cost = (int) openBitSet.cardinality();
 			}
-			if ( position == DocIdSetIterator.NO_MORE_DOCS ) {
-				return result;
-			} //exit condition
-			if ( position == targetPosition ) {
-				if ( ++votes == numberOfIterators ) {
-					result.fastSet( position );
-					votes = 0;
-					targetPosition++;
-				}
+			else if ( docIdSet instanceof FixedBitSet ) {
+				final FixedBitSet fixedBitSet = (FixedBitSet) docIdSet;
+				this.bits = new Bits() {
+					public boolean get(int index) {
+						return index < fixedBitSet.length() && fixedBitSet.get( index );
+					}
+
+					public int length() {
+						return fixedBitSet.length();
+					}
+				};
+				this.cost = fixedBitSet.cardinality();
+			}
+			else if ( docIdSet instanceof DocIdBitSet ) {
+				final BitSet bitSet = ( (DocIdBitSet) docIdSet ).getBitSet();
+				this.bits = new Bits() {
+					public boolean get(int index) {
+						return bitSet.get( index );
+					}
+
+					public int length() {
+						return bitSet.length();
+					}
+				};
+				this.cost = bitSet.cardinality();
 			}
 			else {
-				votes = 1;
-				targetPosition = position;
+				this.bits = null;
+				// the size of other implementations is unknown, except for SortedVIntList
+				this.cost = docIdSet instanceof SortedVIntList ?
+						( (SortedVIntList) docIdSet ).size() :
+						maxDocNumber;
 			}
-			i = ++i % numberOfIterators;
 		}
-	}
 
-	// see  HSEARCH-610
-	private boolean iteratorAlreadyOnTargetPosition(int targetPosition, DocIdSetIterator iterator) {
-		return iterator.docID() == targetPosition;
+		public int compareTo(Clause other) {
+			return cost < other.cost ? -1 : ( cost == other.cost ? 0 : 1 );
+		}
 	}
 
-	private int findFirstTargetPosition(final DocIdSetIterator[] iterators, OpenBitSet result) throws IOException {
-		int targetPosition = iterators[0].nextDoc();
-		if ( targetPosition == DocIdSetIterator.NO_MORE_DOCS ) {
-			// first iterator has no values, so skip all
-			return DocIdSetIterator.NO_MORE_DOCS;
+	/**
+	 * Collects the matching documents in increasing order: they are kept in a compressed
+	 * list while that's smaller than a bitset on all documents.
+	 */
+	private static final class AgreedBitsCollector {
+
+		private final int maxDocNumber;
+		private final int sparseLimit;
+		private int[] docs = new int[16];
+		private int count = 0;
+		private OpenBitSet bitSet;
+
+		AgreedBitsCollector(int maxDocNumber) {
+			this.maxDocNumber = maxDocNumber;
+			// an int per document takes as much as a bitset when 1 in 32 documents match
+			this.sparseLimit = maxDocNumber >>> 5;
 		}
 
-		boolean allIteratorsShareSameFirstTarget = true;
-
-		//iterator initialize, just one "next" for each DocIdSetIterator
-		for ( int i = 1; i < iterators.length; i++ ) {
-			final DocIdSetIterator iterator = iterators[i];
-			final int position = iterator.nextDoc();
-			if ( position == DocIdSetIterator.NO_MORE_DOCS ) {
-				//current iterator has no values, so skip all
-				return DocIdSetIterator.NO_MORE_DOCS;
+		void add(int doc) {
+			if ( bitSet != null ) {
+				bitSet.fastSet( doc );
+			}
+			else if ( count < sparseLimit ) {
+				if ( count == docs.length ) {
+					docs = Arrays.copyOf( docs, Math.min( count << 1, sparseLimit ) );
+				}
+				docs[count++] = doc;
 			}
-			if ( targetPosition != position ) {
-				targetPosition = max( targetPosition, position );
-				allIteratorsShareSameFirstTarget = false;
+			else {
+				bitSet = new OpenBitSet( maxDocNumber );
+				for ( int i = 0; i < count; i++ ) {
+					bitSet.fastSet( docs[i] );
+				}
+				docs = null;
+				bitSet.fastSet( doc );
 			}
 		}
-		// end iterator initialize
 
-		if ( allIteratorsShareSameFirstTarget ) {
-			result.fastSet( targetPosition );
-			targetPosition++;
+		DocIdSet getDocIdSet() {
+			if ( bitSet != null ) {
+				return bitSet;
+			}
+			else if ( count == 0 ) {
+				return DocIdSet.EMPTY_DOCIDSET;
+			}
+			else {
+				return new SortedVIntList( docs, count );
+			}
 		}
-
-		return targetPosition;
 	}
 }
@@ -37,6 +37,10 @@ import org.hibernate.search.util.logging.impl.LoggerFactory;
  * A slightly different version of Lucene's original <code>CachingWrapperFilter</code> which
  * uses <code>SoftReferences</code> instead of <code>WeakReferences</code> in order to cache
  * the filter <code>BitSet</code>.
+ * <p/>
+ * Results are cached per segment, keyed on the segment core and on its deletions: readers
+ * reopened after a change share these with the previous ones for the unchanged segments,
+ * so only new or changed segments need to be filtered again.
  *
  * @author Hardy Ferentschik
  * @see org.apache.lucene.search.CachingWrapperFilter
@@ -82,17 +86,18 @@ public class CachingWrapperFilter extends Filter {
 
 	@Override
 	public DocIdSet getDocIdSet(IndexReader reader) throws IOException {
-		DocIdSet cached = (DocIdSet) cache.get( reader );
+		final SegmentCacheKey key = new SegmentCacheKey( reader );
+		DocIdSet cached = (DocIdSet) cache.get( key );
 		if ( cached != null ) {
 			return cached;
 		}
 		synchronized ( cache ) {
-			cached = (DocIdSet) cache.get( reader );
+			cached = (DocIdSet) cache.get( key );
 			if ( cached != null ) {
 				return cached;
 			}
 			final DocIdSet docIdSet = filter.getDocIdSet( reader );
-			cache.put( reader, docIdSet );
+			cache.put( key, docIdSet );
 			return docIdSet;
 		}
 	}
@@ -111,4 +116,35 @@ public class CachingWrapperFilter extends Filter {
 	public int hashCode() {
 		return filter.hashCode() ^ 0x1117BF25;
 	}
+
+	/**
+	 * Identifies the content visible to a segment reader: different instances opened on
+	 * the same segment (reopened or NRT readers) share the core cache key, and the deletes
+	 * cache key as long as no document was deleted from the segment.
+	 * Readers which are not segments use themselves as both keys.
+	 */
+	private static final class SegmentCacheKey {
+
+		private final Object coreKey;
+		private final Object deletesKey;
+
+		SegmentCacheKey(IndexReader reader) {
+			this.coreKey = reader.getCoreCacheKey();
+			this.deletesKey = reader.getDeletesCacheKey();
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( !( o instanceof SegmentCacheKey ) ) {
+				return false;
+			}
+			SegmentCacheKey other = (SegmentCacheKey) o;
+			return coreKey == other.coreKey && deletesKey == other.deletesKey;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * System.identityHashCode( coreKey ) + System.identityHashCode( deletesKey );
+		}
+	}
 }
@@ -97,6 +97,26 @@ public class ChainedFilter extends Filter {
 		}
 	}
 
+	/**
+	 * Two chains are equal when they apply equal filters in the same order:
+	 * the filters of each execution of a query are chained in a new instance.
+	 */
+	@Override
+	public boolean equals(Object o) {
+		if ( this == o ) {
+			return true;
+		}
+		if ( !( o instanceof ChainedFilter ) ) {
+			return false;
+		}
+		return chainedFilters.equals( ( (ChainedFilter) o ).chainedFilters );
+	}
+
+	@Override
+	public int hashCode() {
+		return chainedFilters.hashCode();
+	}
+
 	@Override
 	public String toString() {
 		final StringBuilder sb = new StringBuilder();
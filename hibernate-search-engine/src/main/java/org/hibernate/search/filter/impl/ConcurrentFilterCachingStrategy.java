@@ -0,0 +1,84 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.filter.impl;
+
+import java.util.Properties;
+
+import org.apache.lucene.search.Filter;
+import org.hibernate.search.Environment;
+import org.hibernate.search.filter.FilterCachingStrategy;
+import org.hibernate.search.filter.FilterKey;
+import org.hibernate.search.util.configuration.impl.ConfigurationParseHelper;
+import org.hibernate.search.util.impl.ConcurrentSoftLimitMRUCache;
+
+/**
+ * Same caching policy as {@link MRUFilterCachingStrategy}, but lookups of cached filters
+ * don't contend on a single monitor: use it when many threads run queries with cached filters.
+ * Enabled by setting <code>hibernate.search.filter.cache_strategy</code> to <code>concurrent</code>.
+ * <p/>
+ * The number of cache hits, misses and evictions is exposed for monitoring.
+ */
+public class ConcurrentFilterCachingStrategy implements FilterCachingStrategy {
+	private static final int DEFAULT_SIZE = 128;
+	private static final String SIZE = Environment.FILTER_CACHING_STRATEGY + ".size";
+
+	/**
+	 * Under memory pressure the JVM will release all Soft references,
+	 * so pushing it too high will invalidate all eventually useful other caches.
+	 */
+	private static final int HARD_TO_SOFT_RATIO = 15;
+
+	private ConcurrentSoftLimitMRUCache cache;
+
+	public void initialize(Properties properties) {
+		int size = ConfigurationParseHelper.getIntValue( properties, SIZE, DEFAULT_SIZE );
+		cache = new ConcurrentSoftLimitMRUCache( size, size * HARD_TO_SOFT_RATIO );
+	}
+
+	public Filter getCachedFilter(FilterKey key) {
+		return (Filter) cache.get( key );
+	}
+
+	public void addCachedFilter(FilterKey key, Filter filter) {
+		cache.put( key, filter );
+	}
+
+	/**
+	 * @return the number of lookups which found a cached filter
+	 */
+	public long getHitCount() {
+		return cache.getHitCount();
+	}
+
+	/**
+	 * @return the number of lookups which didn't find a cached filter
+	 */
+	public long getMissCount() {
+		return cache.getMissCount();
+	}
+
+	/**
+	 * @return the number of filters removed from the cache, either to honour its size or by the garbage collector
+	 */
+	public long getEvictionCount() {
+		return cache.getEvictionCount();
+	}
+}
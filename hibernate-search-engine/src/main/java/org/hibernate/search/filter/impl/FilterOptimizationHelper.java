@@ -29,6 +29,7 @@ import java.util.List;
 
 import org.apache.lucene.search.DocIdSet;
 import org.apache.lucene.util.DocIdBitSet;
+import org.apache.lucene.util.FixedBitSet;
 import org.apache.lucene.util.OpenBitSet;
 
 /**
@@ -41,18 +42,18 @@ public class FilterOptimizationHelper {
 
 	/**
 	 * Returns a new list of DocIdSet, applying binary AND
-	 * on all DocIdSet implemented by using BitSet or OpenBitSet.
+	 * on all DocIdSet implemented by using BitSet, OpenBitSet or FixedBitSet.
 	 * @param docIdSets
 	 * @return the same list if no changes were done
 	 */
 	public static List<DocIdSet> mergeByBitAnds(List<DocIdSet> docIdSets) {
 		int size = docIdSets.size();
-		List<OpenBitSet> openBitSets = new ArrayList<OpenBitSet>( size );
+		List<DocIdSet> wordBitSets = new ArrayList<DocIdSet>( size );
 		List<DocIdBitSet> docIdBitSets = new ArrayList<DocIdBitSet>( size );
 		List<DocIdSet> nonMergeAble = new ArrayList<DocIdSet>( size );
 		for (DocIdSet set : docIdSets) {
-			if (set instanceof OpenBitSet) {
-				openBitSets.add( (OpenBitSet) set );
+			if ( set instanceof OpenBitSet || set instanceof FixedBitSet ) {
+				wordBitSets.add( set );
 			}
 			else if (set instanceof DocIdBitSet) {
 				docIdBitSets.add( (DocIdBitSet) set );
@@ -61,12 +62,12 @@ public class FilterOptimizationHelper {
 				nonMergeAble.add( set );
 			}
 		}
-		if ( openBitSets.size() <= 1 && docIdBitSets.size() <= 1 ) {
+		if ( wordBitSets.size() <= 1 && docIdBitSets.size() <= 1 ) {
 			//skip all work as no optimization is possible
 			return docIdSets;
 		}
-		if ( openBitSets.size() > 0 ) {
-			nonMergeAble.add( mergeByBitAndsForOpenBitSet( openBitSets ) );
+		if ( wordBitSets.size() > 0 ) {
+			nonMergeAble.add( mergeByBitAndsForWords( wordBitSets ) );
 		}
 		if ( docIdBitSets.size() > 0 ) {
 			nonMergeAble.add( mergeByBitAndsForDocIdBitSet( docIdBitSets ) );
@@ -97,25 +98,51 @@ public class FilterOptimizationHelper {
 	}
 
 	/**
-	 * Merges all OpenBitSet in a new OpenBitSet using
-	 * binary AND operations, which is usually more efficient
-	 * than using an iterator.
-	 * @param openBitSets
+	 * Merges all OpenBitSet and FixedBitSet in a new OpenBitSet
+	 * applying the binary AND on their words, which is usually
+	 * much more efficient than using an iterator.
+	 * @param bitSets
 	 * @return a new OpenBitSet, or the first element if only
 	 * one element was found in the list.
 	 */
-	private static OpenBitSet mergeByBitAndsForOpenBitSet(List<OpenBitSet> openBitSets) {
-		int listSize = openBitSets.size();
+	private static DocIdSet mergeByBitAndsForWords(List<DocIdSet> bitSets) {
+		int listSize = bitSets.size();
 		if ( listSize == 1 ) {
-			return openBitSets.get( 0 );
+			return bitSets.get( 0 );
 		}
-		//we need to copy the first OpenBitSet because BitSet is modified by .logicalOp
-		OpenBitSet result = (OpenBitSet) openBitSets.get( 0 ).clone();
-		for ( int i=1; i<listSize; i++ ) {
-			OpenBitSet openSet = openBitSets.get( i );
-			result.intersect( openSet );
+		// bits beyond the shortest set are not in the intersection
+		int numWords = Integer.MAX_VALUE;
+		for ( int i = 0; i < listSize; i++ ) {
+			numWords = Math.min( numWords, numWords( bitSets.get( i ) ) );
+		}
+		//we need a copy as the input sets might be cached
+		long[] result = new long[numWords];
+		System.arraycopy( words( bitSets.get( 0 ) ), 0, result, 0, numWords );
+		for ( int i = 1; i < listSize; i++ ) {
+			long[] words = words( bitSets.get( i ) );
+			for ( int w = 0; w < numWords; w++ ) {
+				result[w] &= words[w];
+			}
+		}
+		return new OpenBitSet( result, numWords );
+	}
+
+	private static long[] words(DocIdSet bitSet) {
+		if ( bitSet instanceof OpenBitSet ) {
+			return ( (OpenBitSet) bitSet ).getBits();
+		}
+		else {
+			return ( (FixedBitSet) bitSet ).getBits();
+		}
+	}
+
+	private static int numWords(DocIdSet bitSet) {
+		if ( bitSet instanceof OpenBitSet ) {
+			return ( (OpenBitSet) bitSet ).getNumWords();
+		}
+		else {
+			return FixedBitSet.bits2words( ( (FixedBitSet) bitSet ).length() );
 		}
-		return result;
 	}
 
 }
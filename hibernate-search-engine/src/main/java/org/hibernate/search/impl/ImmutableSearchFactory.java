@@ -67,6 +67,10 @@ import org.hibernate.search.query.dsl.impl.ConnectedQueryContextBuilder;
 import org.hibernate.search.query.engine.spi.HSQuery;
 import org.hibernate.search.query.engine.spi.TimeoutExceptionFactory;
 import org.hibernate.search.query.engine.impl.HSQueryImpl;
+import org.hibernate.search.query.engine.impl.ParallelQueryExecutor;
+import org.hibernate.search.query.engine.impl.QueryResultCache;
+import org.hibernate.search.query.engine.impl.SearcherPlanCache;
+import org.hibernate.search.spi.EntityIdentifierMetadata;
 import org.hibernate.search.spi.InstanceInitializer;
 import org.hibernate.search.spi.ServiceProvider;
 import org.hibernate.search.spi.WorkerBuildContext;
@@ -108,10 +112,14 @@ public class ImmutableSearchFactory implements SearchFactoryImplementorWithShare
 	private final boolean enableDirtyChecks;
 	private final DefaultIndexReaderAccessor indexReaderAccessor;
 	private final InstanceInitializer instanceInitializer;
+	private final EntityIdentifierMetadata entityIdentifierMetadata;
 	private final TimeoutExceptionFactory timeoutExceptionFactory;
 	private final TimingSource timingSource;
+	private final ParallelQueryExecutor parallelQueryExecutor;
 	private final SearchMapping mapping;
 	private final boolean indexMetadataIsComplete;
+	private final SearcherPlanCache searcherPlanCache = new SearcherPlanCache();
+	private final QueryResultCache queryResultCache;
 
 	public ImmutableSearchFactory(SearchFactoryState state) {
 		this.analyzers = state.getAnalyzers();
@@ -129,11 +137,14 @@ public class ImmutableSearchFactory implements SearchFactoryImplementorWithShare
 		this.allIndexesManager = state.getAllIndexesManager();
 		this.errorHandler = state.getErrorHandler();
 		this.instanceInitializer = state.getInstanceInitializer();
+		this.entityIdentifierMetadata = state.getEntityIdentifierMetadata();
 		this.timeoutExceptionFactory = state.getDefaultTimeoutExceptionFactory();
 		this.timingSource = state.getTimingSource();
+		this.parallelQueryExecutor = state.getParallelQueryExecutor();
 		this.mapping = state.getProgrammaticMapping();
 		this.statistics = new StatisticsImpl( this );
 		this.indexMetadataIsComplete = state.isIndexMetadataComplete();
+		this.queryResultCache = new QueryResultCache( configurationProperties );
 		boolean statsEnabled = ConfigurationParseHelper.getBooleanValue(
 				configurationProperties, Environment.GENERATE_STATS, false
 		);
@@ -175,6 +186,7 @@ public class ImmutableSearchFactory implements SearchFactoryImplementorWithShare
 
 			this.allIndexesManager.stop();
 			this.timingSource.stop();
+			this.parallelQueryExecutor.stop();
 
 			serviceManager.stopServices();
 
@@ -363,6 +375,11 @@ public class ImmutableSearchFactory implements SearchFactoryImplementorWithShare
 		return instanceInitializer;
 	}
 
+	@Override
+	public EntityIdentifierMetadata getEntityIdentifierMetadata() {
+		return entityIdentifierMetadata;
+	}
+
 	@Override
 	public TimeoutExceptionFactory getDefaultTimeoutExceptionFactory() {
 		return timeoutExceptionFactory;
@@ -373,6 +390,21 @@ public class ImmutableSearchFactory implements SearchFactoryImplementorWithShare
 		return this.timingSource;
 	}
 
+	@Override
+	public SearcherPlanCache getSearcherPlanCache() {
+		return searcherPlanCache;
+	}
+
+	@Override
+	public QueryResultCache getQueryResultCache() {
+		return queryResultCache;
+	}
+
+	@Override
+	public ParallelQueryExecutor getParallelQueryExecutor() {
+		return parallelQueryExecutor;
+	}
+
 	@Override
 	public SearchMapping getProgrammaticMapping() {
 		return mapping;
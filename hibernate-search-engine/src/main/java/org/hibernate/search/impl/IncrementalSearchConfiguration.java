@@ -35,6 +35,7 @@ import org.hibernate.annotations.common.reflection.ReflectionManager;
 import org.hibernate.annotations.common.reflection.java.JavaReflectionManager;
 import org.hibernate.search.cfg.spi.SearchConfiguration;
 import org.hibernate.search.cfg.SearchMapping;
+import org.hibernate.search.spi.EntityIdentifierMetadata;
 import org.hibernate.search.spi.InstanceInitializer;
 import org.hibernate.search.spi.ServiceProvider;
 import org.hibernate.search.spi.internals.SearchFactoryState;
@@ -96,6 +97,11 @@ public class IncrementalSearchConfiguration implements SearchConfiguration {
 		return state.getInstanceInitializer();
 	}
 
+	@Override
+	public EntityIdentifierMetadata getEntityIdentifierMetadata() {
+		return state.getEntityIdentifierMetadata();
+	}
+
 	@Override
 	public boolean isIndexMetadataComplete() {
 		return state.isIndexMetadataComplete();
@@ -44,8 +44,12 @@ import org.hibernate.search.filter.FilterCachingStrategy;
 import org.hibernate.search.indexes.IndexReaderAccessor;
 import org.hibernate.search.indexes.impl.IndexManagerHolder;
 import org.hibernate.search.query.dsl.QueryContextBuilder;
+import org.hibernate.search.query.engine.impl.ParallelQueryExecutor;
+import org.hibernate.search.query.engine.impl.QueryResultCache;
+import org.hibernate.search.query.engine.impl.SearcherPlanCache;
 import org.hibernate.search.query.engine.spi.HSQuery;
 import org.hibernate.search.query.engine.spi.TimeoutExceptionFactory;
+import org.hibernate.search.spi.EntityIdentifierMetadata;
 import org.hibernate.search.spi.InstanceInitializer;
 import org.hibernate.search.spi.SearchFactoryBuilder;
 import org.hibernate.search.spi.SearchFactoryIntegrator;
@@ -230,6 +234,11 @@ public class MutableSearchFactory implements SearchFactoryImplementorWithShareab
 		return delegate.getInstanceInitializer();
 	}
 
+	@Override
+	public EntityIdentifierMetadata getEntityIdentifierMetadata() {
+		return delegate.getEntityIdentifierMetadata();
+	}
+
 	@Override
 	public TimeoutExceptionFactory getDefaultTimeoutExceptionFactory() {
 		return delegate.getDefaultTimeoutExceptionFactory();
@@ -240,6 +249,23 @@ public class MutableSearchFactory implements SearchFactoryImplementorWithShareab
 		return delegate.getTimingSource();
 	}
 
+	@Override
+	public SearcherPlanCache getSearcherPlanCache() {
+		// each delegate has its own cache: adding classes replaces it
+		return delegate.getSearcherPlanCache();
+	}
+
+	@Override
+	public QueryResultCache getQueryResultCache() {
+		// the cached results are only valid for the entities mapped by the delegate
+		return delegate.getQueryResultCache();
+	}
+
+	@Override
+	public ParallelQueryExecutor getParallelQueryExecutor() {
+		return delegate.getParallelQueryExecutor();
+	}
+
 	@Override
 	public SearchMapping getProgrammaticMapping() {
 		return delegate.getProgrammaticMapping();
@@ -39,7 +39,9 @@ import org.hibernate.search.engine.spi.TimingSource;
 import org.hibernate.search.exception.ErrorHandler;
 import org.hibernate.search.filter.FilterCachingStrategy;
 import org.hibernate.search.indexes.impl.IndexManagerHolder;
+import org.hibernate.search.query.engine.impl.ParallelQueryExecutor;
 import org.hibernate.search.query.engine.spi.TimeoutExceptionFactory;
+import org.hibernate.search.spi.EntityIdentifierMetadata;
 import org.hibernate.search.spi.InstanceInitializer;
 import org.hibernate.search.spi.internals.PolymorphicIndexHierarchy;
 import org.hibernate.search.spi.internals.SearchFactoryImplementorWithShareableState;
@@ -69,7 +71,9 @@ public class MutableSearchFactoryState implements SearchFactoryState {
 	private ErrorHandler errorHandler;
 	private TimeoutExceptionFactory defaultTimeoutExceptionFactory;
 	private InstanceInitializer instanceInitializer;
+	private EntityIdentifierMetadata entityIdentifierMetadata;
 	private TimingSource timingSource;
+	private ParallelQueryExecutor parallelQueryExecutor;
 	private SearchMapping mapping;
 	private boolean indexMetadataIsComplete;
 
@@ -90,7 +94,9 @@ public class MutableSearchFactoryState implements SearchFactoryState {
 		errorHandler = oldFactoryState.getErrorHandler();
 		defaultTimeoutExceptionFactory = oldFactoryState.getDefaultTimeoutExceptionFactory();
 		instanceInitializer = oldFactoryState.getInstanceInitializer();
+		entityIdentifierMetadata = oldFactoryState.getEntityIdentifierMetadata();
 		timingSource = oldFactoryState.getTimingSource();
+		parallelQueryExecutor = oldFactoryState.getParallelQueryExecutor();
 		mapping = oldFactoryState.getProgrammaticMapping();
 		indexMetadataIsComplete= oldFactoryState.isIndexMetadataComplete();
 	}
@@ -230,6 +236,15 @@ public class MutableSearchFactoryState implements SearchFactoryState {
 		this.instanceInitializer = instanceInitializer;
 	}
 
+	@Override
+	public EntityIdentifierMetadata getEntityIdentifierMetadata() {
+		return entityIdentifierMetadata;
+	}
+
+	public void setEntityIdentifierMetadata(EntityIdentifierMetadata entityIdentifierMetadata) {
+		this.entityIdentifierMetadata = entityIdentifierMetadata;
+	}
+
 	@Override
 	public TimeoutExceptionFactory getDefaultTimeoutExceptionFactory() {
 		return defaultTimeoutExceptionFactory;
@@ -248,6 +263,15 @@ public class MutableSearchFactoryState implements SearchFactoryState {
 		this.timingSource = timingSource;
 	}
 
+	@Override
+	public ParallelQueryExecutor getParallelQueryExecutor() {
+		return this.parallelQueryExecutor;
+	}
+
+	public void setParallelQueryExecutor(ParallelQueryExecutor parallelQueryExecutor) {
+		this.parallelQueryExecutor = parallelQueryExecutor;
+	}
+
 	public void setProgrammaticMapping(SearchMapping mapping) {
 		this.mapping = mapping;
 	}
@@ -30,6 +30,7 @@ import java.util.Properties;
 import org.hibernate.annotations.common.reflection.ReflectionManager;
 import org.hibernate.search.cfg.SearchMapping;
 import org.hibernate.search.cfg.spi.SearchConfiguration;
+import org.hibernate.search.spi.EntityIdentifierMetadata;
 import org.hibernate.search.spi.InstanceInitializer;
 import org.hibernate.search.spi.ServiceProvider;
 
@@ -102,6 +103,11 @@ public final class ReflectionReplacingSearchConfiguration implements SearchConfi
 		return cfg.getInstanceInitializer();
 	}
 
+	@Override
+	public EntityIdentifierMetadata getEntityIdentifierMetadata() {
+		return cfg.getEntityIdentifierMetadata();
+	}
+
 	@Override
 	public boolean isIndexMetadataComplete() {
 		return cfg.isIndexMetadataComplete();
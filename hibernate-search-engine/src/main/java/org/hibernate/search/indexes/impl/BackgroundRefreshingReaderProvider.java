@@ -0,0 +1,248 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.indexes.impl;
+
+import java.io.IOException;
+import java.util.Properties;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.store.Directory;
+import org.hibernate.search.Environment;
+import org.hibernate.search.SearchException;
+import org.hibernate.search.batchindexing.impl.Executors;
+import org.hibernate.search.indexes.spi.DirectoryBasedReaderProvider;
+import org.hibernate.search.store.DirectoryProvider;
+import org.hibernate.search.util.configuration.impl.ConfigurationParseHelper;
+import org.hibernate.search.util.logging.impl.Log;
+import org.hibernate.search.util.logging.impl.LoggerFactory;
+
+/**
+ * This <code>ReaderProvider</code> shares a single IndexReader across all queries,
+ * like {@link SharingBufferReaderProvider}, but never checks the index state when
+ * a query opens a reader: the shared IndexReader is reopened in background each time
+ * the backend commits some changes and, to notice changes made by other nodes or to a
+ * copy of the index, by a background task at a fixed interval.
+ * 
+ * Opening an IndexReader is then just a lock-free increment of the reference count
+ * of the current one; as a tradeoff, local commits become visible shortly after they
+ * are applied, and other changes only after the next scheduled refresh.
+ * 
+ * The interval is set via {@link Environment#READER_REFRESH_INTERVAL}; as refreshing
+ * happens in background, warming the new segments via {@link Environment#READER_WARMER}
+ * adds no latency to queries.
+ */
+public class BackgroundRefreshingReaderProvider implements DirectoryBasedReaderProvider {
+
+	private static final Log log = LoggerFactory.make();
+
+	/**
+	 * The suffix of {@link Environment#READER_REFRESH_INTERVAL}, as we get the reader properties masked
+	 */
+	private static final String REFRESH_INTERVAL = "refresh_interval_ms";
+
+	private static final int DEFAULT_REFRESH_INTERVAL = 1000;
+
+	/**
+	 * The reader returned to queries: it owns one reference for being current,
+	 * released when a refreshed reader replaces it.
+	 */
+	private volatile IndexReader current;
+
+	/**
+	 * Only serializes refreshes, queries never need it
+	 */
+	private final Lock refreshLock = new ReentrantLock();
+
+	//written under refreshLock, read by queries failing to acquire the current reader
+	private volatile boolean stopped = false;
+
+	/**
+	 * Set while a refresh requested by a commit is waiting in the refresher queue,
+	 * so that a burst of commits triggers a single refresh
+	 */
+	private final AtomicBoolean commitRefreshPending = new AtomicBoolean( false );
+
+	private DirectoryProvider<?> directoryProvider;
+	private String indexName;
+	private IndexReaderWarming warming;
+
+	// runs the refreshes triggered by commits, and the periodic ones unless the refresh interval is 0
+	private ScheduledExecutorService refresher;
+
+	private final Runnable commitRefresh = new Runnable() {
+		@Override
+		public void run() {
+			// reset before refreshing, so that a commit applied meanwhile schedules another refresh
+			commitRefreshPending.set( false );
+			refresh();
+		}
+	};
+
+	@Override
+	public IndexReader openIndexReader() {
+		while ( true ) {
+			IndexReader reader = current;
+			// fails if the reader was replaced and closed meanwhile: the next one is published already
+			if ( reader.tryIncRef() ) {
+				return reader;
+			}
+			// or if the provider was stopped, in which case no reader will be published anymore
+			if ( stopped ) {
+				throw new SearchException( "Unable to open an IndexReader on index " + indexName + ": the ReaderProvider is stopped" );
+			}
+		}
+	}
+
+	@Override
+	public void closeIndexReader(IndexReader reader) {
+		if ( reader == null ) {
+			return;
+		}
+		try {
+			reader.decRef();
+		}
+		catch ( IOException e ) {
+			log.unableToCLoseLuceneIndexReader( e );
+		}
+	}
+
+	@Override
+	public void initialize(DirectoryBasedIndexManager indexManager, Properties props) {
+		directoryProvider = indexManager.getDirectoryProvider();
+		indexName = indexManager.getIndexName();
+		warming = IndexReaderWarming.create( indexManager, props );
+		current = openReader( directoryProvider.getDirectory() );
+		warming.warm( current );
+		int refreshInterval = ConfigurationParseHelper.getIntValue( props, REFRESH_INTERVAL, DEFAULT_REFRESH_INTERVAL );
+		refresher = Executors.newScheduledThreadPool( 1, "IndexReader refresher for index " + indexName );
+		if ( refreshInterval > 0 ) {
+			refresher.scheduleWithFixedDelay( new Runnable() {
+					@Override
+					public void run() {
+						refresh();
+					}
+				}, refreshInterval, refreshInterval, TimeUnit.MILLISECONDS );
+		}
+	}
+
+	/**
+	 * Requests a refresh of the current IndexReader after the backend committed some changes.
+	 * The refresh is run by the background refresher, so that the backend doesn't wait for
+	 * reopening and warming the IndexReader; requests made while one is pending are merged.
+	 */
+	public void indexCommitted() {
+		if ( commitRefreshPending.compareAndSet( false, true ) ) {
+			try {
+				refresher.execute( commitRefresh );
+			}
+			catch (RejectedExecutionException e) {
+				// stopped: there's no reader to refresh anymore
+				commitRefreshPending.set( false );
+			}
+		}
+	}
+
+	/**
+	 * Replaces the current IndexReader if the index changed since it was opened.
+	 * Invoked by the background refresher, after commits and periodically:
+	 * failures are logged, queries keep using the previous IndexReader.
+	 */
+	public void refresh() {
+		try {
+			reopenIfChanged();
+		}
+		catch (RuntimeException e) {
+			// don't propagate it as it would cancel the scheduled refreshes, or fail an applied commit
+			log.unableToRefreshIndexReader( e, indexName );
+		}
+	}
+
+	private void reopenIfChanged() {
+		refreshLock.lock();
+		try {
+			if ( stopped ) {
+				return;
+			}
+			IndexReader previous = current;
+			// #getDirectory must be invoked each time as the underlying directory might "dance" as in
+			// org.hibernate.search.store.impl.FSSlaveDirectoryProvider
+			Directory directory = directoryProvider.getDirectory();
+			IndexReader updated;
+			if ( previous.directory() != directory ) {
+				updated = openReader( directory );
+			}
+			else {
+				try {
+					updated = IndexReader.openIfChanged( previous, true );
+				}
+				catch ( IOException e ) {
+					throw new SearchException( "Unable to reopen IndexReader", e );
+				}
+			}
+			if ( updated != null ) {
+				warming.warmNewSegments( previous, updated );
+				current = updated;
+				closeIndexReader( previous );
+			}
+		}
+		finally {
+			refreshLock.unlock();
+		}
+	}
+
+	private IndexReader openReader(Directory directory) {
+		try {
+			return IndexReader.open( directory, true );
+		}
+		catch ( IOException e ) {
+			throw new SearchException( "Unable to open Lucene IndexReader for IndexManager " + indexName, e );
+		}
+	}
+
+	@Override
+	public void stop() {
+		// don't interrupt a running refresh, as it would close the Directory's file channels
+		refresher.shutdown();
+		try {
+			refresher.awaitTermination( Long.MAX_VALUE, TimeUnit.SECONDS );
+		}
+		catch ( InterruptedException e ) {
+			log.interruptedWhileWaitingForIndexActivity( e );
+			Thread.currentThread().interrupt();
+		}
+		refreshLock.lock();
+		try {
+			stopped = true;
+			// readers still used by queries are closed when released
+			closeIndexReader( current );
+		}
+		finally {
+			refreshLock.unlock();
+		}
+	}
+
+}
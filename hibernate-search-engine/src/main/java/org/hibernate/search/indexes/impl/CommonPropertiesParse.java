@@ -150,6 +150,9 @@ public class CommonPropertiesParse {
 		else if ( "shared".equalsIgnoreCase( impl ) ) {
 			readerProvider = new SharingBufferReaderProvider();
 		}
+		else if ( "background-refresh".equalsIgnoreCase( impl ) ) {
+			readerProvider = new BackgroundRefreshingReaderProvider();
+		}
 		else {
 			readerProvider = ClassLoaderHelper.instanceFromName(
 					DirectoryBasedReaderProvider.class, impl,
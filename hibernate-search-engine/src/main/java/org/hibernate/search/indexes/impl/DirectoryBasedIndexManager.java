@@ -29,6 +29,7 @@ import java.util.concurrent.locks.Lock;
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.index.IndexWriterConfig;
 import org.apache.lucene.search.Similarity;
+import org.hibernate.search.Environment;
 import org.hibernate.search.backend.BackendFactory;
 import org.hibernate.search.backend.IndexingMonitor;
 import org.hibernate.search.backend.LuceneWork;
@@ -41,10 +42,12 @@ import org.hibernate.search.indexes.serialization.spi.LuceneWorkSerializer;
 import org.hibernate.search.indexes.spi.DirectoryBasedReaderProvider;
 import org.hibernate.search.indexes.spi.IndexManager;
 import org.hibernate.search.indexes.spi.ReaderProvider;
+import org.hibernate.search.query.engine.impl.ParallelQueryExecutor;
 import org.hibernate.search.spi.WorkerBuildContext;
 import org.hibernate.search.store.DirectoryProvider;
 import org.hibernate.search.store.impl.DirectoryProviderFactory;
 import org.hibernate.search.store.optimization.OptimizerStrategy;
+import org.hibernate.search.util.configuration.impl.ConfigurationParseHelper;
 
 /**
  * This implementation of IndexManager is coupled to a
@@ -65,6 +68,8 @@ public class DirectoryBasedIndexManager implements IndexManager {
 	private SearchFactoryImplementor boundSearchFactory = null;
 	private DirectoryBasedReaderProvider readers = null;
 	private IndexWriterConfig writerConfig;
+	private boolean parallelSegments;
+	private int parallelSegmentsMinDocs;
 
 	@Override
 	public String getIndexName() {
@@ -93,6 +98,10 @@ public class DirectoryBasedIndexManager implements IndexManager {
 		directoryProvider.start( this );
 		readers = createIndexReader( indexName, cfg, buildContext );
 		serializer = BackendFactory.createSerializer( indexName, cfg, buildContext );
+		parallelSegments = ConfigurationParseHelper.getBooleanValue( cfg, Environment.QUERY_PARALLEL_SEGMENTS, false );
+		parallelSegmentsMinDocs = ConfigurationParseHelper.getIntValue(
+				cfg, Environment.QUERY_PARALLEL_SEGMENTS_MIN_DOCS, ParallelQueryExecutor.DEFAULT_SEGMENTS_MIN_DOCS
+		);
 	}
 
 	@Override
@@ -174,6 +183,16 @@ public class DirectoryBasedIndexManager implements IndexManager {
 		return backend.getExclusiveWriteLock();
 	}
 
+	/**
+	 * Invoked by the backend after committing changes to the index:
+	 * not exposed on the IndexManager interface.
+	 */
+	public void indexCommitted() {
+		if ( readers instanceof BackgroundRefreshingReaderProvider ) {
+			( (BackgroundRefreshingReaderProvider) readers ).indexCommitted();
+		}
+	}
+
 	//Not exposed on the interface
 	public DirectoryProvider getDirectoryProvider() {
 		return directoryProvider;
@@ -184,6 +203,24 @@ public class DirectoryBasedIndexManager implements IndexManager {
 		return optimizer;
 	}
 
+	/**
+	 * @return true if the queries should search the segments of this index in parallel
+	 * @see Environment#QUERY_PARALLEL_SEGMENTS
+	 */
+	//Not exposed on the interface
+	public boolean isParallelSegmentsEnabled() {
+		return parallelSegments;
+	}
+
+	/**
+	 * @return the minimum number of documents of this index to search its segments in parallel
+	 * @see Environment#QUERY_PARALLEL_SEGMENTS_MIN_DOCS
+	 */
+	//Not exposed on the interface
+	public int getParallelSegmentsMinDocs() {
+		return parallelSegmentsMinDocs;
+	}
+
 	//Not exposed on the interface
 	public LuceneIndexingParameters getIndexingParameters() {
 		return indexingParameters;
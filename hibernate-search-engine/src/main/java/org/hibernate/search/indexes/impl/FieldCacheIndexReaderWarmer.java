@@ -0,0 +1,139 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.indexes.impl;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.search.FieldCache;
+import org.hibernate.annotations.common.util.StringHelper;
+import org.hibernate.search.Environment;
+import org.hibernate.search.annotations.FieldCacheType;
+import org.hibernate.search.bridge.FieldBridge;
+import org.hibernate.search.bridge.TwoWayFieldBridge;
+import org.hibernate.search.engine.spi.AbstractDocumentBuilder.PropertiesMetadata;
+import org.hibernate.search.engine.spi.DocumentBuilderIndexedEntity;
+import org.hibernate.search.engine.spi.EntityIndexBinder;
+import org.hibernate.search.indexes.spi.IndexReaderWarmer;
+import org.hibernate.search.query.collector.impl.FieldCacheCollectorFactory;
+import org.hibernate.search.query.fieldcache.impl.ClassLoadingStrategySelector;
+import org.hibernate.search.query.fieldcache.impl.FieldCacheLoadingType;
+import org.hibernate.search.query.fieldcache.impl.FieldCacheProjection;
+
+/**
+ * Loads in the FieldCache the fields which queries are likely to need, as derived from the mapping
+ * of the entities stored in the index:
+ * <ul>
+ * <li>the class and id fields when enabled by <code>@CacheFromIndex</code></li>
+ * <li>the <code>@NumericField</code> fields, as used by sorting and range faceting</li>
+ * <li>the projected fields, when enabled by <code>@CacheFromIndex</code></li>
+ * </ul>
+ * and the fields listed by {@link Environment#READER_WARMER_SORT_FIELDS}, as used by sorting on strings.
+ * 
+ * This warmer is enabled by the <code>field-cache</code> keyword.
+ */
+public class FieldCacheIndexReaderWarmer implements IndexReaderWarmer {
+
+	/**
+	 * The suffix of {@link Environment#READER_WARMER_SORT_FIELDS}, as we get the reader properties masked
+	 */
+	private static final String SORT_FIELDS = "warmer.sort_fields";
+
+	private DirectoryBasedIndexManager indexManager;
+	private String[] sortFields;
+
+	@Override
+	public void initialize(DirectoryBasedIndexManager indexManager, Properties props) {
+		this.indexManager = indexManager;
+		String fields = props.getProperty( SORT_FIELDS );
+		if ( StringHelper.isEmpty( fields ) ) {
+			sortFields = new String[0];
+		}
+		else {
+			sortFields = StringHelper.split( ",", fields );
+			for ( int i = 0; i < sortFields.length; i++ ) {
+				sortFields[i] = sortFields[i].trim();
+			}
+		}
+	}
+
+	@Override
+	public void warm(IndexReader segmentReader) throws IOException {
+		// the mapping of the index might change over time, as with a mutable SearchFactory
+		for ( Map.Entry<String, FieldCacheLoadingType> field : collectMappedFields().entrySet() ) {
+			field.getValue().createLoadingStrategy( field.getKey() ).loadNewCacheValues( segmentReader );
+		}
+		for ( String sortField : sortFields ) {
+			FieldCache.DEFAULT.getStringIndex( segmentReader, sortField );
+		}
+	}
+
+	private Map<String, FieldCacheLoadingType> collectMappedFields() {
+		Map<String, FieldCacheLoadingType> fields = new HashMap<String, FieldCacheLoadingType>();
+		for ( Class<?> type : indexManager.getContainedTypes() ) {
+			EntityIndexBinder indexBinding = indexManager.getIndexBindingForEntity( type );
+			if ( indexBinding == null ) {
+				// not bound to the SearchFactory yet
+				continue;
+			}
+			DocumentBuilderIndexedEntity<?> documentBuilder = indexBinding.getDocumentBuilder();
+			if ( documentBuilder.getFieldCacheOption().contains( FieldCacheType.CLASS ) ) {
+				addField( fields, FieldCacheCollectorFactory.CLASS_TYPE_FIELD_CACHE_COLLECTOR_FACTORY );
+			}
+			FieldCacheCollectorFactory idFieldCache = documentBuilder.getIdFieldCacheCollectionFactory();
+			if ( idFieldCache != null ) {
+				addField( fields, idFieldCache );
+			}
+			collectNumericFields( fields, documentBuilder.getMetadata() );
+			for ( FieldCacheProjection projection : documentBuilder.getProjectionFieldCaches().values() ) {
+				fields.put( projection.getFieldName(), projection.getLoadingType() );
+			}
+		}
+		return fields;
+	}
+
+	private void addField(Map<String, FieldCacheLoadingType> fields, FieldCacheCollectorFactory fieldCache) {
+		fields.put( fieldCache.getFieldName(), fieldCache.getLoadingType() );
+	}
+
+	private void collectNumericFields(Map<String, FieldCacheLoadingType> fields, PropertiesMetadata metadata) {
+		for ( int i = 0; i < metadata.fieldNames.size(); i++ ) {
+			FieldBridge fieldBridge = metadata.fieldBridges.get( i );
+			if ( fieldBridge instanceof TwoWayFieldBridge ) {
+				FieldCacheLoadingType loadingType = ClassLoadingStrategySelector.guessAppropriateCollectorType( (TwoWayFieldBridge) fieldBridge );
+				// string fields are only loaded when listed explicitly, as most aren't used for sorting
+				if ( loadingType != null && loadingType != FieldCacheLoadingType.STRING ) {
+					fields.put( metadata.fieldNames.get( i ), loadingType );
+				}
+			}
+		}
+		for ( int i = 0; i < metadata.embeddedPropertiesMetadata.size(); i++ ) {
+			// multi-valued fields of embedded collections can't be used for sorting
+			if ( metadata.embeddedContainers.get( i ) == PropertiesMetadata.Container.OBJECT ) {
+				collectNumericFields( fields, metadata.embeddedPropertiesMetadata.get( i ) );
+			}
+		}
+	}
+
+}
@@ -0,0 +1,144 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.indexes.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.util.ReaderUtil;
+import org.hibernate.annotations.common.util.StringHelper;
+import org.hibernate.search.Environment;
+import org.hibernate.search.indexes.spi.IndexReaderWarmer;
+import org.hibernate.search.util.impl.ClassLoaderHelper;
+import org.hibernate.search.util.logging.impl.Log;
+import org.hibernate.search.util.logging.impl.LoggerFactory;
+
+/**
+ * Applies the {@link IndexReaderWarmer}s configured for an index to the segments of
+ * a refreshed IndexReader, before the reader provider publishes it.
+ * 
+ * @see Environment#READER_WARMER
+ */
+public final class IndexReaderWarming {
+
+	private static final Log log = LoggerFactory.make();
+
+	/**
+	 * The suffix of {@link Environment#READER_WARMER}, as we get the reader properties masked
+	 */
+	private static final String WARMER = "warmer";
+
+	private final String indexName;
+	private final List<IndexReaderWarmer> warmers;
+
+	private IndexReaderWarming(String indexName, List<IndexReaderWarmer> warmers) {
+		this.indexName = indexName;
+		this.warmers = warmers;
+	}
+
+	/**
+	 * @param indexManager the index to which the IndexReaders belong
+	 * @param props the reader configuration properties of the index, might be null
+	 * @return the warming configured for the index, possibly doing nothing
+	 */
+	public static IndexReaderWarming create(DirectoryBasedIndexManager indexManager, Properties props) {
+		String names = props == null ? null : props.getProperty( WARMER );
+		if ( StringHelper.isEmpty( names ) ) {
+			return new IndexReaderWarming( null, Collections.<IndexReaderWarmer>emptyList() );
+		}
+		List<IndexReaderWarmer> warmers = new ArrayList<IndexReaderWarmer>();
+		for ( String name : StringHelper.split( ",", names ) ) {
+			name = name.trim();
+			IndexReaderWarmer warmer;
+			if ( "field-cache".equalsIgnoreCase( name ) ) {
+				warmer = new FieldCacheIndexReaderWarmer();
+			}
+			else {
+				warmer = ClassLoaderHelper.instanceFromName(
+						IndexReaderWarmer.class, name,
+						IndexReaderWarming.class, "IndexReaderWarmer"
+				);
+			}
+			warmer.initialize( indexManager, props );
+			warmers.add( warmer );
+		}
+		return new IndexReaderWarming( indexManager.getIndexName(), warmers );
+	}
+
+	/**
+	 * @return true if any IndexReaderWarmer is configured, false if warming does nothing
+	 */
+	public boolean hasWarmers() {
+		return ! warmers.isEmpty();
+	}
+
+	/**
+	 * Warms all segments of a newly opened IndexReader.
+	 */
+	public void warm(IndexReader reader) {
+		warmNewSegments( null, reader );
+	}
+
+	/**
+	 * Warms the segments of the updated IndexReader which are not shared with the previous one.
+	 * Failures are logged, as queries can use a cold IndexReader anyway.
+	 * 
+	 * @param previous the IndexReader being replaced, or null
+	 * @param updated the IndexReader about to be published
+	 */
+	public void warmNewSegments(IndexReader previous, IndexReader updated) {
+		if ( warmers.isEmpty() ) {
+			return;
+		}
+		Set<Object> knownSegments = new HashSet<Object>();
+		if ( previous != null ) {
+			for ( IndexReader segment : gatherSegments( previous ) ) {
+				knownSegments.add( segment.getCoreCacheKey() );
+			}
+		}
+		for ( IndexReader segment : gatherSegments( updated ) ) {
+			// the FieldCache is keyed on the segment core, so it's still valid after deletions
+			if ( knownSegments.contains( segment.getCoreCacheKey() ) ) {
+				continue;
+			}
+			for ( IndexReaderWarmer warmer : warmers ) {
+				try {
+					warmer.warm( segment );
+				}
+				catch (Exception e) {
+					log.unableToWarmIndexReader( e, indexName );
+				}
+			}
+		}
+	}
+
+	private static List<IndexReader> gatherSegments(IndexReader reader) {
+		List<IndexReader> segments = new ArrayList<IndexReader>();
+		ReaderUtil.gatherSubReaders( segments, reader );
+		return segments;
+	}
+
+}
@@ -63,6 +63,7 @@ public class NRTIndexManager extends DirectoryBasedIndexManager {
 		nrtWorkspace = new NRTWorkspaceImpl( this, buildContext, cfg );
 		backendQueueProcessor.setCustomWorkspace( nrtWorkspace );
 		backendQueueProcessor.initialize( cfg, buildContext, this );
+		nrtWorkspace.startBackgroundRefresh( backendQueueProcessor.getExclusiveWriteLock() );
 		return backendQueueProcessor;
 	}
 
@@ -25,6 +25,7 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -60,6 +61,7 @@ public class SharingBufferReaderProvider implements DirectoryBasedReaderProvider
 
 	private DirectoryProvider directoryProvider;
 	private String indexName;
+	private IndexReaderWarming warming;
 	
 	@Override
 	public IndexReader openIndexReader() {
@@ -87,6 +89,7 @@ public class SharingBufferReaderProvider implements DirectoryBasedReaderProvider
 	public void initialize(DirectoryBasedIndexManager indexManager, Properties props) {
 		this.directoryProvider = indexManager.getDirectoryProvider();
 		this.indexName = indexManager.getIndexName();
+		this.warming = IndexReaderWarming.create( indexManager, props );
 		// Initialize at least one, don't forget directoryProvider might return different Directory later
 		createReader( directoryProvider.getDirectory() );
 	}
@@ -196,6 +199,13 @@ public class SharingBufferReaderProvider implements DirectoryBasedReaderProvider
 		public ReaderUsagePair current; //guarded by lockOnReplaceCurrent
 		private final Lock lockOnReplaceCurrent = new ReentrantLock();
 
+		/**
+		 * Set while a thread warms a reopened IndexReader outside of lockOnReplaceCurrent:
+		 * meanwhile the other threads wait for it to be published rather than reopening it again.
+		 */
+		private boolean warmingInProgress = false; //guarded by lockOnReplaceCurrent
+		private final Condition warmedReaderPublished = lockOnReplaceCurrent.newCondition();
+
 		/**
 		 * @param directory The <code>Directory</code> for which we manage the <code>IndexReader</code>.
 		 *
@@ -203,6 +213,7 @@ public class SharingBufferReaderProvider implements DirectoryBasedReaderProvider
 		 */
 		public PerDirectoryLatestReader(Directory directory) throws IOException {
 			IndexReader reader = readerFactory( directory );
+			warming.warm( reader );
 			ReaderUsagePair initialPair = new ReaderUsagePair( reader );
 			initialPair.usageCounter.set( 1 ); //a token to mark as active (preventing real close).
 			lockOnReplaceCurrent.lock(); //no harm, just ensuring safe publishing.
@@ -213,16 +224,21 @@ public class SharingBufferReaderProvider implements DirectoryBasedReaderProvider
 
 		/**
 		 * Gets an updated IndexReader for the current Directory;
-		 * the index status will be checked.
+		 * if another thread is warming a newer IndexReader, waits for it to be published first.
 		 *
 		 * @return the current IndexReader if it's in sync with underlying index, a new one otherwise.
 		 */
 		public IndexReader refreshAndGet() {
-			ReaderUsagePair previousCurrent;
+			IndexReader beforeUpdateReader;
 			IndexReader updatedReader;
+			ReaderUsagePair previousCurrent = null;
 			lockOnReplaceCurrent.lock();
 			try {
-				IndexReader beforeUpdateReader = current.reader;
+				while ( warmingInProgress ) {
+					// the reader being warmed might be older than the index: check again once it's published
+					warmedReaderPublished.awaitUninterruptibly();
+				}
+				beforeUpdateReader = current.reader;
 				try {
 					updatedReader = beforeUpdateReader.reopen();
 				}
@@ -230,27 +246,64 @@ public class SharingBufferReaderProvider implements DirectoryBasedReaderProvider
 					throw new SearchException( "Unable to reopen IndexReader", e );
 				}
 				if ( beforeUpdateReader == updatedReader ) {
-					previousCurrent = null;
 					current.usageCounter.incrementAndGet();
+					return updatedReader;
+				}
+				if ( warming.hasWarmers() ) {
+					warmingInProgress = true;
 				}
 				else {
-					ReaderUsagePair newPair = new ReaderUsagePair( updatedReader );
-					//no need to increment usageCounter in newPair, as it is constructed with correct number 2.
-					assert newPair.usageCounter.get() == 2;
-					previousCurrent = current;
-					current = newPair;
-					allReaders.put( updatedReader, newPair );//unfortunately still needs lock
+					previousCurrent = publish( new ReaderUsagePair( updatedReader ) );
 				}
 			}
 			finally {
 				lockOnReplaceCurrent.unlock();
 			}
-			// doesn't need lock:
 			if ( previousCurrent != null ) {
+				// doesn't need lock:
 				previousCurrent.close();// release a token as it's not the current any more.
+				return updatedReader;
+			}
+			ReaderUsagePair newPair = new ReaderUsagePair( updatedReader );
+			boolean warmed = false;
+			try {
+				// doesn't need lock: beforeUpdateReader can't be replaced, hence closed, until we publish updatedReader
+				warming.warmNewSegments( beforeUpdateReader, updatedReader );
+				warmed = true;
+			}
+			finally {
+				// publish even if warming failed, as queries can use a cold IndexReader anyway
+				lockOnReplaceCurrent.lock();
+				try {
+					previousCurrent = publish( newPair );
+					warmingInProgress = false;
+					warmedReaderPublished.signalAll();
+				}
+				finally {
+					lockOnReplaceCurrent.unlock();
+				}
+				// doesn't need lock:
+				previousCurrent.close();// release a token as it's not the current any more.
+				if ( ! warmed ) {
+					newPair.close();// the caller won't get the reader
+				}
 			}
 			return updatedReader;
 		}
+
+		/**
+		 * Replaces current with the new pair; requires lockOnReplaceCurrent.
+		 *
+		 * @return the replaced pair, still holding the token marking it as current
+		 */
+		private ReaderUsagePair publish(ReaderUsagePair newPair) {
+			//no need to increment usageCounter in newPair, as it is constructed with correct number 2.
+			assert newPair.usageCounter.get() == 2;
+			ReaderUsagePair previousCurrent = current;
+			allReaders.put( newPair.reader, newPair );
+			current = newPair;
+			return previousCurrent;
+		}
 	}
 
 }
@@ -0,0 +1,53 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.indexes.spi;
+
+import java.io.IOException;
+import java.util.Properties;
+
+import org.apache.lucene.index.IndexReader;
+import org.hibernate.search.indexes.impl.DirectoryBasedIndexManager;
+
+/**
+ * Prepares the segments of a new IndexReader before the reader provider makes it
+ * available to queries, for example by loading the FieldCache entries used for sorting
+ * or faceting: otherwise the first queries on each refreshed IndexReader pay for it.
+ * 
+ * Only segments which were not part of the previous IndexReader are warmed,
+ * as the FieldCache is kept per segment.
+ * Implementations must be thread safe and have a no-arg constructor.
+ */
+public interface IndexReaderWarmer {
+
+	/**
+	 * @param indexManager the index whose readers are warmed. Its mapping might not be
+	 * complete yet when this is invoked.
+	 * @param props the reader configuration properties of the index
+	 */
+	void initialize(DirectoryBasedIndexManager indexManager, Properties props);
+
+	/**
+	 * @param segmentReader a segment of an IndexReader about to be made available to queries
+	 * @throws IOException when the index can not be read: the IndexReader is published anyway
+	 */
+	void warm(IndexReader segmentReader) throws IOException;
+
+}
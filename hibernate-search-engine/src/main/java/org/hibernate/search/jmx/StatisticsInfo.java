@@ -80,6 +80,14 @@ public class StatisticsInfo implements StatisticsInfoMBean {
 		return delegate.getObjectsLoadedCount();
 	}
 
+	public long getQueryResultCacheHitCount() {
+		return delegate.getQueryResultCacheHitCount();
+	}
+
+	public long getQueryResultCacheMissCount() {
+		return delegate.getQueryResultCacheMissCount();
+	}
+
 	public boolean isStatisticsEnabled() {
 		return delegate.isStatisticsEnabled();
 	}
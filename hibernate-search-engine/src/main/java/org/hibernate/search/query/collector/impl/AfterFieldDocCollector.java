@@ -0,0 +1,109 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.query.collector.impl;
+
+import java.io.IOException;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.search.Collector;
+import org.apache.lucene.search.FieldComparator;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.Scorer;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+
+/**
+ * Passes to the delegate only the hits which sort after a given {@code FieldDoc},
+ * so that a {@code TopFieldCollector} sized as a single page collects the page following it.
+ * The sort values are compared as the {@code TopFieldCollector} does, ties being broken on the
+ * document id: the {@code FieldDoc} must come from a {@code TopFieldCollector} on the same
+ * {@code Sort} and IndexReader, having its fields filled.
+ *
+ * This is the field sorting counterpart of
+ * {@link org.apache.lucene.search.TopScoreDocCollector#create(int, org.apache.lucene.search.ScoreDoc, boolean)}.
+ */
+public class AfterFieldDocCollector extends Collector {
+
+	private final Collector delegate;
+	private final FieldDoc after;
+	private final FieldComparator<?>[] comparators;
+	private final int[] reverseMul;
+	private int docBase;
+
+	public AfterFieldDocCollector(Collector delegate, Sort sort, FieldDoc after) throws IOException {
+		this.delegate = delegate;
+		this.after = after;
+		SortField[] sortFields = sort.getSort();
+		this.comparators = new FieldComparator<?>[sortFields.length];
+		this.reverseMul = new int[sortFields.length];
+		for ( int i = 0; i < sortFields.length; i++ ) {
+			// a single slot to copy each candidate value into
+			comparators[i] = sortFields[i].getComparator( 1, i );
+			reverseMul[i] = sortFields[i].getReverse() ? -1 : 1;
+		}
+	}
+
+	@Override
+	public void setScorer(Scorer scorer) throws IOException {
+		for ( FieldComparator<?> comparator : comparators ) {
+			comparator.setScorer( scorer );
+		}
+		delegate.setScorer( scorer );
+	}
+
+	@Override
+	public void collect(int doc) throws IOException {
+		if ( isAfter( doc ) ) {
+			delegate.collect( doc );
+		}
+	}
+
+	private boolean isAfter(int doc) throws IOException {
+		for ( int i = 0; i < comparators.length; i++ ) {
+			int comparison = reverseMul[i] * compareToAfter( comparators[i], doc, after.fields[i] );
+			if ( comparison != 0 ) {
+				return comparison > 0;
+			}
+		}
+		return docBase + doc > after.doc;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> int compareToAfter(FieldComparator<T> comparator, int doc, Object afterValue) throws IOException {
+		comparator.copy( 0, doc );
+		return comparator.compareValues( comparator.value( 0 ), (T) afterValue );
+	}
+
+	@Override
+	public void setNextReader(IndexReader reader, int docBase) throws IOException {
+		this.docBase = docBase;
+		for ( FieldComparator<?> comparator : comparators ) {
+			comparator.setNextReader( reader, docBase );
+		}
+		delegate.setNextReader( reader, docBase );
+	}
+
+	@Override
+	public boolean acceptsDocsOutOfOrder() {
+		return delegate.acceptsDocsOutOfOrder();
+	}
+
+}
@@ -68,11 +68,6 @@ public class FacetCollector extends Collector {
 	 */
 	private final FacetingRequestImpl facetRequest;
 
-	/**
-	 * Used to load field values from the Lucene field cache
-	 */
-	private final FieldLoadingStrategy fieldLoader;
-
 	/**
 	 * A counter mapped to the field name for which it is counting
 	 */
@@ -88,9 +83,6 @@ public class FacetCollector extends Collector {
 		this.nextInChainCollector = nextInChainCollector;
 		this.facetRequest = facetRequest;
 		this.facetCounts = createFacetCounter( facetRequest );
-		fieldLoader = FieldCacheLoadingType.getLoadingStrategy(
-				this.facetRequest.getFieldName(), this.facetRequest.getFieldCacheType()
-		);
 	}
 
 	@Override
@@ -98,16 +90,13 @@ public class FacetCollector extends Collector {
 		if ( !initialised ) {
 			initialiseCollector( reader );
 		}
-		initialiseFieldCaches( reader );
+		facetCounts.setNextReader( reader );
 		nextInChainCollector.setNextReader( reader, docBase );
 	}
 
 	@Override
 	public void collect(int doc) throws IOException {
-		Object value = fieldLoader.collect( doc );
-		if ( value != null ) {
-			facetCounts.countValue( value );
-		}
+		facetCounts.collect( doc );
 		nextInChainCollector.collect( doc );
 	}
 
@@ -121,6 +110,16 @@ public class FacetCollector extends Collector {
 		return nextInChainCollector.acceptsDocsOutOfOrder();
 	}
 
+	/**
+	 * Adds the counts of a collector which handled the same facet request on a different
+	 * set of documents, like another shard of the index.
+	 */
+	public void mergeCounts(FacetCollector other) {
+		for ( Entry<String, Integer> count : other.facetCounts.getCounts().entrySet() ) {
+			facetCounts.incrementCount( count.getKey(), count.getValue() );
+		}
+	}
+
 	public String getFacetName() {
 		return facetRequest.getFacetingName();
 	}
@@ -178,17 +177,16 @@ public class FacetCollector extends Collector {
 		initialised = true;
 	}
 
-	private void initialiseFieldCaches(IndexReader reader) throws IOException {
-		fieldLoader.loadNewCacheValues( reader );
-	}
-
 	private <N extends Number> FacetCounter createFacetCounter(FacetingRequestImpl request) {
 		if ( request instanceof DiscreteFacetRequest ) {
-			return new SimpleFacetCounter();
+			return new OrdinalFacetCounter( (DiscreteFacetRequest) request );
 		}
 		else if ( request instanceof RangeFacetRequest ) {
 			@SuppressWarnings("unchecked")
 			RangeFacetRequest<N> rangeFacetRequest = (RangeFacetRequest<N>) request;
+			if ( NumericRangeFacetCounter.isSupported( rangeFacetRequest ) ) {
+				return new NumericRangeFacetCounter<N>( rangeFacetRequest );
+			}
 			return new RangeFacetCounter<N>( rangeFacetRequest );
 		}
 		else {
@@ -255,28 +253,77 @@ public class FacetCollector extends Collector {
 		}
 
 		void incrementCount(String value) {
-			if ( !counts.containsKey( value ) ) {
-				counts.put( value, 1 );
+			incrementCount( value, 1 );
+		}
+
+		void incrementCount(String value, int increment) {
+			Integer count = counts.get( value );
+			if ( count == null ) {
+				counts.put( value, increment );
 			}
 			else {
-				counts.put( value, counts.get( value ) + 1 );
+				counts.put( value, count + increment );
+			}
+		}
+
+		/**
+		 * Invoked before collecting the documents of each segment.
+		 */
+		abstract void setNextReader(IndexReader reader) throws IOException;
+
+		/**
+		 * @param doc the document id, relative to the current segment
+		 */
+		abstract void collect(int doc);
+	}
+
+	/**
+	 * Counts the boxed values loaded from the field cache by a {@code FieldLoadingStrategy}.
+	 */
+	static abstract class FieldLoadingFacetCounter extends FacetCounter {
+		private final FieldLoadingStrategy fieldLoader;
+
+		FieldLoadingFacetCounter(FacetingRequestImpl request) {
+			this.fieldLoader = FieldCacheLoadingType.getLoadingStrategy(
+					request.getFieldName(), request.getFieldCacheType()
+			);
+		}
+
+		void setNextReader(IndexReader reader) throws IOException {
+			fieldLoader.loadNewCacheValues( reader );
+		}
+
+		void collect(int doc) {
+			Object value = fieldLoader.collect( doc );
+			if ( value != null ) {
+				countValue( value );
 			}
 		}
 
 		abstract void countValue(Object value);
 	}
 
-	static class SimpleFacetCounter extends FacetCounter {
+	/**
+	 * Counts the values of fields which can't be counted by ordinal, see {@link OrdinalFacetCounter}.
+	 */
+	static class SimpleFacetCounter extends FieldLoadingFacetCounter {
+		SimpleFacetCounter(DiscreteFacetRequest request) {
+			super( request );
+		}
+
 		void countValue(Object value) {
 			incrementCount( (String) value );
 		}
 	}
 
-	static class RangeFacetCounter<T> extends FacetCounter {
+	static class RangeFacetCounter<T> extends FieldLoadingFacetCounter {
 		private final List<FacetRange<T>> ranges;
+		private final int[] rangeCounts;
 
 		RangeFacetCounter(RangeFacetRequest<T> request) {
+			super( request );
 			this.ranges = request.getFacetRangeList();
+			this.rangeCounts = new int[ranges.size()];
 			for ( FacetRange<T> range : ranges ) {
 				initCount( range.getRangeString() );
 			}
@@ -284,11 +331,22 @@ public class FacetCollector extends Collector {
 
 		@SuppressWarnings("unchecked")
 		void countValue(Object value) {
-			for ( FacetRange<T> range : ranges ) {
-				if ( range.isInRange( (T) value ) ) {
-					incrementCount( range.getRangeString() );
+			for ( int i = 0; i < rangeCounts.length; i++ ) {
+				if ( ranges.get( i ).isInRange( (T) value ) ) {
+					rangeCounts[i]++;
+				}
+			}
+		}
+
+		@Override
+		Map<String, Integer> getCounts() {
+			for ( int i = 0; i < rangeCounts.length; i++ ) {
+				if ( rangeCounts[i] != 0 ) {
+					incrementCount( ranges.get( i ).getRangeString(), rangeCounts[i] );
+					rangeCounts[i] = 0;
 				}
 			}
+			return super.getCounts();
 		}
 	}
 }
@@ -73,6 +73,14 @@ public class FieldCacheCollectorFactory {
 		this.implementationSwitchThreshold = implementationSwitchThreshold;
 	}
 
+	public String getFieldName() {
+		return fieldName;
+	}
+
+	public FieldCacheLoadingType getLoadingType() {
+		return type;
+	}
+
 	public FieldCacheCollector createFieldCollector(Collector collector, int totalMaxDocs, int expectedMatchesCount) {
 		FieldCacheCollector fieldCollector = createDefaultFieldCollector(
 				collector, totalMaxDocs, expectedMatchesCount,
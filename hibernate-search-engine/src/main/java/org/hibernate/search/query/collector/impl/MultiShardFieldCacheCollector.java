@@ -0,0 +1,70 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.query.collector.impl;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.lucene.index.IndexReader;
+
+import org.hibernate.annotations.common.AssertionFailure;
+
+/**
+ * Exposes the values collected by a {@code FieldCacheCollector} on each shard searched in parallel,
+ * each shard having collected the values of its own document ids. A shard might also be a slice
+ * of the segments of a single index, when the segments of an index are searched in parallel.
+ * This collector only gives access to the collected values: it's not used for collecting.
+ */
+public final class MultiShardFieldCacheCollector extends FieldCacheCollector {
+
+	private final FieldCacheCollector[] shardCollectors;
+	private final int[] docBases;
+
+	/**
+	 * @param shardCollectors the collector used on each shard, in document id order
+	 * @param docBases the id of the first document of each shard in the searched reader
+	 */
+	public MultiShardFieldCacheCollector(FieldCacheCollector[] shardCollectors, int[] docBases) {
+		super( shardCollectors[0] );
+		this.shardCollectors = shardCollectors;
+		this.docBases = docBases;
+	}
+
+	@Override
+	public void collect(int doc) throws IOException {
+		throw new AssertionFailure( "Values are collected by the collector of each shard" );
+	}
+
+	@Override
+	public void setNextReader(IndexReader reader, int docBase) throws IOException {
+		throw new AssertionFailure( "Values are collected by the collector of each shard" );
+	}
+
+	@Override
+	public Object getValue(int docId) {
+		int shard = Arrays.binarySearch( docBases, docId );
+		if ( shard < 0 ) {
+			// the insertion point is after the shard containing the document
+			shard = -shard - 2;
+		}
+		return shardCollectors[shard].getValue( docId - docBases[shard] );
+	}
+}
@@ -0,0 +1,334 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.query.collector.impl;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.search.FieldCache;
+
+import org.hibernate.search.query.dsl.impl.FacetRange;
+import org.hibernate.search.query.dsl.impl.RangeFacetRequest;
+
+/**
+ * Counts numeric range facets reading the primitive arrays of the field cache:
+ * range bounds are converted to primitives once, and each range has its own
+ * {@code int} counter, so that collecting a document doesn't need boxing nor hashing.
+ * When the ranges don't overlap, the range of each value is found with a binary search
+ * on the ranges sorted by lower bound; otherwise all ranges are checked.
+ */
+final class NumericRangeFacetCounter<T> extends FacetCollector.FacetCounter {
+	private final String fieldName;
+	private final Class<?> fieldType;
+	private final List<FacetRange<T>> ranges;
+	private final int[] rangeCounts;
+
+	private final boolean[] hasMin;
+	private final boolean[] hasMax;
+	private final boolean[] includeMin;
+	private final boolean[] includeMax;
+	// bounds for Integer and Long fields
+	private final long[] longMin;
+	private final long[] longMax;
+	// bounds for Float and Double fields
+	private final double[] doubleMin;
+	private final double[] doubleMax;
+	private final boolean integral;
+
+	/**
+	 * Range indexes sorted by lower bound, or null if some ranges overlap
+	 */
+	private final int[] sortedRanges;
+
+	private int[] intValues;
+	private long[] longValues;
+	private float[] floatValues;
+	private double[] doubleValues;
+
+	NumericRangeFacetCounter(RangeFacetRequest<T> request) {
+		this.fieldName = request.getFieldName();
+		this.fieldType = request.getFieldCacheType();
+		this.ranges = request.getFacetRangeList();
+		int size = ranges.size();
+		rangeCounts = new int[size];
+		hasMin = new boolean[size];
+		hasMax = new boolean[size];
+		includeMin = new boolean[size];
+		includeMax = new boolean[size];
+		longMin = new long[size];
+		longMax = new long[size];
+		doubleMin = new double[size];
+		doubleMax = new double[size];
+		integral = fieldType == Integer.class || fieldType == Long.class;
+		for ( int i = 0; i < size; i++ ) {
+			FacetRange<T> range = ranges.get( i );
+			initCount( range.getRangeString() );
+			includeMin[i] = range.isMinIncluded();
+			includeMax[i] = range.isMaxIncluded();
+			Number min = (Number) range.getMin();
+			Number max = (Number) range.getMax();
+			if ( min != null ) {
+				hasMin[i] = true;
+				longMin[i] = min.longValue();
+				doubleMin[i] = min.doubleValue();
+			}
+			if ( max != null ) {
+				hasMax[i] = true;
+				longMax[i] = max.longValue();
+				doubleMax[i] = max.doubleValue();
+			}
+		}
+		sortedRanges = sortIfNotOverlapping();
+	}
+
+	private int[] sortIfNotOverlapping() {
+		Integer[] order = new Integer[rangeCounts.length];
+		for ( int i = 0; i < order.length; i++ ) {
+			order[i] = i;
+		}
+		Arrays.sort( order, new Comparator<Integer>() {
+			public int compare(Integer range1, Integer range2) {
+				return compareLowerBounds( range1, range2 );
+			}
+		} );
+		int[] sorted = new int[order.length];
+		for ( int i = 0; i < order.length; i++ ) {
+			sorted[i] = order[i];
+			if ( i > 0 && overlapping( sorted[i - 1], sorted[i] ) ) {
+				return null;
+			}
+		}
+		return sorted;
+	}
+
+	private int compareLowerBounds(int range1, int range2) {
+		if ( !hasMin[range1] || !hasMin[range2] ) {
+			return hasMin[range1] == hasMin[range2] ? 0 : ( hasMin[range1] ? 1 : -1 );
+		}
+		int check = integral ?
+				compareLongs( longMin[range1], longMin[range2] ) :
+				Double.compare( doubleMin[range1], doubleMin[range2] );
+		if ( check == 0 && includeMin[range1] != includeMin[range2] ) {
+			// an included lower bound starts before an excluded one
+			return includeMin[range1] ? -1 : 1;
+		}
+		return check;
+	}
+
+	/**
+	 * @return true if the range {@code next}, having a higher lower bound, might contain values of {@code previous}
+	 */
+	private boolean overlapping(int previous, int next) {
+		if ( !hasMax[previous] || !hasMin[next] ) {
+			return true;
+		}
+		int check = integral ?
+				compareLongs( longMax[previous], longMin[next] ) :
+				Double.compare( doubleMax[previous], doubleMin[next] );
+		return check > 0 || ( check == 0 && includeMax[previous] && includeMin[next] );
+	}
+
+	private static int compareLongs(long value1, long value2) {
+		return value1 < value2 ? -1 : ( value1 == value2 ? 0 : 1 );
+	}
+
+	/**
+	 * @return true if the request is on a numeric field and all range bounds have the type of the field
+	 */
+	static boolean isSupported(RangeFacetRequest<?> request) {
+		Class<?> type = request.getFieldCacheType();
+		if ( type != Integer.class && type != Long.class && type != Float.class && type != Double.class ) {
+			return false;
+		}
+		for ( FacetRange<?> range : request.getFacetRangeList() ) {
+			if ( range.getMin() != null && range.getMin().getClass() != type ) {
+				return false;
+			}
+			if ( range.getMax() != null && range.getMax().getClass() != type ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	void setNextReader(IndexReader reader) throws IOException {
+		if ( fieldType == Integer.class ) {
+			intValues = FieldCache.DEFAULT.getInts( reader, fieldName );
+		}
+		else if ( fieldType == Long.class ) {
+			longValues = FieldCache.DEFAULT.getLongs( reader, fieldName );
+		}
+		else if ( fieldType == Float.class ) {
+			floatValues = FieldCache.DEFAULT.getFloats( reader, fieldName );
+		}
+		else {
+			doubleValues = FieldCache.DEFAULT.getDoubles( reader, fieldName );
+		}
+	}
+
+	@Override
+	void collect(int doc) {
+		if ( intValues != null ) {
+			countLong( intValues[doc] );
+		}
+		else if ( longValues != null ) {
+			countLong( longValues[doc] );
+		}
+		else if ( floatValues != null ) {
+			countDouble( floatValues[doc] );
+		}
+		else {
+			countDouble( doubleValues[doc] );
+		}
+	}
+
+	private void countLong(long value) {
+		if ( sortedRanges != null ) {
+			// the last range starting at or before the value is the only candidate,
+			// or the one before it when both share the value as bound
+			int position = lastRangeStartingAtOrBefore( value );
+			if ( position >= 0 ) {
+				int range = sortedRanges[position];
+				if ( isInRange( range, value ) ) {
+					rangeCounts[range]++;
+				}
+				else if ( position > 0 && hasMin[range] && longMin[range] == value ) {
+					int previous = sortedRanges[position - 1];
+					if ( isInRange( previous, value ) ) {
+						rangeCounts[previous]++;
+					}
+				}
+			}
+		}
+		else {
+			for ( int i = 0; i < rangeCounts.length; i++ ) {
+				if ( isInRange( i, value ) ) {
+					rangeCounts[i]++;
+				}
+			}
+		}
+	}
+
+	private void countDouble(double value) {
+		if ( sortedRanges != null ) {
+			int position = lastRangeStartingAtOrBefore( value );
+			if ( position >= 0 ) {
+				int range = sortedRanges[position];
+				if ( isInRange( range, value ) ) {
+					rangeCounts[range]++;
+				}
+				else if ( position > 0 && hasMin[range] && Double.compare( doubleMin[range], value ) == 0 ) {
+					int previous = sortedRanges[position - 1];
+					if ( isInRange( previous, value ) ) {
+						rangeCounts[previous]++;
+					}
+				}
+			}
+		}
+		else {
+			for ( int i = 0; i < rangeCounts.length; i++ ) {
+				if ( isInRange( i, value ) ) {
+					rangeCounts[i]++;
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the position in sortedRanges of the last range having a lower bound not greater than value,
+	 * or -1 if there is none
+	 */
+	private int lastRangeStartingAtOrBefore(long value) {
+		int low = 0;
+		int high = sortedRanges.length - 1;
+		int found = -1;
+		while ( low <= high ) {
+			int middle = ( low + high ) >>> 1;
+			int range = sortedRanges[middle];
+			if ( !hasMin[range] || longMin[range] <= value ) {
+				found = middle;
+				low = middle + 1;
+			}
+			else {
+				high = middle - 1;
+			}
+		}
+		return found;
+	}
+
+	private int lastRangeStartingAtOrBefore(double value) {
+		int low = 0;
+		int high = sortedRanges.length - 1;
+		int found = -1;
+		while ( low <= high ) {
+			int middle = ( low + high ) >>> 1;
+			int range = sortedRanges[middle];
+			if ( !hasMin[range] || Double.compare( doubleMin[range], value ) <= 0 ) {
+				found = middle;
+				low = middle + 1;
+			}
+			else {
+				high = middle - 1;
+			}
+		}
+		return found;
+	}
+
+	private boolean isInRange(int range, long value) {
+		if ( hasMin[range] && ( includeMin[range] ? value < longMin[range] : value <= longMin[range] ) ) {
+			return false;
+		}
+		return !( hasMax[range] && ( includeMax[range] ? value > longMax[range] : value >= longMax[range] ) );
+	}
+
+	private boolean isInRange(int range, double value) {
+		// Double.compare is consistent with the Comparable implementations used by FacetRange
+		if ( hasMin[range] ) {
+			int minCheck = Double.compare( value, doubleMin[range] );
+			if ( includeMin[range] ? minCheck < 0 : minCheck <= 0 ) {
+				return false;
+			}
+		}
+		if ( hasMax[range] ) {
+			int maxCheck = Double.compare( value, doubleMax[range] );
+			if ( includeMax[range] ? maxCheck > 0 : maxCheck >= 0 ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	Map<String, Integer> getCounts() {
+		for ( int i = 0; i < rangeCounts.length; i++ ) {
+			if ( rangeCounts[i] != 0 ) {
+				incrementCount( ranges.get( i ).getRangeString(), rangeCounts[i] );
+				rangeCounts[i] = 0;
+			}
+		}
+		return super.getCounts();
+	}
+}
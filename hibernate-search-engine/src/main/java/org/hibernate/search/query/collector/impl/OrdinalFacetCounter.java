@@ -0,0 +1,153 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.query.collector.impl;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.index.TermEnum;
+import org.apache.lucene.search.FieldCache;
+
+import org.hibernate.search.query.dsl.impl.DiscreteFacetRequest;
+
+/**
+ * Counts discrete facet values using the term ordinals of each segment: collecting
+ * a document only increments an {@code int} counter, and the counts are aggregated
+ * by value when moving to the next segment.
+ * Fields having more terms than documents (i.e. tokenized) can't be represented as a
+ * {@code FieldCache.StringIndex}, as the FieldCache ignores the terms in excess: in the
+ * segments where this happens the values are counted one by one by a
+ * {@link FacetCollector.SimpleFacetCounter}.
+ */
+final class OrdinalFacetCounter extends FacetCollector.FacetCounter {
+
+	/**
+	 * Whether each field has more terms than documents, per segment core: it's decided
+	 * the first time the field is counted in a segment. Keys are weak as in the FieldCache.
+	 */
+	private static final Map<Object, Map<String, Boolean>> tokenizedFields = Collections.synchronizedMap(
+			new WeakHashMap<Object, Map<String, Boolean>>()
+	);
+
+	private final String fieldName;
+	private final FacetCollector.SimpleFacetCounter tokenizedCounter;
+
+	private int[] ordinalCounts = new int[0];
+	private FieldCache.StringIndex currentIndex;
+
+	OrdinalFacetCounter(DiscreteFacetRequest request) {
+		this.fieldName = request.getFieldName();
+		this.tokenizedCounter = new FacetCollector.SimpleFacetCounter( request );
+	}
+
+	@Override
+	void setNextReader(IndexReader reader) throws IOException {
+		aggregateSegmentCounts();
+		if ( isTokenized( reader ) ) {
+			tokenizedCounter.setNextReader( reader );
+		}
+		else {
+			currentIndex = FieldCache.DEFAULT.getStringIndex( reader, fieldName );
+			if ( ordinalCounts.length < currentIndex.lookup.length ) {
+				ordinalCounts = new int[currentIndex.lookup.length];
+			}
+		}
+	}
+
+	@Override
+	void collect(int doc) {
+		if ( currentIndex != null ) {
+			ordinalCounts[currentIndex.order[doc]]++;
+		}
+		else {
+			tokenizedCounter.collect( doc );
+		}
+	}
+
+	@Override
+	Map<String, Integer> getCounts() {
+		aggregateSegmentCounts();
+		Map<String, Integer> tokenizedCounts = tokenizedCounter.getCounts();
+		for ( Map.Entry<String, Integer> count : tokenizedCounts.entrySet() ) {
+			incrementCount( count.getKey(), count.getValue() );
+		}
+		tokenizedCounts.clear();
+		return super.getCounts();
+	}
+
+	private boolean isTokenized(IndexReader reader) throws IOException {
+		Object coreKey = reader.getCoreCacheKey();
+		Map<String, Boolean> fields;
+		synchronized ( tokenizedFields ) {
+			fields = tokenizedFields.get( coreKey );
+			if ( fields == null ) {
+				fields = new ConcurrentHashMap<String, Boolean>();
+				tokenizedFields.put( coreKey, fields );
+			}
+		}
+		Boolean tokenized = fields.get( fieldName );
+		if ( tokenized == null ) {
+			tokenized = hasMoreTermsThanDocuments( reader );
+			fields.put( fieldName, tokenized );
+		}
+		return tokenized;
+	}
+
+	/**
+	 * The FieldCache stops loading terms when the lookup table is full, that is
+	 * with one more term than documents: we check whether it left any.
+	 */
+	private boolean hasMoreTermsThanDocuments(IndexReader reader) throws IOException {
+		String[] lookup = FieldCache.DEFAULT.getStringIndex( reader, fieldName ).lookup;
+		if ( reader.maxDoc() == 0 || lookup.length <= reader.maxDoc() ) {
+			return false;
+		}
+		TermEnum terms = reader.terms( new Term( fieldName, lookup[lookup.length - 1] ) );
+		try {
+			return terms.next() && terms.term() != null && fieldName.equals( terms.term().field() );
+		}
+		finally {
+			terms.close();
+		}
+	}
+
+	private void aggregateSegmentCounts() {
+		if ( currentIndex == null ) {
+			return;
+		}
+		String[] lookup = currentIndex.lookup;
+		// ordinal 0 is used for documents not having a value
+		ordinalCounts[0] = 0;
+		for ( int ordinal = 1; ordinal < lookup.length; ordinal++ ) {
+			int count = ordinalCounts[ordinal];
+			if ( count != 0 ) {
+				incrementCount( lookup[ordinal], count );
+				ordinalCounts[ordinal] = 0;
+			}
+		}
+		currentIndex = null;
+	}
+}
@@ -22,7 +22,10 @@ package org.hibernate.search.query.engine.impl;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -30,6 +33,7 @@ import org.apache.lucene.document.Document;
 import org.apache.lucene.document.FieldSelector;
 import org.apache.lucene.document.FieldSelectorResult;
 import org.apache.lucene.document.MapFieldSelector;
+import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.TopDocs;
 
 import org.hibernate.search.ProjectionConstants;
@@ -78,6 +82,8 @@ public class DocumentExtractorImpl implements DocumentExtractor {
 	private final Class singleClassIfPossible; //null when not possible
 	private final FieldCacheCollector classTypeCollector; //null when not used
 	private final FieldCacheCollector idsCollector; //null when not used
+	private final FieldCacheProjectionExtractor fieldCacheProjections; //null when not used
+	private final String[] documentProjection; //the projection without the fields read from the FieldCache
 	private final ConversionContext exceptionWrap = new ContextualExceptionBridgeHelper();
 
 	public DocumentExtractorImpl(QueryHits queryHits,
@@ -116,6 +122,20 @@ public class DocumentExtractorImpl implements DocumentExtractor {
 		this.maxIndex = maxIndex;
 		this.classTypeCollector = queryHits.getClassTypeCollector();
 		this.idsCollector = queryHits.getIdsCollector();
+		if ( projection != null && allowFieldSelection ) {
+			this.fieldCacheProjections = FieldCacheProjectionExtractor.create(
+					searchFactoryImplementor, searcher.getSearcher().getIndexReader(), projection, classesAndSubclasses
+			);
+		}
+		else {
+			this.fieldCacheProjections = null;
+		}
+		if ( fieldCacheProjections != null ) {
+			this.documentProjection = fieldCacheProjections.withoutCachedFields( projection );
+		}
+		else {
+			this.documentProjection = this.projection;
+		}
 		initFieldSelection( projection, idFieldNames );
 	}
 
@@ -128,7 +148,8 @@ public class DocumentExtractorImpl implements DocumentExtractor {
 		}
 		else {
 			fields = new HashMap<String, FieldSelectorResult>( projection.length + 2 ); // we actually have no clue
-			for ( String projectionName : projection ) {
+			for ( int i = 0; i < projection.length; i++ ) {
+				String projectionName = projection[i];
 				if ( projectionName == null ) {
 					continue;
 				}
@@ -156,6 +177,9 @@ public class DocumentExtractorImpl implements DocumentExtractor {
 				else if ( ProjectionConstants.OBJECT_CLASS.equals( projectionName ) ) {
 					continue;
 				}
+				else if ( fieldCacheProjections != null && fieldCacheProjections.isCached( i ) ) {
+					continue;
+				}
 				else {
 					fields.put( projectionName, FieldSelectorResult.LOAD );
 				}
@@ -181,15 +205,24 @@ public class DocumentExtractorImpl implements DocumentExtractor {
 		// else: this.fieldSelector = null; //We need no fields at all
 	}
 
-	private EntityInfo extractEntityInfo(int docId, Document document, int scoreDocIndex, ConversionContext exceptionWrap) throws IOException {
-		Class clazz = extractClass( docId, document, scoreDocIndex );
+	private EntityInfo extractEntityInfo(int docId, Document document, ConversionContext exceptionWrap) throws IOException {
+		Class clazz = extractClass( docId, document );
 		String idName = DocumentBuilderHelper.getDocumentIdName( searchFactoryImplementor, clazz );
 		Serializable id = extractId( docId, document, clazz );
 		Object[] projected = null;
 		if ( projection != null && projection.length > 0 ) {
-			projected = DocumentBuilderHelper.getDocumentFields(
-					searchFactoryImplementor, clazz, document, projection, exceptionWrap
-			);
+			if ( document == null ) {
+				// all projected fields are read from the FieldCache
+				projected = new Object[projection.length];
+			}
+			else {
+				projected = DocumentBuilderHelper.getDocumentFields(
+						searchFactoryImplementor, clazz, document, documentProjection, exceptionWrap
+				);
+			}
+			if ( fieldCacheProjections != null ) {
+				fieldCacheProjections.extract( docId, clazz, projected );
+			}
 		}
 		return new EntityInfoImpl( clazz, idName, id, projected );
 	}
@@ -206,7 +239,7 @@ public class DocumentExtractorImpl implements DocumentExtractor {
 		}
 	}
 
-	private Class extractClass(int docId, Document document, int scoreDocIndex) throws IOException {
+	private Class extractClass(int docId, Document document) throws IOException {
 		//maybe we can avoid document extraction:
 		if ( singleClassIfPossible != null ) {
 			return singleClassIfPossible;
@@ -216,7 +249,7 @@ public class DocumentExtractorImpl implements DocumentExtractor {
 			className = (String) classTypeCollector.getValue( docId );
 			if ( className == null ) {
 				log.forceToUseDocumentExtraction();
-				className = forceClassNameExtraction( scoreDocIndex );
+				className = forceClassNameExtraction( docId );
 			}
 		}
 		else {
@@ -233,16 +266,54 @@ public class DocumentExtractorImpl implements DocumentExtractor {
 	}
 
 	public EntityInfo extract(int scoreDocIndex) throws IOException {
-		int docId = queryHits.docId( scoreDocIndex );
-		Document document = extractDocument( scoreDocIndex );
+		ScoreDoc scoreDoc = queryHits.scoreDoc( scoreDocIndex );
+		return extract( scoreDoc, extractDocumentById( scoreDoc.doc ) );
+	}
 
-		EntityInfo entityInfo = extractEntityInfo( docId, document, scoreDocIndex, exceptionWrap );
+	public List<EntityInfo> extract(int firstIndex, int lastIndex) throws IOException {
+		int size = lastIndex - firstIndex + 1;
+		List<EntityInfo> entityInfos = new ArrayList<EntityInfo>( Math.max( size, 0 ) );
+		if ( size <= 1 || allowFieldSelection && fieldSelector == null ) {
+			// no point in sorting
+			for ( int index = firstIndex; index <= lastIndex; index++ ) {
+				entityInfos.add( extract( index ) );
+			}
+			return entityInfos;
+		}
+		// sort the hits by document id, keeping their position in the low bits;
+		// each hit is resolved once, as with a cursor window looking it up again could move the window back
+		ScoreDoc[] scoreDocs = new ScoreDoc[size];
+		long[] docIdsAndPositions = new long[size];
+		for ( int position = 0; position < size; position++ ) {
+			scoreDocs[position] = queryHits.scoreDoc( firstIndex + position );
+			long docId = scoreDocs[position].doc;
+			docIdsAndPositions[position] = docId << 32 | position;
+		}
+		Arrays.sort( docIdsAndPositions );
+		Document[] documents = new Document[size];
+		for ( long docIdAndPosition : docIdsAndPositions ) {
+			int docId = (int) ( docIdAndPosition >>> 32 );
+			int position = (int) docIdAndPosition;
+			documents[position] = extractDocumentById( docId );
+		}
+		for ( int position = 0; position < size; position++ ) {
+			entityInfos.add( extract( scoreDocs[position], documents[position] ) );
+			// don't keep the documents longer than needed
+			documents[position] = null;
+		}
+		return entityInfos;
+	}
+
+	private EntityInfo extract(ScoreDoc scoreDoc, Document document) throws IOException {
+		int docId = scoreDoc.doc;
+
+		EntityInfo entityInfo = extractEntityInfo( docId, document, exceptionWrap );
 		Object[] eip = entityInfo.getProjection();
 
 		if ( eip != null && eip.length > 0 ) {
 			for ( int x = 0; x < projection.length; x++ ) {
 				if ( ProjectionConstants.SCORE.equals( projection[x] ) ) {
-					eip[x] = queryHits.score( scoreDocIndex );
+					eip[x] = scoreDoc.score;
 				}
 				else if ( ProjectionConstants.ID.equals( projection[x] ) ) {
 					eip[x] = entityInfo.getId();
@@ -254,7 +325,7 @@ public class DocumentExtractorImpl implements DocumentExtractor {
 					eip[x] = docId;
 				}
 				else if ( ProjectionConstants.EXPLANATION.equals( projection[x] ) ) {
-					eip[x] = queryHits.explain( scoreDocIndex );
+					eip[x] = queryHits.explain( docId );
 				}
 				else if ( ProjectionConstants.OBJECT_CLASS.equals( projection[x] ) ) {
 					eip[x] = entityInfo.getClazz();
@@ -281,33 +352,31 @@ public class DocumentExtractorImpl implements DocumentExtractor {
 		searcher.closeSearcher( query, searchFactoryImplementor );
 	}
 
-	private Document extractDocument(int index) throws IOException {
+	private Document extractDocumentById(int docId) throws IOException {
 		if ( allowFieldSelection ) {
 			if ( fieldSelector == null ) {
 				//we need no fields
 				return null;
 			}
-			else {
-				return queryHits.doc( index, fieldSelector );
-			}
+			return searcher.getSearcher().doc( docId, fieldSelector );
 		}
 		else {
-			return queryHits.doc( index );
+			return searcher.getSearcher().doc( docId );
 		}
 	}
-	
+
 	/**
 	 * In rare cases the Lucene FieldCache might fail to return a value, at this point we already extracted
 	 * the Document so we need to repeat the process to extract the missing field only.
-	 * @param scoreDocIndex
+	 * @param docId
 	 * @return
 	 * @throws IOException
 	 */
-	private String forceClassNameExtraction(int scoreDocIndex) throws IOException {
+	private String forceClassNameExtraction(int docId) throws IOException {
 		Map<String, FieldSelectorResult> fields = new HashMap<String, FieldSelectorResult>( 1 );
 		fields.put( ProjectionConstants.OBJECT_CLASS, FieldSelectorResult.LOAD_AND_BREAK );
 		MapFieldSelector classOnly = new MapFieldSelector( fields );
-		Document doc = queryHits.doc( scoreDocIndex, classOnly );
+		Document doc = searcher.getSearcher().doc( docId, classOnly );
 		return doc.get( ProjectionConstants.OBJECT_CLASS );
 	}
 
@@ -0,0 +1,205 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.query.engine.impl;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.hibernate.search.SearchException;
+import org.hibernate.search.query.engine.spi.DocumentExtractor;
+import org.hibernate.search.query.engine.spi.EntityInfo;
+import org.hibernate.search.query.engine.spi.EntityInfoChunks;
+import org.hibernate.search.query.engine.spi.TimeoutManager;
+
+/**
+ * Extracts the chunks of hits in a thread of the pipelined extraction executor, one chunk ahead
+ * of the consumer at least; when the executor is not available, each chunk is extracted
+ * on demand in the consumer thread.
+ * The extraction checks the query timeout after each chunk, like {@link HSQueryImpl#queryEntityInfos()}.
+ */
+final class EntityInfoChunksImpl implements EntityInfoChunks {
+
+	static final EntityInfoChunks NO_HITS = new EntityInfoChunks() {
+		public List<EntityInfo> next() {
+			return null;
+		}
+
+		public void close() {
+		}
+	};
+
+	/**
+	 * Put in the queue after the last chunk
+	 */
+	private static final Object END = new Object();
+
+	private final DocumentExtractor extractor;
+	private final int chunkSize;
+	private final TimeoutManager timeoutManager;
+
+	//the extracted chunks, followed by END or by the failure of the extraction; null when not pipelined
+	private final BlockingQueue<Object> chunks;
+
+	//next hit to extract, only used when not pipelined
+	private int nextIndex;
+	private boolean ended;
+	private volatile boolean closed;
+
+	EntityInfoChunksImpl(DocumentExtractor extractor, int chunkSize, TimeoutManager timeoutManager, ExecutorService executor) {
+		this.extractor = extractor;
+		this.chunkSize = chunkSize;
+		this.timeoutManager = timeoutManager;
+		this.nextIndex = extractor.getFirstIndex();
+		BlockingQueue<Object> queue = null;
+		if ( executor != null && extractor.getMaxIndex() - extractor.getFirstIndex() >= chunkSize ) {
+			queue = new LinkedBlockingQueue<Object>();
+			try {
+				executor.execute( new ExtractionTask( queue ) );
+			}
+			catch (RejectedExecutionException e) {
+				//too many pending parallel tasks, or the executor is stopped: extract in the consumer thread
+				queue = null;
+			}
+		}
+		this.chunks = queue;
+	}
+
+	public List<EntityInfo> next() {
+		if ( ended ) {
+			return null;
+		}
+		if ( chunks == null ) {
+			List<EntityInfo> chunk = nextChunk();
+			ended = chunk == null;
+			return chunk;
+		}
+		Object chunk;
+		try {
+			chunk = chunks.take();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SearchException( "Interrupted while waiting for the hits of the query", e );
+		}
+		if ( chunk == END ) {
+			ended = true;
+			return null;
+		}
+		else if ( chunk instanceof RuntimeException ) {
+			ended = true;
+			throw (RuntimeException) chunk;
+		}
+		@SuppressWarnings("unchecked")
+		List<EntityInfo> entityInfos = (List<EntityInfo>) chunk;
+		return entityInfos;
+	}
+
+	public void close() {
+		closed = true;
+		if ( chunks == null ) {
+			extractor.close();
+		}
+		//else the extraction thread closes the extractor when it stops
+	}
+
+	/**
+	 * @return the next chunk, or null if all the hits have been extracted
+	 */
+	private List<EntityInfo> nextChunk() {
+		int maxIndex = extractor.getMaxIndex();
+		if ( nextIndex > maxIndex ) {
+			return null;
+		}
+		int lastIndex = Math.min( nextIndex + chunkSize - 1, maxIndex );
+		List<EntityInfo> chunk;
+		try {
+			chunk = extractor.extract( nextIndex, lastIndex );
+		}
+		catch (IOException e) {
+			throw new SearchException( "Unable to query Lucene index", e );
+		}
+		nextIndex = lastIndex + 1;
+		timeoutManager.isTimedOut();
+		return chunk;
+	}
+
+	/**
+	 * Runs the {@link Extraction}; if the executor is stopped before running it, the task is cancelled
+	 * and the consumer receives the failure instead of waiting for chunks which will never come.
+	 */
+	private final class ExtractionTask extends FutureTask<Void> {
+
+		private final BlockingQueue<Object> queue;
+
+		private ExtractionTask(BlockingQueue<Object> queue) {
+			super( new Extraction( queue ), null );
+			this.queue = queue;
+		}
+
+		@Override
+		protected void done() {
+			if ( isCancelled() ) {
+				extractor.close();
+				queue.add( new SearchException( "Unable to extract the hits of the query: the pipelined extraction executor is stopped" ) );
+			}
+		}
+	}
+
+	private final class Extraction implements Runnable {
+
+		private final BlockingQueue<Object> queue;
+
+		private Extraction(BlockingQueue<Object> queue) {
+			this.queue = queue;
+		}
+
+		public void run() {
+			Object last = END;
+			try {
+				List<EntityInfo> chunk;
+				while ( !closed && ( chunk = nextChunk() ) != null ) {
+					queue.add( chunk );
+				}
+			}
+			catch (RuntimeException e) {
+				last = e;
+			}
+			catch (Error e) {
+				last = new SearchException( "Unable to extract the hits of the query", e );
+				throw e;
+			}
+			finally {
+				//release the searcher before the consumer returns
+				try {
+					extractor.close();
+				}
+				finally {
+					queue.add( last );
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,227 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.query.engine.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.search.FieldCache;
+import org.apache.lucene.util.Bits;
+import org.apache.lucene.util.ReaderUtil;
+
+import org.hibernate.search.engine.spi.EntityIndexBinder;
+import org.hibernate.search.engine.spi.SearchFactoryImplementor;
+import org.hibernate.search.query.fieldcache.impl.FieldCacheProjection;
+import org.hibernate.search.query.fieldcache.impl.FieldLoadingStrategy;
+
+/**
+ * Reads the projected values of the hits from the {@code FieldCache} of their segment,
+ * for the projected fields which all targeted entities enable with
+ * {@link org.hibernate.search.annotations.FieldCacheType#PROJECTIONS}.
+ * The segment of each hit is looked up, so this works the same on the hits of any search.
+ */
+final class FieldCacheProjectionExtractor {
+
+	private final String[] fieldNames;
+
+	/**
+	 * The position of each cached field in the projection
+	 */
+	private final int[] positions;
+
+	/**
+	 * The way to convert the cached values of each field, for each targeted entity
+	 */
+	private final Map<Class<?>, FieldCacheProjection[]> projectionsPerClass;
+
+	private final IndexReader[] segments;
+	private final int[] segmentStarts;
+
+	/**
+	 * The cached values of each field, per segment: loaded the first time a hit of the segment is extracted
+	 */
+	private final FieldLoadingStrategy[][] segmentValues;
+	private final Bits[][] segmentDocsWithField;
+
+	private FieldCacheProjectionExtractor(IndexReader indexReader, List<Integer> positions,
+			Map<Class<?>, FieldCacheProjection[]> projectionsPerClass) {
+		this.positions = new int[positions.size()];
+		for ( int i = 0; i < this.positions.length; i++ ) {
+			this.positions[i] = positions.get( i );
+		}
+		this.projectionsPerClass = projectionsPerClass;
+		FieldCacheProjection[] anyProjections = projectionsPerClass.values().iterator().next();
+		this.fieldNames = new String[anyProjections.length];
+		for ( int i = 0; i < fieldNames.length; i++ ) {
+			fieldNames[i] = anyProjections[i].getFieldName();
+		}
+		List<IndexReader> segmentList = new ArrayList<IndexReader>();
+		ReaderUtil.gatherSubReaders( segmentList, indexReader );
+		this.segments = segmentList.toArray( new IndexReader[segmentList.size()] );
+		this.segmentStarts = new int[segments.length];
+		int maxDoc = 0;
+		for ( int i = 0; i < segments.length; i++ ) {
+			segmentStarts[i] = maxDoc;
+			maxDoc += segments[i].maxDoc();
+		}
+		this.segmentValues = new FieldLoadingStrategy[segments.length][];
+		this.segmentDocsWithField = new Bits[segments.length][];
+	}
+
+	/**
+	 * @param searchFactoryImplementor the search factory
+	 * @param indexReader the reader the hits are read from
+	 * @param projection the projected fields
+	 * @param classesAndSubclasses the entities targeted by the query
+	 *
+	 * @return an extractor for the fields projected from the {@code FieldCache}, or null if none of them can be
+	 */
+	static FieldCacheProjectionExtractor create(SearchFactoryImplementor searchFactoryImplementor,
+			IndexReader indexReader, String[] projection, Set<Class<?>> classesAndSubclasses) {
+		Map<Class<?>, Map<String, FieldCacheProjection>> fieldCachesPerClass = new HashMap<Class<?>, Map<String, FieldCacheProjection>>();
+		for ( Class<?> clazz : classesAndSubclasses ) {
+			EntityIndexBinder indexBinding = searchFactoryImplementor.getIndexBindingForEntity( clazz );
+			Map<String, FieldCacheProjection> fieldCaches = indexBinding.getDocumentBuilder().getProjectionFieldCaches();
+			if ( fieldCaches.isEmpty() ) {
+				return null;
+			}
+			fieldCachesPerClass.put( clazz, fieldCaches );
+		}
+		if ( fieldCachesPerClass.isEmpty() ) {
+			return null;
+		}
+		List<Integer> positions = new ArrayList<Integer>();
+		for ( int i = 0; i < projection.length; i++ ) {
+			if ( isCachedByAll( projection[i], fieldCachesPerClass ) ) {
+				positions.add( i );
+			}
+		}
+		if ( positions.isEmpty() ) {
+			return null;
+		}
+		Map<Class<?>, FieldCacheProjection[]> projectionsPerClass = new HashMap<Class<?>, FieldCacheProjection[]>();
+		for ( Map.Entry<Class<?>, Map<String, FieldCacheProjection>> entry : fieldCachesPerClass.entrySet() ) {
+			FieldCacheProjection[] projections = new FieldCacheProjection[positions.size()];
+			for ( int i = 0; i < projections.length; i++ ) {
+				projections[i] = entry.getValue().get( projection[positions.get( i )] );
+			}
+			projectionsPerClass.put( entry.getKey(), projections );
+		}
+		return new FieldCacheProjectionExtractor( indexReader, positions, projectionsPerClass );
+	}
+
+	/**
+	 * The same field might be mapped differently by each entity: the values in the FieldCache
+	 * are only meaningful if they have the same type in all documents.
+	 */
+	private static boolean isCachedByAll(String fieldName, Map<Class<?>, Map<String, FieldCacheProjection>> fieldCachesPerClass) {
+		if ( fieldName == null ) {
+			return false;
+		}
+		FieldCacheProjection any = null;
+		for ( Map<String, FieldCacheProjection> fieldCaches : fieldCachesPerClass.values() ) {
+			FieldCacheProjection fieldCache = fieldCaches.get( fieldName );
+			if ( fieldCache == null ) {
+				return false;
+			}
+			if ( any != null && any.getLoadingType() != fieldCache.getLoadingType() ) {
+				return false;
+			}
+			any = fieldCache;
+		}
+		return true;
+	}
+
+	/**
+	 * @param position a position in the projection
+	 *
+	 * @return true if the field at this position is read from the FieldCache
+	 */
+	boolean isCached(int position) {
+		for ( int cachedPosition : positions ) {
+			if ( cachedPosition == position ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @param projection the projected fields
+	 *
+	 * @return a copy of the projection, without the fields read from the FieldCache
+	 */
+	String[] withoutCachedFields(String[] projection) {
+		String[] documentProjection = projection.clone();
+		for ( int position : positions ) {
+			documentProjection[position] = null;
+		}
+		return documentProjection;
+	}
+
+	/**
+	 * Sets the cached fields of a hit in its projection.
+	 *
+	 * @param docId the id of the hit in the index reader
+	 * @param clazz the type of the hit
+	 * @param projected the projected values of the hit
+	 */
+	void extract(int docId, Class<?> clazz, Object[] projected) throws IOException {
+		int segment = ReaderUtil.subIndex( docId, segmentStarts );
+		int segmentDocId = docId - segmentStarts[segment];
+		FieldLoadingStrategy[] values = segmentValues[segment];
+		if ( values == null ) {
+			values = loadSegmentValues( segment );
+		}
+		Bits[] docsWithField = segmentDocsWithField[segment];
+		FieldCacheProjection[] projections = projectionsPerClass.get( clazz );
+		for ( int i = 0; i < positions.length; i++ ) {
+			if ( docsWithField[i] != null && !docsWithField[i].get( segmentDocId ) ) {
+				projected[positions[i]] = null;
+			}
+			else {
+				projected[positions[i]] = projections[i].toProjection( values[i].collect( segmentDocId ) );
+			}
+		}
+	}
+
+	private FieldLoadingStrategy[] loadSegmentValues(int segment) throws IOException {
+		IndexReader segmentReader = segments[segment];
+		FieldCacheProjection[] anyProjections = projectionsPerClass.values().iterator().next();
+		FieldLoadingStrategy[] values = new FieldLoadingStrategy[fieldNames.length];
+		Bits[] docsWithField = new Bits[fieldNames.length];
+		for ( int i = 0; i < fieldNames.length; i++ ) {
+			values[i] = anyProjections[i].getLoadingType().createLoadingStrategy( fieldNames[i] );
+			values[i].loadNewCacheValues( segmentReader );
+			if ( anyProjections[i].hasDefaultValue() ) {
+				docsWithField[i] = FieldCache.DEFAULT.getDocsWithField( segmentReader, fieldNames[i] );
+			}
+		}
+		segmentValues[segment] = values;
+		segmentDocsWithField[segment] = docsWithField;
+		return values;
+	}
+}
@@ -26,9 +26,15 @@ import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.apache.lucene.index.Term;
 import org.apache.lucene.search.BooleanClause;
@@ -61,6 +67,7 @@ import org.hibernate.search.indexes.spi.IndexManager;
 import org.hibernate.search.query.collector.impl.FieldCacheCollectorFactory;
 import org.hibernate.search.query.engine.spi.DocumentExtractor;
 import org.hibernate.search.query.engine.spi.EntityInfo;
+import org.hibernate.search.query.engine.spi.EntityInfoChunks;
 import org.hibernate.search.query.engine.spi.HSQuery;
 import org.hibernate.search.query.engine.spi.TimeoutExceptionFactory;
 import org.hibernate.search.query.engine.spi.TimeoutManager;
@@ -81,6 +88,12 @@ public class HSQueryImpl implements HSQuery, Serializable {
 	private static final Log log = LoggerFactory.make();
 	private static final FullTextFilterImplementor[] EMPTY_FULL_TEXT_FILTER_IMPLEMENTOR = new FullTextFilterImplementor[0];
 
+	/**
+	 * The hits are extracted in batches of this size: the stored fields of a batch are read in document id order,
+	 * and the timeout is checked after each batch.
+	 */
+	private static final int EXTRACTION_BATCH_SIZE = 1000;
+
 	private transient SearchFactoryImplementor searchFactoryImplementor;
 	private Query luceneQuery;
 	private List<Class<?>> targetedEntities;
@@ -107,6 +120,9 @@ public class HSQueryImpl implements HSQuery, Serializable {
 	private int firstResult;
 	private int maxResults;
 	private boolean definedMaxResults = false;
+	private int cursorWindowSize = 0;
+	private boolean useResultCache = false;
+	private boolean parallelSegments = false;
 	private transient Set<Class<?>> classesAndSubclasses;
 	//optimization: if we can avoid the filter clause (we can most of the time) do it as it has a significant perf impact
 	private boolean needClassFilterClause;
@@ -121,6 +137,13 @@ public class HSQueryImpl implements HSQuery, Serializable {
 	 */
 	private Integer resultSize;
 
+	/**
+	 * The hits collected while computing the result size, kept for the next search if it targets the same
+	 * page with the same options on the same IndexReaders. See {@link #countHits(IndexSearcherWithPayload)}.
+	 */
+	private transient Object pendingHitsKey;
+	private transient QueryResultCache.CachedQueryHits pendingHits;
+
 
 	public HSQueryImpl(SearchFactoryImplementor searchFactoryImplementor) {
 		this.searchFactoryImplementor = searchFactoryImplementor;
@@ -192,6 +215,24 @@ public class HSQueryImpl implements HSQuery, Serializable {
 		return this;
 	}
 
+	public HSQuery cursorWindowSize(int windowSize) {
+		if ( windowSize < 0 ) {
+			throw new IllegalArgumentException( "cursor window size less than 0" );
+		}
+		this.cursorWindowSize = windowSize;
+		return this;
+	}
+
+	public HSQuery useResultCache(boolean useResultCache) {
+		this.useResultCache = useResultCache;
+		return this;
+	}
+
+	public HSQuery parallelSegments(boolean parallelSegments) {
+		this.parallelSegments = parallelSegments;
+		return this;
+	}
+
 	/**
 	 * List of targeted entities as described by the user
 	 */
@@ -248,12 +289,9 @@ public class HSQueryImpl implements HSQuery, Serializable {
 			int size = max - first + 1 < 0 ? 0 : max - first + 1;
 			List<EntityInfo> infos = new ArrayList<EntityInfo>( size );
 			DocumentExtractor extractor = buildDocumentExtractor( searcher, queryHits, first, max );
-			for ( int index = first; index <= max; index++ ) {
-				infos.add( extractor.extract( index ) );
-				//TODO should we measure on each extractor?
-				if ( index % 10 == 0 ) {
-					getTimeoutManager().isTimedOut();
-				}
+			for ( int index = first; index <= max; index += EXTRACTION_BATCH_SIZE ) {
+				infos.addAll( extractor.extract( index, Math.min( index + EXTRACTION_BATCH_SIZE - 1, max ) ) );
+				getTimeoutManager().isTimedOut();
 			}
 			return infos;
 		}
@@ -265,6 +303,29 @@ public class HSQueryImpl implements HSQuery, Serializable {
 		}
 	}
 
+	public EntityInfoChunks queryEntityInfoChunks(int chunkSize) {
+		if ( chunkSize <= 0 ) {
+			throw new IllegalArgumentException( "'chunkSize' must be positive" );
+		}
+		IndexSearcherWithPayload searcher = buildSearcher();
+		if ( searcher == null ) {
+			return EntityInfoChunksImpl.NO_HITS;
+		}
+		DocumentExtractor extractor;
+		try {
+			QueryHits queryHits = getQueryHits( searcher, calculateTopDocsRetrievalSize() );
+			int first = getFirstResultIndex();
+			int max = max( first, queryHits.getTotalHits() );
+			extractor = buildDocumentExtractor( searcher, queryHits, first, max );
+		}
+		catch ( IOException e ) {
+			closeSearcher( searcher );
+			throw new SearchException( "Unable to query Lucene index", e );
+		}
+		ExecutorService executor = searchFactoryImplementor.getParallelQueryExecutor().getExtractionExecutor();
+		return new EntityInfoChunksImpl( extractor, chunkSize, getTimeoutManager(), executor );
+	}
+
 	private DocumentExtractor buildDocumentExtractor(IndexSearcherWithPayload searcher, QueryHits queryHits, int first, int max) {
 		return new DocumentExtractorImpl(
 				queryHits,
@@ -309,6 +370,15 @@ public class HSQueryImpl implements HSQuery, Serializable {
 		if ( resultSize == null ) {
 			//the timeoutManager does not need to be stopped nor reset as a start does indeed reset
 			getTimeoutManager().start();
+		}
+		return countResultSize();
+	}
+
+	/**
+	 * Counts the hits unless already known, within the timeout started by the caller
+	 */
+	private int countResultSize() {
+		if ( resultSize == null ) {
 			//get result size without object initialization
 			IndexSearcherWithPayload searcher = buildSearcher( searchFactoryImplementor, false );
 			if ( searcher == null ) {
@@ -316,8 +386,7 @@ public class HSQueryImpl implements HSQuery, Serializable {
 			}
 			else {
 				try {
-					QueryHits queryHits = getQueryHits( searcher, 0 );
-					resultSize = queryHits.getTotalHits();
+					resultSize = countHits( searcher );
 				}
 				catch ( IOException e ) {
 					throw new SearchException( "Unable to query Lucene index", e );
@@ -330,6 +399,78 @@ public class HSQueryImpl implements HSQuery, Serializable {
 		return this.resultSize;
 	}
 
+	public Future<List<EntityInfo>> queryEntityInfosAsync() {
+		return submitAsync(
+				new Callable<List<EntityInfo>>() {
+					public List<EntityInfo> call() {
+						return queryEntityInfos();
+					}
+				}
+		);
+	}
+
+	public Future<Integer> queryResultSizeAsync() {
+		return submitAsync(
+				new Callable<Integer>() {
+					public Integer call() {
+						// the timeout was started when the query was submitted
+						try {
+							return countResultSize();
+						}
+						finally {
+							getTimeoutManager().stop();
+						}
+					}
+				}
+		);
+	}
+
+	/**
+	 * Runs a query in the asynchronous query threads, or in the calling thread if they are disabled.
+	 * The asynchronous queries of the same instance run one at a time, as they share its state.
+	 * If the query can't be queued the returned {@code Future} fails right away.
+	 */
+	private <T> Future<T> submitAsync(final Callable<T> query) {
+		AsyncQueryTask<T> task = new AsyncQueryTask<T>(
+				new Callable<T>() {
+					public T call() throws Exception {
+						synchronized ( HSQueryImpl.this ) {
+							return query.call();
+						}
+					}
+				}
+		);
+		try {
+			ExecutorService executor = searchFactoryImplementor.getParallelQueryExecutor().getAsyncExecutor();
+			if ( executor == null ) {
+				task.run();
+			}
+			else {
+				executor.execute( task );
+			}
+		}
+		catch (RejectedExecutionException e) {
+			task.reject(
+					new SearchException(
+							"Unable to run the query asynchronously: too many asynchronous queries are pending, or the SearchFactory is closed",
+							e
+					)
+			);
+		}
+		return task;
+	}
+
+	private static final class AsyncQueryTask<T> extends FutureTask<T> {
+
+		private AsyncQueryTask(Callable<T> query) {
+			super( query );
+		}
+
+		private void reject(SearchException e) {
+			setException( e );
+		}
+	}
+
 	public Explanation explain(int documentId) {
 		//don't use TimeoutManager here as explain is a dev tool when things are weird... or slow :)
 		Explanation explanation = null;
@@ -389,6 +530,30 @@ public class HSQueryImpl implements HSQuery, Serializable {
 	 */
 	void clearCachedResults() {
 		resultSize = null;
+		pendingHitsKey = null;
+		pendingHits = null;
+	}
+
+	/**
+	 * Counts the hits of term and match-all queries without scoring them, unless the results are
+	 * cached. Otherwise, when a page of results is defined, collects it in the same search,
+	 * as it's likely to be listed next.
+	 */
+	private int countHits(IndexSearcherWithPayload searcher) throws IOException {
+		if ( !useResultCache && !needClassFilterClause && HitCounter.isApplicable( luceneQuery ) ) {
+			buildFilters();
+			return HitCounter.count(
+					searcher.getSearcher().getIndexReader(),
+					luceneQuery,
+					filter,
+					searchFactoryImplementor.getQueryResultCache()
+			);
+		}
+		Integer n = calculateTopDocsRetrievalSize();
+		if ( n != null && n <= QueryResultCache.MAX_CACHED_HITS && cursorWindowSize == 0 ) {
+			return getQueryHits( searcher, n, true ).getTotalHits();
+		}
+		return getQueryHits( searcher, 0 ).getTotalHits();
 	}
 
 	/**
@@ -402,6 +567,13 @@ public class HSQueryImpl implements HSQuery, Serializable {
 	 * @throws IOException in case there is an error executing the lucene search.
 	 */
 	private QueryHits getQueryHits(IndexSearcherWithPayload searcher, Integer n) throws IOException {
+		return getQueryHits( searcher, n, false );
+	}
+
+	/**
+	 * @param keepHits whether to keep the collected hits for the next search
+	 */
+	private QueryHits getQueryHits(IndexSearcherWithPayload searcher, Integer n, boolean keepHits) throws IOException {
 		org.apache.lucene.search.Query filteredQuery = filterQueryByClasses( luceneQuery );
 		buildFilters();
 		QueryHits queryHits;
@@ -412,6 +584,44 @@ public class HSQueryImpl implements HSQuery, Serializable {
 			startTime = System.nanoTime();
 		}
 
+		Object cacheKey = null;
+		if ( ( useResultCache || keepHits || pendingHits != null ) && cursorWindowSize == 0 ) {
+			cacheKey = createResultCacheKey( searcher, filteredQuery, n );
+			QueryResultCache.CachedQueryHits cachedHits = null;
+			if ( pendingHits != null && cacheKey.equals( pendingHitsKey ) ) {
+				cachedHits = pendingHits;
+			}
+			pendingHitsKey = null;
+			pendingHits = null;
+			if ( cachedHits == null && useResultCache ) {
+				cachedHits = getCachedHits( cacheKey, stats );
+			}
+			if ( cachedHits != null ) {
+				queryHits = new QueryHits(
+						searcher,
+						filteredQuery,
+						filter,
+						n != null && n == 0 ? null : sort,
+						getTimeoutManagerImpl(),
+						n != null && n == 0 ? null : facetManager.getFacetRequests(),
+						this.timeoutExceptionFactory,
+						cachedHits
+				);
+				resultSize = queryHits.getTotalHits();
+				facetManager.setFacetResults( queryHits.getFacets() );
+				return queryHits;
+			}
+		}
+
+		if ( cursorWindowSize > 0 && ( n == null || n > 0 ) ) {
+			// the first search collects a single window after the first result, the next ones are fetched on demand
+			int firstWindowSize = n == null ?
+					Math.min( cursorWindowSize, QueryHits.DEFAULT_TOP_DOC_RETRIEVAL_SIZE ) :
+					cursorWindowSize;
+			long firstWindowEnd = Math.min( (long) getFirstResultIndex() + firstWindowSize, Integer.MAX_VALUE - 1 );
+			n = n == null ? (int) firstWindowEnd : (int) Math.min( n, firstWindowEnd );
+		}
+
 		if ( n == null ) { // try to make sure that we get the right amount of top docs
 			queryHits = new QueryHits(
 					searcher,
@@ -450,10 +660,20 @@ public class HSQueryImpl implements HSQuery, Serializable {
 					facetManager.getFacetRequests(),
 					useFieldCacheOnTypes(),
 					getAppropriateIdFieldCollectorFactory(),
-					this.timeoutExceptionFactory
+					this.timeoutExceptionFactory,
+					cursorWindowSize
 			);
 		}
 		resultSize = queryHits.getTotalHits();
+		if ( cacheKey != null && !getTimeoutManagerImpl().hasPartialResults() ) {
+			if ( useResultCache ) {
+				searchFactoryImplementor.getQueryResultCache().put( cacheKey, queryHits );
+			}
+			if ( keepHits ) {
+				pendingHitsKey = cacheKey;
+				pendingHits = new QueryResultCache.CachedQueryHits( queryHits );
+			}
+		}
 
 		if ( stats ) {
 			searchFactoryImplementor.getStatisticsImplementor()
@@ -463,6 +683,40 @@ public class HSQueryImpl implements HSQuery, Serializable {
 		return queryHits;
 	}
 
+	private QueryResultCache.CachedQueryHits getCachedHits(Object cacheKey, boolean stats) {
+		QueryResultCache.CachedQueryHits cachedHits = searchFactoryImplementor.getQueryResultCache().get( cacheKey );
+		if ( stats ) {
+			if ( cachedHits == null ) {
+				searchFactoryImplementor.getStatisticsImplementor().queryResultCacheMiss();
+			}
+			else {
+				searchFactoryImplementor.getStatisticsImplementor().queryResultCacheHit();
+			}
+		}
+		return cachedHits;
+	}
+
+	/**
+	 * The key of the results depends on all the options affecting the hits, and on the IndexReaders
+	 * the searcher is using.
+	 */
+	private Object createResultCacheKey(IndexSearcherWithPayload searcher, Query filteredQuery, Integer n) {
+		boolean countOnly = n != null && n == 0;
+		return searchFactoryImplementor.getQueryResultCache().createKey(
+				filteredQuery,
+				indexedTargetedEntities,
+				filterDefinitions,
+				userFilter,
+				facetManager.getFacetFilter(),
+				countOnly ? null : facetManager.getFacetRequests(),
+				countOnly ? null : sort,
+				n == null ? QueryHits.DEFAULT_TOP_DOC_RETRIEVAL_SIZE : n,
+				searcher.isFieldSortDoTrackScores(),
+				searcher.isFieldSortDoMaxScore(),
+				searcher.getSearcher().getIndexReader().getSequentialSubReaders()
+		);
+	}
+
 	/**
 	 * @return Calculates the number of <code>TopDocs</code> which should be retrieved as part of the query. If Hibernate's
 	 *         pagination parameters are set returned value is <code>first + maxResults</code>. Otherwise <code>null</code> is
@@ -505,12 +759,75 @@ public class HSQueryImpl implements HSQuery, Serializable {
 	 *         TODO change classesAndSubclasses by side effect, which is a mismatch with the Searcher return, fix that.
 	 */
 	private IndexSearcherWithPayload buildSearcher(SearchFactoryImplementor searchFactoryImplementor, Boolean forceScoring) {
+		SearcherPlan plan = getSearcherPlan( searchFactoryImplementor );
+		this.idFieldNames = plan.getIdFieldNames();
+		this.classesAndSubclasses = plan.getClassesAndSubclasses();
+		allowFieldSelectionInProjection = allowFieldSelectionInProjection && plan.isFieldSelectionAllowedInProjection();
+		useFieldCacheOnClassTypes = useFieldCacheOnClassTypes || plan.isFieldCacheUsedOnClassTypes();
+		if ( plan.isClassFilterClauseNeeded() ) {
+			this.needClassFilterClause = true;
+		}
+
+		//set up the searcher
+		IndexSearcher is = new IndexSearcher(
+				MultiReaderFactory.openReader( plan.getIndexManagers() )
+		);
+		is.setSimilarity( plan.getSimilarity() );
+		// only worth it when there are several indexes, or segments, to search
+		ParallelQueryExecutor parallelQueryExecutor = searchFactoryImplementor.getParallelQueryExecutor();
+		int[] segmentsMinDocs = parallelQueryExecutor.getSegmentsMinDocs( plan.getIndexManagers(), parallelSegments );
+		ExecutorService parallelExecutor = plan.getIndexManagers().length > 1 || segmentsMinDocs != null ?
+				parallelQueryExecutor.getExecutor() :
+				null;
+
+		//handle the sort and projection
+		final String[] projection = this.projectedFields;
+		if ( Boolean.TRUE.equals( forceScoring ) ) {
+			return new IndexSearcherWithPayload( is, true, true, parallelExecutor, segmentsMinDocs );
+		}
+		else if ( Boolean.FALSE.equals( forceScoring ) ) {
+			return new IndexSearcherWithPayload( is, false, false, parallelExecutor, segmentsMinDocs );
+		}
+		else if ( this.sort != null && projection != null ) {
+			boolean activate = false;
+			for ( String field : projection ) {
+				if ( SCORE.equals( field ) ) {
+					activate = true;
+					break;
+				}
+			}
+			if ( activate ) {
+				return new IndexSearcherWithPayload( is, true, false, parallelExecutor, segmentsMinDocs );
+			}
+		}
+		//default
+		return new IndexSearcherWithPayload( is, false, false, parallelExecutor, segmentsMinDocs );
+	}
+
+	/**
+	 * The plan only depends on the targeted entities and on the enabled filters, so it's
+	 * looked up in the cache of the SearchFactory before being computed.
+	 */
+	private SearcherPlan getSearcherPlan(SearchFactoryImplementor searchFactoryImplementor) {
+		SearcherPlanCache planCache = searchFactoryImplementor.getSearcherPlanCache();
+		Object key = SearcherPlanCache.createKey( indexedTargetedEntities, filterDefinitions );
+		SearcherPlan plan = planCache.get( key );
+		if ( plan == null ) {
+			plan = buildSearcherPlan( searchFactoryImplementor );
+			planCache.put( key, plan );
+		}
+		return plan;
+	}
+
+	private SearcherPlan buildSearcherPlan(SearchFactoryImplementor searchFactoryImplementor) {
 		Map<Class<?>, EntityIndexBinder> builders = searchFactoryImplementor.getIndexBindingForEntity();
-		List<IndexManager> targetedIndexes = new ArrayList<IndexManager>();
+		Set<IndexManager> targetedIndexes = new LinkedHashSet<IndexManager>();
 		Set<String> idFieldNames = new HashSet<String>();
+		boolean allowFieldSelection = true;
+		boolean useFieldCache = false;
+		Set<Class<?>> classesAndSubclasses;
 
 		Similarity searcherSimilarity = null;
-		//TODO check if caching this work for the last n list of indexedTargetedEntities makes a perf boost
 		if ( indexedTargetedEntities.size() == 0 ) {
 			// empty indexedTargetedEntities array means search over all indexed entities,
 			// but we have to make sure there is at least one
@@ -525,9 +842,9 @@ public class HSQueryImpl implements HSQuery, Serializable {
 				searcherSimilarity = checkSimilarity( searcherSimilarity, builder );
 				if ( builder.getIdKeywordName() != null ) {
 					idFieldNames.add( builder.getIdKeywordName() );
-					allowFieldSelectionInProjection = allowFieldSelectionInProjection && builder.allowFieldSelectionInProjection();
+					allowFieldSelection = allowFieldSelection && builder.allowFieldSelectionInProjection();
 				}
-				useFieldCacheOnClassTypes = useFieldCacheOnClassTypes || builder.getFieldCacheOption()
+				useFieldCache = useFieldCache || builder.getFieldCacheOption()
 						.contains( FieldCacheType.CLASS );
 				populateIndexManagers( targetedIndexes, indexBinder.getSelectionStrategy() );
 			}
@@ -553,19 +870,19 @@ public class HSQueryImpl implements HSQuery, Serializable {
 				DocumentBuilderIndexedEntity<?> builder = indexBinder.getDocumentBuilder();
 				if ( builder.getIdKeywordName() != null ) {
 					idFieldNames.add( builder.getIdKeywordName() );
-					allowFieldSelectionInProjection = allowFieldSelectionInProjection && builder.allowFieldSelectionInProjection();
+					allowFieldSelection = allowFieldSelection && builder.allowFieldSelectionInProjection();
 				}
 				searcherSimilarity = checkSimilarity( searcherSimilarity, builder );
-				useFieldCacheOnClassTypes = useFieldCacheOnClassTypes || builder.getFieldCacheOption()
+				useFieldCache = useFieldCache || builder.getFieldCacheOption()
 						.contains( FieldCacheType.CLASS );
 				populateIndexManagers( targetedIndexes, indexBinder.getSelectionStrategy() );
 			}
-			this.classesAndSubclasses = involvedClasses;
+			classesAndSubclasses = involvedClasses;
 		}
-		this.idFieldNames = idFieldNames;
 
 		//compute optimization needClassFilterClause
 		//if at least one DP contains one class that is not part of the targeted classesAndSubclasses we can't optimize
+		boolean needClassFilterClause = false;
 		if ( classesAndSubclasses != null ) {
 			for ( IndexManager indexManager : targetedIndexes ) {
 				final Set<Class<?>> classesInIndexManager = indexManager.getContainedTypes();
@@ -574,52 +891,29 @@ public class HSQueryImpl implements HSQuery, Serializable {
 					//risk of needClassFilterClause
 					for ( Class clazz : classesInIndexManager ) {
 						if ( !classesAndSubclasses.contains( clazz ) ) {
-							this.needClassFilterClause = true;
+							needClassFilterClause = true;
 							break;
 						}
 					}
 				}
-				if ( this.needClassFilterClause ) {
+				if ( needClassFilterClause ) {
 					break;
 				}
 			}
 		}
 		else {
-			Map<Class<?>, EntityIndexBinder> documentBuildersIndexedEntities = searchFactoryImplementor.getIndexBindingForEntity();
-			this.classesAndSubclasses = documentBuildersIndexedEntities.keySet();
+			classesAndSubclasses = builders.keySet();
 		}
 
-		//set up the searcher
-		final IndexManager[] indexManagers = targetedIndexes.toArray(
-				new IndexManager[targetedIndexes.size()]
+		return new SearcherPlan(
+				targetedIndexes.toArray( new IndexManager[targetedIndexes.size()] ),
+				searcherSimilarity,
+				Collections.unmodifiableSet( idFieldNames ),
+				classesAndSubclasses,
+				allowFieldSelection,
+				useFieldCache,
+				needClassFilterClause
 		);
-		IndexSearcher is = new IndexSearcher(
-				MultiReaderFactory.openReader( indexManagers )
-		);
-		is.setSimilarity( searcherSimilarity );
-
-		//handle the sort and projection
-		final String[] projection = this.projectedFields;
-		if ( Boolean.TRUE.equals( forceScoring ) ) {
-			return new IndexSearcherWithPayload( is, true, true );
-		}
-		else if ( Boolean.FALSE.equals( forceScoring ) ) {
-			return new IndexSearcherWithPayload( is, false, false );
-		}
-		else if ( this.sort != null && projection != null ) {
-			boolean activate = false;
-			for ( String field : projection ) {
-				if ( SCORE.equals( field ) ) {
-					activate = true;
-					break;
-				}
-			}
-			if ( activate ) {
-				return new IndexSearcherWithPayload( is, true, false );
-			}
-		}
-		//default
-		return new IndexSearcherWithPayload( is, false, false );
 	}
 
 	private Similarity checkSimilarity(Similarity similarity, DocumentBuilderIndexedEntity builder) {
@@ -636,7 +930,7 @@ public class HSQueryImpl implements HSQuery, Serializable {
 		return similarity;
 	}
 
-	private void populateIndexManagers(List<IndexManager> indexManagersTarget, final IndexShardingStrategy indexShardingStrategy) {
+	private void populateIndexManagers(Set<IndexManager> indexManagersTarget, final IndexShardingStrategy indexShardingStrategy) {
 		final IndexManager[] indexManagersForQuery;
 		if ( filterDefinitions != null && !filterDefinitions.isEmpty() ) {
 			indexManagersForQuery = indexShardingStrategy.getIndexManagersForQuery(
@@ -648,11 +942,7 @@ public class HSQueryImpl implements HSQuery, Serializable {
 			indexManagersForQuery = indexShardingStrategy.getIndexManagersForQuery( EMPTY_FULL_TEXT_FILTER_IMPLEMENTOR );
 		}
 
-		for ( IndexManager indexManager : indexManagersForQuery ) {
-			if ( !indexManagersTarget.contains( indexManager ) ) {
-				indexManagersTarget.add( indexManager );
-			}
-		}
+		Collections.addAll( indexManagersTarget, indexManagersForQuery );
 	}
 
 	private void buildFilters() {
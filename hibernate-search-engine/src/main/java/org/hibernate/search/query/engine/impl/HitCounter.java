@@ -0,0 +1,216 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.query.engine.impl;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.index.TermDocs;
+import org.apache.lucene.search.DocIdSet;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.search.Filter;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.util.ReaderUtil;
+
+/**
+ * Counts the hits of match-all and term queries, optionally filtered, segment by segment
+ * without scoring them:
+ * <ul>
+ * <li>a match-all query matches the documents which are not deleted</li>
+ * <li>a term query matches as many documents as its term frequency on segments without deletions;
+ * on the others, the documents enumerated by {@code TermDocs}, which skips the deleted ones</li>
+ * <li>a filtered match-all query matches the documents of the filter which are not deleted:
+ * this count is cached per segment, as long as the segment has the same deletions</li>
+ * </ul>
+ */
+final class HitCounter {
+
+	private HitCounter() {
+		//not allowed
+	}
+
+	/**
+	 * @return true if the hits of the query can be counted by this class
+	 */
+	static boolean isApplicable(Query query) {
+		return query instanceof MatchAllDocsQuery || query instanceof TermQuery;
+	}
+
+	/**
+	 * @param reader the top level reader
+	 * @param query a query for which {@link #isApplicable(Query)} returned true
+	 * @param filter the filter to apply, or null
+	 * @param cache holds the hit counts of filtered match-all queries
+	 */
+	static int count(IndexReader reader, Query query, Filter filter, QueryResultCache cache) throws IOException {
+		if ( filter == null && query instanceof MatchAllDocsQuery ) {
+			return reader.numDocs();
+		}
+		List<IndexReader> segments = new ArrayList<IndexReader>();
+		ReaderUtil.gatherSubReaders( segments, reader );
+		int count = 0;
+		for ( IndexReader segment : segments ) {
+			if ( query instanceof MatchAllDocsQuery ) {
+				count += countFilteredSegment( segment, filter, cache );
+			}
+			else {
+				count += countTerm( segment, ( (TermQuery) query ).getTerm(), filter );
+			}
+		}
+		return count;
+	}
+
+	private static int countFilteredSegment(IndexReader segment, Filter filter, QueryResultCache cache) throws IOException {
+		SegmentFilterKey key = new SegmentFilterKey( segment, filter );
+		Integer cached = cache.getSegmentHitCount( key );
+		if ( cached != null ) {
+			return cached;
+		}
+		int count = 0;
+		DocIdSetIterator filterIterator = iterator( segment, filter );
+		if ( filterIterator != null ) {
+			if ( segment.hasDeletions() ) {
+				// a null term enumerates all the documents which are not deleted
+				count = countBoth( filterIterator, segment.termDocs( null ) );
+			}
+			else {
+				while ( filterIterator.nextDoc() != DocIdSetIterator.NO_MORE_DOCS ) {
+					count++;
+				}
+			}
+		}
+		cache.putSegmentHitCount( key, count );
+		return count;
+	}
+
+	private static int countTerm(IndexReader segment, Term term, Filter filter) throws IOException {
+		if ( filter == null && !segment.hasDeletions() ) {
+			return segment.docFreq( term );
+		}
+		TermDocs termDocs = segment.termDocs( term );
+		if ( filter == null ) {
+			int count = 0;
+			try {
+				while ( termDocs.next() ) {
+					count++;
+				}
+			}
+			finally {
+				termDocs.close();
+			}
+			return count;
+		}
+		DocIdSetIterator filterIterator = iterator( segment, filter );
+		if ( filterIterator == null ) {
+			termDocs.close();
+			return 0;
+		}
+		return countBoth( filterIterator, termDocs );
+	}
+
+	private static DocIdSetIterator iterator(IndexReader segment, Filter filter) throws IOException {
+		DocIdSet docIdSet = filter.getDocIdSet( segment );
+		return docIdSet == null ? null : docIdSet.iterator();
+	}
+
+	/**
+	 * @return the number of documents enumerated by both the iterator and the TermDocs, which gets closed
+	 */
+	private static int countBoth(DocIdSetIterator iterator, TermDocs termDocs) throws IOException {
+		int count = 0;
+		try {
+			int doc = iterator.nextDoc();
+			// TermDocs.skipTo always moves past the current document
+			while ( doc != DocIdSetIterator.NO_MORE_DOCS && termDocs.skipTo( doc ) ) {
+				int termDoc = termDocs.doc();
+				if ( termDoc != doc ) {
+					doc = iterator.advance( termDoc );
+				}
+				if ( termDoc == doc ) {
+					count++;
+					doc = iterator.nextDoc();
+				}
+			}
+		}
+		finally {
+			termDocs.close();
+		}
+		return count;
+	}
+
+	/**
+	 * Identifies the documents of a filter visible to a segment reader: see
+	 * {@link org.hibernate.search.filter.impl.CachingWrapperFilter}.
+	 * The segment keys are only weakly referenced, so that the cached counts don't keep
+	 * closed segments reachable: once a segment is collected its entries can't be matched
+	 * anymore and are evicted from the cache in turn.
+	 */
+	private static final class SegmentFilterKey {
+
+		private final WeakReference<Object> coreKey;
+		private final WeakReference<Object> deletesKey;
+		private final Filter filter;
+		private final int hashCode;
+
+		SegmentFilterKey(IndexReader segment, Filter filter) {
+			Object core = segment.getCoreCacheKey();
+			Object deletes = segment.getDeletesCacheKey();
+			this.coreKey = new WeakReference<Object>( core );
+			this.deletesKey = deletes == null ? null : new WeakReference<Object>( deletes );
+			this.filter = filter;
+			this.hashCode = 31 * ( 31 * System.identityHashCode( core ) + System.identityHashCode( deletes ) ) + filter.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( this == o ) {
+				return true;
+			}
+			if ( !( o instanceof SegmentFilterKey ) ) {
+				return false;
+			}
+			SegmentFilterKey other = (SegmentFilterKey) o;
+			return hashCode == other.hashCode
+					&& sameLiveReferent( coreKey, other.coreKey )
+					&& sameLiveReferent( deletesKey, other.deletesKey )
+					&& filter.equals( other.filter );
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		private static boolean sameLiveReferent(WeakReference<Object> reference, WeakReference<Object> otherReference) {
+			if ( reference == null || otherReference == null ) {
+				return reference == otherReference;
+			}
+			Object referent = reference.get();
+			return referent != null && referent == otherReference.get();
+		}
+	}
+}
@@ -21,6 +21,7 @@
 package org.hibernate.search.query.engine.impl;
 
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.search.IndexSearcher;
@@ -42,11 +43,24 @@ public class IndexSearcherWithPayload {
 	private final IndexSearcher searcher;
 	private boolean fieldSortDoTrackScores;
 	private boolean fieldSortDoMaxScore;
+	private final ExecutorService parallelExecutor;
+	private final int[] parallelSegmentsMinDocs;
 
 	public IndexSearcherWithPayload(IndexSearcher searcher, boolean fieldSortDoTrackScores, boolean fieldSortDoMaxScore) {
+		this( searcher, fieldSortDoTrackScores, fieldSortDoMaxScore, null, null );
+	}
+
+	/**
+	 * @param parallelExecutor the executor to search the sub-readers of the searcher in parallel, or null
+	 * @param parallelSegmentsMinDocs see {@link #getParallelSegmentsMinDocs()}
+	 */
+	public IndexSearcherWithPayload(IndexSearcher searcher, boolean fieldSortDoTrackScores, boolean fieldSortDoMaxScore,
+			ExecutorService parallelExecutor, int[] parallelSegmentsMinDocs) {
 		this.searcher = searcher;
 		this.fieldSortDoTrackScores = fieldSortDoTrackScores;
 		this.fieldSortDoMaxScore = fieldSortDoMaxScore;
+		this.parallelExecutor = parallelExecutor;
+		this.parallelSegmentsMinDocs = parallelSegmentsMinDocs;
 		searcher.setDefaultFieldSortScoring( fieldSortDoTrackScores, fieldSortDoMaxScore );
 	}
 
@@ -62,6 +76,21 @@ public class IndexSearcherWithPayload {
 		return fieldSortDoMaxScore;
 	}
 
+	/**
+	 * @return the executor to search the sub-readers of the searcher in parallel, or null to search them sequentially
+	 */
+	public ExecutorService getParallelExecutor() {
+		return parallelExecutor;
+	}
+
+	/**
+	 * @return for each sub-reader of the searcher, the minimum number of documents to search its segments
+	 * in parallel, or -1 to search them sequentially; null to search all segments sequentially
+	 */
+	public int[] getParallelSegmentsMinDocs() {
+		return parallelSegmentsMinDocs;
+	}
+
 	/**
 	 * @param query toString() is invoked to display the query in the warning message
 	 * @param searchFactoryImplementor
@@ -0,0 +1,198 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.query.engine.impl;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.hibernate.search.Environment;
+import org.hibernate.search.batchindexing.impl.Executors;
+import org.hibernate.search.indexes.impl.DirectoryBasedIndexManager;
+import org.hibernate.search.indexes.spi.IndexManager;
+import org.hibernate.search.util.configuration.impl.ConfigurationParseHelper;
+
+/**
+ * Holds the threads searching in parallel the indexes targeted by a query, or the segments of
+ * an index, shared by all queries of a SearchFactory: see {@link Environment#QUERY_PARALLEL_THREADPOOL_SIZE}
+ * and {@link Environment#QUERY_PARALLEL_SEGMENTS}. Also holds the threads running the asynchronous
+ * queries, see {@link Environment#QUERY_ASYNC_THREADPOOL_SIZE}, and the threads extracting hits
+ * ahead of the entity loading, see {@link Environment#QUERY_PIPELINED_LOADING}. They are kept apart
+ * because these tasks wait for parallel searches: run by the same threads, they could wait for
+ * searches queued behind themselves.
+ */
+public final class ParallelQueryExecutor {
+
+	public static final int DEFAULT_SEGMENTS_MIN_DOCS = 100000;
+
+	private final int threadPoolSize;
+	private final boolean pipelinedLoading;
+	private final int asyncThreadPoolSize;
+
+	//lazily initialized, so we don't start threads for those who don't query multiple indexes
+	//guarded by synchronization on this
+	private ExecutorService executor;
+	private ExecutorService asyncExecutor;
+	private ExecutorService extractionExecutor;
+	private boolean stopped = false;
+
+	public ParallelQueryExecutor(Properties properties) {
+		this.threadPoolSize = ConfigurationParseHelper.getIntValue(
+				properties, Environment.QUERY_PARALLEL_THREADPOOL_SIZE, 0
+		);
+		this.pipelinedLoading = ConfigurationParseHelper.getBooleanValue(
+				properties, Environment.QUERY_PIPELINED_LOADING, false
+		);
+		this.asyncThreadPoolSize = ConfigurationParseHelper.getIntValue(
+				properties, Environment.QUERY_ASYNC_THREADPOOL_SIZE, Runtime.getRuntime().availableProcessors()
+		);
+	}
+
+	/**
+	 * @return true if queries should search their indexes in parallel
+	 */
+	public boolean isEnabled() {
+		return threadPoolSize > 0;
+	}
+
+	/**
+	 * @return true if queries should load their results while reading the next hits from the index,
+	 * unless they override it
+	 */
+	public boolean isPipelinedLoadingEnabled() {
+		return pipelinedLoading;
+	}
+
+	/**
+	 * @return the executor to search the indexes in parallel, or null if parallel searches are disabled
+	 */
+	public synchronized ExecutorService getExecutor() {
+		if ( !isEnabled() || stopped ) {
+			return null;
+		}
+		if ( executor == null ) {
+			executor = Executors.newRejectingFixedThreadPool(
+					threadPoolSize, "Parallel query executor", Executors.QUEUE_MAX_LENGTH
+			);
+		}
+		return executor;
+	}
+
+	/**
+	 * @return the executor extracting the hits of the queries ahead of the entity loading,
+	 * or null if parallel searches are disabled
+	 */
+	public synchronized ExecutorService getExtractionExecutor() {
+		if ( !isEnabled() || stopped ) {
+			return null;
+		}
+		if ( extractionExecutor == null ) {
+			extractionExecutor = Executors.newRejectingFixedThreadPool(
+					threadPoolSize, "Pipelined extraction executor", Executors.QUEUE_MAX_LENGTH
+			);
+		}
+		return extractionExecutor;
+	}
+
+	/**
+	 * @return the executor running the asynchronous queries, or null if they should run in the calling thread
+	 * @throws RejectedExecutionException if the executor was stopped, as the queries can't run anymore
+	 */
+	public synchronized ExecutorService getAsyncExecutor() {
+		if ( stopped ) {
+			throw new RejectedExecutionException( "The asynchronous query executor was stopped" );
+		}
+		if ( asyncThreadPoolSize <= 0 ) {
+			return null;
+		}
+		if ( asyncExecutor == null ) {
+			asyncExecutor = Executors.newRejectingFixedThreadPool(
+					asyncThreadPoolSize, "Async query executor", Executors.QUEUE_MAX_LENGTH
+			);
+		}
+		return asyncExecutor;
+	}
+
+	/**
+	 * @param indexManagers the indexes searched by a query
+	 * @param forced true if the query enables searching the segments in parallel on all its indexes
+	 * @return for each index, the minimum number of documents to search its segments in parallel,
+	 * or -1 if they are searched sequentially; null if all the indexes are searched sequentially
+	 */
+	public int[] getSegmentsMinDocs(IndexManager[] indexManagers, boolean forced) {
+		if ( !isEnabled() ) {
+			return null;
+		}
+		int[] minDocs = null;
+		for ( int i = 0; i < indexManagers.length; i++ ) {
+			IndexManager indexManager = indexManagers[i];
+			int indexMinDocs = -1;
+			if ( indexManager instanceof DirectoryBasedIndexManager ) {
+				DirectoryBasedIndexManager directoryBasedIndexManager = (DirectoryBasedIndexManager) indexManager;
+				if ( forced || directoryBasedIndexManager.isParallelSegmentsEnabled() ) {
+					indexMinDocs = directoryBasedIndexManager.getParallelSegmentsMinDocs();
+				}
+			}
+			else if ( forced ) {
+				indexMinDocs = DEFAULT_SEGMENTS_MIN_DOCS;
+			}
+			if ( indexMinDocs >= 0 ) {
+				if ( minDocs == null ) {
+					minDocs = new int[indexManagers.length];
+					Arrays.fill( minDocs, -1 );
+				}
+				minDocs[i] = indexMinDocs;
+			}
+		}
+		return minDocs;
+	}
+
+	public synchronized void stop() {
+		stopped = true;
+		if ( executor != null ) {
+			cancel( executor.shutdownNow() );
+			executor = null;
+		}
+		if ( extractionExecutor != null ) {
+			cancel( extractionExecutor.shutdownNow() );
+			extractionExecutor = null;
+		}
+		if ( asyncExecutor != null ) {
+			cancel( asyncExecutor.shutdownNow() );
+			asyncExecutor = null;
+		}
+	}
+
+	/**
+	 * Cancels the tasks which will never run, so that no query waits for them
+	 */
+	private static void cancel(List<Runnable> neverRunTasks) {
+		for ( Runnable task : neverRunTasks ) {
+			if ( task instanceof Future ) {
+				( (Future<?>) task ).cancel( false );
+			}
+		}
+	}
+
+}
@@ -29,14 +29,24 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.FieldSelector;
+import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.search.Collector;
 import org.apache.lucene.search.Explanation;
+import org.apache.lucene.search.FieldDoc;
 import org.apache.lucene.search.Filter;
+import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
 import org.apache.lucene.search.TimeLimitingCollector;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.search.TopDocsCollector;
@@ -45,15 +55,20 @@ import org.apache.lucene.search.TopScoreDocCollector;
 import org.apache.lucene.search.TotalHitCountCollector;
 import org.apache.lucene.search.Weight;
 import org.apache.lucene.util.Counter;
+import org.apache.lucene.util.ReaderUtil;
 
 import org.hibernate.search.SearchException;
+import org.hibernate.search.query.collector.impl.AfterFieldDocCollector;
 import org.hibernate.search.query.collector.impl.FacetCollector;
 import org.hibernate.search.query.collector.impl.FieldCacheCollector;
 import org.hibernate.search.query.collector.impl.FieldCacheCollectorFactory;
+import org.hibernate.search.query.collector.impl.MultiShardFieldCacheCollector;
 import org.hibernate.search.query.dsl.impl.FacetingRequestImpl;
 import org.hibernate.search.query.engine.spi.TimeoutExceptionFactory;
 import org.hibernate.search.query.engine.spi.TimeoutManager;
 import org.hibernate.search.query.facet.Facet;
+import org.hibernate.search.util.logging.impl.Log;
+import org.hibernate.search.util.logging.impl.LoggerFactory;
 
 /**
  * A helper class which gives access to the current query and its hits. This class will dynamically
@@ -64,7 +79,15 @@ import org.hibernate.search.query.facet.Facet;
  */
 public class QueryHits {
 
-	private static final int DEFAULT_TOP_DOC_RETRIEVAL_SIZE = 100;
+	private static final Log log = LoggerFactory.make();
+
+	static final int DEFAULT_TOP_DOC_RETRIEVAL_SIZE = 100;
+
+	/**
+	 * When searching the segments of an index in parallel, contiguous segments are grouped
+	 * in at most this number of slices, so that small segments don't need a task each.
+	 */
+	private static final int MAX_SLICES_PER_INDEX = 8;
 
 	private final org.apache.lucene.search.Query preparedQuery;
 	private final IndexSearcherWithPayload searcher;
@@ -75,6 +98,17 @@ public class QueryHits {
 
 	private int totalHits;
 	private TopDocs topDocs;
+
+	/**
+	 * When positive, only a window of this size of the hits is kept: the next window is fetched by a
+	 * single search collecting only the hits after the last one of the current window.
+	 */
+	private final int cursorWindowSize;
+
+	/**
+	 * The index of the first hit in topDocs
+	 */
+	private int windowStart = 0;
 	private Map<String, List<Facet>> facetMap;
 	private List<FacetCollector> facetCollectors;
 
@@ -120,6 +154,28 @@ public class QueryHits {
 					 FieldCacheCollectorFactory idFieldCollector,
 					 TimeoutExceptionFactory timeoutExceptionFactory)
 			throws IOException {
+		this(
+				searcher, preparedQuery, filter, sort, n, timeoutManager, facetRequests,
+				enableFieldCacheOnTypes, idFieldCollector, timeoutExceptionFactory, 0
+		);
+	}
+
+	/**
+	 * @param cursorWindowSize when positive, the number of hits to keep in memory while iterating
+	 * over them: see {@link org.hibernate.search.query.engine.spi.HSQuery#cursorWindowSize(int)}
+	 */
+	public QueryHits(IndexSearcherWithPayload searcher,
+					 org.apache.lucene.search.Query preparedQuery,
+					 Filter filter,
+					 Sort sort,
+					 Integer n,
+					 TimeoutManagerImpl timeoutManager,
+					 Map<String, FacetingRequestImpl> facetRequests,
+					 boolean enableFieldCacheOnTypes,
+					 FieldCacheCollectorFactory idFieldCollector,
+					 TimeoutExceptionFactory timeoutExceptionFactory,
+					 int cursorWindowSize)
+			throws IOException {
 		this.timeoutManager = timeoutManager;
 		this.preparedQuery = preparedQuery;
 		this.searcher = searcher;
@@ -129,6 +185,7 @@ public class QueryHits {
 		this.enableFieldCacheOnClassName = enableFieldCacheOnTypes;
 		this.idFieldCollectorFactory = idFieldCollector;
 		this.timeoutExceptionFactory = timeoutExceptionFactory;
+		this.cursorWindowSize = cursorWindowSize;
 		updateTopDocs( n );
 	}
 
@@ -140,11 +197,41 @@ public class QueryHits {
 		return searcher.getSearcher().doc( docId( index ), selector );
 	}
 
+	/**
+	 * Uses the results of a previous execution of the same query on the same IndexReaders:
+	 * the search is executed again only if more hits than the cached ones are needed.
+	 */
+	QueryHits(IndexSearcherWithPayload searcher,
+			org.apache.lucene.search.Query preparedQuery,
+			Filter filter,
+			Sort sort,
+			TimeoutManagerImpl timeoutManager,
+			Map<String, FacetingRequestImpl> facetRequests,
+			TimeoutExceptionFactory timeoutExceptionFactory,
+			QueryResultCache.CachedQueryHits cachedHits) {
+		this.timeoutManager = timeoutManager;
+		this.preparedQuery = preparedQuery;
+		this.searcher = searcher;
+		this.filter = filter;
+		this.sort = sort;
+		this.facetRequests = facetRequests;
+		this.enableFieldCacheOnClassName = false;
+		this.idFieldCollectorFactory = null;
+		this.timeoutExceptionFactory = timeoutExceptionFactory;
+		this.cursorWindowSize = 0;
+		this.topDocs = cachedHits.getTopDocs();
+		this.totalHits = cachedHits.getTotalHits();
+		this.facetMap = cachedHits.getFacets();
+	}
+
 	public ScoreDoc scoreDoc(int index) throws IOException {
 		if ( index >= totalHits ) {
 			throw new SearchException( "Not a valid ScoreDoc index: " + index );
 		}
 
+		if ( cursorWindowSize > 0 ) {
+			return scoreDocFromWindow( index );
+		}
 		// TODO - Is there a better way to get more TopDocs? Get more or less?
 		if ( index >= topDocs.scoreDocs.length ) {
 			updateTopDocs( 2 * index );
@@ -159,6 +246,30 @@ public class QueryHits {
 		return topDocs.scoreDocs[index];
 	}
 
+	private ScoreDoc scoreDocFromWindow(int index) throws IOException {
+		int windowEnd = windowStart + topDocs.scoreDocs.length;
+		if ( index < windowStart || index >= windowEnd ) {
+			if ( index >= windowEnd && windowEnd > windowStart ) {
+				// moving forward: start collecting after the last hit of the current window
+				ScoreDoc last = topDocs.scoreDocs[topDocs.scoreDocs.length - 1];
+				updateWindow( last, index - windowEnd, index );
+			}
+			else {
+				// moving backward: the window ending at index needs a search from the first hit
+				int start = Math.max( 0, index + 1 - cursorWindowSize );
+				updateWindow( null, start, start );
+			}
+		}
+		if ( index < windowStart || index >= windowStart + topDocs.scoreDocs.length ) {
+			// the search was interrupted before reaching this hit
+			throw timeoutExceptionFactory.createTimeoutException(
+					"Timeout period exceeded. Cannot load document: " + index,
+					preparedQuery
+			);
+		}
+		return topDocs.scoreDocs[index - windowStart];
+	}
+
 	public int docId(int index) throws IOException {
 		return scoreDoc( index ).doc;
 	}
@@ -167,8 +278,11 @@ public class QueryHits {
 		return scoreDoc( index ).score;
 	}
 
-	public Explanation explain(int index) throws IOException {
-		final Explanation explanation = searcher.getSearcher().explain( preparedQuery, docId( index ) );
+	/**
+	 * @param docId the id of the document in the searched IndexReader, not the index of the hit
+	 */
+	public Explanation explain(int docId) throws IOException {
+		final Explanation explanation = searcher.getSearcher().explain( preparedQuery, docId );
 		timeoutManager.isTimedOut();
 		return explanation;
 	}
@@ -177,6 +291,9 @@ public class QueryHits {
 		return totalHits;
 	}
 
+	/**
+	 * @return the collected hits; when using a cursor window, only the hits of the current window
+	 */
 	public TopDocs getTopDocs() {
 		return topDocs;
 	}
@@ -199,6 +316,12 @@ public class QueryHits {
 		final int maxDocs = Math.min( n, totalMaxDocs );
 		final Weight weight = preparedQuery.weight( searcher.getSearcher() );
 
+		List<Slice> slices = parallelSearchSlices();
+		if ( slices != null ) {
+			updateTopDocsInParallel( slices, maxDocs, weight );
+			return;
+		}
+
 		final TopDocsCollector<?> topDocCollector;
 		final TotalHitCountCollector hitCountCollector;
 		Collector collector = null;
@@ -248,6 +371,329 @@ public class QueryHits {
 		timeoutManager.isTimedOut();
 	}
 
+	/**
+	 * Splits the documents to search in the slices to search in parallel: each index
+	 * (each sub-reader of the searcher) is a slice, unless its segments are searched in parallel.
+	 *
+	 * @return the slices, in document id order, or null if the search should not be parallel
+	 */
+	private List<Slice> parallelSearchSlices() throws IOException {
+		if ( searcher.getParallelExecutor() == null ) {
+			return null;
+		}
+		if ( sort != null ) {
+			// document ids are relative to each slice, so they can't be compared across slices
+			for ( SortField sortField : sort.getSort() ) {
+				if ( sortField.getType() == SortField.DOC ) {
+					return null;
+				}
+			}
+		}
+		IndexReader[] subReaders = searcher.getSearcher().getIndexReader().getSequentialSubReaders();
+		int[] segmentsMinDocs = searcher.getParallelSegmentsMinDocs();
+		List<Slice> slices = new ArrayList<Slice>();
+		int docBase = 0;
+		for ( int i = 0; i < subReaders.length; i++ ) {
+			IndexReader subReader = subReaders[i];
+			int subReaderMaxDoc = subReader.maxDoc();
+			if ( subReaderMaxDoc == 0 ) {
+				continue;
+			}
+			List<IndexReader> segments = new ArrayList<IndexReader>();
+			ReaderUtil.gatherSubReaders( segments, subReader );
+			if ( segmentsMinDocs != null && segmentsMinDocs[i] >= 0 && subReaderMaxDoc >= segmentsMinDocs[i] ) {
+				addSegmentSlices( slices, subReader, segments, docBase );
+			}
+			else {
+				slices.add( new Slice( subReader, segments, docBase ) );
+			}
+			docBase += subReaderMaxDoc;
+		}
+		return slices.size() > 1 ? slices : null;
+	}
+
+	/**
+	 * Groups contiguous segments of an index in slices.
+	 */
+	private static void addSegmentSlices(List<Slice> slices, IndexReader indexReader, List<IndexReader> segments,
+			int indexDocBase) {
+		int minSliceDocs = indexReader.maxDoc() / MAX_SLICES_PER_INDEX;
+		List<IndexReader> sliceSegments = new ArrayList<IndexReader>();
+		int sliceMaxDoc = 0;
+		int docBase = indexDocBase;
+		for ( IndexReader segment : segments ) {
+			sliceSegments.add( segment );
+			sliceMaxDoc += segment.maxDoc();
+			if ( sliceMaxDoc >= minSliceDocs ) {
+				slices.add( new Slice( indexReader, sliceSegments, docBase ) );
+				docBase += sliceMaxDoc;
+				sliceSegments = new ArrayList<IndexReader>();
+				sliceMaxDoc = 0;
+			}
+		}
+		if ( !sliceSegments.isEmpty() ) {
+			slices.add( new Slice( indexReader, sliceSegments, docBase ) );
+		}
+	}
+
+	/**
+	 * Searches each slice with its own collectors, in parallel, then merges their hits,
+	 * facet counts and collected field values, as if all slices were searched at once.
+	 *
+	 * @param maxDocs the number of hits to retrieve
+	 * @param weight the weight of the query on all indexes
+	 */
+	private void updateTopDocsInParallel(List<Slice> slices, int maxDocs, Weight weight) throws IOException {
+		List<SliceSearch> sliceSearches = new ArrayList<SliceSearch>( slices.size() );
+		for ( Slice slice : slices ) {
+			sliceSearches.add( new SliceSearch( slice, maxDocs, weight ) );
+		}
+		if ( !isImmediateTimeout() ) {
+			searchSlices( sliceSearches );
+		}
+
+		if ( maxDocs != 0 ) {
+			int sliceCount = sliceSearches.size();
+			TopDocs[] sliceTopDocs = new TopDocs[sliceCount];
+			int[] docBases = new int[sliceCount];
+			FieldCacheCollector[] classTypeCollectors = new FieldCacheCollector[sliceCount];
+			FieldCacheCollector[] idFieldCollectors = new FieldCacheCollector[sliceCount];
+			for ( int i = 0; i < sliceCount; i++ ) {
+				SliceSearch sliceSearch = sliceSearches.get( i );
+				int docBase = sliceSearch.slice.docBase;
+				sliceTopDocs[i] = sliceSearch.topDocCollector.topDocs();
+				for ( ScoreDoc scoreDoc : sliceTopDocs[i].scoreDocs ) {
+					scoreDoc.doc += docBase;
+				}
+				docBases[i] = docBase;
+				classTypeCollectors[i] = sliceSearch.classTypeCollector;
+				idFieldCollectors[i] = sliceSearch.idFieldCollector;
+			}
+			this.topDocs = TopDocs.merge( sort, maxDocs, sliceTopDocs );
+			this.totalHits = topDocs.totalHits;
+			if ( enableFieldCacheOnClassName ) {
+				classTypeCollector = new MultiShardFieldCacheCollector( classTypeCollectors, docBases );
+			}
+			if ( idFieldCollectorFactory != null ) {
+				idFieldCollector = new MultiShardFieldCacheCollector( idFieldCollectors, docBases );
+			}
+			if ( facetRequests != null && !facetRequests.isEmpty() ) {
+				// sum the counts of all slices in the collectors of the first one
+				List<FacetCollector> mergedFacetCollectors = sliceSearches.get( 0 ).facetCollectors;
+				for ( SliceSearch sliceSearch : sliceSearches.subList( 1, sliceCount ) ) {
+					for ( int i = 0; i < mergedFacetCollectors.size(); i++ ) {
+						mergedFacetCollectors.get( i ).mergeCounts( sliceSearch.facetCollectors.get( i ) );
+					}
+				}
+				facetMap = new HashMap<String, List<Facet>>();
+				for ( FacetCollector facetCollector : mergedFacetCollectors ) {
+					facetMap.put( facetCollector.getFacetName(), facetCollector.getFacetList() );
+				}
+			}
+		}
+		else {
+			this.topDocs = null;
+			this.totalHits = 0;
+			for ( SliceSearch sliceSearch : sliceSearches ) {
+				this.totalHits += sliceSearch.hitCountCollector.getTotalHits();
+			}
+		}
+		timeoutManager.isTimedOut();
+	}
+
+	/**
+	 * Searches the first slice in the calling thread, and the other ones using the parallel executor;
+	 * the slices the executor rejects are searched in the calling thread too.
+	 */
+	private void searchSlices(List<SliceSearch> sliceSearches) throws IOException {
+		ExecutorService executor = searcher.getParallelExecutor();
+		List<Future<Boolean>> futures = new ArrayList<Future<Boolean>>( sliceSearches.size() - 1 );
+		List<SliceSearch> localSearches = new ArrayList<SliceSearch>( 1 );
+		localSearches.add( sliceSearches.get( 0 ) );
+		boolean timedOut = false;
+		try {
+			for ( SliceSearch sliceSearch : sliceSearches.subList( 1, sliceSearches.size() ) ) {
+				try {
+					futures.add( executor.submit( sliceSearch ) );
+				}
+				catch ( RejectedExecutionException e ) {
+					//too many pending parallel tasks, or the executor is stopped
+					localSearches.add( sliceSearch );
+				}
+			}
+			for ( SliceSearch sliceSearch : localSearches ) {
+				timedOut |= sliceSearch.call();
+			}
+			for ( Future<Boolean> future : futures ) {
+				timedOut |= future.get();
+			}
+		}
+		catch ( InterruptedException e ) {
+			Thread.currentThread().interrupt();
+			throw log.interruptedWhileWaitingForParallelSearch( e, preparedQuery.toString() );
+		}
+		catch ( CancellationException e ) {
+			throw new SearchException( "Unable to query Lucene index: the parallel query executor is stopped", e );
+		}
+		catch ( ExecutionException e ) {
+			Throwable cause = e.getCause();
+			if ( cause instanceof IOException ) {
+				throw (IOException) cause;
+			}
+			else if ( cause instanceof RuntimeException ) {
+				throw (RuntimeException) cause;
+			}
+			else if ( cause instanceof Error ) {
+				throw (Error) cause;
+			}
+			throw new SearchException( "Unable to query Lucene index", cause );
+		}
+		finally {
+			// don't interrupt the slices still searching: interrupting an I/O operation closes the index files
+			for ( Future<Boolean> future : futures ) {
+				future.cancel( false );
+			}
+		}
+		if ( timedOut ) {
+			//we have reached the time limit and stopped before the end
+			timeoutManager.forceTimedOut();
+		}
+	}
+
+	/**
+	 * A contiguous range of segments of a single index: either the whole index, or some
+	 * of its segments when the segments of the index are searched in parallel.
+	 */
+	private static final class Slice {
+
+		private final IndexReader indexReader;
+		private final IndexReader[] segments;
+		private final int[] segmentStarts;
+		private final int docBase;
+		private final int maxDoc;
+
+		/**
+		 * @param indexReader the reader of the index the segments belong to
+		 * @param segments the segments of the slice
+		 * @param docBase the id of the first document of the slice in the searcher
+		 */
+		Slice(IndexReader indexReader, List<IndexReader> segments, int docBase) {
+			this.indexReader = indexReader;
+			this.segments = segments.toArray( new IndexReader[segments.size()] );
+			this.segmentStarts = new int[this.segments.length];
+			int sliceMaxDoc = 0;
+			for ( int i = 0; i < this.segments.length; i++ ) {
+				segmentStarts[i] = sliceMaxDoc;
+				sliceMaxDoc += this.segments[i].maxDoc();
+			}
+			this.maxDoc = sliceMaxDoc;
+			this.docBase = docBase;
+		}
+	}
+
+	/**
+	 * Collects the hits of a single slice, with document ids relative to that slice.
+	 * The collectors are created in the calling thread, the search can be run by any thread.
+	 */
+	private final class SliceSearch implements Callable<Boolean> {
+
+		private final Slice slice;
+		private final Weight weight;
+		private final Collector collector;
+		private TopDocsCollector<?> topDocCollector;
+		private TotalHitCountCollector hitCountCollector;
+		private FieldCacheCollector classTypeCollector;
+		private FieldCacheCollector idFieldCollector;
+		private final List<FacetCollector> facetCollectors = new ArrayList<FacetCollector>();
+
+		SliceSearch(Slice slice, int maxDocs, Weight weight) throws IOException {
+			this.slice = slice;
+			this.weight = weight;
+			Collector chain;
+			if ( maxDocs != 0 ) {
+				int sliceHits = Math.min( maxDocs, slice.maxDoc );
+				topDocCollector = createTopDocCollector( sliceHits, weight );
+				chain = topDocCollector;
+				if ( enableFieldCacheOnClassName ) {
+					classTypeCollector = FieldCacheCollectorFactory
+							.CLASS_TYPE_FIELD_CACHE_COLLECTOR_FACTORY
+							.createFieldCollector( chain, slice.maxDoc, sliceHits );
+					chain = classTypeCollector;
+				}
+				if ( idFieldCollectorFactory != null ) {
+					idFieldCollector = idFieldCollectorFactory.createFieldCollector( chain, slice.maxDoc, sliceHits );
+					chain = idFieldCollector;
+				}
+				if ( facetRequests != null ) {
+					for ( FacetingRequestImpl facetRequest : facetRequests.values() ) {
+						FacetCollector facetCollector = new FacetCollector( chain, facetRequest );
+						facetCollectors.add( facetCollector );
+						chain = facetCollector;
+					}
+				}
+			}
+			else {
+				hitCountCollector = new TotalHitCountCollector();
+				chain = hitCountCollector;
+			}
+			this.collector = decorateWithTimeOutCollector( chain );
+		}
+
+		/**
+		 * @return true if the search stopped before the end because of a timeout
+		 */
+		public Boolean call() throws IOException {
+			try {
+				new IndexSearcher( slice.indexReader, slice.segments, slice.segmentStarts )
+						.search( weight, filter, collector );
+				return Boolean.FALSE;
+			}
+			catch ( TimeLimitingCollector.TimeExceededException e ) {
+				return Boolean.TRUE;
+			}
+		}
+	}
+
+	/**
+	 * Replaces the current window of hits: faceting and FieldCache collectors are not needed,
+	 * as the first search collected them already for all hits.
+	 *
+	 * @param after the hit after which to collect, or null to collect from the first one
+	 * @param skip the number of hits to skip after that
+	 * @param newWindowStart the index of the first hit of the new window
+	 */
+	private void updateWindow(ScoreDoc after, int skip, int newWindowStart) throws IOException {
+		final Weight weight = preparedQuery.weight( searcher.getSearcher() );
+		final int maxDocs = Math.min( skip + cursorWindowSize, searcher.getSearcher().maxDoc() );
+		final TopDocsCollector<?> topDocCollector;
+		Collector collector;
+		if ( after == null ) {
+			topDocCollector = createTopDocCollector( maxDocs, weight );
+			collector = topDocCollector;
+		}
+		else if ( sort == null ) {
+			topDocCollector = TopScoreDocCollector.create( maxDocs, after, !weight.scoresDocsOutOfOrder() );
+			collector = topDocCollector;
+		}
+		else {
+			topDocCollector = createTopDocCollector( maxDocs, weight );
+			collector = new AfterFieldDocCollector( topDocCollector, sort, (FieldDoc) after );
+		}
+		collector = decorateWithTimeOutCollector( collector );
+		if ( !isImmediateTimeout() ) {
+			try {
+				searcher.getSearcher().search( weight, filter, collector );
+			}
+			catch ( TimeLimitingCollector.TimeExceededException e ) {
+				timeoutManager.forceTimedOut();
+			}
+		}
+		// don't use topDocs.totalHits, as the "after" collectors don't count skipped hits
+		this.topDocs = topDocCollector.topDocs( skip, cursorWindowSize );
+		this.windowStart = newWindowStart;
+		timeoutManager.isTimedOut();
+	}
+
 	private Collector optionallyEnableFacetingCollectors(Collector collector) {
 		if ( facetRequests == null || facetRequests.isEmpty() ) {
 			return collector;
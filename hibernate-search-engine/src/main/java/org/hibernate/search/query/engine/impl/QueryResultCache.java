@@ -0,0 +1,281 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.query.engine.impl;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.search.Filter;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.TopDocs;
+
+import org.hibernate.search.Environment;
+import org.hibernate.search.filter.impl.FullTextFilterImpl;
+import org.hibernate.search.query.dsl.impl.FacetingRequestImpl;
+import org.hibernate.search.query.facet.Facet;
+import org.hibernate.search.util.configuration.impl.ConfigurationParseHelper;
+import org.hibernate.search.util.impl.ConcurrentSoftLimitMRUCache;
+import org.hibernate.search.util.impl.WeakIdentityHashMap;
+
+/**
+ * Keeps the hits, total hit count and facets of the most recently executed queries of a
+ * SearchFactory, for the queries enabling it.
+ * <p/>
+ * Each entry is keyed on the query and on all the options affecting its hits, and on the
+ * generation of each IndexReader it was executed on: the generation of a reader is a number
+ * assigned to each IndexReader instance the first time it's used, so as soon as a ReaderProvider
+ * publishes a new reader the entries collected on the previous one are no longer found, and get
+ * evicted in least recently used order. Entries are referenced softly beyond the configured size.
+ * <p/>
+ * The number of hits of filter-only queries on each segment is kept too, for all queries.
+ */
+public final class QueryResultCache {
+
+	private static final int DEFAULT_SIZE = 128;
+	private static final int HARD_TO_SOFT_RATIO = 8;
+	private static final int SEGMENT_HIT_COUNTS_STRONG_REFERENCES = 1024;
+	private static final int SEGMENT_HIT_COUNTS_SOFT_REFERENCES = 8192;
+
+	/**
+	 * Results with more hits than this are not cached, as they would take too much memory
+	 */
+	static final int MAX_CACHED_HITS = 1000;
+
+	private final ConcurrentSoftLimitMRUCache cache;
+
+	/**
+	 * The hit counts of filter-only queries, per segment: these don't depend on the query
+	 * result cache being enabled. The keys reference the segments weakly.
+	 */
+	private final ConcurrentSoftLimitMRUCache segmentHitCounts = new ConcurrentSoftLimitMRUCache(
+			SEGMENT_HIT_COUNTS_STRONG_REFERENCES, SEGMENT_HIT_COUNTS_SOFT_REFERENCES
+	);
+
+	/**
+	 * Doesn't prevent closed readers from being garbage collected. Guarded by itself.
+	 */
+	private final WeakIdentityHashMap<IndexReader, Long> readerGenerations = new WeakIdentityHashMap<IndexReader, Long>();
+	private long nextGeneration = 0;
+
+	public QueryResultCache(Properties properties) {
+		int size = ConfigurationParseHelper.getIntValue( properties, Environment.QUERY_RESULT_CACHE_SIZE, DEFAULT_SIZE );
+		cache = new ConcurrentSoftLimitMRUCache( size, size * HARD_TO_SOFT_RATIO );
+	}
+
+	/**
+	 * @param key see {@link #createKey}
+	 * @return the cached results or null
+	 */
+	CachedQueryHits get(Object key) {
+		return (CachedQueryHits) cache.get( key );
+	}
+
+	/**
+	 * Caches the results collected by a search, unless they are partial or too large.
+	 */
+	void put(Object key, QueryHits queryHits) {
+		TopDocs topDocs = queryHits.getTopDocs();
+		if ( topDocs != null && topDocs.scoreDocs.length > MAX_CACHED_HITS ) {
+			return;
+		}
+		cache.put( key, new CachedQueryHits( queryHits ) );
+	}
+
+	/**
+	 * @param key see {@link HitCounter}
+	 * @return the number of hits of a query on a segment, or null
+	 */
+	Integer getSegmentHitCount(Object key) {
+		return (Integer) segmentHitCounts.get( key );
+	}
+
+	void putSegmentHitCount(Object key, int count) {
+		segmentHitCounts.put( key, count );
+	}
+
+	/**
+	 * @param readers the top level readers the query is executed on, one for each targeted index
+	 * @return a key for the results of a query, or null if the query can't be cached
+	 */
+	Object createKey(Query query, Set<Class<?>> indexedTargetedEntities, Map<String, FullTextFilterImpl> filterDefinitions,
+			Filter userFilter, Filter facetFilter, Map<String, FacetingRequestImpl> facetRequests, Sort sort, int n,
+			boolean trackScores, boolean computeMaxScore, IndexReader[] readers) {
+		// copy all mutable parts: they might be changed before the query is executed again
+		Map<String, Map<String, Object>> filters = Collections.emptyMap();
+		if ( !filterDefinitions.isEmpty() ) {
+			filters = new HashMap<String, Map<String, Object>>( filterDefinitions.size() * 2 );
+			for ( Map.Entry<String, FullTextFilterImpl> entry : filterDefinitions.entrySet() ) {
+				filters.put( entry.getKey(), new HashMap<String, Object>( entry.getValue().getParameters() ) );
+			}
+		}
+		Map<String, String> facets = Collections.emptyMap();
+		if ( facetRequests != null && !facetRequests.isEmpty() ) {
+			// the requests don't implement equals, but their description lists all their options
+			facets = new HashMap<String, String>( facetRequests.size() * 2 );
+			for ( Map.Entry<String, FacetingRequestImpl> entry : facetRequests.entrySet() ) {
+				FacetingRequestImpl request = entry.getValue();
+				facets.put( entry.getKey(), request.getClass().getName() + request.toString() );
+			}
+		}
+		return new ResultKey(
+				(Query) query.clone(),
+				indexedTargetedEntities,
+				filters,
+				userFilter,
+				facetFilter,
+				facets,
+				sort == null ? null : new Sort( sort.getSort().clone() ),
+				n,
+				trackScores,
+				computeMaxScore,
+				getGenerations( readers )
+		);
+	}
+
+	private long[] getGenerations(IndexReader[] readers) {
+		long[] generations = new long[readers.length];
+		synchronized ( readerGenerations ) {
+			for ( int i = 0; i < readers.length; i++ ) {
+				Long generation = readerGenerations.get( readers[i] );
+				if ( generation == null ) {
+					generation = nextGeneration++;
+					readerGenerations.put( readers[i], generation );
+				}
+				generations[i] = generation;
+			}
+		}
+		return generations;
+	}
+
+	/**
+	 * @return the number of entries currently in the cache, including the ones only softly referenced
+	 */
+	public int size() {
+		return cache.size();
+	}
+
+	/**
+	 * The results of a query, valid for the same readers only.
+	 */
+	static final class CachedQueryHits {
+
+		private final TopDocs topDocs;
+		private final int totalHits;
+		private final Map<String, List<Facet>> facets;
+
+		CachedQueryHits(QueryHits queryHits) {
+			this.topDocs = queryHits.getTopDocs();
+			this.totalHits = queryHits.getTotalHits();
+			this.facets = queryHits.getFacets();
+		}
+
+		TopDocs getTopDocs() {
+			return topDocs;
+		}
+
+		int getTotalHits() {
+			return totalHits;
+		}
+
+		Map<String, List<Facet>> getFacets() {
+			return facets;
+		}
+	}
+
+	private static final class ResultKey {
+
+		private final Query query;
+		private final Set<Class<?>> indexedTargetedEntities;
+		private final Map<String, Map<String, Object>> filters;
+		private final Filter userFilter;
+		private final Filter facetFilter;
+		private final Map<String, String> facets;
+		private final Sort sort;
+		private final int n;
+		private final boolean trackScores;
+		private final boolean computeMaxScore;
+		private final long[] readerGenerations;
+		private final int hashCode;
+
+		ResultKey(Query query, Set<Class<?>> indexedTargetedEntities, Map<String, Map<String, Object>> filters,
+				Filter userFilter, Filter facetFilter, Map<String, String> facets, Sort sort, int n,
+				boolean trackScores, boolean computeMaxScore, long[] readerGenerations) {
+			this.query = query;
+			this.indexedTargetedEntities = indexedTargetedEntities;
+			this.filters = filters;
+			this.userFilter = userFilter;
+			this.facetFilter = facetFilter;
+			this.facets = facets;
+			this.sort = sort;
+			this.n = n;
+			this.trackScores = trackScores;
+			this.computeMaxScore = computeMaxScore;
+			this.readerGenerations = readerGenerations;
+			int h = query.hashCode();
+			h = 31 * h + indexedTargetedEntities.hashCode();
+			h = 31 * h + filters.hashCode();
+			h = 31 * h + ( userFilter == null ? 0 : userFilter.hashCode() );
+			h = 31 * h + ( facetFilter == null ? 0 : facetFilter.hashCode() );
+			h = 31 * h + facets.hashCode();
+			h = 31 * h + ( sort == null ? 0 : sort.hashCode() );
+			h = 31 * h + n;
+			h = 31 * h + ( trackScores ? 1 : 0 );
+			h = 31 * h + ( computeMaxScore ? 1 : 0 );
+			h = 31 * h + Arrays.hashCode( readerGenerations );
+			this.hashCode = h;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( this == o ) {
+				return true;
+			}
+			if ( !( o instanceof ResultKey ) ) {
+				return false;
+			}
+			ResultKey other = (ResultKey) o;
+			return hashCode == other.hashCode
+					&& n == other.n
+					&& trackScores == other.trackScores
+					&& computeMaxScore == other.computeMaxScore
+					&& Arrays.equals( readerGenerations, other.readerGenerations )
+					&& query.equals( other.query )
+					&& indexedTargetedEntities.equals( other.indexedTargetedEntities )
+					&& filters.equals( other.filters )
+					&& ( userFilter == null ? other.userFilter == null : userFilter.equals( other.userFilter ) )
+					&& ( facetFilter == null ? other.facetFilter == null : facetFilter.equals( other.facetFilter ) )
+					&& facets.equals( other.facets )
+					&& ( sort == null ? other.sort == null : sort.equals( other.sort ) );
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+}
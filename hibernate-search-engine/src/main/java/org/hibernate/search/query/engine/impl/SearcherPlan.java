@@ -0,0 +1,92 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.query.engine.impl;
+
+import java.util.Set;
+
+import org.apache.lucene.search.Similarity;
+
+import org.hibernate.search.indexes.spi.IndexManager;
+
+/**
+ * What a query needs to know about the entities it targets to build its searcher:
+ * it only depends on the targeted entities and on the enabled full-text filters
+ * (which the sharding strategies might use), so it can be reused by other queries.
+ * Instances are immutable.
+ *
+ * @see SearcherPlanCache
+ */
+public final class SearcherPlan {
+
+	private final IndexManager[] indexManagers;
+	private final Similarity similarity;
+	private final Set<String> idFieldNames;
+	private final Set<Class<?>> classesAndSubclasses;
+	private final boolean fieldSelectionAllowedInProjection;
+	private final boolean fieldCacheUsedOnClassTypes;
+	private final boolean classFilterClauseNeeded;
+
+	SearcherPlan(IndexManager[] indexManagers, Similarity similarity, Set<String> idFieldNames,
+			Set<Class<?>> classesAndSubclasses, boolean fieldSelectionAllowedInProjection,
+			boolean fieldCacheUsedOnClassTypes, boolean classFilterClauseNeeded) {
+		this.indexManagers = indexManagers;
+		this.similarity = similarity;
+		this.idFieldNames = idFieldNames;
+		this.classesAndSubclasses = classesAndSubclasses;
+		this.fieldSelectionAllowedInProjection = fieldSelectionAllowedInProjection;
+		this.fieldCacheUsedOnClassTypes = fieldCacheUsedOnClassTypes;
+		this.classFilterClauseNeeded = classFilterClauseNeeded;
+	}
+
+	/**
+	 * @return the index managers to search; the array must not be modified
+	 */
+	IndexManager[] getIndexManagers() {
+		return indexManagers;
+	}
+
+	Similarity getSimilarity() {
+		return similarity;
+	}
+
+	Set<String> getIdFieldNames() {
+		return idFieldNames;
+	}
+
+	Set<Class<?>> getClassesAndSubclasses() {
+		return classesAndSubclasses;
+	}
+
+	boolean isFieldSelectionAllowedInProjection() {
+		return fieldSelectionAllowedInProjection;
+	}
+
+	boolean isFieldCacheUsedOnClassTypes() {
+		return fieldCacheUsedOnClassTypes;
+	}
+
+	/**
+	 * @return true if some of the targeted indexes contain other entities than the targeted ones
+	 */
+	boolean isClassFilterClauseNeeded() {
+		return classFilterClauseNeeded;
+	}
+}
@@ -0,0 +1,100 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.query.engine.impl;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.search.filter.impl.FullTextFilterImpl;
+import org.hibernate.search.util.impl.ConcurrentSoftLimitMRUCache;
+
+/**
+ * Keeps the most recently used {@link SearcherPlan}s of a SearchFactory, keyed by
+ * the targeted entities and the enabled full-text filters with their parameters.
+ * <p/>
+ * The plans depend on the mapped entities: each new SearchFactory, as built when
+ * classes are added to a {@code MutableSearchFactory}, uses a new cache.
+ */
+public final class SearcherPlanCache {
+
+	private static final int STRONG_REFERENCES = 128;
+	private static final int SOFT_REFERENCES = 2048;
+
+	private final ConcurrentSoftLimitMRUCache cache = new ConcurrentSoftLimitMRUCache( STRONG_REFERENCES, SOFT_REFERENCES );
+
+	/**
+	 * @param key see {@link #createKey(Set, Map)}
+	 * @return the cached plan or null
+	 */
+	SearcherPlan get(Object key) {
+		return (SearcherPlan) cache.get( key );
+	}
+
+	void put(Object key, SearcherPlan plan) {
+		cache.put( key, plan );
+	}
+
+	static Object createKey(Set<Class<?>> indexedTargetedEntities, Map<String, FullTextFilterImpl> filterDefinitions) {
+		if ( filterDefinitions.isEmpty() ) {
+			return new PlanKey( indexedTargetedEntities, Collections.<String, Map<String, Object>>emptyMap() );
+		}
+		// copy the parameters: they might be changed before the query is executed again
+		Map<String, Map<String, Object>> filters = new HashMap<String, Map<String, Object>>( filterDefinitions.size() * 2 );
+		for ( Map.Entry<String, FullTextFilterImpl> entry : filterDefinitions.entrySet() ) {
+			filters.put( entry.getKey(), new HashMap<String, Object>( entry.getValue().getParameters() ) );
+		}
+		return new PlanKey( indexedTargetedEntities, filters );
+	}
+
+	private static final class PlanKey {
+
+		private final Set<Class<?>> indexedTargetedEntities;
+		private final Map<String, Map<String, Object>> filters;
+		private final int hashCode;
+
+		PlanKey(Set<Class<?>> indexedTargetedEntities, Map<String, Map<String, Object>> filters) {
+			this.indexedTargetedEntities = indexedTargetedEntities;
+			this.filters = filters;
+			this.hashCode = 31 * indexedTargetedEntities.hashCode() + filters.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( this == o ) {
+				return true;
+			}
+			if ( !( o instanceof PlanKey ) ) {
+				return false;
+			}
+			PlanKey other = (PlanKey) o;
+			return hashCode == other.hashCode
+					&& indexedTargetedEntities.equals( other.indexedTargetedEntities )
+					&& filters.equals( other.filters );
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+}
@@ -21,6 +21,7 @@
 package org.hibernate.search.query.engine.spi;
 
 import java.io.IOException;
+import java.util.List;
 
 import org.apache.lucene.search.TopDocs;
 
@@ -40,6 +41,17 @@ import org.apache.lucene.search.TopDocs;
 public interface DocumentExtractor {
 	EntityInfo extract(int index) throws IOException;
 
+	/**
+	 * Extracts a window of hits at once: the stored fields of the hits are read in the order
+	 * of their document ids, rather than in the order of the hits, for better I/O locality.
+	 *
+	 * @param firstIndex the index of the first hit to extract
+	 * @param lastIndex the index of the last hit to extract (inclusive)
+	 *
+	 * @return the extracted hits, in the order of the hits
+	 */
+	List<EntityInfo> extract(int firstIndex, int lastIndex) throws IOException;
+
 	int getFirstIndex();
 
 	int getMaxIndex();
@@ -0,0 +1,45 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.query.engine.spi;
+
+import java.util.List;
+
+/**
+ * Streams the {@code EntityInfo}s of the hits of a query in consecutive chunks, so that the caller
+ * can load the entities of a chunk while the next one is extracted from the index.
+ *
+ * {@code EntityInfoChunks} objects *must* be closed when the chunks are no longer consumed. See {@link #close()}
+ */
+public interface EntityInfoChunks {
+
+	/**
+	 * Waits for the next chunk to be extracted.
+	 *
+	 * @return the {@code EntityInfo}s of the next chunk of hits, in the order of the hits,
+	 * or null when all the hits have been returned
+	 */
+	List<EntityInfo> next();
+
+	/**
+	 * Stops the extraction and releases the Lucene resources.
+	 */
+	void close();
+}
@@ -22,6 +22,7 @@ package org.hibernate.search.query.engine.spi;
 
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Future;
 
 import org.apache.lucene.search.Explanation;
 import org.apache.lucene.search.Filter;
@@ -150,6 +151,46 @@ public interface HSQuery extends ProjectionConstants {
 	 */
 	HSQuery maxResults(int maxResults);
 
+	/**
+	 * Keep in memory only a window of the hits when iterating over them with {@link #queryDocumentExtractor()}:
+	 * each following window is fetched by a single search collecting only the hits after the last one
+	 * of the current window, rather than by searching again for all the hits up to the requested one.
+	 * Memory usage then depends on the window size rather than on the position in the results;
+	 * moving backwards beyond the current window searches again from the first hit.
+	 *
+	 * @param windowSize the number of hits to keep, or <tt>0</tt> (the default) to keep all the hits retrieved so far
+	 *
+	 * @return {@code this} in order to allow method chaining
+	 */
+	HSQuery cursorWindowSize(int windowSize);
+
+	/**
+	 * Look up the hits, the total hit count and the facets of this query in the query result cache
+	 * of the SearchFactory, and store them there after executing it. The cached results are only
+	 * used as long as the same IndexReaders are used: they are no longer found as soon as an index
+	 * is changed, and the IndexReader is refreshed.
+	 * Queries are compared using their {@code equals} method, and so are the sort and the user filter:
+	 * don't change a query or filter instance once executed.
+	 *
+	 * @param useResultCache whether to use the query result cache, disabled by default
+	 *
+	 * @return {@code this} in order to allow method chaining
+	 */
+	HSQuery useResultCache(boolean useResultCache);
+
+	/**
+	 * Collect the hits of the segments of each targeted index in parallel, even for the indexes
+	 * not enabling it in their configuration. Only indexes holding at least the number of documents
+	 * set by {@link org.hibernate.search.Environment#QUERY_PARALLEL_SEGMENTS_MIN_DOCS} are searched this way,
+	 * and only if the parallel query threads are enabled by
+	 * {@link org.hibernate.search.Environment#QUERY_PARALLEL_THREADPOOL_SIZE}.
+	 *
+	 * @param parallelSegments whether to search the segments in parallel on all indexes, disabled by default
+	 *
+	 * @return {@code this} in order to allow method chaining
+	 */
+	HSQuery parallelSegments(boolean parallelSegments);
+
 	/**
 	 * @return the targeted entity types
 	 */
@@ -189,6 +230,19 @@ public interface HSQuery extends ProjectionConstants {
 	 */
 	List<EntityInfo> queryEntityInfos();
 
+	/**
+	 * Execute the Lucene query and return its {@code EntityInfo}s in consecutive chunks, as
+	 * {@link #queryEntityInfos()} would; when the parallel query threads are enabled by
+	 * {@link org.hibernate.search.Environment#QUERY_PARALLEL_THREADPOOL_SIZE}, the chunks are extracted
+	 * in a background thread, ahead of the caller.
+	 * The returned {@code EntityInfoChunks} <br>must</br> be closed by the caller to release Lucene resources.
+	 *
+	 * @param chunkSize the number of hits in each chunk
+	 *
+	 * @return the {@code EntityInfoChunks} instance
+	 */
+	EntityInfoChunks queryEntityInfoChunks(int chunkSize);
+
 	/**
 	 * Execute the Lucene query and return a traversable object over the results.
 	 * Results are lazily fetched.
@@ -210,6 +264,31 @@ public interface HSQuery extends ProjectionConstants {
 	 */
 	int queryResultSize();
 
+	/**
+	 * Execute the Lucene query as {@link #queryEntityInfos()} does, in one of the threads set by
+	 * {@link org.hibernate.search.Environment#QUERY_ASYNC_THREADPOOL_SIZE}. The timeout of the query
+	 * is applied as usual, from the time {@link TimeoutManager#start()} is called; a timeout
+	 * is then reported as the cause of the {@code ExecutionException} thrown by {@code Future.get()},
+	 * as is the failure to queue the query when too many asynchronous queries are pending.
+	 * The query <br>must not</br> be modified until the returned {@code Future} is done.
+	 *
+	 * @return a {@code Future} on the list of {@code EntityInfo}s populated with metadata and projection
+	 */
+	Future<List<EntityInfo>> queryEntityInfosAsync();
+
+	/**
+	 * Count the hits of this search as {@link #queryResultSize()} does, in one of the threads set by
+	 * {@link org.hibernate.search.Environment#QUERY_ASYNC_THREADPOOL_SIZE}. Unlike {@link #queryResultSize()},
+	 * the timeout is not started by this method but applied from the time {@link TimeoutManager#start()}
+	 * is called, so that it includes the time spent waiting for a thread, and it is stopped once the hits
+	 * are counted; failures are reported
+	 * as by {@link #queryEntityInfosAsync()}.
+	 * The query <br>must not</br> be modified until the returned {@code Future} is done.
+	 *
+	 * @return a {@code Future} on the number of hits for this search
+	 */
+	Future<Integer> queryResultSizeAsync();
+
 	/**
 	 * Return the Lucene {@link org.apache.lucene.search.Explanation}
 	 * object describing the score computation for the matching object/document
@@ -0,0 +1,73 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.query.fieldcache.impl;
+
+import org.hibernate.search.bridge.TwoWayStringBridge;
+
+/**
+ * Describes how to read the projected value of a field from the {@code FieldCache}
+ * rather than from the stored fields: see {@link org.hibernate.search.annotations.FieldCacheType#PROJECTIONS}.
+ */
+public final class FieldCacheProjection {
+
+	private final String fieldName;
+	private final FieldCacheLoadingType type;
+	private final TwoWayStringBridge stringBridge;
+
+	/**
+	 * @param fieldName the name of the projected field
+	 * @param type the type of the values in the {@code FieldCache}
+	 * @param stringBridge converts the cached value to the projected object for {@code STRING} fields, null otherwise
+	 */
+	public FieldCacheProjection(String fieldName, FieldCacheLoadingType type, TwoWayStringBridge stringBridge) {
+		this.fieldName = fieldName;
+		this.type = type;
+		this.stringBridge = stringBridge;
+	}
+
+	public String getFieldName() {
+		return fieldName;
+	}
+
+	public FieldCacheLoadingType getLoadingType() {
+		return type;
+	}
+
+	/**
+	 * @return true if documents without a value have a default value in the {@code FieldCache},
+	 * so that the documents having the field need to be checked
+	 */
+	public boolean hasDefaultValue() {
+		return type != FieldCacheLoadingType.STRING;
+	}
+
+	/**
+	 * @param cachedValue the value of the field in the {@code FieldCache}
+	 *
+	 * @return the projected value
+	 */
+	public Object toProjection(Object cachedValue) {
+		if ( stringBridge == null || cachedValue == null ) {
+			return cachedValue;
+		}
+		return stringBridge.stringToObject( (String) cachedValue );
+	}
+}
@@ -0,0 +1,41 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.spi;
+
+import org.hibernate.search.query.engine.spi.EntityInfo;
+
+/**
+ * Knows whether the document id of an indexed entity is also its identifier for the integrating framework.
+ * Only in that case entities can be looked up by id, for example in the persistence context,
+ * in the second level cache or via {@code Session#load} when integrating with Hibernate Core;
+ * otherwise they have to be queried by the document id property.
+ *
+ * @see org.hibernate.search.cfg.spi.SearchConfiguration#getEntityIdentifierMetadata()
+ */
+public interface EntityIdentifierMetadata {
+
+	/**
+	 * @param entityInfo the hit pointing to the entity
+	 * @return true if the document id of the hit is the identifier of the entity, false otherwise
+	 */
+	boolean areDocIdAndEntityIdIdentical(EntityInfo entityInfo);
+
+}
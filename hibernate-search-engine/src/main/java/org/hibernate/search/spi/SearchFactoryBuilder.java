@@ -51,6 +51,7 @@ import org.hibernate.search.engine.spi.EntityIndexBinder;
 import org.hibernate.search.engine.spi.EntityState;
 import org.hibernate.search.engine.spi.SearchFactoryImplementor;
 import org.hibernate.search.filter.impl.CachingWrapperFilter;
+import org.hibernate.search.filter.impl.ConcurrentFilterCachingStrategy;
 import org.hibernate.search.filter.impl.MRUFilterCachingStrategy;
 import org.hibernate.search.indexes.interceptor.EntityIndexingInterceptor;
 import org.hibernate.search.util.configuration.impl.ConfigurationParseHelper;
@@ -91,6 +92,7 @@ import org.hibernate.search.impl.ReflectionReplacingSearchConfiguration;
 import org.hibernate.search.impl.SearchMappingBuilder;
 import org.hibernate.search.indexes.impl.IndexManagerHolder;
 import org.hibernate.search.indexes.spi.IndexManager;
+import org.hibernate.search.query.engine.impl.ParallelQueryExecutor;
 import org.hibernate.search.spi.internals.PolymorphicIndexHierarchy;
 import org.hibernate.search.spi.internals.SearchFactoryImplementorWithShareableState;
 import org.hibernate.search.spi.internals.SearchFactoryState;
@@ -232,7 +234,11 @@ public class SearchFactoryBuilder {
 		}
 		fillSimilarityMapping();
 
-		QueueingProcessor queueingProcessor = new BatchedQueueingProcessor( documentBuildersIndexedEntities, cfg.getProperties() );
+		QueueingProcessor queueingProcessor = new BatchedQueueingProcessor(
+				documentBuildersIndexedEntities,
+				cfg.getProperties(),
+				buildContext.getErrorHandler()
+		);
 		//build worker and back end components
 		factoryState.setWorker( WorkerFactory.createWorker( cfg, buildContext, queueingProcessor) );
 		factoryState.setFilterCachingStrategy( buildFilterCachingStrategy( cfg.getProperties() ) );
@@ -325,6 +331,9 @@ public class SearchFactoryBuilder {
 		if ( StringHelper.isEmpty( impl ) || "mru".equalsIgnoreCase( impl ) ) {
 			filterCachingStrategy = new MRUFilterCachingStrategy();
 		}
+		else if ( "concurrent".equalsIgnoreCase( impl ) ) {
+			filterCachingStrategy = new ConcurrentFilterCachingStrategy();
+		}
 		else {
 			filterCachingStrategy = ClassLoaderHelper.instanceFromName(
 					FilterCachingStrategy.class,
@@ -348,7 +357,9 @@ public class SearchFactoryBuilder {
 			factoryState.setAllIndexesManager( new IndexManagerHolder() );
 			factoryState.setErrorHandler( createErrorHandler( cfg ) );
 			factoryState.setInstanceInitializer( cfg.getInstanceInitializer() );
+			factoryState.setEntityIdentifierMetadata( cfg.getEntityIdentifierMetadata() );
 			factoryState.setTimingSource( new DefaultTimingSource() );
+			factoryState.setParallelQueryExecutor( new ParallelQueryExecutor( cfg.getProperties() ) );
 			factoryState.setIndexMetadataComplete( cfg.isIndexMetadataComplete() );
 			factoryState.setTransactionManagerExpected( cfg.isTransactionManagerExpected() );
 		}
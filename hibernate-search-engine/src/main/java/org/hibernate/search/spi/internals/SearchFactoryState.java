@@ -35,7 +35,9 @@ import org.hibernate.search.engine.ServiceManager;
 import org.hibernate.search.exception.ErrorHandler;
 import org.hibernate.search.filter.FilterCachingStrategy;
 import org.hibernate.search.indexes.impl.IndexManagerHolder;
+import org.hibernate.search.query.engine.impl.ParallelQueryExecutor;
 import org.hibernate.search.query.engine.spi.TimeoutExceptionFactory;
+import org.hibernate.search.spi.EntityIdentifierMetadata;
 import org.hibernate.search.spi.InstanceInitializer;
 
 import java.util.Map;
@@ -77,10 +79,14 @@ public interface SearchFactoryState {
 
 	InstanceInitializer getInstanceInitializer();
 
+	EntityIdentifierMetadata getEntityIdentifierMetadata();
+
 	TimeoutExceptionFactory getDefaultTimeoutExceptionFactory();
 
 	TimingSource getTimingSource();
 
+	ParallelQueryExecutor getParallelQueryExecutor();
+
 	SearchMapping getProgrammaticMapping();
 
 	boolean isIndexMetadataComplete();
@@ -85,6 +85,16 @@ public interface Statistics {
 	 */
 	long getObjectsLoadedCount();
 
+	/**
+	 * Get the number of queries whose results were found in the query result cache
+	 */
+	long getQueryResultCacheHitCount();
+
+	/**
+	 * Get the number of queries enabling the query result cache whose results were not found in it
+	 */
+	long getQueryResultCacheMissCount();
+
 	/**
 	 * Are statistics logged
 	 */
@@ -66,6 +66,9 @@ public class StatisticsImpl implements Statistics, StatisticsImplementor {
 	private AtomicLong objectLoadTotalTime = new AtomicLong();
 	private AtomicLong objectLoadMaxTime = new AtomicLong();
 
+	private AtomicLong queryResultCacheHitCount = new AtomicLong();
+	private AtomicLong queryResultCacheMissCount = new AtomicLong();
+
 	private volatile boolean isStatisticsEnabled;
 
 	private final Lock readLock;
@@ -90,6 +93,9 @@ public class StatisticsImpl implements Statistics, StatisticsImplementor {
 		objectLoadedCount.set( 0 );
 		objectLoadMaxTime.set( 0 );
 		objectLoadTotalTime.set( 0 );
+
+		queryResultCacheHitCount.set( 0 );
+		queryResultCacheMissCount.set( 0 );
 	}
 
 	public long getSearchQueryExecutionCount() {
@@ -184,6 +190,22 @@ public class StatisticsImpl implements Statistics, StatisticsImplementor {
 		}
 	}
 
+	public long getQueryResultCacheHitCount() {
+		return queryResultCacheHitCount.get();
+	}
+
+	public long getQueryResultCacheMissCount() {
+		return queryResultCacheMissCount.get();
+	}
+
+	public void queryResultCacheHit() {
+		queryResultCacheHitCount.getAndIncrement();
+	}
+
+	public void queryResultCacheMiss() {
+		queryResultCacheMissCount.getAndIncrement();
+	}
+
 	public boolean isStatisticsEnabled() {
 		return isStatisticsEnabled;
 	}
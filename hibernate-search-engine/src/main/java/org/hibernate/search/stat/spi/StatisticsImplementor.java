@@ -46,4 +46,14 @@ public interface StatisticsImplementor {
 	 * @param time time in nanoseconds to execute the search
 	 */	
 	void searchExecuted(String searchString, long time);
+
+	/**
+	 * Callback for a query whose results were found in the query result cache.
+	 */
+	void queryResultCacheHit();
+
+	/**
+	 * Callback for a query enabling the query result cache whose results were not found in it.
+	 */
+	void queryResultCacheMiss();
 }
@@ -0,0 +1,305 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.util.impl;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A thread-safe variant of {@link SoftLimitMRUCache} meant for caches read by many
+ * concurrent threads.
+ * <p/>
+ * Entries are spread over independent stripes, each one keeping its share of the
+ * strong and soft references with the same two-tier policy as {@code SoftLimitMRUCache}.
+ * Lookups don't block: values are read from a concurrent map and the LRU order of the
+ * stripe is updated only if its lock is free, so under contention the eviction order
+ * is approximate. Writes lock a single stripe.
+ * <p/>
+ * Hits, misses and evicted entries are counted; entries cleared by the garbage
+ * collector count as evicted.
+ */
+public final class ConcurrentSoftLimitMRUCache {
+
+	private static final int MAX_STRIPES = 16;
+
+	private final Stripe[] stripes;
+	private final int stripeMask;
+
+	/**
+	 * @param strongRefCount the strong reference count.
+	 * @param softRefCount the soft reference count.
+	 *
+	 * @throws IllegalArgumentException if either of the arguments is less than one, or if the strong
+	 * reference count is higher than the soft reference count.
+	 */
+	public ConcurrentSoftLimitMRUCache(int strongRefCount, int softRefCount) {
+		if ( strongRefCount < 1 || softRefCount < 1 ) {
+			throw new IllegalArgumentException( "Reference counts must be greater than zero" );
+		}
+		if ( strongRefCount > softRefCount ) {
+			throw new IllegalArgumentException( "Strong reference count cannot exceed soft reference count" );
+		}
+		// a power of two not exceeding the strong count, so that each stripe holds at least one strong reference
+		int stripeCount = 1;
+		while ( stripeCount < MAX_STRIPES && stripeCount * 2 <= strongRefCount ) {
+			stripeCount *= 2;
+		}
+		this.stripes = new Stripe[stripeCount];
+		this.stripeMask = stripeCount - 1;
+		for ( int i = 0; i < stripeCount; i++ ) {
+			stripes[i] = new Stripe(
+					share( strongRefCount, stripeCount, i ),
+					share( softRefCount, stripeCount, i )
+			);
+		}
+	}
+
+	private static int share(int total, int parts, int index) {
+		return total / parts + ( index < total % parts ? 1 : 0 );
+	}
+
+	/**
+	 * Gets an object from the cache.
+	 *
+	 * @param key the cache key.
+	 *
+	 * @return the stored value, or <code>null</code> if no entry exists.
+	 */
+	public Object get(Object key) {
+		if ( key == null ) {
+			throw new NullPointerException( "Key to get cannot be null" );
+		}
+		return stripeFor( key ).get( key );
+	}
+
+	/**
+	 * Puts a value in the cache.
+	 *
+	 * @param key the key.
+	 * @param value the value.
+	 */
+	public void put(Object key, Object value) {
+		if ( key == null || value == null ) {
+			throw new NullPointerException(
+					getClass().getName() + "does not support null key [" + key + "] or value [" + value + "]"
+			);
+		}
+		stripeFor( key ).put( key, value );
+	}
+
+	/**
+	 * Clears the cache; the statistics are not reset.
+	 */
+	public void clear() {
+		for ( Stripe stripe : stripes ) {
+			stripe.clear();
+		}
+	}
+
+	/**
+	 * @return the number of entries currently reachable from the cache, including the ones only softly referenced.
+	 */
+	public int size() {
+		int size = 0;
+		for ( Stripe stripe : stripes ) {
+			size += stripe.size();
+		}
+		return size;
+	}
+
+	public long getHitCount() {
+		long count = 0;
+		for ( Stripe stripe : stripes ) {
+			count += stripe.hits.get();
+		}
+		return count;
+	}
+
+	public long getMissCount() {
+		long count = 0;
+		for ( Stripe stripe : stripes ) {
+			count += stripe.misses.get();
+		}
+		return count;
+	}
+
+	public long getEvictionCount() {
+		long count = 0;
+		for ( Stripe stripe : stripes ) {
+			count += stripe.evictions.get();
+		}
+		return count;
+	}
+
+	private Stripe stripeFor(Object key) {
+		int h = key.hashCode();
+		// spread the hash bits, as HashMap does
+		h ^= ( h >>> 20 ) ^ ( h >>> 12 );
+		h ^= ( h >>> 7 ) ^ ( h >>> 4 );
+		return stripes[h & stripeMask];
+	}
+
+	private static final class Stripe {
+
+		private final ReentrantLock lock = new ReentrantLock();
+		private final ReferenceQueue<Object> referenceQueue = new ReferenceQueue<Object>();
+		private final AtomicLong hits = new AtomicLong();
+		private final AtomicLong misses = new AtomicLong();
+		private final AtomicLong evictions = new AtomicLong();
+
+		/**
+		 * All entries, read without locking. Only changed while holding the lock.
+		 */
+		private final ConcurrentHashMap<Object, KeyedSoftReference> values = new ConcurrentHashMap<Object, KeyedSoftReference>();
+
+		// the following are guarded by lock:
+		private final BoundedLRUMap<KeyedSoftReference> softRefOrder;
+		private final BoundedLRUMap<Object> strongRefCache;
+
+		private Stripe(int strongRefCount, int softRefCount) {
+			this.strongRefCache = new BoundedLRUMap<Object>( strongRefCount );
+			this.softRefOrder = new BoundedLRUMap<KeyedSoftReference>( softRefCount ) {
+				private static final long serialVersionUID = 2680016354084602819L;
+
+				@Override
+				protected void evicted(Object key, KeyedSoftReference ref) {
+					values.remove( key, ref );
+					evictions.incrementAndGet();
+				}
+			};
+		}
+
+		Object get(Object key) {
+			KeyedSoftReference ref = values.get( key );
+			Object value = ref == null ? null : ref.get();
+			if ( value == null ) {
+				misses.incrementAndGet();
+				return null;
+			}
+			hits.incrementAndGet();
+			// recently used entries are kept strongly-reachable, unless another thread is busy with this stripe
+			if ( lock.tryLock() ) {
+				try {
+					clearObsoleteReferences();
+					if ( softRefOrder.get( key ) == ref ) {
+						strongRefCache.put( key, value );
+					}
+				}
+				finally {
+					lock.unlock();
+				}
+			}
+			return value;
+		}
+
+		void put(Object key, Object value) {
+			lock.lock();
+			try {
+				clearObsoleteReferences();
+				KeyedSoftReference ref = new KeyedSoftReference( key, value, referenceQueue );
+				values.put( key, ref );
+				softRefOrder.put( key, ref );
+				strongRefCache.put( key, value );
+			}
+			finally {
+				lock.unlock();
+			}
+		}
+
+		void clear() {
+			lock.lock();
+			try {
+				values.clear();
+				softRefOrder.clear();
+				strongRefCache.clear();
+			}
+			finally {
+				lock.unlock();
+			}
+		}
+
+		int size() {
+			lock.lock();
+			try {
+				clearObsoleteReferences();
+				return values.size();
+			}
+			finally {
+				lock.unlock();
+			}
+		}
+
+		private void clearObsoleteReferences() {
+			// Clear entries for soft references removed by garbage collector
+			KeyedSoftReference obsoleteRef;
+			while ( ( obsoleteRef = (KeyedSoftReference) referenceQueue.poll() ) != null ) {
+				Object key = obsoleteRef.getKey();
+				// the key might have been mapped to a new value meanwhile
+				if ( values.remove( key, obsoleteRef ) ) {
+					softRefOrder.remove( key );
+					evictions.incrementAndGet();
+				}
+			}
+		}
+	}
+
+	private static class BoundedLRUMap<V> extends LinkedHashMap<Object, V> {
+
+		private static final long serialVersionUID = 8044619727274398351L;
+
+		private final int maxEntries;
+
+		BoundedLRUMap(int maxEntries) {
+			super( maxEntries, .75f, true );
+			this.maxEntries = maxEntries;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Object, V> eldest) {
+			if ( size() > maxEntries ) {
+				evicted( eldest.getKey(), eldest.getValue() );
+				return true;
+			}
+			return false;
+		}
+
+		protected void evicted(Object key, V value) {
+		}
+	}
+
+	private static class KeyedSoftReference extends SoftReference<Object> {
+		private final Object key;
+
+		private KeyedSoftReference(Object key, Object value, ReferenceQueue<Object> q) {
+			super( value, q );
+			this.key = key;
+		}
+
+		private Object getKey() {
+			return key;
+		}
+	}
+}
@@ -550,4 +550,19 @@ public interface Log extends BasicLogger {
 	@Message(id = 130, value = "JGroups channel configuration should be specified in the global section [hibernate.search.services.jgroups.], " +
 			"not as an IndexManager property for index '%1$s'. See http://docs.jboss.org/hibernate/search/4.1/reference/en-US/html_single/#jgroups-backend")
 	SearchException legacyJGroupsConfigurationDefined(String indexName);
+
+	@LogMessage(level = ERROR)
+	@Message(id = 131, value = "Unable to refresh the near-real-time IndexReader of index '%1$s'")
+	void unableToRefreshNRTIndexReader(@Cause Exception e, String indexName);
+
+	@LogMessage(level = ERROR)
+	@Message(id = 132, value = "Unable to refresh the IndexReader of index '%1$s'")
+	void unableToRefreshIndexReader(@Cause Exception e, String indexName);
+
+	@LogMessage(level = WARN)
+	@Message(id = 133, value = "Unable to warm a new IndexReader of index '%1$s'")
+	void unableToWarmIndexReader(@Cause Exception e, String indexName);
+
+	@Message(id = 134, value = "Interrupted while waiting for the parallel search of query '%1$s'")
+	SearchException interruptedWhileWaitingForParallelSearch(@Cause InterruptedException e, String query);
 }
@@ -21,7 +21,10 @@ package org.hibernate.search.test.util;
 
 import java.io.IOException;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.lucene.document.Document;
@@ -55,9 +58,20 @@ import static junit.framework.Assert.*;
 public class FieldSelectorLeakingReaderProvider extends NotSharedReaderProvider implements ReaderProvider {
 	
 	private static volatile FieldSelector fieldSelector;
+	private static final List<Integer> readDocumentIds = Collections.synchronizedList( new ArrayList<Integer>() );
 	
 	public static void resetFieldSelector() {
 		fieldSelector = null;
+		readDocumentIds.clear();
+	}
+
+	/**
+	 * @return the ids of the documents read since the last {@link #resetFieldSelector()}, in reading order
+	 */
+	public static List<Integer> getReadDocumentIds() {
+		synchronized ( readDocumentIds ) {
+			return new ArrayList<Integer>( readDocumentIds );
+		}
 	}
 	
 	/**
@@ -195,11 +209,13 @@ public class FieldSelectorLeakingReaderProvider extends NotSharedReaderProvider
 
 		public Document document(int n) throws CorruptIndexException, IOException {
 			FieldSelectorLeakingReaderProvider.fieldSelector = null;
+			readDocumentIds.add( n );
 			return delegate.document( n );
 		}
 
 		public Document document(int n, FieldSelector fieldSelector) throws CorruptIndexException, IOException {
 			FieldSelectorLeakingReaderProvider.fieldSelector = fieldSelector;
+			readDocumentIds.add( n );
 			return delegate.document( n, fieldSelector );
 		}
 
@@ -0,0 +1,165 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.backend.impl.lucene;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.Field.Index;
+import org.apache.lucene.document.Field.Store;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+
+import org.hibernate.search.Environment;
+import org.hibernate.search.indexes.impl.DirectoryBasedIndexManager;
+import org.hibernate.search.test.SearchTestCase;
+import org.hibernate.search.test.performance.reader.Detective;
+import org.hibernate.search.test.performance.reader.Suspect;
+
+/**
+ * Measures how long looking up the IndexWriter and opening an NRT IndexReader
+ * wait on {@link IndexWriterHolder} while a commit is in flight: a slow commit
+ * used to block both until it completed.
+ * Each round buffers some documents, commits them in another thread and meanwhile
+ * times writer lookups and NRT IndexReader openings in the test thread.
+ */
+public class IndexWriterHolderContentionPerfTest extends SearchTestCase {
+
+	private static final int WARMUP_ROUNDS = 5;
+	private static final int MEASURED_ROUNDS = 20;
+	private static final int DOCUMENTS_PER_COMMIT = 20000;
+
+	private volatile boolean committing;
+
+	private long commitNanos;
+	private long lookups;
+	private long lookupNanos;
+	private long maxLookupNanos;
+	private long readerOpenings;
+	private long readerOpeningNanos;
+	private long maxReaderOpeningNanos;
+
+	public void testWaitDuringCommit() throws Exception {
+		DirectoryBasedIndexManager indexManager = (DirectoryBasedIndexManager) getSearchFactoryImpl()
+				.getAllIndexesManager()
+				.getIndexManager( Detective.class.getName() );
+		IndexWriterHolder holder = new IndexWriterHolder( getSearchFactoryImpl().getErrorHandler(), indexManager );
+		try {
+			for ( int i = 0; i < WARMUP_ROUNDS; i++ ) {
+				round( holder );
+			}
+			reset();
+			for ( int i = 0; i < MEASURED_ROUNDS; i++ ) {
+				round( holder );
+			}
+			System.out.println( "IndexWriterHolder during commits of " + DOCUMENTS_PER_COMMIT + " documents, "
+					+ micros( commitNanos / MEASURED_ROUNDS ) + "us each: "
+					+ "IndexWriter lookup waited " + micros( lookupNanos / Math.max( lookups, 1 ) ) + "us on average, "
+					+ micros( maxLookupNanos ) + "us at most (" + lookups + " lookups); "
+					+ "NRT IndexReader opening took " + micros( readerOpeningNanos / Math.max( readerOpenings, 1 ) )
+					+ "us on average, " + micros( maxReaderOpeningNanos ) + "us at most (" + readerOpenings + " openings)" );
+		}
+		finally {
+			holder.closeIndexWriter();
+		}
+	}
+
+	private void round(final IndexWriterHolder holder) throws Exception {
+		IndexWriter writer = holder.getIndexWriter();
+		for ( int i = 0; i < DOCUMENTS_PER_COMMIT; i++ ) {
+			Document document = new Document();
+			document.add( new Field( "name", "Some One " + i, Store.NO, Index.ANALYZED ) );
+			document.add( new Field( "physicalDescription", "sitting around and filling the index", Store.NO, Index.ANALYZED ) );
+			writer.addDocument( document );
+		}
+		committing = true;
+		Thread committer = new Thread( new Runnable() {
+			public void run() {
+				long start = System.nanoTime();
+				holder.commitIndexWriter();
+				commitNanos += System.nanoTime() - start;
+				committing = false;
+			}
+		} );
+		committer.start();
+		// only the operations started during the commit are timed, as they are the ones which could wait for it
+		while ( committing ) {
+			long start = System.nanoTime();
+			holder.getIndexWriter();
+			long elapsed = System.nanoTime() - start;
+			lookups++;
+			lookupNanos += elapsed;
+			maxLookupNanos = Math.max( maxLookupNanos, elapsed );
+			if ( !committing ) {
+				break;
+			}
+			start = System.nanoTime();
+			IndexReader reader = holder.openNRTIndexReader( false );
+			elapsed = System.nanoTime() - start;
+			closeReader( reader );
+			readerOpenings++;
+			readerOpeningNanos += elapsed;
+			maxReaderOpeningNanos = Math.max( maxReaderOpeningNanos, elapsed );
+		}
+		// join makes commitNanos visible
+		committer.join();
+	}
+
+	private void reset() {
+		commitNanos = 0;
+		lookups = 0;
+		lookupNanos = 0;
+		maxLookupNanos = 0;
+		readerOpenings = 0;
+		readerOpeningNanos = 0;
+		maxReaderOpeningNanos = 0;
+	}
+
+	private static void closeReader(IndexReader reader) throws IOException {
+		if ( reader != null ) {
+			reader.close();
+		}
+	}
+
+	private static long micros(long nanos) {
+		return TimeUnit.NANOSECONDS.toMicros( nanos );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] {
+				Detective.class,
+				Suspect.class
+		};
+	}
+
+	@Override
+	protected void configure(org.hibernate.cfg.Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( "hibernate.search.default.directory_provider", "filesystem" );
+		cfg.setProperty( "hibernate.search.default.indexBase", getBaseIndexDir().getAbsolutePath() );
+		// the backend must not keep its own IndexWriter open on the same Directory
+		cfg.setProperty( "hibernate.search.default." + Environment.EXCLUSIVE_INDEX_USE, "false" );
+	}
+
+}
@@ -0,0 +1,163 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.query.collector.impl;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.lucene.analysis.SimpleAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.Field.Index;
+import org.apache.lucene.document.Field.Store;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.util.Version;
+
+import org.hibernate.search.query.dsl.FacetRangeEndContext;
+import org.hibernate.search.query.dsl.QueryBuilder;
+import org.hibernate.search.query.dsl.impl.DiscreteFacetRequest;
+import org.hibernate.search.query.dsl.impl.RangeFacetRequest;
+import org.hibernate.search.test.SearchTestCase;
+import org.hibernate.search.test.query.facet.Car;
+
+/**
+ * Compares the facet counting strategies used by {@link FacetCollector}, collecting
+ * all documents of a large index.
+ */
+public class FacetCountingPerfTest extends SearchTestCase {
+
+	private static final int DOCUMENTS = 1000000;
+	private static final int COLORS = 50;
+	private static final int MAX_CUBIC_CAPACITY = 5000;
+	private static final int HISTOGRAM_BUCKETS = 50;
+	private static final int WARMUP_ROUNDS = 5;
+	private static final int MEASURED_ROUNDS = 20;
+
+	public void testFacetCounting() throws Exception {
+		fillIndex();
+		QueryBuilder builder = getSearchFactory().buildQueryBuilder().forEntity( Car.class ).get();
+		DiscreteFacetRequest discreteRequest = (DiscreteFacetRequest) builder.facet()
+				.name( "colors" )
+				.onField( "color" )
+				.discrete()
+				.createFacetingRequest();
+		@SuppressWarnings("unchecked")
+		RangeFacetRequest<Integer> rangeRequest = (RangeFacetRequest<Integer>) builder.facet()
+				.name( "capacities" )
+				.onField( "cubicCapacity" )
+				.range()
+				.below( 499 )
+				.from( 500 ).to( 999 )
+				.from( 1000 ).to( 1499 )
+				.from( 1500 ).to( 1999 )
+				.from( 2000 ).to( 2499 )
+				.from( 2500 ).to( 2999 )
+				.from( 3000 ).to( 3499 )
+				.from( 3500 ).to( 3999 )
+				.from( 4000 ).to( 4499 )
+				.above( 4500 )
+				.createFacetingRequest();
+		int bucketSize = MAX_CUBIC_CAPACITY / HISTOGRAM_BUCKETS;
+		FacetRangeEndContext<Object> histogram = builder.facet()
+				.name( "capacityHistogram" )
+				.onField( "cubicCapacity" )
+				.range()
+				.from( 0 ).to( bucketSize - 1 );
+		for ( int bucket = 1; bucket < HISTOGRAM_BUCKETS; bucket++ ) {
+			histogram = histogram.from( bucket * bucketSize ).to( ( bucket + 1 ) * bucketSize - 1 );
+		}
+		@SuppressWarnings("unchecked")
+		RangeFacetRequest<Integer> histogramRequest = (RangeFacetRequest<Integer>) histogram.createFacetingRequest();
+
+		IndexReader reader = getSearchFactory().getIndexReaderAccessor().open( Car.class );
+		try {
+			measure( "Discrete, boxed values", new FacetCollector.SimpleFacetCounter( discreteRequest ), reader );
+			measure( "Discrete, ordinals", new OrdinalFacetCounter( discreteRequest ), reader );
+			measure( "Range, boxed values", new FacetCollector.RangeFacetCounter<Integer>( rangeRequest ), reader );
+			measure( "Range, primitive values", new NumericRangeFacetCounter<Integer>( rangeRequest ), reader );
+			measure( "Histogram, boxed values", new FacetCollector.RangeFacetCounter<Integer>( histogramRequest ), reader );
+			measure( "Histogram, primitive values", new NumericRangeFacetCounter<Integer>( histogramRequest ), reader );
+		}
+		finally {
+			getSearchFactory().getIndexReaderAccessor().close( reader );
+		}
+	}
+
+	private void measure(String label, FacetCollector.FacetCounter counter, IndexReader reader) throws Exception {
+		for ( int i = 0; i < WARMUP_ROUNDS; i++ ) {
+			countAll( counter, reader );
+		}
+		long start = System.nanoTime();
+		for ( int i = 0; i < MEASURED_ROUNDS; i++ ) {
+			countAll( counter, reader );
+		}
+		long elapsed = System.nanoTime() - start;
+		System.out.println( label + ": " + TimeUnit.NANOSECONDS.toMicros( elapsed / MEASURED_ROUNDS )
+				+ "us to count " + DOCUMENTS + " documents" );
+		int total = 0;
+		for ( Integer count : counter.getCounts().values() ) {
+			total += count;
+		}
+		assertTrue( total >= DOCUMENTS * ( WARMUP_ROUNDS + MEASURED_ROUNDS ) );
+	}
+
+	private void countAll(FacetCollector.FacetCounter counter, IndexReader reader) throws Exception {
+		IndexReader[] segments = reader.getSequentialSubReaders();
+		if ( segments == null ) {
+			segments = new IndexReader[] { reader };
+		}
+		for ( IndexReader segment : segments ) {
+			counter.setNextReader( segment );
+			int maxDoc = segment.maxDoc();
+			for ( int doc = 0; doc < maxDoc; doc++ ) {
+				counter.collect( doc );
+			}
+		}
+		// aggregates the pending counts, as FacetCollector does when the facets are requested
+		counter.getCounts();
+	}
+
+	private void fillIndex() throws Exception {
+		IndexWriterConfig config = new IndexWriterConfig( Version.LUCENE_35, new SimpleAnalyzer( Version.LUCENE_35 ) );
+		IndexWriter writer = new IndexWriter( getDirectory( Car.class ), config );
+		try {
+			Random random = new Random( 42 );
+			for ( int i = 0; i < DOCUMENTS; i++ ) {
+				Document document = new Document();
+				document.add( new Field( "id", String.valueOf( i ), Store.YES, Index.NOT_ANALYZED ) );
+				document.add( new Field( "color", "color" + random.nextInt( COLORS ), Store.NO, Index.NOT_ANALYZED ) );
+				document.add( new Field( "cubicCapacity", String.valueOf( random.nextInt( MAX_CUBIC_CAPACITY ) ), Store.NO, Index.NOT_ANALYZED ) );
+				writer.addDocument( document );
+			}
+		}
+		finally {
+			writer.close();
+		}
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Car.class };
+	}
+
+}
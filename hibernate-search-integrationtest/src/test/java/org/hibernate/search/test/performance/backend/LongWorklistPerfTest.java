@@ -0,0 +1,102 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.test.performance.backend;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.lucene.analysis.StopAnalyzer;
+import org.apache.lucene.search.MatchAllDocsQuery;
+
+import org.hibernate.Transaction;
+import org.hibernate.search.Environment;
+import org.hibernate.search.FullTextSession;
+import org.hibernate.search.Search;
+import org.hibernate.search.test.Clock;
+import org.hibernate.search.test.SearchTestCase;
+
+/**
+ * Measures the time needed by the synchronous backend to apply the changes of
+ * transactions having long work lists.
+ * Complements {@link org.hibernate.search.test.backend.SyncBackendLongWorklistsStressTest},
+ * which verifies the correctness of the same path.
+ */
+public class LongWorklistPerfTest extends SearchTestCase {
+
+	private static final int ENTITIES_PER_TRANSACTION = 10000;
+	private static final int WARMUP_ROUNDS = 3;
+	private static final int MEASURED_ROUNDS = 10;
+
+	public void testLongWorklists() {
+		int nextId = 0;
+		for ( int round = 0; round < WARMUP_ROUNDS; round++ ) {
+			saveAndTime( nextId );
+			nextId += ENTITIES_PER_TRANSACTION;
+		}
+		long totalNanos = 0;
+		for ( int round = 0; round < MEASURED_ROUNDS; round++ ) {
+			totalNanos += saveAndTime( nextId );
+			nextId += ENTITIES_PER_TRANSACTION;
+		}
+		System.out.println( "Average commit time for a transaction of " + ENTITIES_PER_TRANSACTION + " entities: "
+				+ TimeUnit.NANOSECONDS.toMillis( totalNanos / MEASURED_ROUNDS ) + "ms" );
+
+		FullTextSession s = Search.getFullTextSession( openSession() );
+		Transaction tx = s.beginTransaction();
+		int fullTextCount = s.createFullTextQuery( new MatchAllDocsQuery(), Clock.class ).getResultSize();
+		assertEquals( nextId, fullTextCount );
+		tx.commit();
+		s.close();
+	}
+
+	/**
+	 * @return the nanoseconds spent committing the transaction, which includes
+	 * the synchronous application of the index changes.
+	 */
+	private long saveAndTime(int firstId) {
+		FullTextSession s = Search.getFullTextSession( openSession() );
+		Transaction tx = s.beginTransaction();
+		for ( int i = firstId; i < firstId + ENTITIES_PER_TRANSACTION; i++ ) {
+			s.persist( new Clock( i, "brand num " + i ) );
+		}
+		s.flush();
+		long start = System.nanoTime();
+		tx.commit();
+		long elapsed = System.nanoTime() - start;
+		s.close();
+		return elapsed;
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Clock.class };
+	}
+
+	@Override
+	protected void configure(org.hibernate.cfg.Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( "hibernate.search.default.directory_provider", "ram" );
+		cfg.setProperty( "hibernate.search.default." + Environment.WORKER_EXECUTION, "sync" );
+		cfg.setProperty( Environment.ANALYZER_CLASS, StopAnalyzer.class.getName() );
+		cfg.setProperty( "hibernate.show_sql", "false" );
+		cfg.setProperty( "hibernate.jdbc.batch_size", "50" );
+	}
+
+}
@@ -0,0 +1,151 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.test.performance.backend;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.lucene.analysis.StopAnalyzer;
+import org.apache.lucene.search.MatchAllDocsQuery;
+
+import org.hibernate.Transaction;
+import org.hibernate.search.Environment;
+import org.hibernate.search.FullTextSession;
+import org.hibernate.search.Search;
+import org.hibernate.search.test.SearchTestCase;
+import org.hibernate.search.test.backend.Lamp;
+import org.hibernate.search.test.backend.Radio;
+import org.hibernate.search.test.backend.Television;
+
+/**
+ * Measures the time needed by the synchronous backend to apply the changes of
+ * transactions updating and deleting many entities, both in an index shared by several
+ * entity types, where documents are deleted by query, and in an index holding a single
+ * type with numeric ids.
+ * Complements {@link org.hibernate.search.test.backend.BatchedDeletionsTest},
+ * which verifies the correctness of the same path.
+ */
+public class UpdateHeavyWorklistPerfTest extends SearchTestCase {
+
+	private static final int ENTITIES = 20000;
+	private static final int CHANGES_PER_TRANSACTION = 1000;
+	private static final int WARMUP_ROUNDS = 3;
+	private static final int MEASURED_ROUNDS = 10;
+
+	public void testSharedIndex() {
+		FullTextSession s = Search.getFullTextSession( openSession() );
+		Transaction tx = s.beginTransaction();
+		for ( int i = 0; i < ENTITIES; i++ ) {
+			s.persist( new Radio( i, "loud" ) );
+			s.persist( new Television( i, "loud" ) );
+			if ( i % 1000 == 0 ) {
+				s.flush();
+				s.clear();
+			}
+		}
+		tx.commit();
+		s.close();
+
+		measure( Radio.class );
+	}
+
+	public void testSingleTypeIndex() {
+		FullTextSession s = Search.getFullTextSession( openSession() );
+		Transaction tx = s.beginTransaction();
+		for ( int i = 0; i < ENTITIES; i++ ) {
+			s.persist( new Lamp( i, "loud" ) );
+			if ( i % 1000 == 0 ) {
+				s.flush();
+				s.clear();
+			}
+		}
+		tx.commit();
+		s.close();
+
+		measure( Lamp.class );
+	}
+
+	private void measure(Class<?> type) {
+		int round = 0;
+		for ( ; round < WARMUP_ROUNDS; round++ ) {
+			changeAndTime( type, round );
+		}
+		long totalNanos = 0;
+		for ( ; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++ ) {
+			totalNanos += changeAndTime( type, round );
+		}
+		System.out.println( "Average commit time for a transaction updating and deleting " + CHANGES_PER_TRANSACTION
+				+ " entities of type " + type.getSimpleName() + ": "
+				+ TimeUnit.NANOSECONDS.toMillis( totalNanos / MEASURED_ROUNDS ) + "ms" );
+
+		FullTextSession s = Search.getFullTextSession( openSession() );
+		Transaction tx = s.beginTransaction();
+		int fullTextCount = s.createFullTextQuery( new MatchAllDocsQuery(), type ).getResultSize();
+		assertEquals( ENTITIES - ( WARMUP_ROUNDS + MEASURED_ROUNDS ) * CHANGES_PER_TRANSACTION / 2, fullTextCount );
+		tx.commit();
+		s.close();
+	}
+
+	/**
+	 * Updates a range of entities and deletes every other one.
+	 *
+	 * @return the nanoseconds spent committing the transaction, which includes
+	 * the synchronous application of the index changes.
+	 */
+	private long changeAndTime(Class<?> type, int round) {
+		FullTextSession s = Search.getFullTextSession( openSession() );
+		Transaction tx = s.beginTransaction();
+		int firstId = round * CHANGES_PER_TRANSACTION;
+		for ( int i = firstId; i < firstId + CHANGES_PER_TRANSACTION; i++ ) {
+			Object entity = s.get( type, i );
+			if ( i % 2 == 0 ) {
+				s.delete( entity );
+			}
+			else if ( entity instanceof Radio ) {
+				( (Radio) entity ).setBrand( "quiet" );
+			}
+			else {
+				( (Lamp) entity ).setBrand( "quiet" );
+			}
+		}
+		s.flush();
+		long start = System.nanoTime();
+		tx.commit();
+		long elapsed = System.nanoTime() - start;
+		s.close();
+		return elapsed;
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Lamp.class, Radio.class, Television.class };
+	}
+
+	@Override
+	protected void configure(org.hibernate.cfg.Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( "hibernate.search.default.directory_provider", "ram" );
+		cfg.setProperty( "hibernate.search.default." + Environment.WORKER_EXECUTION, "sync" );
+		cfg.setProperty( Environment.ANALYZER_CLASS, StopAnalyzer.class.getName() );
+		cfg.setProperty( "hibernate.show_sql", "false" );
+		cfg.setProperty( "hibernate.jdbc.batch_size", "50" );
+	}
+
+}
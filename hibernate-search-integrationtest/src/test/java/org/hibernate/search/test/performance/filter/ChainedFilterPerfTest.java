@@ -0,0 +1,131 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.test.performance.filter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+import org.apache.lucene.search.DocIdSet;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.util.DocIdBitSet;
+import org.apache.lucene.util.OpenBitSet;
+import org.apache.lucene.util.SortedVIntList;
+
+import org.hibernate.search.filter.impl.AndDocIdSet;
+import org.hibernate.search.filter.impl.FilterOptimizationHelper;
+
+/**
+ * Measures the time to intersect the results of chained filters over a segment of
+ * one million documents, as when several cached filters are enabled on a query.
+ */
+public class ChainedFilterPerfTest extends TestCase {
+
+	private static final int MAX_DOC = 1000000;
+	private static final int WARMUP_ROUNDS = 200;
+	private static final int MEASURED_ROUNDS = 500;
+
+	private final Random random = new Random( 7L );
+
+	public void testOpenBitSets() throws IOException {
+		List<DocIdSet> sets = new ArrayList<DocIdSet>();
+		for ( int i = 0; i < 5; i++ ) {
+			sets.add( toOpenBitSet( randomBits( 2 ) ) );
+		}
+		measure( "5 OpenBitSet filters", sets );
+	}
+
+	public void testMixedBitSets() throws IOException {
+		List<DocIdSet> sets = new ArrayList<DocIdSet>();
+		sets.add( toOpenBitSet( randomBits( 2 ) ) );
+		sets.add( new DocIdBitSet( randomBits( 2 ) ) );
+		sets.add( toOpenBitSet( randomBits( 3 ) ) );
+		sets.add( new DocIdBitSet( randomBits( 2 ) ) );
+		measure( "2 OpenBitSet and 2 DocIdBitSet filters", sets );
+	}
+
+	public void testBitSetsAndSparseList() throws IOException {
+		List<DocIdSet> sets = new ArrayList<DocIdSet>();
+		sets.add( toOpenBitSet( randomBits( 2 ) ) );
+		sets.add( new DocIdBitSet( randomBits( 2 ) ) );
+		sets.add( new SortedVIntList( randomBits( 2 ) ) );
+		sets.add( new SortedVIntList( randomBits( 1000 ) ) );
+		measure( "2 bitset and 2 SortedVIntList filters, one sparse", sets );
+	}
+
+	private void measure(String name, List<DocIdSet> sets) throws IOException {
+		long matches = 0;
+		for ( int i = 0; i < WARMUP_ROUNDS; i++ ) {
+			matches += countMatches( chain( sets ) );
+		}
+		long startTime = System.nanoTime();
+		for ( int i = 0; i < MEASURED_ROUNDS; i++ ) {
+			matches += countMatches( chain( sets ) );
+		}
+		long micros = TimeUnit.NANOSECONDS.toMicros( System.nanoTime() - startTime ) / MEASURED_ROUNDS;
+		System.out.println( name + ": " + micros + "us to intersect and iterate " + MAX_DOC
+				+ " documents (" + matches + " matches)" );
+	}
+
+	/**
+	 * Same as {@link org.hibernate.search.filter.impl.ChainedFilter#getDocIdSet(org.apache.lucene.index.IndexReader)}
+	 * on filters returning the given sets.
+	 */
+	private static DocIdSet chain(List<DocIdSet> sets) {
+		List<DocIdSet> subSets = FilterOptimizationHelper.mergeByBitAnds( sets );
+		if ( subSets.size() == 1 ) {
+			return subSets.get( 0 );
+		}
+		return new AndDocIdSet( subSets, MAX_DOC );
+	}
+
+	private static int countMatches(DocIdSet docIdSet) throws IOException {
+		DocIdSetIterator iterator = docIdSet.iterator();
+		int count = 0;
+		while ( iterator.nextDoc() != DocIdSetIterator.NO_MORE_DOCS ) {
+			count++;
+		}
+		return count;
+	}
+
+	private BitSet randomBits(int oneIn) {
+		BitSet bitSet = new BitSet( MAX_DOC );
+		for ( int i = 0; i < MAX_DOC; i++ ) {
+			if ( random.nextInt( oneIn ) == 0 ) {
+				bitSet.set( i );
+			}
+		}
+		return bitSet;
+	}
+
+	private static OpenBitSet toOpenBitSet(BitSet bitSet) {
+		OpenBitSet openBitSet = new OpenBitSet( MAX_DOC );
+		for ( int i = bitSet.nextSetBit( 0 ); i >= 0; i = bitSet.nextSetBit( i + 1 ) ) {
+			openBitSet.fastSet( i );
+		}
+		return openBitSet;
+	}
+}
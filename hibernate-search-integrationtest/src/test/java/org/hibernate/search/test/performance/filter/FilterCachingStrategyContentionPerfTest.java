@@ -0,0 +1,132 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.test.performance.filter;
+
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import junit.framework.TestCase;
+
+import org.apache.lucene.search.Filter;
+import org.apache.lucene.search.QueryWrapperFilter;
+import org.apache.lucene.search.MatchAllDocsQuery;
+
+import org.hibernate.search.filter.FilterCachingStrategy;
+import org.hibernate.search.filter.FilterKey;
+import org.hibernate.search.filter.StandardFilterKey;
+import org.hibernate.search.filter.impl.ConcurrentFilterCachingStrategy;
+import org.hibernate.search.filter.impl.MRUFilterCachingStrategy;
+
+/**
+ * Measures the throughput of filter cache lookups when many threads look up
+ * cached filters concurrently, as when running queries which enable the same filters.
+ */
+public class FilterCachingStrategyContentionPerfTest extends TestCase {
+
+	private static final int THREADS = 16;
+	private static final int DISTINCT_FILTERS = 256;
+	private static final int WARMUP_SECONDS = 3;
+	private static final int MEASURE_SECONDS = 10;
+
+	private volatile boolean running;
+
+	public void testMRUFilterCachingStrategy() throws Exception {
+		measure( "MRU", new MRUFilterCachingStrategy() );
+	}
+
+	public void testConcurrentFilterCachingStrategy() throws Exception {
+		ConcurrentFilterCachingStrategy strategy = new ConcurrentFilterCachingStrategy();
+		measure( "Concurrent", strategy );
+		System.out.println( "Concurrent: " + strategy.getHitCount() + " hits, " + strategy.getMissCount()
+				+ " misses, " + strategy.getEvictionCount() + " evictions" );
+	}
+
+	private void measure(String name, FilterCachingStrategy strategy) throws InterruptedException {
+		strategy.initialize( new Properties() );
+		FilterKey[] keys = new FilterKey[DISTINCT_FILTERS];
+		for ( int i = 0; i < keys.length; i++ ) {
+			StandardFilterKey key = new StandardFilterKey();
+			key.setImpl( QueryWrapperFilter.class );
+			key.addParameter( i );
+			keys[i] = key;
+		}
+		runFor( strategy, keys, WARMUP_SECONDS );
+		long lookups = runFor( strategy, keys, MEASURE_SECONDS );
+		System.out.println( name + " filter cache, " + THREADS + " threads: "
+				+ ( lookups / MEASURE_SECONDS ) + " lookups/s" );
+	}
+
+	private long runFor(FilterCachingStrategy strategy, FilterKey[] keys, int seconds) throws InterruptedException {
+		running = true;
+		AtomicLong lookups = new AtomicLong();
+		CountDownLatch startSignal = new CountDownLatch( 1 );
+		Thread[] threads = new Thread[THREADS];
+		for ( int i = 0; i < THREADS; i++ ) {
+			threads[i] = new Thread( new Lookup( strategy, keys, startSignal, lookups, i ) );
+			threads[i].start();
+		}
+		startSignal.countDown();
+		Thread.sleep( TimeUnit.SECONDS.toMillis( seconds ) );
+		running = false;
+		for ( Thread thread : threads ) {
+			thread.join();
+		}
+		return lookups.get();
+	}
+
+	private class Lookup implements Runnable {
+
+		private final FilterCachingStrategy strategy;
+		private final FilterKey[] keys;
+		private final CountDownLatch startSignal;
+		private final AtomicLong lookups;
+		private int next;
+
+		Lookup(FilterCachingStrategy strategy, FilterKey[] keys, CountDownLatch startSignal, AtomicLong lookups, int seed) {
+			this.strategy = strategy;
+			this.keys = keys;
+			this.startSignal = startSignal;
+			this.lookups = lookups;
+			this.next = seed * 31;
+		}
+
+		public void run() {
+			try {
+				startSignal.await();
+			}
+			catch (InterruptedException e) {
+				return;
+			}
+			long count = 0;
+			while ( running ) {
+				FilterKey key = keys[next++ % keys.length];
+				Filter filter = strategy.getCachedFilter( key );
+				if ( filter == null ) {
+					strategy.addCachedFilter( key, new QueryWrapperFilter( new MatchAllDocsQuery() ) );
+				}
+				count++;
+			}
+			lookups.addAndGet( count );
+		}
+	}
+}
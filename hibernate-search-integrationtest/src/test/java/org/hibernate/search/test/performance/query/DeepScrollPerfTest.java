@@ -0,0 +1,102 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.test.performance.query;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.search.engine.spi.SearchFactoryImplementor;
+import org.hibernate.search.query.engine.spi.DocumentExtractor;
+import org.hibernate.search.query.engine.spi.HSQuery;
+import org.hibernate.search.test.SearchTestCase;
+import org.hibernate.search.test.query.AlternateBook;
+
+/**
+ * Measures iterating over all the hits of a large result set, as a ScrollableResults does,
+ * either keeping all the hits retrieved so far or fetching them one cursor window at a time.
+ */
+public class DeepScrollPerfTest extends SearchTestCase {
+
+	private static final int BOOKS = 100000;
+	private static final int BATCH_SIZE = 1000;
+	private static final int WINDOW_SIZE = 1000;
+
+	public void testDeepScrolling() throws IOException {
+		for ( int i = 0; i < BOOKS; i += BATCH_SIZE ) {
+			storeBooks( i, BATCH_SIZE );
+		}
+		// warm up both code paths
+		scrollAll( 0 );
+		scrollAll( WINDOW_SIZE );
+		for ( int windowSize : new int[] { 0, WINDOW_SIZE, 10 * WINDOW_SIZE } ) {
+			long start = System.nanoTime();
+			long heap = scrollAll( windowSize );
+			long millis = ( System.nanoTime() - start ) / 1000000;
+			System.out.println( "Scrolling over " + BOOKS + " hits with cursor window " + windowSize + ": "
+					+ millis + "ms, " + heap / 1024 + "KB of heap in use at the last hit" );
+		}
+	}
+
+	private long scrollAll(int windowSize) throws IOException {
+		SearchFactoryImplementor searchFactory = getSearchFactoryImpl();
+		HSQuery hsQuery = searchFactory.createHSQuery()
+				.luceneQuery( new TermQuery( new Term( "summary", "number" ) ) )
+				.targetedEntities( new ArrayList<Class<?>>() )
+				.sort( new Sort( new SortField( "id", SortField.STRING ) ) )
+				.cursorWindowSize( windowSize );
+		DocumentExtractor extractor = hsQuery.queryDocumentExtractor();
+		try {
+			int last = extractor.getMaxIndex();
+			for ( int index = extractor.getFirstIndex(); index <= last; index++ ) {
+				extractor.extract( index );
+			}
+			System.gc();
+			Runtime runtime = Runtime.getRuntime();
+			return runtime.totalMemory() - runtime.freeMemory();
+		}
+		finally {
+			extractor.close();
+		}
+	}
+
+	private void storeBooks(int firstId, int count) {
+		Session session = openSession();
+		Transaction tx = session.beginTransaction();
+		for ( int i = firstId; i < firstId + count; i++ ) {
+			session.persist( new AlternateBook( i, "book about the number " + i ) );
+		}
+		tx.commit();
+		session.close();
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { AlternateBook.class };
+	}
+
+}
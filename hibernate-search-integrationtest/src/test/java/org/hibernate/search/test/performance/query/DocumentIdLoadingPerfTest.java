@@ -0,0 +1,98 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.test.performance.query;
+
+import java.util.List;
+
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.search.FullTextSession;
+import org.hibernate.search.Search;
+import org.hibernate.search.test.SearchTestCase;
+import org.hibernate.search.test.query.initandlookup.Ticket;
+
+/**
+ * Measures the latency of loading 200 entities whose document id is not the entity identifier.
+ */
+public class DocumentIdLoadingPerfTest extends SearchTestCase {
+
+	private static final int TICKETS = 20000;
+	private static final int BATCH_SIZE = 5000;
+	private static final int HITS = 200;
+	private static final int QUERIES = 100;
+
+	public void testLoadingQueries() {
+		for ( int i = 0; i < TICKETS; i += BATCH_SIZE ) {
+			storeTickets( i, BATCH_SIZE );
+		}
+		for ( int round = 0; round < 2; round++ ) {
+			// the first round warms up
+			long start = System.nanoTime();
+			for ( int i = 0; i < QUERIES; i++ ) {
+				loadHits( i * HITS % TICKETS );
+			}
+			if ( round > 0 ) {
+				System.out.println( getClass().getSimpleName() + ": "
+						+ ( System.nanoTime() - start ) / QUERIES / 1000 + "us per query" );
+			}
+		}
+	}
+
+	private void loadHits(int firstResult) {
+		FullTextSession session = Search.getFullTextSession( openSession() );
+		Transaction tx = session.beginTransaction();
+		try {
+			List<?> results = session.createFullTextQuery( new MatchAllDocsQuery(), Ticket.class )
+					.setSort( new Sort( new SortField( "code", SortField.STRING ) ) )
+					.setFirstResult( firstResult )
+					.setMaxResults( HITS )
+					.list();
+			assertEquals( HITS, results.size() );
+			tx.commit();
+		}
+		finally {
+			session.close();
+		}
+	}
+
+	private void storeTickets(int first, int count) {
+		Session session = openSession();
+		Transaction tx = session.beginTransaction();
+		for ( int i = first; i < first + count; i++ ) {
+			Ticket ticket = new Ticket();
+			ticket.setCode( "T" + Integer.toString( i, 36 ) );
+			ticket.setEvent( "concert" );
+			session.persist( ticket );
+		}
+		tx.commit();
+		session.close();
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Ticket.class };
+	}
+
+}
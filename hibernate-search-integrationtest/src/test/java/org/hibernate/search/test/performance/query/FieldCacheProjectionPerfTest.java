@@ -0,0 +1,145 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.test.performance.query;
+
+import java.util.List;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.search.FullTextSession;
+import org.hibernate.search.Search;
+import org.hibernate.search.annotations.Analyze;
+import org.hibernate.search.annotations.DocumentId;
+import org.hibernate.search.annotations.Field;
+import org.hibernate.search.annotations.Indexed;
+import org.hibernate.search.annotations.NumericField;
+import org.hibernate.search.annotations.Store;
+import org.hibernate.search.test.SearchTestCase;
+import org.hibernate.search.test.query.fieldcache.Stock;
+
+/**
+ * Measures the latency of projecting 1000 hits on cheap fields, reading them from the stored fields
+ * of each hit, or from the FieldCache: see {@link org.hibernate.search.annotations.FieldCacheType#PROJECTIONS}.
+ */
+public class FieldCacheProjectionPerfTest extends SearchTestCase {
+
+	private static final int STOCKS = 50000;
+	private static final int BATCH_SIZE = 5000;
+	private static final int HITS = 1000;
+	private static final int QUERIES = 100;
+	private static final String[] PROJECTION = { "symbol", "price", "volume" };
+
+	public void testProjectionQueries() {
+		for ( int i = 0; i < STOCKS; i += BATCH_SIZE ) {
+			storeStocks( i, BATCH_SIZE );
+		}
+		for ( int round = 0; round < 4; round++ ) {
+			// the first two rounds warm up
+			Class<?> entityType = round % 2 == 0 ? UncachedStock.class : Stock.class;
+			long start = System.nanoTime();
+			for ( int i = 0; i < QUERIES; i++ ) {
+				projectHits( entityType );
+			}
+			if ( round > 1 ) {
+				System.out.println( getClass().getSimpleName() + ", " + entityType.getSimpleName() + ": "
+						+ ( System.nanoTime() - start ) / QUERIES / 1000 + "us per query" );
+			}
+		}
+	}
+
+	private void projectHits(Class<?> entityType) {
+		FullTextSession session = Search.getFullTextSession( openSession() );
+		try {
+			List<?> results = session.createFullTextQuery( new MatchAllDocsQuery(), entityType )
+					.setProjection( PROJECTION )
+					.setSort( new Sort( new SortField( "price", SortField.DOUBLE, true ) ) )
+					.setMaxResults( HITS )
+					.list();
+			assertEquals( HITS, results.size() );
+		}
+		finally {
+			session.close();
+		}
+	}
+
+	private void storeStocks(int firstId, int count) {
+		Session session = openSession();
+		Transaction tx = session.beginTransaction();
+		for ( int i = firstId; i < firstId + count; i++ ) {
+			String symbol = "S" + Integer.toString( i, 36 );
+			String company = "company " + symbol;
+			session.persist( new Stock( i, symbol, company, i * 1.5d, i % 1000 ) );
+			session.persist( new UncachedStock( i, symbol, company, i * 1.5d, i % 1000 ) );
+		}
+		tx.commit();
+		session.close();
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Stock.class, UncachedStock.class };
+	}
+
+	/**
+	 * The same mapping as {@link Stock}, without {@code @CacheFromIndex}
+	 */
+	@Entity
+	@Indexed
+	public static class UncachedStock {
+
+		@Id
+		@DocumentId
+		private Integer id;
+
+		@Field(analyze = Analyze.NO, store = Store.YES)
+		private String symbol;
+
+		@Field(store = Store.YES)
+		private String company;
+
+		@Field(store = Store.YES)
+		@NumericField
+		private Double price;
+
+		@Field(store = Store.YES)
+		@NumericField
+		private Integer volume;
+
+		public UncachedStock() {
+		}
+
+		public UncachedStock(Integer id, String symbol, String company, Double price, Integer volume) {
+			this.id = id;
+			this.symbol = symbol;
+			this.company = company;
+			this.price = price;
+			this.volume = volume;
+		}
+	}
+
+}
@@ -0,0 +1,91 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.test.performance.query;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.TermQuery;
+
+import org.hibernate.search.engine.spi.SearchFactoryImplementor;
+import org.hibernate.search.test.SearchTestCase;
+import org.hibernate.search.test.query.AlternateBook;
+import org.hibernate.search.test.query.Author;
+import org.hibernate.search.test.query.Book;
+import org.hibernate.search.test.query.CalendarDay;
+import org.hibernate.search.test.query.Clock;
+import org.hibernate.search.test.query.ElectricalProperties;
+import org.hibernate.search.test.query.Employee;
+import org.hibernate.search.test.query.FootballTeam;
+import org.hibernate.search.test.query.Husband;
+import org.hibernate.search.test.query.Music;
+import org.hibernate.search.test.query.Spouse;
+
+/**
+ * Measures the latency of short keyword queries targeting many entity types on
+ * small indexes, where setting up the searcher is a significant share of the work.
+ */
+public class ManyEntityTypesQueryPerfTest extends SearchTestCase {
+
+	private static final int WARMUP_QUERIES = 200000;
+	private static final int MEASURED_QUERIES = 1000000;
+
+	public void testShortQueriesOnManyEntityTypes() {
+		SearchFactoryImplementor searchFactory = getSearchFactoryImpl();
+		List<Class<?>> targets = Arrays.<Class<?>>asList( getAnnotatedClasses() );
+		TermQuery query = new TermQuery( new Term( "title", "hibernate" ) );
+		for ( int i = 0; i < WARMUP_QUERIES; i++ ) {
+			runQuery( searchFactory, targets, query );
+		}
+		long start = System.nanoTime();
+		for ( int i = 0; i < MEASURED_QUERIES; i++ ) {
+			runQuery( searchFactory, targets, query );
+		}
+		long nanos = System.nanoTime() - start;
+		System.out.println( "Keyword query on " + targets.size() + " entity types: "
+				+ nanos / MEASURED_QUERIES + "ns per query" );
+	}
+
+	private static int runQuery(SearchFactoryImplementor searchFactory, List<Class<?>> targets, TermQuery query) {
+		return searchFactory.createHSQuery()
+				.luceneQuery( query )
+				.targetedEntities( targets )
+				.queryResultSize();
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] {
+				Book.class,
+				AlternateBook.class,
+				Clock.class,
+				Author.class,
+				Employee.class,
+				Music.class,
+				FootballTeam.class,
+				CalendarDay.class,
+				Husband.class,
+				Spouse.class,
+				ElectricalProperties.class
+		};
+	}
+}
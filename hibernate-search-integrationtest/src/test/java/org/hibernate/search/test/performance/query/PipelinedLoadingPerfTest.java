@@ -0,0 +1,110 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.test.performance.query;
+
+import java.util.List;
+
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.search.Environment;
+import org.hibernate.search.FullTextSession;
+import org.hibernate.search.Search;
+import org.hibernate.search.test.SearchTestCase;
+import org.hibernate.search.test.query.Author;
+
+/**
+ * Measures the latency of loading pages of 1000 entities, reading all the hits before loading
+ * the entities, or loading each chunk of hits while the next one is read from the index.
+ */
+public class PipelinedLoadingPerfTest extends SearchTestCase {
+
+	private static final int AUTHORS = 20000;
+	private static final int BATCH_SIZE = 5000;
+	private static final int HITS = 1000;
+	private static final int CHUNK_SIZE = 250;
+	private static final int QUERIES = 50;
+
+	public void testPageLoading() {
+		for ( int i = 0; i < AUTHORS; i += BATCH_SIZE ) {
+			storeAuthors( i, BATCH_SIZE );
+		}
+		for ( int round = 0; round < 4; round++ ) {
+			// the first two rounds warm up
+			boolean pipelined = round % 2 == 1;
+			long start = System.nanoTime();
+			for ( int i = 0; i < QUERIES; i++ ) {
+				loadPage( i * HITS % AUTHORS, pipelined );
+			}
+			if ( round > 1 ) {
+				System.out.println( getClass().getSimpleName() + ", " + ( pipelined ? "pipelined" : "sequential" ) + ": "
+						+ ( System.nanoTime() - start ) / QUERIES / 1000 + "us per query" );
+			}
+		}
+	}
+
+	private void loadPage(int firstResult, boolean pipelined) {
+		FullTextSession session = Search.getFullTextSession( openSession() );
+		Transaction tx = session.beginTransaction();
+		try {
+			List<?> results = session.createFullTextQuery( new MatchAllDocsQuery(), Author.class )
+					.setSort( new Sort( new SortField( "name", SortField.STRING ) ) )
+					.setPipelinedLoading( pipelined )
+					.setFetchSize( CHUNK_SIZE )
+					.setFirstResult( firstResult )
+					.setMaxResults( HITS )
+					.list();
+			assertEquals( HITS, results.size() );
+			tx.commit();
+		}
+		finally {
+			session.close();
+		}
+	}
+
+	private void storeAuthors(int first, int count) {
+		Session session = openSession();
+		Transaction tx = session.beginTransaction();
+		for ( int i = first; i < first + count; i++ ) {
+			Author author = new Author();
+			author.setName( "author" + Integer.toString( i, 36 ) );
+			session.persist( author );
+		}
+		tx.commit();
+		session.close();
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( Environment.QUERY_PARALLEL_THREADPOOL_SIZE, "2" );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Author.class };
+	}
+
+}
@@ -0,0 +1,111 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.test.performance.query;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.search.Environment;
+import org.hibernate.search.engine.spi.SearchFactoryImplementor;
+import org.hibernate.search.test.SearchTestCase;
+import org.hibernate.search.test.query.AlternateBook;
+
+/**
+ * Measures the latency of a "latest N" query repeated on an index which changes
+ * from time to time, with and without the query result cache.
+ */
+public class QueryResultCachePerfTest extends SearchTestCase {
+
+	private static final int BOOKS = 20000;
+	private static final int BATCH_SIZE = 1000;
+	private static final int QUERIES_PER_CHANGE = 250;
+	private static final int CHANGES = 20;
+
+	private int nextId = 0;
+
+	public void testRepeatedQueries() {
+		for ( int i = 0; i < BOOKS / BATCH_SIZE; i++ ) {
+			storeBooks( BATCH_SIZE );
+		}
+		// warm up both code paths
+		runQueries( false );
+		runQueries( true );
+		for ( boolean useResultCache : new boolean[] { false, true } ) {
+			long nanos = runQueries( useResultCache );
+			System.out.println( "Latest 20 books, result cache " + ( useResultCache ? "enabled" : "disabled" ) + ": "
+					+ nanos / ( QUERIES_PER_CHANGE * CHANGES ) + "ns per query" );
+		}
+		System.out.println( "Query result cache hits: " + getSearchFactory().getStatistics().getQueryResultCacheHitCount()
+				+ ", misses: " + getSearchFactory().getStatistics().getQueryResultCacheMissCount() );
+	}
+
+	private long runQueries(boolean useResultCache) {
+		SearchFactoryImplementor searchFactory = getSearchFactoryImpl();
+		List<Class<?>> targets = Arrays.<Class<?>>asList( AlternateBook.class );
+		Sort latestFirst = new Sort( new SortField( "id", SortField.STRING, true ) );
+		long total = 0;
+		for ( int change = 0; change < CHANGES; change++ ) {
+			storeBooks( 1 );
+			long start = System.nanoTime();
+			for ( int i = 0; i < QUERIES_PER_CHANGE; i++ ) {
+				searchFactory.createHSQuery()
+						.luceneQuery( new MatchAllDocsQuery() )
+						.targetedEntities( targets )
+						.sort( latestFirst )
+						.maxResults( 20 )
+						.useResultCache( useResultCache )
+						.queryEntityInfos();
+			}
+			total += System.nanoTime() - start;
+		}
+		return total;
+	}
+
+	private void storeBooks(int count) {
+		Session session = openSession();
+		Transaction tx = session.beginTransaction();
+		for ( int i = 0; i < count; i++ ) {
+			int id = nextId++;
+			session.persist( new AlternateBook( id, "book about the number " + id ) );
+		}
+		tx.commit();
+		session.close();
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( Environment.GENERATE_STATS, "true" );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { AlternateBook.class };
+	}
+
+}
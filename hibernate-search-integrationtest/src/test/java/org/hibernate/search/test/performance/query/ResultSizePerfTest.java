@@ -0,0 +1,108 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.test.performance.query;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.QueryWrapperFilter;
+import org.apache.lucene.search.TermQuery;
+
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.search.query.engine.spi.HSQuery;
+import org.hibernate.search.engine.spi.SearchFactoryImplementor;
+import org.hibernate.search.test.SearchTestCase;
+import org.hibernate.search.test.query.AlternateBook;
+
+/**
+ * Measures the latency of the usual "count, then list the first page" pattern
+ * for term, filtered match-all and boolean queries.
+ */
+public class ResultSizePerfTest extends SearchTestCase {
+
+	private static final int BOOKS = 50000;
+	private static final int BATCH_SIZE = 1000;
+	private static final int QUERIES = 1000;
+	private static final String[] DIGITS = { "zero", "one", "two", "three", "four", "five", "six", "seven", "eight", "nine" };
+
+	public void testCountThenList() {
+		for ( int i = 0; i < BOOKS / BATCH_SIZE; i++ ) {
+			storeBooks( i * BATCH_SIZE, BATCH_SIZE );
+		}
+		BooleanQuery oddSevens = new BooleanQuery();
+		oddSevens.add( new TermQuery( new Term( "summary", "odd" ) ), BooleanClause.Occur.MUST );
+		oddSevens.add( new TermQuery( new Term( "summary", "seven" ) ), BooleanClause.Occur.MUST );
+		QueryWrapperFilter odd = new QueryWrapperFilter( new TermQuery( new Term( "summary", "odd" ) ) );
+		for ( int round = 0; round < 4; round++ ) {
+			// the first rounds warm up
+			boolean print = round >= 2;
+			for ( boolean list : new boolean[] { false, true } ) {
+				measure( "term query", new TermQuery( new Term( "summary", "seven" ) ), null, list, print );
+				measure( "filtered match-all query", new MatchAllDocsQuery(), odd, list, print );
+				measure( "boolean query", oddSevens, null, list, print );
+			}
+		}
+	}
+
+	private void measure(String name, Query luceneQuery, QueryWrapperFilter filter, boolean list, boolean print) {
+		SearchFactoryImplementor searchFactory = getSearchFactoryImpl();
+		List<Class<?>> targets = Arrays.<Class<?>>asList( AlternateBook.class );
+		long start = System.nanoTime();
+		for ( int i = 0; i < QUERIES; i++ ) {
+			HSQuery query = searchFactory.createHSQuery()
+					.luceneQuery( luceneQuery )
+					.targetedEntities( targets )
+					.filter( filter )
+					.maxResults( 20 );
+			query.queryResultSize();
+			if ( list ) {
+				query.queryEntityInfos();
+			}
+		}
+		if ( print ) {
+			System.out.println( ( list ? "Count then list, " : "Count, " ) + name + ": "
+					+ ( System.nanoTime() - start ) / QUERIES + "ns per query" );
+		}
+	}
+
+	private void storeBooks(int firstId, int count) {
+		Session session = openSession();
+		Transaction tx = session.beginTransaction();
+		for ( int i = firstId; i < firstId + count; i++ ) {
+			String summary = "book about the number " + ( i % 2 == 0 ? "even" : "odd" ) + " " + DIGITS[i % 10];
+			session.persist( new AlternateBook( i, summary ) );
+		}
+		tx.commit();
+		session.close();
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { AlternateBook.class };
+	}
+
+}
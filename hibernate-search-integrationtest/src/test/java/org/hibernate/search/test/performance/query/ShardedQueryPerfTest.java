@@ -0,0 +1,106 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.test.performance.query;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.TermQuery;
+
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.search.engine.spi.SearchFactoryImplementor;
+import org.hibernate.search.test.SearchTestCase;
+import org.hibernate.search.test.query.AlternateBook;
+
+/**
+ * Measures the latency of a query over an index split in many shards, searched sequentially:
+ * see {@link ParallelShardedQueryPerfTest} for the same query searching the shards in parallel.
+ */
+public class ShardedQueryPerfTest extends SearchTestCase {
+
+	private static final int SHARDS = 8;
+	private static final int BOOKS = 100000;
+	private static final int BATCH_SIZE = 1000;
+	private static final int QUERIES = 200;
+	private static final String[] WORDS = {
+			"apple", "banana", "cherry", "grape", "lemon", "mango", "melon", "orange", "peach", "pear"
+	};
+
+	public void testShardedQueries() {
+		Random random = new Random( 17 );
+		for ( int i = 0; i < BOOKS; i += BATCH_SIZE ) {
+			storeBooks( i, BATCH_SIZE, random );
+		}
+		BooleanQuery luceneQuery = new BooleanQuery();
+		for ( String word : new String[] { "apple", "cherry", "peach" } ) {
+			luceneQuery.add( new TermQuery( new Term( "summary", word ) ), BooleanClause.Occur.SHOULD );
+		}
+		SearchFactoryImplementor searchFactory = getSearchFactoryImpl();
+		List<Class<?>> targets = Arrays.<Class<?>>asList( AlternateBook.class );
+		for ( int round = 0; round < 2; round++ ) {
+			// the first round warms up
+			long start = System.nanoTime();
+			for ( int i = 0; i < QUERIES; i++ ) {
+				searchFactory.createHSQuery()
+						.luceneQuery( luceneQuery )
+						.targetedEntities( targets )
+						.maxResults( 20 )
+						.queryEntityInfos();
+			}
+			if ( round > 0 ) {
+				System.out.println( getClass().getSimpleName() + ", " + SHARDS + " shards: "
+						+ ( System.nanoTime() - start ) / QUERIES / 1000 + "us per query" );
+			}
+		}
+	}
+
+	private void storeBooks(int firstId, int count, Random random) {
+		Session session = openSession();
+		Transaction tx = session.beginTransaction();
+		for ( int i = firstId; i < firstId + count; i++ ) {
+			StringBuilder summary = new StringBuilder();
+			for ( int w = 0; w < 5; w++ ) {
+				summary.append( WORDS[random.nextInt( WORDS.length )] ).append( ' ' );
+			}
+			session.persist( new AlternateBook( i, summary.toString() ) );
+		}
+		tx.commit();
+		session.close();
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( "hibernate.search.Book.sharding_strategy.nbr_of_shards", String.valueOf( SHARDS ) );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { AlternateBook.class };
+	}
+
+}
@@ -0,0 +1,167 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.test.performance.reader;
+
+import java.io.File;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.lucene.index.IndexReader;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.search.indexes.impl.BackgroundRefreshingReaderProvider;
+import org.hibernate.search.indexes.impl.DirectoryBasedIndexManager;
+import org.hibernate.search.indexes.impl.SharingBufferReaderProvider;
+import org.hibernate.search.indexes.spi.DirectoryBasedReaderProvider;
+import org.hibernate.search.test.SearchTestCase;
+import org.hibernate.search.util.impl.FileHelper;
+
+/**
+ * Measures the throughput of IndexReader acquisitions when many threads open and close
+ * readers of the same unchanged index concurrently, as each query does.
+ */
+public class ReaderAcquisitionContentionPerfTest extends SearchTestCase {
+
+	private static final int THREADS = 16;
+	private static final int WARMUP_SECONDS = 3;
+	private static final int MEASURE_SECONDS = 10;
+
+	private volatile boolean running;
+
+	public void testSharedReaderProvider() throws Exception {
+		measure( "shared", new SharingBufferReaderProvider() );
+	}
+
+	public void testBackgroundRefreshingReaderProvider() throws Exception {
+		measure( "background-refresh", new BackgroundRefreshingReaderProvider() );
+	}
+
+	private void measure(String name, DirectoryBasedReaderProvider readerProvider) throws InterruptedException {
+		indexSomeDetectives();
+		DirectoryBasedIndexManager indexManager = (DirectoryBasedIndexManager) getSearchFactoryImpl()
+				.getAllIndexesManager().getIndexManager( Detective.class.getName() );
+		readerProvider.initialize( indexManager, new Properties() );
+		try {
+			runFor( readerProvider, WARMUP_SECONDS );
+			long acquisitions = runFor( readerProvider, MEASURE_SECONDS );
+			System.out.println( name + " reader strategy, " + THREADS + " threads: "
+					+ ( acquisitions / MEASURE_SECONDS ) + " IndexReader acquisitions/s" );
+		}
+		finally {
+			readerProvider.stop();
+		}
+	}
+
+	private void indexSomeDetectives() {
+		Session s = openSession();
+		Transaction tx = s.beginTransaction();
+		for ( int i = 0; i < 100; i++ ) {
+			Detective detective = new Detective();
+			detective.setName( "John Doe " + i );
+			detective.setBadge( "badge" + i );
+			detective.setPhysicalDescription( "blond, tall and serious" );
+			s.persist( detective );
+		}
+		tx.commit();
+		s.close();
+	}
+
+	private long runFor(DirectoryBasedReaderProvider readerProvider, int seconds) throws InterruptedException {
+		running = true;
+		AtomicLong acquisitions = new AtomicLong();
+		CountDownLatch startSignal = new CountDownLatch( 1 );
+		Thread[] threads = new Thread[THREADS];
+		for ( int i = 0; i < THREADS; i++ ) {
+			threads[i] = new Thread( new Acquisition( readerProvider, startSignal, acquisitions ) );
+			threads[i].start();
+		}
+		startSignal.countDown();
+		Thread.sleep( TimeUnit.SECONDS.toMillis( seconds ) );
+		running = false;
+		for ( Thread thread : threads ) {
+			thread.join();
+		}
+		return acquisitions.get();
+	}
+
+	private class Acquisition implements Runnable {
+
+		private final DirectoryBasedReaderProvider readerProvider;
+		private final CountDownLatch startSignal;
+		private final AtomicLong acquisitions;
+
+		Acquisition(DirectoryBasedReaderProvider readerProvider, CountDownLatch startSignal, AtomicLong acquisitions) {
+			this.readerProvider = readerProvider;
+			this.startSignal = startSignal;
+			this.acquisitions = acquisitions;
+		}
+
+		public void run() {
+			try {
+				startSignal.await();
+			}
+			catch (InterruptedException e) {
+				return;
+			}
+			long count = 0;
+			while ( running ) {
+				IndexReader reader = readerProvider.openIndexReader();
+				readerProvider.closeIndexReader( reader );
+				count++;
+			}
+			acquisitions.addAndGet( count );
+		}
+	}
+
+	@Override
+	public void setUp() throws Exception {
+		File baseIndexDir = getBaseIndexDir();
+		baseIndexDir.mkdir();
+		for ( File file : baseIndexDir.listFiles() ) {
+			FileHelper.delete( file );
+		}
+		super.setUp();
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		super.tearDown();
+		FileHelper.delete( getBaseIndexDir() );
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( "hibernate.search.default.directory_provider", "filesystem" );
+		cfg.setProperty( "hibernate.search.default.indexBase", getBaseIndexDir().getAbsolutePath() );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] {
+				Detective.class
+		};
+	}
+
+}
@@ -0,0 +1,119 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.test.performance.reader;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.search.Environment;
+import org.hibernate.search.FullTextQuery;
+import org.hibernate.search.FullTextSession;
+import org.hibernate.search.Search;
+import org.hibernate.search.test.SearchTestCase;
+import org.hibernate.search.test.engine.Country;
+import org.hibernate.search.test.engine.Location;
+import org.hibernate.search.test.engine.PinPoint;
+
+/**
+ * Measures the latency of the first sorted query after each refresh of the IndexReader,
+ * which pays for loading the FieldCache of the new segments unless they are warmed.
+ */
+public abstract class ReaderWarmingPerformance extends SearchTestCase {
+
+	private static final int INITIAL_LOCATIONS = 50000;
+	private static final int BATCH_SIZE = 1000;
+	private static final int MEASURED_COMMITS = 300;
+
+	private int nextId = 0;
+
+	public final void testPerformance() {
+		for ( int i = 0; i < INITIAL_LOCATIONS / BATCH_SIZE; i++ ) {
+			storeLocations( BATCH_SIZE );
+		}
+		long[] latencies = new long[MEASURED_COMMITS];
+		for ( int i = 0; i < MEASURED_COMMITS; i++ ) {
+			storeLocations( 1 );
+			latencies[i] = timeSortedQuery();
+		}
+		Arrays.sort( latencies );
+		long total = 0;
+		for ( long latency : latencies ) {
+			total += latency;
+		}
+		System.out.println( "Sorted query after refresh, warmer '" + getReaderWarmer() + "': average "
+				+ TimeUnit.NANOSECONDS.toMicros( total / MEASURED_COMMITS ) + "us, p99 "
+				+ TimeUnit.NANOSECONDS.toMicros( latencies[MEASURED_COMMITS * 99 / 100] ) + "us, max "
+				+ TimeUnit.NANOSECONDS.toMicros( latencies[MEASURED_COMMITS - 1] ) + "us" );
+	}
+
+	private long timeSortedQuery() {
+		FullTextSession session = Search.getFullTextSession( openSession() );
+		try {
+			long start = System.nanoTime();
+			FullTextQuery query = session.createFullTextQuery( new MatchAllDocsQuery(), Location.class );
+			query.setSort( new Sort( new SortField( "ranking", SortField.INT ) ) );
+			query.setProjection( FullTextQuery.ID );
+			query.setMaxResults( 10 );
+			query.list();
+			return System.nanoTime() - start;
+		}
+		finally {
+			session.close();
+		}
+	}
+
+	private void storeLocations(int count) {
+		Session session = openSession();
+		Transaction tx = session.beginTransaction();
+		Country italy = new Country( "Italy", 39d );
+		for ( int i = 0; i < count; i++ ) {
+			int id = nextId++;
+			session.persist( new Location( id, Long.valueOf( id ), 7 * id, Double.valueOf( 9 * id ), Integer.valueOf( id % 1000 ),
+					String.valueOf( id ), null, italy, BigDecimal.ONE ) );
+		}
+		tx.commit();
+		session.close();
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( "hibernate.search.default." + Environment.READER_STRATEGY, "background-refresh" );
+		if ( getReaderWarmer() != null ) {
+			cfg.setProperty( "hibernate.search.default." + Environment.READER_WARMER, getReaderWarmer() );
+		}
+	}
+
+	protected abstract String getReaderWarmer();
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { PinPoint.class, Location.class };
+	}
+
+}
@@ -23,6 +23,8 @@
  */
 package org.hibernate.search;
 
+import java.util.List;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.lucene.search.Explanation;
@@ -76,6 +78,25 @@ public interface FullTextQuery extends Query, ProjectionConstants {
 	 */
 	int getResultSize();
 
+	/**
+	 * Execute the query as {@link #list()} does, searching the index in one of the threads set by
+	 * {@link Environment#QUERY_ASYNC_THREADPOOL_SIZE}, so that independent queries run concurrently.
+	 * Only the index is searched in the background: the matching entities are loaded by {@code Future.get()},
+	 * which <b>must</b> be called by the thread owning the session. The timeout of the query covers both steps.
+	 * The query must not be modified until the returned {@code Future} is done.
+	 *
+	 * @return a {@code Future} on the results of the query
+	 */
+	Future<List> listAsync();
+
+	/**
+	 * Count the hits of this search as {@link #getResultSize()} does, in one of the threads set by
+	 * {@link Environment#QUERY_ASYNC_THREADPOOL_SIZE}.
+	 *
+	 * @return a {@code Future} on the number of hits for this search
+	 */
+	Future<Integer> getResultSizeAsync();
+
 	/**
 	 * Defines the Database Query used to load the Lucene results.
 	 * Useful to load a given object graph by refining the fetch modes.
@@ -156,6 +177,19 @@ public interface FullTextQuery extends Query, ProjectionConstants {
 	 */
 	FullTextQuery setFetchSize(int i);
 
+	/**
+	 * Enables the query result cache for this query: as long as the index isn't changed, executing the
+	 * same query again reuses the matching Lucene hits, total hit count and facets of the previous execution.
+	 * Entities are still loaded from the database or the second level cache.
+	 *
+	 * @param cacheable whether to use the query result cache, disabled by default
+	 *
+	 * @return {@code this} to allow method chaining
+	 *
+	 * @see org.hibernate.search.Environment#QUERY_RESULT_CACHE_SIZE
+	 */
+	FullTextQuery setCacheable(boolean cacheable);
+
 	/**
 	 * defines a result transformer used during projection, the Aliases provided are the projection aliases.
 	 */
@@ -223,4 +257,30 @@ public interface FullTextQuery extends Query, ProjectionConstants {
 	 * Note that Hibernate Search can deviate from these choices when it makes sense.
 	 */
 	FullTextQuery initializeObjectsWith(ObjectLookupMethod lookupMethod, DatabaseRetrievalMethod retrievalMethod);
+
+	/**
+	 * Search the segments of each targeted index in parallel, even for the indexes not enabling it
+	 * in their configuration: see {@link org.hibernate.search.Environment#QUERY_PARALLEL_SEGMENTS}.
+	 * This has no effect unless the parallel query threads are enabled by
+	 * {@link org.hibernate.search.Environment#QUERY_PARALLEL_THREADPOOL_SIZE}.
+	 *
+	 * @param parallelSegments whether to search the segments in parallel on all indexes, disabled by default
+	 *
+	 * @return {@code this} to allow method chaining
+	 */
+	FullTextQuery setParallelSegments(boolean parallelSegments);
+
+	/**
+	 * Load the results from the database chunk by chunk, while reading the next chunk of hits from the index
+	 * in a parallel query thread, rather than reading all the hits first: see
+	 * {@link org.hibernate.search.Environment#QUERY_PIPELINED_LOADING}. The chunks have the size set by
+	 * {@link #setFetchSize(int)}, 100 hits by default; {@link #scroll()} reads the next window of hits
+	 * ahead the same way. This has no effect unless the parallel query threads are enabled by
+	 * {@link org.hibernate.search.Environment#QUERY_PARALLEL_THREADPOOL_SIZE}.
+	 *
+	 * @param pipelinedLoading whether to overlap reading the hits and loading the results
+	 *
+	 * @return {@code this} to allow method chaining
+	 */
+	FullTextQuery setPipelinedLoading(boolean pipelinedLoading);
 }
@@ -36,6 +36,8 @@ import org.hibernate.search.cfg.spi.SearchConfigurationBase;
 import org.hibernate.search.cfg.spi.SearchConfiguration;
 import org.hibernate.search.cfg.SearchMapping;
 import org.hibernate.search.engine.impl.HibernateStatelessInitializer;
+import org.hibernate.search.query.hibernate.impl.HibernateEntityIdentifierMetadata;
+import org.hibernate.search.spi.EntityIdentifierMetadata;
 import org.hibernate.search.spi.InstanceInitializer;
 import org.hibernate.search.spi.ServiceProvider;
 
@@ -136,6 +138,11 @@ public class SearchConfigurationFromHibernateCore extends SearchConfigurationBas
 		return HibernateStatelessInitializer.INSTANCE;
 	}
 
+	@Override
+	public EntityIdentifierMetadata getEntityIdentifierMetadata() {
+		return new HibernateEntityIdentifierMetadata( cfg );
+	}
+
 	@Override
 	public boolean isIndexMetadataComplete() {
 		return true;
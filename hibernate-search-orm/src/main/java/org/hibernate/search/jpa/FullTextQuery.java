@@ -23,6 +23,8 @@
  */
 package org.hibernate.search.jpa;
 
+import java.util.List;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import javax.persistence.Query;
 
@@ -80,6 +82,25 @@ public interface FullTextQuery extends Query, ProjectionConstants {
 	 */
 	int getResultSize();
 
+	/**
+	 * Execute the query as {@link #getResultList()} does, searching the index in one of the threads set by
+	 * {@link org.hibernate.search.Environment#QUERY_ASYNC_THREADPOOL_SIZE}, so that independent queries
+	 * run concurrently. Only the index is searched in the background: the matching entities are loaded by
+	 * {@code Future.get()}, which <b>must</b> be called by the thread owning the entity manager.
+	 * The query must not be modified until the returned {@code Future} is done.
+	 *
+	 * @return a {@code Future} on the results of the query
+	 */
+	Future<List> getResultListAsync();
+
+	/**
+	 * Count the hits of this search as {@link #getResultSize()} does, in one of the threads set by
+	 * {@link org.hibernate.search.Environment#QUERY_ASYNC_THREADPOOL_SIZE}.
+	 *
+	 * @return a {@code Future} on the number of hits for this search
+	 */
+	Future<Integer> getResultSizeAsync();
+
 	/**
 	 * Defines the Database Query used to load the Lucene results.
 	 * Useful to load a given object graph by refining the fetch modes
@@ -168,4 +189,25 @@ public interface FullTextQuery extends Query, ProjectionConstants {
 	 * Note that Hibernate Search can deviate from these choices when it makes sense.
 	 */
 	FullTextQuery initializeObjectsWith(ObjectLookupMethod lookupMethod, DatabaseRetrievalMethod retrievalMethod);
+
+	/**
+	 * Search the segments of each targeted index in parallel, even for the indexes not enabling it
+	 * in their configuration: see {@link org.hibernate.search.Environment#QUERY_PARALLEL_SEGMENTS}.
+	 * This has no effect unless the parallel query threads are enabled by
+	 * {@link org.hibernate.search.Environment#QUERY_PARALLEL_THREADPOOL_SIZE}.
+	 *
+	 * @param parallelSegments whether to search the segments in parallel on all indexes, disabled by default
+	 */
+	FullTextQuery setParallelSegments(boolean parallelSegments);
+
+	/**
+	 * Load the results from the database chunk by chunk, while reading the next chunk of hits from the index
+	 * in a parallel query thread, rather than reading all the hits first: see
+	 * {@link org.hibernate.search.Environment#QUERY_PIPELINED_LOADING}. The chunks hold 100 hits.
+	 * This has no effect unless the parallel query threads are enabled by
+	 * {@link org.hibernate.search.Environment#QUERY_PARALLEL_THREADPOOL_SIZE}.
+	 *
+	 * @param pipelinedLoading whether to overlap reading the hits and loading the results
+	 */
+	FullTextQuery setPipelinedLoading(boolean pipelinedLoading);
 }
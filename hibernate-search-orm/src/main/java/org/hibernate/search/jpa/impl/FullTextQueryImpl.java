@@ -32,7 +32,10 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import javax.persistence.EntityExistsException;
 import javax.persistence.EntityNotFoundException;
 import javax.persistence.FlushModeType;
@@ -115,6 +118,10 @@ public class FullTextQueryImpl implements FullTextQuery {
 		return 0;
 	}
 
+	public Future<Integer> getResultSizeAsync() {
+		return new TimeoutConvertingFuture<Integer>( query.getResultSizeAsync() );
+	}
+
 	private void throwQueryTimeoutException(QueryTimeoutException e) {
 		throw new javax.persistence.QueryTimeoutException( e.getMessage(), e, this );
 	}
@@ -164,6 +171,10 @@ public class FullTextQueryImpl implements FullTextQuery {
 		}
 	}
 
+	public Future<List> getResultListAsync() {
+		return new TimeoutConvertingFuture<List>( query.listAsync() );
+	}
+
 	public FacetManager getFacetManager() {
 		return query.getFacetManager();
 	}
@@ -356,6 +367,16 @@ public class FullTextQueryImpl implements FullTextQuery {
 		return this;
 	}
 
+	public FullTextQuery setParallelSegments(boolean parallelSegments) {
+		query.setParallelSegments( parallelSegments );
+		return this;
+	}
+
+	public FullTextQuery setPipelinedLoading(boolean pipelinedLoading) {
+		query.setPipelinedLoading( pipelinedLoading );
+		return this;
+	}
+
 	public int executeUpdate() {
 		throw new IllegalStateException( "Update not allowed in FullTextQueries" );
 	}
@@ -373,6 +394,14 @@ public class FullTextQueryImpl implements FullTextQuery {
 				query.setTimeout( ( (Number) value ).longValue(), TimeUnit.MILLISECONDS );
 			}
 		}
+		else if ( "org.hibernate.cacheable".equals( hintName ) ) {
+			if ( value instanceof Boolean ) {
+				query.setCacheable( (Boolean) value );
+			}
+			else if ( value instanceof String ) {
+				query.setCacheable( Boolean.parseBoolean( (String) value ) );
+			}
+		}
 		return this;
 	}
 
@@ -494,4 +523,58 @@ public class FullTextQueryImpl implements FullTextQuery {
 		return query.unwrap( type );
 	}
 
+	/**
+	 * Reports the timeout of an asynchronous query as a {@link javax.persistence.QueryTimeoutException},
+	 * as {@link #getResultList()} does.
+	 */
+	private final class TimeoutConvertingFuture<T> implements Future<T> {
+
+		private final Future<T> delegate;
+
+		TimeoutConvertingFuture(Future<T> delegate) {
+			this.delegate = delegate;
+		}
+
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			return delegate.cancel( mayInterruptIfRunning );
+		}
+
+		public boolean isCancelled() {
+			return delegate.isCancelled();
+		}
+
+		public boolean isDone() {
+			return delegate.isDone();
+		}
+
+		public T get() throws InterruptedException, ExecutionException {
+			try {
+				return delegate.get();
+			}
+			catch ( ExecutionException e ) {
+				throw convert( e );
+			}
+		}
+
+		public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+			try {
+				return delegate.get( timeout, unit );
+			}
+			catch ( ExecutionException e ) {
+				throw convert( e );
+			}
+		}
+
+		private ExecutionException convert(ExecutionException e) {
+			if ( e.getCause() instanceof QueryTimeoutException ) {
+				return new ExecutionException(
+						new javax.persistence.QueryTimeoutException(
+								e.getCause().getMessage(), e.getCause(), FullTextQueryImpl.this
+						)
+				);
+			}
+			return e;
+		}
+	}
+
 }
@@ -23,10 +23,13 @@ package org.hibernate.search.query.hibernate.impl;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.hibernate.search.engine.spi.DocumentBuilderIndexedEntity;
+import org.hibernate.search.engine.spi.EntityIndexBinder;
 import org.hibernate.search.engine.spi.SearchFactoryImplementor;
+import org.hibernate.search.util.impl.HibernateHelper;
 import org.hibernate.search.util.logging.impl.Log;
 
 import org.hibernate.Criteria;
@@ -54,6 +57,7 @@ public class CriteriaObjectsInitializer implements ObjectsInitializer {
 	}
 
 	public void initializeObjects(EntityInfo[] entityInfos,
+										 Map<EntityInfoLoadKey, Object> idToObjectMap,
 										 Criteria criteria, Class<?> entityType,
 										 SearchFactoryImplementor searchFactoryImplementor,
 										 TimeoutManager timeoutManager,
@@ -104,6 +108,15 @@ public class CriteriaObjectsInitializer implements ObjectsInitializer {
 				criteria.setTimeout( timeLeftInSecond.intValue() );
 			}
 		}
-		criteria.list(); //load all objects
+		//load all objects and index them by document id
+		List<?> loadedObjects = criteria.list();
+		for ( Object entity : loadedObjects ) {
+			Class<?> clazz = HibernateHelper.getClass( entity );
+			EntityIndexBinder entityIndexBinding = searchFactoryImplementor.getIndexBindingForEntity( clazz );
+			if ( entityIndexBinding != null ) {
+				Serializable id = entityIndexBinding.getDocumentBuilder().getId( entity );
+				idToObjectMap.put( new EntityInfoLoadKey( clazz, id ), entity );
+			}
+		}
 	}
 }
@@ -0,0 +1,56 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.query.hibernate.impl;
+
+import java.io.Serializable;
+
+/**
+ * Key of a loaded entity: its type and the value of its document id.
+ */
+public final class EntityInfoLoadKey {
+
+	private final Class<?> clazz;
+	private final Serializable id;
+	private final int hashCode;
+
+	public EntityInfoLoadKey(Class<?> clazz, Serializable id) {
+		this.clazz = clazz;
+		this.id = id;
+		this.hashCode = 31 * clazz.hashCode() + id.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if ( this == o ) {
+			return true;
+		}
+		if ( !( o instanceof EntityInfoLoadKey ) ) {
+			return false;
+		}
+		EntityInfoLoadKey other = (EntityInfoLoadKey) o;
+		return clazz == other.clazz && id.equals( other.id );
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+}
@@ -0,0 +1,87 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.query.hibernate.impl;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.hibernate.search.query.engine.spi.EntityInfo;
+
+/**
+ * The results of {@link FullTextQueryImpl#listAsync()}: the index is searched in the background,
+ * while the entities are loaded by the thread calling {@link #get()}, which owns the session.
+ * The {@code Future} is done as soon as the index has been searched.
+ */
+final class EntityLoadingFuture implements Future<List> {
+
+	private final Future<List<EntityInfo>> entityInfos;
+	private final Loader loader;
+	private final FullTextQueryImpl query;
+
+	//guarded by synchronization on this
+	private List results;
+	private RuntimeException failure;
+
+	EntityLoadingFuture(Future<List<EntityInfo>> entityInfos, Loader loader, FullTextQueryImpl query) {
+		this.entityInfos = entityInfos;
+		this.loader = loader;
+		this.query = query;
+	}
+
+	public boolean cancel(boolean mayInterruptIfRunning) {
+		return entityInfos.cancel( mayInterruptIfRunning );
+	}
+
+	public boolean isCancelled() {
+		return entityInfos.isCancelled();
+	}
+
+	public boolean isDone() {
+		return entityInfos.isDone();
+	}
+
+	public List get() throws InterruptedException, ExecutionException {
+		return load( entityInfos.get() );
+	}
+
+	public List get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+		return load( entityInfos.get( timeout, unit ) );
+	}
+
+	private synchronized List load(List<EntityInfo> infos) throws ExecutionException {
+		if ( results == null && failure == null ) {
+			try {
+				results = query.loadResults( infos, loader );
+			}
+			catch ( RuntimeException e ) {
+				failure = e;
+			}
+		}
+		if ( failure != null ) {
+			throw new ExecutionException( failure );
+		}
+		return results;
+	}
+
+}
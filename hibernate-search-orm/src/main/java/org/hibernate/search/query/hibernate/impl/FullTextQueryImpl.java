@@ -24,10 +24,13 @@
 package org.hibernate.search.query.hibernate.impl;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.lucene.search.Explanation;
@@ -52,7 +55,9 @@ import org.hibernate.search.engine.spi.SearchFactoryImplementor;
 import org.hibernate.search.query.DatabaseRetrievalMethod;
 import org.hibernate.search.query.ObjectLookupMethod;
 import org.hibernate.search.query.engine.spi.DocumentExtractor;
+import org.hibernate.search.query.engine.impl.ParallelQueryExecutor;
 import org.hibernate.search.query.engine.spi.EntityInfo;
+import org.hibernate.search.query.engine.spi.EntityInfoChunks;
 import org.hibernate.search.query.engine.spi.HSQuery;
 import org.hibernate.search.query.engine.spi.TimeoutExceptionFactory;
 import org.hibernate.search.query.engine.spi.TimeoutManager;
@@ -72,9 +77,15 @@ import org.hibernate.transform.ResultTransformer;
 public class FullTextQueryImpl extends AbstractQueryImpl implements FullTextQuery {
 
 	private static final Log log = LoggerFactory.make();
+	/**
+	 * Minimum number of hits kept in memory by the cursor backing {@link #scroll()}
+	 */
+	private static final int SCROLL_CURSOR_WINDOW_SIZE = 10000;
+	private static final int PIPELINED_LOADING_CHUNK_SIZE = 100;
 	private Criteria criteria;
 	private ResultTransformer resultTransformer;
 	private int fetchSize = 1;
+	private Boolean pipelinedLoading;
 	private ObjectLookupMethod lookupMethod = ObjectLookupMethod.SKIP; //default
 	private DatabaseRetrievalMethod retrievalMethod = DatabaseRetrievalMethod.QUERY; //default
 	private final HSQuery hSearchQuery;
@@ -159,6 +170,7 @@ public class FullTextQueryImpl extends AbstractQueryImpl implements FullTextQuer
 				.indexedTargetedEntities( hSearchQuery.getIndexedTargetedEntities() )
 				.session( session )
 				.searchFactory( hSearchQuery.getSearchFactoryImplementor() )
+				.identifierMetadata( hSearchQuery.getSearchFactoryImplementor().getEntityIdentifierMetadata() )
 				.timeoutManager( hSearchQuery.getTimeoutManager() )
 				.lookupMethod( lookupMethod )
 				.retrievalMethod( retrievalMethod );
@@ -183,19 +195,58 @@ public class FullTextQueryImpl extends AbstractQueryImpl implements FullTextQuer
 		return loader;
 	}
 
+	/**
+	 * Loads each chunk of hits while the next one is extracted from the index
+	 */
+	private List listPipelined(Loader loader) {
+		final int chunkSize = fetchSize > 1 ? fetchSize : PIPELINED_LOADING_CHUNK_SIZE;
+		final EntityInfoChunks chunks = hSearchQuery.queryEntityInfoChunks( chunkSize );
+		try {
+			List list = new ArrayList();
+			List<EntityInfo> chunk;
+			while ( ( chunk = chunks.next() ) != null ) {
+				list.addAll( loader.load( chunk.toArray( new EntityInfo[chunk.size()] ) ) );
+			}
+			return list;
+		}
+		finally {
+			chunks.close();
+		}
+	}
+
+	private boolean isPipelinedLoading() {
+		ParallelQueryExecutor parallelQueryExecutor = hSearchQuery.getSearchFactoryImplementor().getParallelQueryExecutor();
+		if ( !parallelQueryExecutor.isEnabled() ) {
+			return false;
+		}
+		return pipelinedLoading != null ? pipelinedLoading : parallelQueryExecutor.isPipelinedLoadingEnabled();
+	}
+
 	public ScrollableResults scroll() throws HibernateException {
 		//keep the searcher open until the resultset is closed
 
 		hSearchQuery.getTimeoutManager().start();
-		final DocumentExtractor documentExtractor = hSearchQuery.queryDocumentExtractor();
+		//fetch the hits one window at a time, large enough to cover the loading window in both directions
+		hSearchQuery.cursorWindowSize( Math.max( 2 * fetchSize, SCROLL_CURSOR_WINDOW_SIZE ) );
+		final DocumentExtractor documentExtractor;
+		try {
+			documentExtractor = hSearchQuery.queryDocumentExtractor();
+		}
+		finally {
+			hSearchQuery.cursorWindowSize( 0 );
+		}
 		//stop timeout manager, the iterator pace is in the user's hands
 		hSearchQuery.getTimeoutManager().stop();
 		Loader loader = getLoader();
+		ExecutorService prefetchExecutor = isPipelinedLoading() ?
+				hSearchQuery.getSearchFactoryImplementor().getParallelQueryExecutor().getExtractionExecutor() :
+				null;
 		return new ScrollableResultsImpl(
 				fetchSize,
 				documentExtractor,
 				loader,
-				this.session
+				this.session,
+				prefetchExecutor
 		);
 	}
 
@@ -206,9 +257,33 @@ public class FullTextQueryImpl extends AbstractQueryImpl implements FullTextQuer
 
 	public List list() throws HibernateException {
 		hSearchQuery.getTimeoutManager().start();
-		final List<EntityInfo> entityInfos = hSearchQuery.queryEntityInfos();
 		Loader loader = getLoader();
+		List list;
+		if ( isPipelinedLoading() ) {
+			list = listPipelined( loader );
+		}
+		else {
+			final List<EntityInfo> entityInfos = hSearchQuery.queryEntityInfos();
+			list = loader.load( entityInfos.toArray( new EntityInfo[entityInfos.size()] ) );
+		}
+		return transformResults( list, loader );
+	}
+
+	public Future<List> listAsync() {
+		hSearchQuery.getTimeoutManager().start();
+		Loader loader = getLoader();
+		return new EntityLoadingFuture( hSearchQuery.queryEntityInfosAsync(), loader, this );
+	}
+
+	/**
+	 * Loads the results of {@link #listAsync()}, in the thread owning the session.
+	 */
+	List loadResults(List<EntityInfo> entityInfos, Loader loader) {
 		List list = loader.load( entityInfos.toArray( new EntityInfo[entityInfos.size()] ) );
+		return transformResults( list, loader );
+	}
+
+	private List transformResults(List list, Loader loader) {
 		//no need to timeoutManager.isTimedOut from this point, we don't do anything intensive
 		if ( resultTransformer == null || loader instanceof ProjectionLoader ) {
 			//stay consistent with transformTuple which can only be executed during a projection
@@ -234,6 +309,16 @@ public class FullTextQueryImpl extends AbstractQueryImpl implements FullTextQuer
 		}
 	}
 
+	public Future<Integer> getResultSizeAsync() {
+		if ( getLoader().isSizeSafe() ) {
+			hSearchQuery.getTimeoutManager().start();
+			return hSearchQuery.queryResultSizeAsync();
+		}
+		else {
+			throw log.cannotGetResultSizeWithCriteriaAndRestriction( criteria.toString() );
+		}
+	}
+
 	public FullTextQuery setCriteriaQuery(Criteria criteria) {
 		this.criteria = criteria;
 		return this;
@@ -263,6 +348,13 @@ public class FullTextQueryImpl extends AbstractQueryImpl implements FullTextQuer
 		return this;
 	}
 
+	@Override
+	public FullTextQuery setCacheable(boolean cacheable) {
+		super.setCacheable( cacheable );
+		hSearchQuery.useResultCache( cacheable );
+		return this;
+	}
+
 	public Query setLockOptions(LockOptions lockOptions) {
 		throw new UnsupportedOperationException( "Lock options are not implemented in Hibernate Search queries" );
 	}
@@ -338,6 +430,16 @@ public class FullTextQueryImpl extends AbstractQueryImpl implements FullTextQuer
 		return this;
 	}
 
+	public FullTextQuery setParallelSegments(boolean parallelSegments) {
+		hSearchQuery.parallelSegments( parallelSegments );
+		return this;
+	}
+
+	public FullTextQuery setPipelinedLoading(boolean pipelinedLoading) {
+		this.pipelinedLoading = pipelinedLoading;
+		return this;
+	}
+
 	private SearchFactoryImplementor getSearchFactoryImplementor() {
 		return ContextHelper.getSearchFactoryBySessionImplementor( session );
 	}
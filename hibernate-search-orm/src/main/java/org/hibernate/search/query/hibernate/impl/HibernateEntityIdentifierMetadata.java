@@ -0,0 +1,60 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.query.hibernate.impl;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.hibernate.cfg.Configuration;
+import org.hibernate.mapping.PersistentClass;
+import org.hibernate.search.query.engine.spi.EntityInfo;
+import org.hibernate.search.spi.EntityIdentifierMetadata;
+
+/**
+ * Knows for each entity type whether the document id is the Hibernate identifier of the entity.
+ * Only in that case entities can be looked up by id in the persistence context, in the second level cache
+ * or via {@code Session#load}; otherwise they have to be queried by the document id property.
+ * <p/>
+ * The identifier properties are read once from the mapping, when the search factory is built.
+ */
+public class HibernateEntityIdentifierMetadata implements EntityIdentifierMetadata {
+
+	private final Map<Class<?>, String> identifierProperties = new HashMap<Class<?>, String>();
+
+	public HibernateEntityIdentifierMetadata(Configuration cfg) {
+		Iterator<?> classMappings = cfg.getClassMappings();
+		while ( classMappings.hasNext() ) {
+			PersistentClass persistentClass = (PersistentClass) classMappings.next();
+			// getMappedClass() can return null and should be ignored
+			Class<?> entityType = persistentClass.getMappedClass();
+			if ( entityType != null && persistentClass.hasIdentifierProperty() ) {
+				identifierProperties.put( entityType, persistentClass.getIdentifierProperty().getName() );
+			}
+		}
+	}
+
+	@Override
+	public boolean areDocIdAndEntityIdIdentical(EntityInfo entityInfo) {
+		String hibernateIdentifierProperty = identifierProperties.get( entityInfo.getClazz() );
+		return entityInfo.getIdName().equals( hibernateIdentifierProperty );
+	}
+}
@@ -20,7 +20,12 @@
  */
 package org.hibernate.search.query.hibernate.impl;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 import org.hibernate.search.engine.spi.SearchFactoryImplementor;
+import org.hibernate.search.spi.EntityIdentifierMetadata;
 import org.hibernate.search.util.logging.impl.Log;
 
 import org.hibernate.Criteria;
@@ -35,6 +40,8 @@ import org.hibernate.search.util.logging.impl.LoggerFactory;
  * Hibernate Session will load objects by batch reducing the number of database roundtrip.
  *
  * Note that the second level cache is naturally first checked in this approach.
+ * Entities whose document id is not the entity identifier can't be looked up by id:
+ * they are loaded all together using a criteria query.
  *
  * @author Emmanuel Bernard <emmanuel@hibernate.org>
  */
@@ -42,13 +49,14 @@ public class LookupObjectsInitializer implements ObjectsInitializer {
 	
 	private static final Log log = LoggerFactory.make();
 	
-	public static final LookupObjectsInitializer INSTANCE = new LookupObjectsInitializer();
-	
-	private LookupObjectsInitializer() {
-		// use INSTANCE instead of constructor
+	private final EntityIdentifierMetadata identifierMetadata;
+
+	public LookupObjectsInitializer(EntityIdentifierMetadata identifierMetadata) {
+		this.identifierMetadata = identifierMetadata;
 	}
 
 	public void initializeObjects(EntityInfo[] entityInfos,
+										 Map<EntityInfoLoadKey, Object> idToObjectMap,
 										 Criteria criteria, Class<?> entityType,
 										 SearchFactoryImplementor searchFactoryImplementor,
 										 TimeoutManager timeoutManager,
@@ -63,10 +71,31 @@ public class LookupObjectsInitializer implements ObjectsInitializer {
 		}
 
 		//TODO should we do time out check between each object call?
+		List<EntityInfo> remainingEntityInfos = new ArrayList<EntityInfo>( 0 );
 		for ( EntityInfo entityInfo : entityInfos ) {
-			ObjectLoaderHelper.load( entityInfo, session );
+			if ( identifierMetadata.areDocIdAndEntityIdIdentical( entityInfo ) ) {
+				Object entity = ObjectLoaderHelper.load( entityInfo, session, identifierMetadata );
+				if ( entity != null ) {
+					idToObjectMap.put( new EntityInfoLoadKey( entityInfo.getClazz(), entityInfo.getId() ), entity );
+				}
+			}
+			else {
+				remainingEntityInfos.add( entityInfo );
+			}
 		}
+		final int remainingSize = remainingEntityInfos.size();
 		if ( traceEnabled )
-			log.tracef( "Initialized %d objects by lookup method.", maxResults );
+			log.tracef( "Initialized %d objects by lookup method.", maxResults - remainingSize );
+		if ( remainingSize > 0 ) {
+			CriteriaObjectsInitializer.INSTANCE.initializeObjects(
+					remainingEntityInfos.toArray( new EntityInfo[remainingSize] ),
+					idToObjectMap,
+					criteria,
+					entityType,
+					searchFactoryImplementor,
+					timeoutManager,
+					session
+			);
+		}
 	}
 }
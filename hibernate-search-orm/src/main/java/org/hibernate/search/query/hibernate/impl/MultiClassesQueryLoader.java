@@ -37,6 +37,7 @@ import org.hibernate.search.engine.spi.EntityIndexBinder;
 import org.hibernate.search.engine.spi.SearchFactoryImplementor;
 import org.hibernate.search.query.engine.spi.EntityInfo;
 import org.hibernate.search.query.engine.spi.TimeoutManager;
+import org.hibernate.search.spi.EntityIdentifierMetadata;
 
 /**
  * A loader which loads objects of multiple types.
@@ -49,6 +50,7 @@ public class MultiClassesQueryLoader extends AbstractLoader {
 	private List<RootEntityMetadata> entityMatadata;
 	private TimeoutManager timeoutManager;
 	private ObjectsInitializer objectsInitializer;
+	private EntityIdentifierMetadata identifierMetadata;
 
 	public void init(Session session,
 					 SearchFactoryImplementor searchFactoryImplementor,
@@ -61,6 +63,10 @@ public class MultiClassesQueryLoader extends AbstractLoader {
 		this.objectsInitializer = objectsInitializer;
 	}
 
+	public void setIdentifierMetadata(EntityIdentifierMetadata identifierMetadata) {
+		this.identifierMetadata = identifierMetadata;
+	}
+
 	@Override
 	public boolean isSizeSafe() {
 		return true; //no user provided criteria
@@ -89,7 +95,7 @@ public class MultiClassesQueryLoader extends AbstractLoader {
 	}
 
 	public Object executeLoad(EntityInfo entityInfo) {
-		final Object result = ObjectLoaderHelper.load( entityInfo, session );
+		final Object result = ObjectLoaderHelper.load( entityInfo, session, identifierMetadata );
 		timeoutManager.isTimedOut();
 		return result;
 	}
@@ -130,6 +136,7 @@ public class MultiClassesQueryLoader extends AbstractLoader {
 		}
 
 		//initialize objects by bucket
+		Map<EntityInfoLoadKey, Object> idToObjectMap = new HashMap<EntityInfoLoadKey, Object>( entityInfos.length );
 		for ( Map.Entry<RootEntityMetadata, List<EntityInfo>> entry : entityinfoBuckets.entrySet() ) {
 			final RootEntityMetadata key = entry.getKey();
 			final List<EntityInfo> value = entry.getValue();
@@ -137,6 +144,7 @@ public class MultiClassesQueryLoader extends AbstractLoader {
 
 			objectsInitializer.initializeObjects(
 					bucketEntityInfos,
+					idToObjectMap,
 					key.criteria,
 					key.rootEntity,
 					searchFactoryImplementor,
@@ -145,7 +153,7 @@ public class MultiClassesQueryLoader extends AbstractLoader {
 			timeoutManager.isTimedOut();
 
 		}
-		return ObjectLoaderHelper.returnAlreadyLoadedObjectsInCorrectOrder( entityInfos, session );
+		return ObjectLoaderHelper.returnAlreadyLoadedObjectsInCorrectOrder( entityInfos, idToObjectMap );
 	}
 
 	private static class RootEntityMetadata {
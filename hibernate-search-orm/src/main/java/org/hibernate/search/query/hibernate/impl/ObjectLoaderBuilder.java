@@ -35,6 +35,7 @@ import org.hibernate.search.engine.spi.SearchFactoryImplementor;
 import org.hibernate.search.query.DatabaseRetrievalMethod;
 import org.hibernate.search.query.ObjectLookupMethod;
 import org.hibernate.search.query.engine.spi.TimeoutManager;
+import org.hibernate.search.spi.EntityIdentifierMetadata;
 import org.hibernate.search.util.logging.impl.LoggerFactory;
 
 import java.util.List;
@@ -54,6 +55,7 @@ public class ObjectLoaderBuilder {
 	private TimeoutManager timeoutManager;
 	private ObjectLookupMethod lookupMethod;
 	private DatabaseRetrievalMethod retrievalMethod;
+	private EntityIdentifierMetadata identifierMetadata;
 	private static final Log log = LoggerFactory.make();
 
 	public ObjectLoaderBuilder criteria(Criteria criteria) {
@@ -91,6 +93,7 @@ public class ObjectLoaderBuilder {
 	private Loader getMultipleEntitiesLoader() {
 		final MultiClassesQueryLoader multiClassesLoader = new MultiClassesQueryLoader();
 		multiClassesLoader.init( (Session) session, searchFactoryImplementor, getObjectInitializer(), timeoutManager );
+		multiClassesLoader.setIdentifierMetadata( identifierMetadata );
 		multiClassesLoader.setEntityTypes( indexedTargetedEntities );
 		return multiClassesLoader;
 	}
@@ -98,6 +101,7 @@ public class ObjectLoaderBuilder {
 	private Loader getSingleEntityLoader() {
 		final QueryLoader queryLoader = new QueryLoader();
 		queryLoader.init( ( Session ) session, searchFactoryImplementor, getObjectInitializer(), timeoutManager );
+		queryLoader.setIdentifierMetadata( identifierMetadata );
 		queryLoader.setEntityType( targetedEntities.iterator().next() );
 		return queryLoader;
 	}
@@ -123,6 +127,7 @@ public class ObjectLoaderBuilder {
 		}
 		QueryLoader queryLoader = new QueryLoader();
 		queryLoader.init( ( Session ) session, searchFactoryImplementor, getObjectInitializer(), timeoutManager );
+		queryLoader.setIdentifierMetadata( identifierMetadata );
 		queryLoader.setEntityType( entityType );
 		queryLoader.setCriteria( criteria );
 		return queryLoader;
@@ -143,6 +148,11 @@ public class ObjectLoaderBuilder {
 		return this;
 	}
 
+	public ObjectLoaderBuilder identifierMetadata(EntityIdentifierMetadata identifierMetadata) {
+		this.identifierMetadata = identifierMetadata;
+		return this;
+	}
+
 	public ObjectLoaderBuilder timeoutManager(TimeoutManager timeoutManager) {
 		this.timeoutManager = timeoutManager;
 		return this;
@@ -156,7 +166,7 @@ public class ObjectLoaderBuilder {
 		final ObjectsInitializer initializer;
 		if ( retrievalMethod == DatabaseRetrievalMethod.FIND_BY_ID ) {
 			//return early as this method does naturally 2lc + session lookup
-			return LookupObjectsInitializer.INSTANCE;
+			return new LookupObjectsInitializer( identifierMetadata );
 		}
 		else if ( retrievalMethod == DatabaseRetrievalMethod.QUERY ) {
 			initializer = CriteriaObjectsInitializer.INSTANCE;
@@ -168,11 +178,14 @@ public class ObjectLoaderBuilder {
 			return initializer;
 		}
 		else if ( lookupMethod == ObjectLookupMethod.PERSISTENCE_CONTEXT ) {
-			return new PersistenceContextObjectsInitializer( initializer );
+			return new PersistenceContextObjectsInitializer( initializer, identifierMetadata );
 		}
 		else if ( lookupMethod == ObjectLookupMethod.SECOND_LEVEL_CACHE ) {
 			//we want to check the PC first, that's cheaper
-			return new PersistenceContextObjectsInitializer( new SecondLevelCacheObjectsInitializer( initializer ) );
+			return new PersistenceContextObjectsInitializer(
+					new SecondLevelCacheObjectsInitializer( initializer, identifierMetadata ),
+					identifierMetadata
+			);
 		}
 		else {
 			throw new AssertionFailure( "Unknown " + ObjectLookupMethod.class.getSimpleName() + "." + lookupMethod );
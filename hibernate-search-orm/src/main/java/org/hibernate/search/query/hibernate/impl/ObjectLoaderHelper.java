@@ -25,6 +25,7 @@ package org.hibernate.search.query.hibernate.impl;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.hibernate.search.util.impl.HibernateHelper;
 import org.hibernate.search.util.logging.impl.Log;
@@ -35,6 +36,7 @@ import org.hibernate.Session;
 import org.hibernate.criterion.Restrictions;
 import org.hibernate.search.SearchException;
 import org.hibernate.search.query.engine.spi.EntityInfo;
+import org.hibernate.search.spi.EntityIdentifierMetadata;
 import org.hibernate.search.util.logging.impl.LoggerFactory;
 
 /**
@@ -45,8 +47,8 @@ public class ObjectLoaderHelper {
 
 	private static final Log log = LoggerFactory.make();
 
-	public static Object load(EntityInfo entityInfo, Session session) {
-		Object maybeProxy = executeLoad( entityInfo, session );
+	public static Object load(EntityInfo entityInfo, Session session, EntityIdentifierMetadata identifierMetadata) {
+		Object maybeProxy = executeLoad( entityInfo, session, identifierMetadata );
 		try {
 			HibernateHelper.initialize( maybeProxy );
 		}
@@ -66,15 +68,17 @@ public class ObjectLoaderHelper {
 		return maybeProxy;
 	}
 
-	public static List returnAlreadyLoadedObjectsInCorrectOrder(EntityInfo[] entityInfos, Session session) {
+	/**
+	 * Returns the objects loaded by the {@link ObjectsInitializer} in the order of the given {@code EntityInfo}s,
+	 * skipping the ones which could not be found in the database.
+	 */
+	public static List returnAlreadyLoadedObjectsInCorrectOrder(EntityInfo[] entityInfos, Map<EntityInfoLoadKey, Object> idToObjectMap) {
 		//mandatory to keep the same ordering
 		List result = new ArrayList( entityInfos.length );
 		for ( EntityInfo entityInfo : entityInfos ) {
-			//FIXME This call is very inefficient when @Entity's id property is different
-			//FIXME from Document stored id as we need to do the actual query again
-			Object element = executeLoad( entityInfo, session );
+			Object element = idToObjectMap.get( new EntityInfoLoadKey( entityInfo.getClazz(), entityInfo.getId() ) );
 			if ( element != null && HibernateHelper.isInitialized( element ) ) {
-				//all existing elements should have been loaded by the query,
+				//all existing elements should have been loaded by the initializer,
 				//the other ones are missing ones
 				result.add( element );
 			}
@@ -90,9 +94,9 @@ public class ObjectLoaderHelper {
 		return result;
 	}
 
-	private static Object executeLoad(EntityInfo entityInfo, Session session) {
+	private static Object executeLoad(EntityInfo entityInfo, Session session, EntityIdentifierMetadata identifierMetadata) {
 		Object maybeProxy;
-		if ( areDocIdAndEntityIdIdentical( entityInfo, session ) ) {
+		if ( identifierMetadata.areDocIdAndEntityIdIdentical( entityInfo ) ) {
 			//be sure to get an initialized object but save from ONFE and ENFE
 			maybeProxy = session.load( entityInfo.getClazz(), entityInfo.getId() );
 		}
@@ -116,12 +120,4 @@ public class ObjectLoaderHelper {
 		}
 		return maybeProxy;
 	}
-
-	//TODO should we cache that result?
-	public static boolean areDocIdAndEntityIdIdentical(EntityInfo entityInfo, Session session) {
-		String hibernateIdentifierProperty = session.getSessionFactory()
-				.getClassMetadata( entityInfo.getClazz() )
-				.getIdentifierPropertyName();
-		return entityInfo.getIdName().equals( hibernateIdentifierProperty );
-	}
 }
@@ -20,6 +20,8 @@
  */
 package org.hibernate.search.query.hibernate.impl;
 
+import java.util.Map;
+
 import org.hibernate.Criteria;
 import org.hibernate.Session;
 import org.hibernate.search.engine.spi.SearchFactoryImplementor;
@@ -28,11 +30,15 @@ import org.hibernate.search.query.engine.spi.TimeoutManager;
 
 /**
  * Initializes a set of objects from EntityInfos
+ * <p/>
+ * The initialized objects are added to {@code idToObjectMap}, keyed by their type and document id,
+ * so that they can be returned in the order of the matching documents without looking them up again.
  *
  * @author Emmanuel Bernard <emmanuel@hibernate.org>
  */
 public interface ObjectsInitializer {
 	void initializeObjects(EntityInfo[] entityInfos,
+										 Map<EntityInfoLoadKey, Object> idToObjectMap,
 										 Criteria criteria, Class<?> entityType,
 										 SearchFactoryImplementor searchFactoryImplementor,
 										 TimeoutManager timeoutManager,
@@ -22,12 +22,14 @@ package org.hibernate.search.query.hibernate.impl;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.hibernate.engine.spi.EntityKey;
 import org.hibernate.engine.spi.PersistenceContext;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.search.engine.spi.SearchFactoryImplementor;
+import org.hibernate.search.spi.EntityIdentifierMetadata;
 import org.hibernate.search.util.logging.impl.Log;
 
 import org.hibernate.Criteria;
@@ -42,12 +44,15 @@ import org.hibernate.search.util.logging.impl.LoggerFactory;
 public class PersistenceContextObjectsInitializer implements ObjectsInitializer {
 	private static final Log log = LoggerFactory.make();
 	private final ObjectsInitializer delegate;
+	private final EntityIdentifierMetadata identifierMetadata;
 
-	public PersistenceContextObjectsInitializer(ObjectsInitializer delegate) {
+	public PersistenceContextObjectsInitializer(ObjectsInitializer delegate, EntityIdentifierMetadata identifierMetadata) {
 		this.delegate = delegate;
+		this.identifierMetadata = identifierMetadata;
 	}
 
 	public void initializeObjects(EntityInfo[] entityInfos,
+										 Map<EntityInfoLoadKey, Object> idToObjectMap,
 										 Criteria criteria, Class<?> entityType,
 										 SearchFactoryImplementor searchFactoryImplementor,
 										 TimeoutManager timeoutManager,
@@ -69,10 +74,14 @@ public class PersistenceContextObjectsInitializer implements ObjectsInitializer
 		//check the persistence context
 		List<EntityInfo> remainingEntityInfos = new ArrayList<EntityInfo>( maxResults );
 		for ( EntityInfo entityInfo : entityInfos ) {
-			if ( ObjectLoaderHelper.areDocIdAndEntityIdIdentical( entityInfo, session ) ) {
+			if ( identifierMetadata.areDocIdAndEntityIdIdentical( entityInfo ) ) {
 				EntityKey entityKey = new EntityKey( entityInfo.getId(), persister, session.getTenantIdentifier() );
 				final boolean isInitialized = persistenceContext.containsEntity( entityKey );
-				if ( !isInitialized ) {
+				if ( isInitialized ) {
+					final Object entity = session.load( entityInfo.getClazz(), entityInfo.getId() );
+					idToObjectMap.put( new EntityInfoLoadKey( entityInfo.getClazz(), entityInfo.getId() ), entity );
+				}
+				else {
 					remainingEntityInfos.add( entityInfo );
 				}
 			}
@@ -89,6 +98,7 @@ public class PersistenceContextObjectsInitializer implements ObjectsInitializer
 		if (remainingSize > 0) {
 			delegate.initializeObjects(
 					remainingEntityInfos.toArray( new EntityInfo[remainingSize] ),
+					idToObjectMap,
 					criteria,
 					entityType,
 					searchFactoryImplementor,
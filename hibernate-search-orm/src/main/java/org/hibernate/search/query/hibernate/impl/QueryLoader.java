@@ -24,7 +24,9 @@
 package org.hibernate.search.query.hibernate.impl;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.hibernate.Criteria;
 import org.hibernate.Session;
@@ -33,6 +35,7 @@ import org.hibernate.internal.CriteriaImpl;
 import org.hibernate.search.engine.spi.SearchFactoryImplementor;
 import org.hibernate.search.query.engine.spi.EntityInfo;
 import org.hibernate.search.query.engine.spi.TimeoutManager;
+import org.hibernate.search.spi.EntityIdentifierMetadata;
 
 /**
  * @author Emmanuel Bernard
@@ -47,6 +50,7 @@ public class QueryLoader extends AbstractLoader {
 	private boolean isExplicitCriteria;
 	private TimeoutManager timeoutManager;
 	private ObjectsInitializer objectsInitializer;
+	private EntityIdentifierMetadata identifierMetadata;
 	private boolean sizeSafe = true;
 
 
@@ -61,6 +65,10 @@ public class QueryLoader extends AbstractLoader {
 		this.objectsInitializer = objectsInitializer;
 	}
 
+	public void setIdentifierMetadata(EntityIdentifierMetadata identifierMetadata) {
+		this.identifierMetadata = identifierMetadata;
+	}
+
 	@Override
 	public boolean isSizeSafe() {
 		return sizeSafe;
@@ -75,7 +83,7 @@ public class QueryLoader extends AbstractLoader {
 		if ( isExplicitCriteria ) {
 			load( new EntityInfo[] { entityInfo } );
 		}
-		final Object result = ObjectLoaderHelper.load( entityInfo, session );
+		final Object result = ObjectLoaderHelper.load( entityInfo, session, identifierMetadata );
 		timeoutManager.isTimedOut();
 		return result;
 	}
@@ -88,14 +96,16 @@ public class QueryLoader extends AbstractLoader {
 			throw new AssertionFailure( "EntityType not defined" );
 		}
 
+		Map<EntityInfoLoadKey, Object> idToObjectMap = new HashMap<EntityInfoLoadKey, Object>( entityInfos.length );
 		objectsInitializer.initializeObjects(
 				entityInfos,
+				idToObjectMap,
 				criteria,
 				entityType,
 				searchFactoryImplementor,
 				timeoutManager,
 				session);
-		return ObjectLoaderHelper.returnAlreadyLoadedObjectsInCorrectOrder( entityInfos, session );
+		return ObjectLoaderHelper.returnAlreadyLoadedObjectsInCorrectOrder( entityInfos, idToObjectMap );
 	}
 
 	public void setCriteria(Criteria criteria) {
@@ -36,6 +36,12 @@ import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.hibernate.search.util.logging.impl.Log;
 
@@ -82,6 +88,7 @@ public class ScrollableResultsImpl implements ScrollableResults {
 	private final Loader loader;
 	private final DocumentExtractor documentExtractor;
 	private final SessionImplementor session;
+	private final ExecutorService prefetchExecutor;
 	
 	/**
 	 * Caches result rows and EntityInfo from
@@ -91,9 +98,27 @@ public class ScrollableResultsImpl implements ScrollableResults {
 	
 	private int current;
 
+	/**
+	 * The next window of EntityInfos, being extracted while the current one is loaded;
+	 * the documentExtractor must not be used until it is done.
+	 */
+	private Future<List<EntityInfo>> prefetch;
+	private int prefetchFirst;
+
 	public ScrollableResultsImpl(int fetchSize, DocumentExtractor extractor,
 			Loader loader, SessionImplementor sessionImplementor
 	) {
+		this( fetchSize, extractor, loader, sessionImplementor, null );
+	}
+
+	/**
+	 * @param prefetchExecutor if not null, the next window of EntityInfos is extracted
+	 * by this executor while the entities of the current one are loaded
+	 */
+	public ScrollableResultsImpl(int fetchSize, DocumentExtractor extractor,
+			Loader loader, SessionImplementor sessionImplementor, ExecutorService prefetchExecutor
+	) {
+		this.prefetchExecutor = prefetchExecutor;
 		this.loader = loader;
 		this.documentExtractor = extractor;
 		this.fetchSize = fetchSize;
@@ -113,29 +138,113 @@ public class ScrollableResultsImpl implements ScrollableResults {
 		// the loading window is optimized for scrolling in both directions:
 		int windowStop = Math.min( max + 1 , current + fetchSize );
 		int windowStart = Math.max( first, current - fetchSize + 1 );
-		List<EntityInfo> entityInfosToLoad = new ArrayList<EntityInfo>( fetchSize );
-		int sizeToLoad = 0;
+		List<Integer> positionsToLoad = new ArrayList<Integer>( fetchSize );
 		for (int x = windowStart; x < windowStop; x++) {
-			int arrayIdx = x - first;
-			LoadedObject lo = resultsContext[arrayIdx];
-			if ( lo == null ) {
-				lo = new LoadedObject();
-				// makes hard references and extract EntityInfos:
-				entityInfosToLoad.add( lo.getEntityInfo( x ) );
-				resultsContext[arrayIdx] = lo;
-				sizeToLoad++;
-				if ( sizeToLoad >= fetchSize )
+			if ( resultsContext[x - first] == null ) {
+				positionsToLoad.add( x );
+				if ( positionsToLoad.size() >= fetchSize )
 					break;
 			}
 		}
+		int sizeToLoad = positionsToLoad.size();
+		// extract the EntityInfos of the window at once, to read the index in document order:
+		int firstToLoad = positionsToLoad.get( 0 );
+		int lastToLoad = positionsToLoad.get( sizeToLoad - 1 );
+		List<EntityInfo> extracted = extractEntityInfos( firstToLoad, lastToLoad );
+		List<EntityInfo> entityInfosToLoad = new ArrayList<EntityInfo>( sizeToLoad );
+		for ( int x : positionsToLoad ) {
+			LoadedObject lo = new LoadedObject();
+			// makes hard references to the EntityInfos:
+			EntityInfo entityInfo = extracted.get( x - firstToLoad );
+			lo.setEntityInfo( entityInfo );
+			entityInfosToLoad.add( entityInfo );
+			resultsContext[x - first] = lo;
+		}
 		//preload efficiently by batches:
 		if ( sizeToLoad > 1 ) {
+			//while the next window is extracted
+			startPrefetch( lastToLoad + 1 );
 			loader.load( entityInfosToLoad.toArray( new EntityInfo[sizeToLoad] ) );
 			//(no references stored at this point: they still need to be loaded one by one to inject null results)
 		}
 		return resultsContext[ current - first ];
 	}
 	
+	private List<EntityInfo> extractEntityInfos(int firstIndex, int lastIndex) {
+		List<EntityInfo> prefetched = waitForPrefetch();
+		if ( prefetched != null && firstIndex >= prefetchFirst && lastIndex < prefetchFirst + prefetched.size() ) {
+			return prefetched.subList( firstIndex - prefetchFirst, lastIndex - prefetchFirst + 1 );
+		}
+		try {
+			return documentExtractor.extract( firstIndex, lastIndex );
+		}
+		catch (IOException e) {
+			throw new SearchException( "Unable to read Lucene topDocs[" + firstIndex + ".." + lastIndex + "]", e );
+		}
+	}
+
+	/**
+	 * Starts extracting the window of EntityInfos following the one being loaded,
+	 * unless it is already loaded or prefetching is disabled.
+	 */
+	private void startPrefetch(final int firstIndex) {
+		if ( prefetchExecutor == null || firstIndex > max || resultsContext[firstIndex - first] != null ) {
+			return;
+		}
+		final int lastIndex = Math.min( max, firstIndex + fetchSize - 1 );
+		try {
+			prefetch = prefetchExecutor.submit(
+					new Callable<List<EntityInfo>>() {
+						public List<EntityInfo> call() throws IOException {
+							return documentExtractor.extract( firstIndex, lastIndex );
+						}
+					}
+			);
+			prefetchFirst = firstIndex;
+		}
+		catch (RejectedExecutionException e) {
+			//too many pending parallel tasks, or the executor is stopped: the window will be extracted when needed
+		}
+	}
+
+	/**
+	 * Waits for the prefetching of EntityInfos to be done, if any
+	 *
+	 * @return the prefetched EntityInfos, or null if there are none or if their extraction failed
+	 */
+	private List<EntityInfo> waitForPrefetch() {
+		if ( prefetch == null ) {
+			return null;
+		}
+		Future<List<EntityInfo>> pending = prefetch;
+		prefetch = null;
+		boolean interrupted = false;
+		try {
+			while ( true ) {
+				try {
+					return pending.get();
+				}
+				catch (InterruptedException e) {
+					//the extraction has to be over before the documentExtractor is used again
+					interrupted = true;
+				}
+				catch (ExecutionException e) {
+					//extract again, to report the failure to the caller
+					return null;
+				}
+				catch (CancellationException e) {
+					//the executor was stopped before running the extraction
+					return null;
+				}
+			}
+		}
+		finally {
+			if ( interrupted ) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -215,6 +324,7 @@ public class ScrollableResultsImpl implements ScrollableResults {
 	}
 
 	public void close() {
+		waitForPrefetch();
 		try {
 			documentExtractor.close();
 		}
@@ -444,6 +554,10 @@ public class ScrollableResultsImpl implements ScrollableResults {
 			}
 		}
 
+		private void setEntityInfo(EntityInfo entityInfo) {
+			einfo = new SoftReference<EntityInfo>( entityInfo );
+		}
+
 		/**
 		 * Extract an entityInfo, either from cache or from the index.
 		 * @param x the position in the index.
@@ -452,6 +566,7 @@ public class ScrollableResultsImpl implements ScrollableResults {
 		private EntityInfo getEntityInfo(int x) {
 			EntityInfo entityInfo = einfo==null ? null : einfo.get();
 			if ( entityInfo==null ) {
+				waitForPrefetch();
 				try {
 					entityInfo = documentExtractor.extract( x );
 				}
@@ -22,8 +22,10 @@ package org.hibernate.search.query.hibernate.impl;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.hibernate.search.engine.spi.SearchFactoryImplementor;
+import org.hibernate.search.spi.EntityIdentifierMetadata;
 import org.hibernate.search.util.logging.impl.Log;
 
 import org.hibernate.Criteria;
@@ -42,12 +44,15 @@ import org.hibernate.search.util.logging.impl.LoggerFactory;
 public class SecondLevelCacheObjectsInitializer implements ObjectsInitializer {
 	private static final Log log = LoggerFactory.make();
 	private final ObjectsInitializer delegate;
+	private final EntityIdentifierMetadata identifierMetadata;
 
-	public SecondLevelCacheObjectsInitializer(ObjectsInitializer delegate) {
+	public SecondLevelCacheObjectsInitializer(ObjectsInitializer delegate, EntityIdentifierMetadata identifierMetadata) {
 		this.delegate = delegate;
+		this.identifierMetadata = identifierMetadata;
 	}
 
 	public void initializeObjects(EntityInfo[] entityInfos,
+										 Map<EntityInfoLoadKey, Object> idToObjectMap,
 										 Criteria criteria, Class<?> entityType,
 										 SearchFactoryImplementor searchFactoryImplementor,
 										 TimeoutManager timeoutManager,
@@ -63,12 +68,15 @@ public class SecondLevelCacheObjectsInitializer implements ObjectsInitializer {
 		//check the second-level cache
 		List<EntityInfo> remainingEntityInfos = new ArrayList<EntityInfo>( entityInfos.length );
 		for ( EntityInfo entityInfo : entityInfos ) {
-			if ( ObjectLoaderHelper.areDocIdAndEntityIdIdentical( entityInfo, session ) ) {
+			if ( identifierMetadata.areDocIdAndEntityIdIdentical( entityInfo ) ) {
 				final boolean isIn2LCache = session.getSessionFactory().getCache().containsEntity( entityInfo.getClazz(), entityInfo.getId() );
 				if ( isIn2LCache ) {
 					try {
 						//load the object from the second level cache
-						session.get( entityInfo.getClazz(), entityInfo.getId() );
+						final Object entity = session.get( entityInfo.getClazz(), entityInfo.getId() );
+						if ( entity != null ) {
+							idToObjectMap.put( new EntityInfoLoadKey( entityInfo.getClazz(), entityInfo.getId() ), entity );
+						}
 					}
 					catch (ObjectNotFoundException onfe) {
 						// Unlikely but needed: an index might be out of sync, and the cache might be as well
@@ -92,6 +100,7 @@ public class SecondLevelCacheObjectsInitializer implements ObjectsInitializer {
 		if ( remainingSize > 0 ) {
 			delegate.initializeObjects(
 					remainingEntityInfos.toArray( new EntityInfo[remainingSize] ),
+					idToObjectMap,
 					criteria,
 					entityType,
 					searchFactoryImplementor,
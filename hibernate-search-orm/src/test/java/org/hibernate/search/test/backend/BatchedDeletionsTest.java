@@ -0,0 +1,116 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.test.backend;
+
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+
+import org.hibernate.Transaction;
+import org.hibernate.search.FullTextSession;
+import org.hibernate.search.Search;
+import org.hibernate.search.test.SearchTestCase;
+
+/**
+ * Tests the deletions and updates of a work list applied in a batch, both in an index holding
+ * a single entity type and in an index shared by several types.
+ */
+public class BatchedDeletionsTest extends SearchTestCase {
+
+	private static final int ENTITIES = 20;
+
+	public void testDeletionsAndUpdatesOfSingleTypeIndex() {
+		FullTextSession s = Search.getFullTextSession( openSession() );
+		Transaction tx = s.beginTransaction();
+		for ( int i = 1; i <= ENTITIES; i++ ) {
+			s.persist( new Lamp( i, "bright" ) );
+		}
+		tx.commit();
+		s.clear();
+
+		tx = s.beginTransaction();
+		for ( int i = 1; i <= ENTITIES; i++ ) {
+			Lamp lamp = (Lamp) s.get( Lamp.class, i );
+			if ( i <= ENTITIES / 2 ) {
+				s.delete( lamp );
+			}
+			else {
+				lamp.setBrand( "dim" );
+			}
+		}
+		tx.commit();
+		s.clear();
+
+		tx = s.beginTransaction();
+		assertEquals( ENTITIES / 2, count( s, new MatchAllDocsQuery(), Lamp.class ) );
+		assertEquals( 0, count( s, brand( "bright" ), Lamp.class ) );
+		assertEquals( ENTITIES / 2, count( s, brand( "dim" ), Lamp.class ) );
+		tx.commit();
+		s.close();
+	}
+
+	public void testDeletionsAndUpdatesOfSharedIndex() {
+		FullTextSession s = Search.getFullTextSession( openSession() );
+		Transaction tx = s.beginTransaction();
+		for ( int i = 1; i <= ENTITIES; i++ ) {
+			s.persist( new Radio( i, "loud" ) );
+			s.persist( new Television( i, "loud" ) );
+		}
+		tx.commit();
+		s.clear();
+
+		// the televisions have the same ids as the radios: they must not be affected
+		tx = s.beginTransaction();
+		for ( int i = 1; i <= ENTITIES; i++ ) {
+			Radio radio = (Radio) s.get( Radio.class, i );
+			if ( i <= ENTITIES / 2 ) {
+				s.delete( radio );
+			}
+			else {
+				radio.setBrand( "quiet" );
+			}
+		}
+		tx.commit();
+		s.clear();
+
+		tx = s.beginTransaction();
+		assertEquals( ENTITIES / 2, count( s, new MatchAllDocsQuery(), Radio.class ) );
+		assertEquals( ENTITIES / 2, count( s, brand( "quiet" ), Radio.class ) );
+		assertEquals( 0, count( s, brand( "loud" ), Radio.class ) );
+		assertEquals( ENTITIES, count( s, brand( "loud" ), Television.class ) );
+		tx.commit();
+		s.close();
+	}
+
+	private static Query brand(String brand) {
+		return new TermQuery( new Term( "brand", brand ) );
+	}
+
+	private static int count(FullTextSession s, Query query, Class<?> type) {
+		return s.createFullTextQuery( query, type ).getResultSize();
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Lamp.class, Radio.class, Television.class };
+	}
+}
@@ -0,0 +1,88 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.test.backend;
+
+import java.util.Collections;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.search.Environment;
+import org.hibernate.search.SearchException;
+import org.hibernate.search.backend.LuceneWork;
+import org.hibernate.search.backend.PurgeAllLuceneWork;
+import org.hibernate.search.backend.impl.lucene.LuceneBackendQueueProcessor;
+import org.hibernate.search.engine.spi.SearchFactoryImplementor;
+import org.hibernate.search.indexes.impl.DirectoryBasedIndexManager;
+import org.hibernate.search.test.Clock;
+import org.hibernate.search.test.util.FullTextSessionBuilder;
+import org.junit.Test;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Verifies a synchronous backend having group commit enabled fails the work applied
+ * once it's closed, rather than waiting forever for a commit which will never happen.
+ */
+public class GroupCommitClosedBackendTest {
+
+	@Test
+	public void testWorkAppliedAfterCloseFails() throws Exception {
+		FullTextSessionBuilder builder = new FullTextSessionBuilder()
+				.addAnnotatedClass( Clock.class )
+				.setProperty( "hibernate.search.default." + Environment.WORKER_EXECUTION, "sync" )
+				.setProperty( "hibernate.search.default." + Environment.WORKER_GROUP_COMMIT, "true" )
+				.build();
+		SearchFactoryImplementor searchFactory = (SearchFactoryImplementor) builder.getSearchFactory();
+		DirectoryBasedIndexManager indexManager = (DirectoryBasedIndexManager) searchFactory
+				.getIndexBindingForEntity( Clock.class ).getIndexManagers()[0];
+		final LuceneBackendQueueProcessor backend = (LuceneBackendQueueProcessor) indexManager.getBackendQueueProcessor();
+		builder.close();
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<?> applied = executor.submit(
+					new Callable<Void>() {
+						@Override
+						public Void call() {
+							backend.applyWork(
+									Collections.<LuceneWork>singletonList( new PurgeAllLuceneWork( Clock.class ) ), null
+							);
+							return null;
+						}
+					}
+			);
+			applied.get( 30, TimeUnit.SECONDS );
+			fail( "the work should not be accepted by a closed backend" );
+		}
+		catch (ExecutionException e) {
+			assertTrue( e.getCause() instanceof SearchException );
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+}
@@ -0,0 +1,59 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.test.backend;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.search.annotations.DocumentId;
+import org.hibernate.search.annotations.Field;
+import org.hibernate.search.annotations.Indexed;
+import org.hibernate.search.annotations.NumericField;
+
+/**
+ * An entity indexed alone, with a numeric document id.
+ */
+@Entity
+@Indexed
+public class Lamp {
+
+	@Id
+	@DocumentId
+	@NumericField
+	private Integer id;
+
+	@Field
+	private String brand;
+
+	public Lamp() { }
+
+	public Lamp(Integer id, String brand) {
+		this.id = id;
+		this.brand = brand;
+	}
+
+	public Integer getId() { return id; }
+	public void setId(Integer id) { this.id = id; }
+
+	public String getBrand() { return brand; }
+	public void setBrand(String brand) { this.brand = brand; }
+
+}
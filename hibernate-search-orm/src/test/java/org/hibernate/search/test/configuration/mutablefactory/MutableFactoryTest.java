@@ -31,6 +31,7 @@ import java.util.concurrent.TimeUnit;
 import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.queryParser.QueryParser;
 import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.TopDocs;
 
@@ -125,6 +126,34 @@ public class MutableFactoryTest {
 		sf.close();
 	}
 
+	@Test
+	public void testQueryingAllEntitiesWhileAddingClasses() throws Exception {
+		ManualConfiguration configuration = getTestConfiguration();
+		SearchFactoryIntegrator sf = new SearchFactoryBuilder().configuration( configuration ).buildSearchFactory();
+
+		sf.addClasses( A.class );
+		ManualTransactionContext tc = new ManualTransactionContext();
+		doIndexWork( new A( 1, "Emmanuel" ), 1, sf, tc );
+		tc.end();
+		assertEquals( 1, countAllEntities( sf ) );
+
+		// the targets of queries on all entities have to include the new class
+		sf.addClasses( B.class );
+		tc = new ManualTransactionContext();
+		doIndexWork( new B( 1, "Noel" ), 1, sf, tc );
+		tc.end();
+		assertEquals( 2, countAllEntities( sf ) );
+
+		sf.close();
+	}
+
+	private static int countAllEntities(SearchFactoryIntegrator sf) {
+		return sf.createHSQuery()
+				.luceneQuery( new MatchAllDocsQuery() )
+				.targetedEntities( new ArrayList<Class<?>>() )
+				.queryResultSize();
+	}
+
 	@Test
 	public void testAddingClassSimpleAPI() throws Exception {
 		ManualConfiguration configuration = getTestConfiguration();
@@ -0,0 +1,106 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.test.errorhandling;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.Assert;
+import org.apache.lucene.index.IndexWriter;
+
+import org.hibernate.search.Environment;
+import org.hibernate.search.backend.IndexingMonitor;
+import org.hibernate.search.backend.LuceneWork;
+import org.hibernate.search.backend.impl.StreamingSelectionVisitor;
+import org.hibernate.search.backend.impl.WorkVisitor;
+import org.hibernate.search.backend.impl.lucene.works.LuceneWorkDelegate;
+import org.hibernate.search.batchindexing.MassIndexerProgressMonitor;
+import org.hibernate.search.engine.spi.SearchFactoryImplementor;
+import org.hibernate.search.indexes.spi.IndexManager;
+import org.hibernate.search.test.Document;
+
+/**
+ * Verifies the failures are reported as expected when the backend applies
+ * the work lists in slices.
+ *
+ * @see Environment#WORKER_CHUNKED_EXECUTION
+ */
+public class ChunkedExecutionErrorHandlingTest extends LuceneErrorHandlingTest {
+
+	public void testErrorDoesNotSkipTheRestOfTheSlice() {
+		SearchFactoryImplementor searchFactory = getSearchFactoryImpl();
+		IndexManager indexManager = searchFactory.getIndexBindingForEntity( Document.class ).getIndexManagers()[0];
+		MockErrorHandler mockErrorHandler = (MockErrorHandler) searchFactory.getErrorHandler();
+		List<LuceneWork> queue = new ArrayList<LuceneWork>();
+		// two slices, the error being the first work of the first one
+		queue.add( new ErrorThrowingWork( "errorWork" ) );
+		queue.add( new HarmlessWork( "secondWork" ) );
+		queue.add( new HarmlessWork( "thirdWork" ) );
+		queue.add( new HarmlessWork( "fourthWork" ) );
+		workcounter.set( 0 ); // reset work counter
+		indexManager.performOperations( queue, null );
+		Assert.assertEquals( 3, workcounter.get() );
+		Assert.assertTrue( mockErrorHandler.getLastException() instanceof WorkError );
+	}
+
+	@Override
+	protected void configure(org.hibernate.cfg.Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( "hibernate.search.default." + Environment.WORKER_THREADPOOL_SIZE, "2" );
+		cfg.setProperty( "hibernate.search.default." + Environment.WORKER_CHUNKED_EXECUTION, "true" );
+	}
+
+	/**
+	 * A LuceneWork which will throw an Error when applied to the index.
+	 */
+	static class ErrorThrowingWork extends HarmlessWork {
+
+		public ErrorThrowingWork(String workIdentifier) {
+			super( workIdentifier );
+		}
+
+		@Override
+		public <T> T getWorkDelegate(WorkVisitor<T> visitor) {
+			if ( visitor instanceof StreamingSelectionVisitor ) {
+				return super.getWorkDelegate( visitor );
+			}
+			else {
+				return (T) new ErrorThrowingLuceneWorkDelegate();
+			}
+		}
+
+	}
+
+	static class ErrorThrowingLuceneWorkDelegate implements LuceneWorkDelegate {
+
+		public void logWorkDone(LuceneWork work, MassIndexerProgressMonitor monitor) {
+		}
+
+		public void performWork(LuceneWork work, IndexWriter writer, IndexingMonitor monitor) {
+			throw new WorkError();
+		}
+
+	}
+
+	static class WorkError extends Error {
+	}
+
+}
@@ -35,6 +35,7 @@ import java.util.concurrent.TimeUnit;
 import org.apache.lucene.search.DocIdSet;
 import org.apache.lucene.search.DocIdSetIterator;
 import org.apache.lucene.util.DocIdBitSet;
+import org.apache.lucene.util.FixedBitSet;
 import org.apache.lucene.util.OpenBitSet;
 import org.apache.lucene.util.SortedVIntList;
 
@@ -334,6 +335,86 @@ public class AndDocIdSetsTest {
 		assertTrue( docIdSetsEqual( expected, actual ) );
 	}
 
+	@Test
+	public void testWithFixedBitSet() {
+		FixedBitSet idSet1 = new FixedBitSet( 100 );
+		idSet1.set( 0 );
+		idSet1.set( 5 );
+		idSet1.set( 6 );
+		idSet1.set( 99 );
+		FixedBitSet idSet2 = new FixedBitSet( 50 );
+		idSet2.set( 6 );
+		idSet2.set( 7 );
+		DocIdSet actual = createAndDocIdSet( idSet1, idSet2 );
+
+		DocIdSet expected = integersToDocIdSet( 6 );
+		assertTrue( docIdSetsEqual( expected, actual ) );
+	}
+
+	@Test
+	public void testOnRandomMixedImplementations() {
+		Random r = new Random( 17L );
+		int maxDocs = 200000;
+		List<BitSet> filtersData = new ArrayList<BitSet>();
+		// from dense to very sparse
+		filtersData.add( makeRandomBitSet( r, maxDocs, 2 ) );
+		filtersData.add( makeRandomBitSet( r, maxDocs, 2 ) );
+		filtersData.add( makeRandomBitSet( r, maxDocs, 3 ) );
+		filtersData.add( makeRandomBitSet( r, maxDocs, 5 ) );
+		filtersData.add( makeRandomBitSet( r, maxDocs, 40 ) );
+		DocIdSet expected = new DocIdBitSet( applyANDOnBitSets( filtersData ) );
+
+		List<DocIdSet> filters = new ArrayList<DocIdSet>();
+		filters.add( toOpenBitSet( filtersData.get( 0 ) ) );
+		filters.add( new DocIdBitSet( filtersData.get( 1 ) ) );
+		filters.add( toFixedBitSet( filtersData.get( 2 ), maxDocs ) );
+		filters.add( new SortedVIntList( filtersData.get( 3 ) ) );
+		filters.add( new SortedVIntList( filtersData.get( 4 ) ) );
+		assertTrue( docIdSetsEqual( expected, new AndDocIdSet( filters, maxDocs ) ) );
+		// bitsets only
+		assertTrue(
+				docIdSetsEqual(
+						new DocIdBitSet( applyANDOnBitSets( filtersData.subList( 0, 3 ) ) ),
+						new AndDocIdSet( filters.subList( 0, 3 ), maxDocs )
+				)
+		);
+		// iterators only, with a dense result
+		assertTrue(
+				docIdSetsEqual(
+						new DocIdBitSet( applyANDOnBitSets( filtersData.subList( 0, 2 ) ) ),
+						new AndDocIdSet( Arrays.<DocIdSet>asList(
+								new SortedVIntList( filtersData.get( 0 ) ),
+								new SortedVIntList( filtersData.get( 1 ) ) ), maxDocs )
+				)
+		);
+	}
+
+	private static BitSet makeRandomBitSet(final Random randomSource, final int maxSize, final int oneIn) {
+		BitSet bitSet = new BitSet();
+		for ( int datai = 0; datai < maxSize; datai++ ) {
+			if ( randomSource.nextInt( oneIn ) == 0 ) {
+				bitSet.set( datai );
+			}
+		}
+		return bitSet;
+	}
+
+	private static OpenBitSet toOpenBitSet(BitSet bitSet) {
+		OpenBitSet openBitSet = new OpenBitSet();
+		for ( int i = bitSet.nextSetBit( 0 ); i >= 0; i = bitSet.nextSetBit( i + 1 ) ) {
+			openBitSet.set( i );
+		}
+		return openBitSet;
+	}
+
+	private static FixedBitSet toFixedBitSet(BitSet bitSet, int maxDocs) {
+		FixedBitSet fixedBitSet = new FixedBitSet( maxDocs );
+		for ( int i = bitSet.nextSetBit( 0 ); i >= 0; i = bitSet.nextSetBit( i + 1 ) ) {
+			fixedBitSet.set( i );
+		}
+		return fixedBitSet;
+	}
+
 	private AndDocIdSet createAndDocIdSet(DocIdSet... docIdSets) {
 		List<DocIdSet> list = new ArrayList<DocIdSet>();
 		list.addAll( Arrays.asList( docIdSets ) );
@@ -0,0 +1,71 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.test.filter;
+
+import java.util.Properties;
+
+import org.apache.lucene.search.Filter;
+
+import org.hibernate.search.Environment;
+import org.hibernate.search.filter.StandardFilterKey;
+import org.hibernate.search.filter.impl.ConcurrentFilterCachingStrategy;
+
+/**
+ * Runs the filter tests using the concurrent filter caching strategy.
+ */
+public class ConcurrentFilterCachingStrategyTest extends FilterTest {
+
+	public void testStrategyIsSelected() {
+		assertTrue( getSearchFactoryImpl().getFilterCachingStrategy() instanceof ConcurrentFilterCachingStrategy );
+	}
+
+	public void testStatistics() {
+		ConcurrentFilterCachingStrategy strategy = new ConcurrentFilterCachingStrategy();
+		Properties properties = new Properties();
+		properties.setProperty( Environment.FILTER_CACHING_STRATEGY + ".size", "1" );
+		strategy.initialize( properties );
+		// one strong reference and 15 soft references
+		Filter[] filters = new Filter[20];
+		for ( int i = 0; i < filters.length; i++ ) {
+			filters[i] = new ExcludeAllFilter();
+			strategy.addCachedFilter( key( i ), filters[i] );
+		}
+		assertEquals( 5, strategy.getEvictionCount() );
+		assertNull( strategy.getCachedFilter( key( 0 ) ) );
+		assertSame( filters[19], strategy.getCachedFilter( key( 19 ) ) );
+		assertSame( filters[5], strategy.getCachedFilter( key( 5 ) ) );
+		assertEquals( 2, strategy.getHitCount() );
+		assertEquals( 1, strategy.getMissCount() );
+	}
+
+	private static StandardFilterKey key(int i) {
+		StandardFilterKey key = new StandardFilterKey();
+		key.setImpl( ExcludeAllFilter.class );
+		key.addParameter( i );
+		return key;
+	}
+
+	@Override
+	protected void configure(org.hibernate.cfg.Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( Environment.FILTER_CACHING_STRATEGY, "concurrent" );
+	}
+}
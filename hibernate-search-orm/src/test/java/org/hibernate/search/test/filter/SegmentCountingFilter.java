@@ -0,0 +1,54 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.test.filter;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.search.DocIdSet;
+import org.apache.lucene.search.Filter;
+import org.apache.lucene.util.OpenBitSet;
+
+/**
+ * Accepts all documents, counting the segments it's applied to.
+ */
+@SuppressWarnings("serial")
+public class SegmentCountingFilter extends Filter {
+
+	private static final AtomicInteger filteredSegments = new AtomicInteger();
+
+	@Override
+	public DocIdSet getDocIdSet(IndexReader reader) throws IOException {
+		filteredSegments.incrementAndGet();
+		OpenBitSet bitSet = new OpenBitSet( reader.maxDoc() );
+		bitSet.set( 0, reader.maxDoc() );
+		return bitSet;
+	}
+
+	public static int getFilteredSegments() {
+		return filteredSegments.get();
+	}
+
+	public static void reset() {
+		filteredSegments.set( 0 );
+	}
+}
@@ -0,0 +1,107 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.test.filter;
+
+import org.apache.lucene.search.MatchAllDocsQuery;
+
+import org.hibernate.Session;
+import org.hibernate.search.FullTextQuery;
+import org.hibernate.search.FullTextSession;
+import org.hibernate.search.Search;
+import org.hibernate.search.test.SearchTestCase;
+
+/**
+ * Verifies that cached filter results are reused for the segments which didn't change
+ * when the index is reopened, as it's frequent with near-real-time readers.
+ */
+public class SegmentFilterCachingTest extends SearchTestCase {
+
+	public void testOnlyChangedSegmentsAreFiltered() {
+		SegmentCountingFilter.reset();
+		Courier first = storeCouriers( "Fred", "Wilma" );
+		assertEquals( 2, countFiltered() );
+		assertEquals( 1, SegmentCountingFilter.getFilteredSegments() );
+
+		// adds a new segment, the first one is unchanged
+		storeCouriers( "Barney" );
+		assertEquals( 3, countFiltered() );
+		assertEquals( 2, SegmentCountingFilter.getFilteredSegments() );
+
+		// nothing changed
+		assertEquals( 3, countFiltered() );
+		assertEquals( 2, SegmentCountingFilter.getFilteredSegments() );
+
+		// deleting from the first segment needs it to be filtered again
+		Session s = openSession();
+		s.getTransaction().begin();
+		s.delete( s.get( Courier.class, first.getId() ) );
+		s.getTransaction().commit();
+		s.close();
+		assertEquals( 2, countFiltered() );
+		assertEquals( 3, SegmentCountingFilter.getFilteredSegments() );
+	}
+
+	/**
+	 * Stores the couriers in a single transaction, so they end up in a single segment.
+	 * @return the first stored courier
+	 */
+	private Courier storeCouriers(String... names) {
+		Session s = openSession();
+		s.getTransaction().begin();
+		Courier first = null;
+		for ( String name : names ) {
+			Courier courier = new Courier();
+			courier.setName( name );
+			s.persist( courier );
+			if ( first == null ) {
+				first = courier;
+			}
+		}
+		s.getTransaction().commit();
+		s.close();
+		return first;
+	}
+
+	private int countFiltered() {
+		FullTextSession s = Search.getFullTextSession( openSession() );
+		try {
+			FullTextQuery query = s.createFullTextQuery( new MatchAllDocsQuery(), Courier.class );
+			query.enableFullTextFilter( "segmentCounting" );
+			return query.getResultSize();
+		}
+		finally {
+			s.close();
+		}
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] {
+				Courier.class
+		};
+	}
+
+	@Override
+	protected void configure(org.hibernate.cfg.Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( "hibernate.search.default.indexmanager", "near-real-time" );
+	}
+}
@@ -0,0 +1,172 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.test.query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+
+import org.hibernate.QueryTimeoutException;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.search.Environment;
+import org.hibernate.search.FullTextQuery;
+import org.hibernate.search.FullTextSession;
+import org.hibernate.search.Search;
+import org.hibernate.search.SearchException;
+import org.hibernate.search.test.SearchTestCase;
+import org.hibernate.stat.Statistics;
+
+/**
+ * Tests executing queries asynchronously: the index is searched in the background, the entities
+ * are loaded by the thread owning the session.
+ */
+public class AsyncQueryTest extends SearchTestCase {
+
+	private static final int AUTHORS = 50;
+
+	private FullTextSession session;
+	private Statistics statistics;
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		session = Search.getFullTextSession( openSession() );
+		Transaction tx = session.beginTransaction();
+		for ( int i = 0; i < AUTHORS; i++ ) {
+			Author author = new Author();
+			author.setName( name( i ) );
+			session.persist( author );
+		}
+		tx.commit();
+		session.clear();
+		statistics = getSessions().getStatistics();
+		statistics.setStatisticsEnabled( true );
+		statistics.clear();
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		statistics.setStatisticsEnabled( false );
+		session.close();
+		super.tearDown();
+	}
+
+	public void testIndependentQueriesRunConcurrently() throws Exception {
+		Future<List> all = createQuery().listAsync();
+		Future<List> single = session.createFullTextQuery(
+				new TermQuery( new Term( "name", name( 7 ) ) ), Author.class
+		).listAsync();
+		Future<Integer> size = createQuery().getResultSizeAsync();
+
+		assertEquals( AUTHORS, size.get().intValue() );
+		List<String> names = names( all.get() );
+		assertEquals( AUTHORS, names.size() );
+		for ( int i = 0; i < AUTHORS; i++ ) {
+			assertEquals( name( AUTHORS - 1 - i ), names.get( i ) );
+		}
+		assertEquals( name( 7 ), names( single.get() ).get( 0 ) );
+	}
+
+	public void testEntitiesAreLoadedByGet() throws Exception {
+		Future<List> results = createQuery().listAsync();
+		while ( !results.isDone() ) {
+			Thread.sleep( 10 );
+		}
+		assertEquals( 0, statistics.getPrepareStatementCount() );
+		assertEquals( AUTHORS, results.get().size() );
+		assertEquals( 1, statistics.getPrepareStatementCount() );
+		assertSame( results.get(), results.get( 1, TimeUnit.SECONDS ) );
+		assertEquals( 1, statistics.getPrepareStatementCount() );
+	}
+
+	public void testListAsyncMatchesList() throws Exception {
+		FullTextQuery query = createQuery().setFirstResult( 5 ).setMaxResults( 10 );
+		List<String> expected = names( query.list() );
+		session.clear();
+		assertEquals( expected, names( query.listAsync().get() ) );
+	}
+
+	public void testTimeoutIsReportedByGet() throws Exception {
+		FullTextQuery query = createQuery();
+		query.setTimeout( 10, TimeUnit.MICROSECONDS );
+		Future<List> results = query.listAsync();
+		try {
+			results.get();
+			fail( "timeout exception should happen" );
+		}
+		catch ( ExecutionException e ) {
+			assertTrue( e.getCause() instanceof QueryTimeoutException );
+		}
+	}
+
+	public void testQueriesAreRejectedOnceStopped() throws Exception {
+		getSearchFactoryImpl().getParallelQueryExecutor().stop();
+		Future<Integer> size = createQuery().getResultSizeAsync();
+		assertTrue( size.isDone() );
+		try {
+			size.get();
+			fail( "the query should not run once the executor is stopped" );
+		}
+		catch ( ExecutionException e ) {
+			assertTrue( e.getCause() instanceof SearchException );
+		}
+	}
+
+	private FullTextQuery createQuery() {
+		return session.createFullTextQuery( new MatchAllDocsQuery(), Author.class )
+				.setSort( new Sort( new SortField( "name", SortField.STRING, true ) ) );
+	}
+
+	private static List<String> names(List<?> results) {
+		List<String> names = new ArrayList<String>();
+		for ( Object result : results ) {
+			names.add( ( (Author) result ).getName() );
+		}
+		return names;
+	}
+
+	/**
+	 * @return a name made of letters only, sorting as the index
+	 */
+	private static String name(int i) {
+		return "author" + (char) ( 'a' + i / 26 ) + (char) ( 'a' + i % 26 );
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( Environment.QUERY_ASYNC_THREADPOOL_SIZE, "2" );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Author.class };
+	}
+}
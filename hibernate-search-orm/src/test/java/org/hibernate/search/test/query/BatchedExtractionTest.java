@@ -0,0 +1,140 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.test.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+
+import org.hibernate.ScrollableResults;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.search.Environment;
+import org.hibernate.search.FullTextQuery;
+import org.hibernate.search.FullTextSession;
+import org.hibernate.search.Search;
+import org.hibernate.search.test.SearchTestCase;
+import org.hibernate.search.test.util.FieldSelectorLeakingReaderProvider;
+
+/**
+ * Tests that the stored fields of the hits of a page or of a scroll window are read in document id order,
+ * while the hits are returned in the order of the query.
+ */
+public class BatchedExtractionTest extends SearchTestCase {
+
+	private static final int AUTHORS = 30;
+
+	private FullTextSession session;
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		session = Search.getFullTextSession( openSession() );
+		Transaction tx = session.beginTransaction();
+		for ( int i = 0; i < AUTHORS; i++ ) {
+			Author author = new Author();
+			author.setName( name( i ) );
+			session.persist( author );
+		}
+		tx.commit();
+		session.clear();
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		session.close();
+		super.tearDown();
+	}
+
+	public void testPageIsReadInDocumentOrder() {
+		FieldSelectorLeakingReaderProvider.resetFieldSelector();
+		List<?> results = createQuery().setFirstResult( 5 ).setMaxResults( 10 ).list();
+		List<String> expectedNames = new ArrayList<String>();
+		for ( int i = AUTHORS - 6; i > AUTHORS - 16; i-- ) {
+			expectedNames.add( name( i ) );
+		}
+		assertEquals( expectedNames, names( results ) );
+		assertReadInDocumentOrder( 10 );
+	}
+
+	public void testScrollWindowIsReadInDocumentOrder() {
+		FieldSelectorLeakingReaderProvider.resetFieldSelector();
+		ScrollableResults scrollableResults = createQuery().setFetchSize( 10 ).scroll();
+		try {
+			for ( int i = AUTHORS - 1; i >= 0; i-- ) {
+				assertTrue( scrollableResults.next() );
+				assertEquals( name( i ), scrollableResults.get()[0] );
+				if ( i == AUTHORS - 1 ) {
+					assertReadInDocumentOrder( 10 );
+				}
+			}
+			assertFalse( scrollableResults.next() );
+		}
+		finally {
+			scrollableResults.close();
+		}
+	}
+
+	private void assertReadInDocumentOrder(int expectedReads) {
+		List<Integer> readDocumentIds = FieldSelectorLeakingReaderProvider.getReadDocumentIds();
+		assertEquals( expectedReads, readDocumentIds.size() );
+		List<Integer> sortedIds = new ArrayList<Integer>( readDocumentIds );
+		Collections.sort( sortedIds );
+		assertEquals( sortedIds, readDocumentIds );
+	}
+
+	private FullTextQuery createQuery() {
+		// the reverse order of the documents
+		return session.createFullTextQuery( new MatchAllDocsQuery(), Author.class )
+				.setProjection( "name" )
+				.setSort( new Sort( new SortField( "name", SortField.STRING, true ) ) );
+	}
+
+	private static List<String> names(List<?> results) {
+		List<String> names = new ArrayList<String>();
+		for ( Object result : results ) {
+			names.add( (String) ( (Object[]) result )[0] );
+		}
+		return names;
+	}
+
+	/**
+	 * @return a name made of letters only, sorting as the index
+	 */
+	private static String name(int i) {
+		return "author" + (char) ( 'a' + i / 26 ) + (char) ( 'a' + i % 26 );
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( "hibernate.search.default." + Environment.READER_STRATEGY, FieldSelectorLeakingReaderProvider.class.getName() );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Author.class };
+	}
+}
@@ -0,0 +1,149 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.test.query;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.hibernate.Transaction;
+import org.hibernate.search.FullTextSession;
+import org.hibernate.search.engine.spi.SearchFactoryImplementor;
+import org.hibernate.search.query.engine.spi.DocumentExtractor;
+import org.hibernate.search.query.engine.spi.HSQuery;
+import org.hibernate.search.test.util.FullTextSessionBuilder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Verifies that iterating over the hits with a cursor window returns them in the same
+ * order as when keeping all of them, whichever the sort and the direction.
+ *
+ * @see HSQuery#cursorWindowSize(int)
+ */
+public class CursorWindowTest {
+
+	private static final int BOOKS = 324;
+
+	private FullTextSessionBuilder builder;
+
+	@Before
+	public void setUp() {
+		builder = new FullTextSessionBuilder();
+		builder
+			.addAnnotatedClass( AlternateBook.class )
+			.build();
+		FullTextSession sess = builder.openFullTextSession();
+		Transaction tx = sess.beginTransaction();
+		for ( int i = 0; i < BOOKS; i++ ) {
+			// repeat some words so that the scores differ, but not for all the books
+			String summary = i % 3 == 0 ? "book about the number number " + i : "book about the number " + i;
+			sess.persist( new AlternateBook( i, summary ) );
+		}
+		tx.commit();
+		sess.close();
+	}
+
+	@After
+	public void tearDown() {
+		builder.close();
+	}
+
+	@Test
+	public void testScrollingSortedByField() throws IOException {
+		assertSameHits( new Sort( new SortField( "id", SortField.STRING ) ) );
+	}
+
+	@Test
+	public void testScrollingSortedByReversedField() throws IOException {
+		assertSameHits( new Sort( new SortField( "id", SortField.STRING, true ) ) );
+	}
+
+	@Test
+	public void testScrollingSortedByScore() throws IOException {
+		assertSameHits( null );
+	}
+
+	@Test
+	public void testScrollingSortedByScoreAndField() throws IOException {
+		assertSameHits( new Sort( SortField.FIELD_SCORE, new SortField( "id", SortField.STRING, true ) ) );
+	}
+
+	private void assertSameHits(Sort sort) throws IOException {
+		List<Object> expected = extractIds( sort, 0, 1, 0, BOOKS - 1 );
+		assertEquals( BOOKS, expected.size() );
+		// one hit at a time
+		assertEquals( expected, extractIds( sort, 7, 1, 0, BOOKS - 1 ) );
+		// skipping over several windows
+		assertEquals( everyNth( expected, 25 ), extractIds( sort, 7, 25, 0, BOOKS - 1 ) );
+		// backwards, each window being searched again from the first hit
+		List<Object> reversed = new ArrayList<Object>( expected );
+		Collections.reverse( reversed );
+		assertEquals( reversed, extractIds( sort, 10, -1, BOOKS - 1, 0 ) );
+	}
+
+	private List<Object> extractIds(Sort sort, int windowSize, int step, int from, int to) throws IOException {
+		SearchFactoryImplementor searchFactory = (SearchFactoryImplementor) builder.getSearchFactory();
+		HSQuery hsQuery = searchFactory.createHSQuery()
+				.luceneQuery( createQuery() )
+				.targetedEntities( new ArrayList<Class<?>>() )
+				.sort( sort )
+				.cursorWindowSize( windowSize );
+		DocumentExtractor extractor = hsQuery.queryDocumentExtractor();
+		try {
+			List<Object> ids = new ArrayList<Object>();
+			for ( int index = from; step > 0 ? index <= to : index >= to; index += step ) {
+				ids.add( extractor.extract( index ).getId() );
+			}
+			return ids;
+		}
+		finally {
+			extractor.close();
+		}
+	}
+
+	private Query createQuery() {
+		BooleanQuery query = new BooleanQuery();
+		query.add( new TermQuery( new Term( "summary", "book" ) ), BooleanClause.Occur.SHOULD );
+		query.add( new TermQuery( new Term( "summary", "number" ) ), BooleanClause.Occur.SHOULD );
+		return query;
+	}
+
+	private static List<Object> everyNth(List<Object> list, int n) {
+		List<Object> result = new ArrayList<Object>();
+		for ( int i = 0; i < list.size(); i += n ) {
+			result.add( list.get( i ) );
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,184 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.test.query;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.DocIdSet;
+import org.apache.lucene.search.Filter;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.QueryWrapperFilter;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.search.Environment;
+import org.hibernate.search.FullTextQuery;
+import org.hibernate.search.FullTextSession;
+import org.hibernate.search.Search;
+import org.hibernate.search.test.SearchTestCase;
+
+/**
+ * Tests the queries searching the segments of an index in parallel:
+ * see {@link Environment#QUERY_PARALLEL_SEGMENTS}.
+ */
+public class ParallelSegmentsTest extends SearchTestCase {
+
+	private static final String[] DIGITS = { "zero", "one", "two", "three", "four", "five", "six", "seven", "eight", "nine" };
+
+	private static final int BOOKS = 40;
+
+	private FullTextSession session;
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		// each transaction adds a new segment to the indexes
+		for ( int i = 0; i < BOOKS; i += 5 ) {
+			FullTextSession s = Search.getFullTextSession( openSession() );
+			Transaction tx = s.beginTransaction();
+			for ( int j = i; j < i + 5; j++ ) {
+				s.persist( new AlternateBook( j, "book " + DIGITS[j % 10] ) );
+				Author author = new Author();
+				author.setName( "author" );
+				s.persist( author );
+			}
+			tx.commit();
+			s.close();
+		}
+		session = Search.getFullTextSession( openSession() );
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		session.close();
+		super.tearDown();
+	}
+
+	public void testSortedPagesSpanAllSegments() {
+		FullTextQuery query = session.createFullTextQuery( new MatchAllDocsQuery(), AlternateBook.class )
+				.setSort( new Sort( new SortField( "id", SortField.STRING, true ) ) )
+				.setFirstResult( 5 )
+				.setMaxResults( 10 );
+		assertEquals( BOOKS, query.getResultSize() );
+		assertEquals( reverse( ids( BOOKS - 15, BOOKS - 5 ) ), listIds( query ) );
+		query.setSort( new Sort( new SortField( "id", SortField.STRING ) ) );
+		assertEquals( ids( 5, 15 ), listIds( query ) );
+	}
+
+	public void testScoresAreComparedAcrossSegments() {
+		BooleanQuery luceneQuery = new BooleanQuery();
+		for ( int i = 0; i < 5; i++ ) {
+			TermQuery clause = new TermQuery( new Term( "summary", DIGITS[i] ) );
+			clause.setBoost( i + 1 );
+			luceneQuery.add( clause, BooleanClause.Occur.SHOULD );
+		}
+		FullTextQuery query = session.createFullTextQuery( luceneQuery, AlternateBook.class )
+				.setSort( new Sort( SortField.FIELD_SCORE, new SortField( "id", SortField.STRING ) ) )
+				.setMaxResults( 6 );
+		assertEquals( 20, query.getResultSize() );
+		List<Integer> expected = new ArrayList<Integer>();
+		for ( int i = 4; i >= 2; i-- ) {
+			for ( int j = i; j < BOOKS; j += 10 ) {
+				expected.add( j );
+			}
+		}
+		assertEquals( expected.subList( 0, 6 ), listIds( query ) );
+	}
+
+	public void testSegmentsAreSearchedInParallel() {
+		ThreadRecordingFilter filter = new ThreadRecordingFilter();
+		FullTextQuery query = session.createFullTextQuery( new MatchAllDocsQuery(), AlternateBook.class )
+				.setFilter( filter )
+				.setMaxResults( 5 );
+		assertEquals( 5, query.list().size() );
+		assertTrue( "Segments were searched by the threads " + filter.threadNames, filter.threadNames.size() > 1 );
+	}
+
+	public void testSegmentsAreSearchedInParallelOnDemand() {
+		ThreadRecordingFilter filter = new ThreadRecordingFilter();
+		FullTextQuery query = session.createFullTextQuery( new MatchAllDocsQuery(), Author.class )
+				.setFilter( filter );
+		assertEquals( BOOKS, query.list().size() );
+		assertEquals( 1, filter.threadNames.size() );
+		filter.threadNames.clear();
+		query.setParallelSegments( true );
+		assertEquals( BOOKS, query.list().size() );
+		assertTrue( "Segments were searched by the threads " + filter.threadNames, filter.threadNames.size() > 1 );
+	}
+
+	private List<Integer> listIds(FullTextQuery query) {
+		List<Integer> ids = new ArrayList<Integer>();
+		for ( Object book : query.list() ) {
+			ids.add( ( (AlternateBook) book ).getId() );
+		}
+		return ids;
+	}
+
+	private static List<Integer> ids(int from, int to) {
+		List<Integer> ids = new ArrayList<Integer>();
+		for ( int i = from; i < to; i++ ) {
+			ids.add( i );
+		}
+		return ids;
+	}
+
+	private static List<Integer> reverse(List<Integer> ids) {
+		Collections.reverse( ids );
+		return ids;
+	}
+
+	private static class ThreadRecordingFilter extends Filter {
+
+		private final Filter delegate = new QueryWrapperFilter( new MatchAllDocsQuery() );
+		private final Set<String> threadNames = Collections.synchronizedSet( new HashSet<String>() );
+
+		@Override
+		public DocIdSet getDocIdSet(IndexReader reader) throws IOException {
+			threadNames.add( Thread.currentThread().getName() );
+			return delegate.getDocIdSet( reader );
+		}
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( Environment.QUERY_PARALLEL_THREADPOOL_SIZE, "2" );
+		cfg.setProperty( "hibernate.search.default." + Environment.QUERY_PARALLEL_SEGMENTS_MIN_DOCS, "10" );
+		cfg.setProperty( "hibernate.search.Book." + Environment.QUERY_PARALLEL_SEGMENTS, "true" );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { AlternateBook.class, Author.class };
+	}
+}
@@ -0,0 +1,136 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.test.query;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.lucene.search.MatchAllDocsQuery;
+
+import org.hibernate.ScrollableResults;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.search.Environment;
+import org.hibernate.search.FullTextQuery;
+import org.hibernate.search.FullTextSession;
+import org.hibernate.search.Search;
+import org.hibernate.search.test.SearchTestCase;
+
+/**
+ * Pipelined loading on a query searching several indexes, with a single parallel query thread:
+ * extracting the hits past the first batch searches the indexes in parallel again, which must not
+ * wait for the thread running the extraction itself.
+ */
+public class PipelinedLoadingMultipleIndexesTest extends SearchTestCase {
+
+	private static final int ENTITIES_PER_INDEX = 300;
+
+	private FullTextSession session;
+	private ExecutorService testExecutor;
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		session = Search.getFullTextSession( openSession() );
+		Transaction tx = session.beginTransaction();
+		for ( int i = 0; i < ENTITIES_PER_INDEX; i++ ) {
+			Author author = new Author();
+			author.setName( "author" + i );
+			session.persist( author );
+			session.persist( new Employee( i, "employee" + i, "dept" ) );
+		}
+		tx.commit();
+		session.clear();
+		testExecutor = Executors.newSingleThreadExecutor();
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		testExecutor.shutdownNow();
+		session.close();
+		super.tearDown();
+	}
+
+	public void testListPagesPastFirstBatch() throws Exception {
+		List<?> results = withinTimeout(
+				new Callable<List<?>>() {
+					public List<?> call() {
+						return createQuery().setFetchSize( 50 ).list();
+					}
+				}
+		);
+		assertEquals( 2 * ENTITIES_PER_INDEX, results.size() );
+	}
+
+	public void testScrollPagesPastFirstBatch() throws Exception {
+		int count = withinTimeout(
+				new Callable<Integer>() {
+					public Integer call() {
+						ScrollableResults scrollableResults = createQuery().setFetchSize( 50 ).scroll();
+						try {
+							int count = 0;
+							while ( scrollableResults.next() ) {
+								assertNotNull( scrollableResults.get()[0] );
+								count++;
+							}
+							return count;
+						}
+						finally {
+							scrollableResults.close();
+						}
+					}
+				}
+		);
+		assertEquals( 2 * ENTITIES_PER_INDEX, count );
+	}
+
+	private <T> T withinTimeout(Callable<T> query) throws Exception {
+		Future<T> result = testExecutor.submit( query );
+		try {
+			return result.get( 30, TimeUnit.SECONDS );
+		}
+		catch (TimeoutException e) {
+			fail( "The query didn't complete: the extraction waits for searches queued behind itself" );
+			return null;
+		}
+	}
+
+	private FullTextQuery createQuery() {
+		return session.createFullTextQuery( new MatchAllDocsQuery(), Author.class, Employee.class );
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( Environment.QUERY_PARALLEL_THREADPOOL_SIZE, "1" );
+		cfg.setProperty( Environment.QUERY_PIPELINED_LOADING, "true" );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Author.class, Employee.class };
+	}
+}
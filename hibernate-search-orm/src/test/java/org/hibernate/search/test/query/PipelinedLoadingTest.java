@@ -0,0 +1,158 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.test.query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+
+import org.hibernate.ScrollableResults;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.search.Environment;
+import org.hibernate.search.FullTextQuery;
+import org.hibernate.search.FullTextSession;
+import org.hibernate.search.Search;
+import org.hibernate.search.test.SearchTestCase;
+import org.hibernate.stat.Statistics;
+
+/**
+ * Tests loading the results of a query chunk by chunk while the next hits are read from the index.
+ */
+public class PipelinedLoadingTest extends SearchTestCase {
+
+	private static final int AUTHORS = 250;
+
+	private FullTextSession session;
+	private Statistics statistics;
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		session = Search.getFullTextSession( openSession() );
+		Transaction tx = session.beginTransaction();
+		for ( int i = 0; i < AUTHORS; i++ ) {
+			Author author = new Author();
+			author.setName( name( i ) );
+			session.persist( author );
+		}
+		tx.commit();
+		session.clear();
+		statistics = getSessions().getStatistics();
+		statistics.setStatisticsEnabled( true );
+		statistics.clear();
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		statistics.setStatisticsEnabled( false );
+		session.close();
+		super.tearDown();
+	}
+
+	public void testListLoadsChunksOfFetchSize() {
+		List<?> results = createQuery().setFetchSize( 40 ).list();
+		assertInReverseNameOrder( names( results ) );
+		assertEquals( 7, statistics.getPrepareStatementCount() );
+	}
+
+	public void testListLoadsChunksOfDefaultSize() {
+		List<?> results = createQuery().list();
+		assertInReverseNameOrder( names( results ) );
+		assertEquals( 3, statistics.getPrepareStatementCount() );
+	}
+
+	public void testPipelinedLoadingCanBeDisabled() {
+		List<?> results = createQuery().setFetchSize( 40 ).setPipelinedLoading( false ).list();
+		assertInReverseNameOrder( names( results ) );
+		assertEquals( 1, statistics.getPrepareStatementCount() );
+	}
+
+	public void testPageIsLoadedInChunks() {
+		List<?> results = createQuery().setFetchSize( 40 ).setFirstResult( 10 ).setMaxResults( 100 ).list();
+		List<String> names = names( results );
+		assertEquals( 100, names.size() );
+		assertEquals( name( AUTHORS - 11 ), names.get( 0 ) );
+		assertEquals( name( AUTHORS - 110 ), names.get( 99 ) );
+		assertEquals( 3, statistics.getPrepareStatementCount() );
+	}
+
+	public void testScrollLoadsPrefetchedWindows() {
+		ScrollableResults scrollableResults = createQuery().setFetchSize( 40 ).scroll();
+		List<String> names = new ArrayList<String>();
+		try {
+			while ( scrollableResults.next() ) {
+				names.add( ( (Author) scrollableResults.get()[0] ).getName() );
+			}
+			assertTrue( scrollableResults.previous() );
+			assertEquals( name( 0 ), ( (Author) scrollableResults.get()[0] ).getName() );
+			assertTrue( scrollableResults.first() );
+			assertEquals( name( AUTHORS - 1 ), ( (Author) scrollableResults.get()[0] ).getName() );
+		}
+		finally {
+			scrollableResults.close();
+		}
+		assertInReverseNameOrder( names );
+		assertEquals( 7, statistics.getPrepareStatementCount() );
+	}
+
+	private void assertInReverseNameOrder(List<String> names) {
+		assertEquals( AUTHORS, names.size() );
+		for ( int i = 0; i < AUTHORS; i++ ) {
+			assertEquals( name( AUTHORS - 1 - i ), names.get( i ) );
+		}
+	}
+
+	private FullTextQuery createQuery() {
+		return session.createFullTextQuery( new MatchAllDocsQuery(), Author.class )
+				.setSort( new Sort( new SortField( "name", SortField.STRING, true ) ) );
+	}
+
+	private static List<String> names(List<?> results) {
+		List<String> names = new ArrayList<String>();
+		for ( Object result : results ) {
+			names.add( ( (Author) result ).getName() );
+		}
+		return names;
+	}
+
+	/**
+	 * @return a name made of letters only, sorting as the index
+	 */
+	private static String name(int i) {
+		return "author" + (char) ( 'a' + i / 26 ) + (char) ( 'a' + i % 26 );
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( Environment.QUERY_PARALLEL_THREADPOOL_SIZE, "2" );
+		cfg.setProperty( Environment.QUERY_PIPELINED_LOADING, "true" );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Author.class };
+	}
+}
@@ -0,0 +1,160 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.test.query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+
+import org.hibernate.Transaction;
+import org.hibernate.search.FullTextQuery;
+import org.hibernate.search.FullTextSession;
+import org.hibernate.search.Search;
+import org.hibernate.search.stat.Statistics;
+import org.hibernate.search.test.SearchTestCase;
+
+/**
+ * Tests the query result cache enabled by {@link FullTextQuery#setCacheable(boolean)}.
+ */
+public class QueryResultCacheTest extends SearchTestCase {
+
+	private Statistics statistics;
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		statistics = getSearchFactory().getStatistics();
+		statistics.setStatisticsEnabled( true );
+		statistics.clear();
+		storeBooks( 0, 10 );
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		statistics.setStatisticsEnabled( false );
+		super.tearDown();
+	}
+
+	public void testSameQueryIsFoundInCache() {
+		List<Object> expected = listIds( true, 5, null );
+		assertEquals( 5, expected.size() );
+		assertCacheCounts( 0, 1 );
+		assertEquals( expected, listIds( true, 5, null ) );
+		assertCacheCounts( 1, 1 );
+		// a new query instance, equal to the first one
+		assertEquals( expected, listIds( true, 5, null ) );
+		assertCacheCounts( 2, 1 );
+		assertEquals( 1, statistics.getSearchQueryExecutionCount() );
+	}
+
+	public void testResultSizeIsFoundInCache() {
+		FullTextSession session = Search.getFullTextSession( openSession() );
+		try {
+			assertEquals( 10, createQuery( session ).setCacheable( true ).getResultSize() );
+			assertEquals( 10, createQuery( session ).setCacheable( true ).getResultSize() );
+			assertCacheCounts( 1, 1 );
+		}
+		finally {
+			session.close();
+		}
+	}
+
+	public void testChangedIndexIsSearchedAgain() {
+		assertEquals( 10, listIds( true, 20, null ).size() );
+		storeBooks( 10, 3 );
+		assertEquals( 13, listIds( true, 20, null ).size() );
+		assertCacheCounts( 0, 2 );
+		assertEquals( 13, listIds( true, 20, null ).size() );
+		assertCacheCounts( 1, 2 );
+	}
+
+	public void testDifferentOptionsAreCachedSeparately() {
+		Sort byId = new Sort( new SortField( "id", SortField.STRING ) );
+		Sort byReverseId = new Sort( new SortField( "id", SortField.STRING, true ) );
+		List<Object> ascending = listIds( true, 5, byId );
+		List<Object> descending = listIds( true, 5, byReverseId );
+		listIds( true, 3, byId );
+		assertCacheCounts( 0, 3 );
+		assertEquals( ascending, listIds( true, 5, new Sort( new SortField( "id", SortField.STRING ) ) ) );
+		assertEquals( descending, listIds( true, 5, byReverseId ) );
+		assertCacheCounts( 2, 3 );
+		assertFalse( ascending.equals( descending ) );
+	}
+
+	public void testCacheIsDisabledByDefault() {
+		listIds( false, 5, null );
+		listIds( false, 5, null );
+		assertCacheCounts( 0, 0 );
+		assertEquals( 2, statistics.getSearchQueryExecutionCount() );
+	}
+
+	private void assertCacheCounts(long hits, long misses) {
+		assertEquals( "Wrong number of cache hits", hits, statistics.getQueryResultCacheHitCount() );
+		assertEquals( "Wrong number of cache misses", misses, statistics.getQueryResultCacheMissCount() );
+	}
+
+	private List<Object> listIds(boolean cacheable, int maxResults, Sort sort) {
+		FullTextSession session = Search.getFullTextSession( openSession() );
+		try {
+			FullTextQuery query = createQuery( session )
+					.setCacheable( cacheable )
+					.setProjection( FullTextQuery.ID )
+					.setMaxResults( maxResults );
+			if ( sort != null ) {
+				query.setSort( sort );
+			}
+			List<Object> ids = new ArrayList<Object>();
+			for ( Object projection : query.list() ) {
+				ids.add( ( (Object[]) projection )[0] );
+			}
+			return ids;
+		}
+		finally {
+			session.close();
+		}
+	}
+
+	private FullTextQuery createQuery(FullTextSession session) {
+		Query luceneQuery = new TermQuery( new Term( "summary", "number" ) );
+		return session.createFullTextQuery( luceneQuery, AlternateBook.class );
+	}
+
+	private void storeBooks(int firstId, int count) {
+		FullTextSession session = Search.getFullTextSession( openSession() );
+		Transaction tx = session.beginTransaction();
+		for ( int i = firstId; i < firstId + count; i++ ) {
+			session.persist( new AlternateBook( i, "book about the number " + i ) );
+		}
+		tx.commit();
+		session.close();
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { AlternateBook.class };
+	}
+
+}
@@ -0,0 +1,211 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.test.query;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.DocIdSet;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.QueryWrapperFilter;
+import org.apache.lucene.search.TermQuery;
+
+import org.hibernate.Transaction;
+import org.hibernate.search.FullTextQuery;
+import org.hibernate.search.FullTextSession;
+import org.hibernate.search.Search;
+import org.hibernate.search.stat.Statistics;
+import org.hibernate.search.test.SearchTestCase;
+
+/**
+ * Tests {@link FullTextQuery#getResultSize()} for the queries counted without being executed,
+ * and the reuse of the hits collected by the count.
+ */
+public class ResultSizeTest extends SearchTestCase {
+
+	private static final String[] DIGITS = { "zero", "one", "two", "three", "four", "five", "six", "seven", "eight", "nine" };
+
+	private Statistics statistics;
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		statistics = getSearchFactory().getStatistics();
+		statistics.setStatisticsEnabled( true );
+		storeBooks( 0, 20 );
+		// leaves some deletions in the index
+		deleteBooks( 0, 20, 3 );
+		statistics.clear();
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		statistics.setStatisticsEnabled( false );
+		super.tearDown();
+	}
+
+	public void testTermQueryIsCountedWithoutSearch() {
+		// books 7, 17
+		assertEquals( 2, resultSize( new TermQuery( new Term( "summary", "seven" ) ), null ) );
+		// books 3, 13 minus the deleted book 3
+		assertEquals( 1, resultSize( new TermQuery( new Term( "summary", "three" ) ), null ) );
+		assertEquals( 13, resultSize( new TermQuery( new Term( "summary", "number" ) ), null ) );
+		assertEquals( 0, resultSize( new TermQuery( new Term( "summary", "missing" ) ), null ) );
+		assertEquals( 0, statistics.getSearchQueryExecutionCount() );
+	}
+
+	public void testMatchAllQueryIsCountedWithoutSearch() {
+		assertEquals( 13, resultSize( new MatchAllDocsQuery(), null ) );
+		assertEquals( 0, statistics.getSearchQueryExecutionCount() );
+	}
+
+	public void testFilteredQueriesAreCountedWithoutSearch() {
+		QueryWrapperFilter odd = new QueryWrapperFilter( new TermQuery( new Term( "summary", "odd" ) ) );
+		// odd books which are not deleted: 1, 5, 7, 11, 13, 17, 19
+		assertEquals( 7, resultSize( new MatchAllDocsQuery(), odd ) );
+		// cached count on each segment
+		assertEquals( 7, resultSize( new MatchAllDocsQuery(), odd ) );
+		assertEquals( 2, resultSize( new TermQuery( new Term( "summary", "seven" ) ), odd ) );
+		assertEquals( 0, resultSize( new TermQuery( new Term( "summary", "even" ) ), odd ) );
+		assertEquals( 0, statistics.getSearchQueryExecutionCount() );
+		deleteBooks( 1, 2, 1 );
+		assertEquals( 6, resultSize( new MatchAllDocsQuery(), odd ) );
+	}
+
+	public void testCountedSegmentsAreNotRetained() throws Exception {
+		SegmentTrackingFilter odd = new SegmentTrackingFilter( new TermQuery( new Term( "summary", "odd" ) ) );
+		assertEquals( 7, resultSize( new MatchAllDocsQuery(), odd ) );
+		assertFalse( odd.segments.isEmpty() );
+		odd.tracking = false;
+		// merges the counted segments into a new one, applied along with the next changes
+		storeBooks( 21, 1 );
+		FullTextSession session = Search.getFullTextSession( openSession() );
+		session.getSearchFactory().optimize( AlternateBook.class );
+		session.close();
+		storeBooks( 22, 1 );
+		assertEquals( 8, resultSize( new MatchAllDocsQuery(), odd ) );
+		for ( int i = 0; i < 50 && odd.hasReachableSegments(); i++ ) {
+			System.gc();
+			Thread.sleep( 10 );
+		}
+		assertFalse( "closed segments are still reachable", odd.hasReachableSegments() );
+	}
+
+	public void testCountedHitsAreListed() {
+		FullTextSession session = Search.getFullTextSession( openSession() );
+		try {
+			BooleanQuery luceneQuery = new BooleanQuery();
+			luceneQuery.add( new TermQuery( new Term( "summary", "odd" ) ), BooleanClause.Occur.MUST );
+			luceneQuery.add( new TermQuery( new Term( "summary", "number" ) ), BooleanClause.Occur.MUST );
+			FullTextQuery query = session.createFullTextQuery( luceneQuery, AlternateBook.class ).setMaxResults( 5 );
+			assertEquals( 7, query.getResultSize() );
+			List<?> result = query.list();
+			assertEquals( 5, result.size() );
+			assertEquals( 7, query.getResultSize() );
+			assertEquals( 1, statistics.getSearchQueryExecutionCount() );
+			// a different page needs a new search
+			query.setFirstResult( 5 );
+			assertEquals( 2, query.list().size() );
+			assertEquals( 2, statistics.getSearchQueryExecutionCount() );
+		}
+		finally {
+			session.close();
+		}
+	}
+
+	private int resultSize(Query luceneQuery, QueryWrapperFilter filter) {
+		FullTextSession session = Search.getFullTextSession( openSession() );
+		try {
+			FullTextQuery query = session.createFullTextQuery( luceneQuery, AlternateBook.class );
+			if ( filter != null ) {
+				query.setFilter( filter );
+			}
+			int resultSize = query.getResultSize();
+			assertEquals( query.list().size(), resultSize );
+			statistics.clear();
+			return resultSize;
+		}
+		finally {
+			session.close();
+		}
+	}
+
+	private void storeBooks(int firstId, int count) {
+		FullTextSession session = Search.getFullTextSession( openSession() );
+		Transaction tx = session.beginTransaction();
+		for ( int i = firstId; i < firstId + count; i++ ) {
+			String summary = "book about the number " + ( i % 2 == 0 ? "even" : "odd" ) + " " + DIGITS[i % 10];
+			session.persist( new AlternateBook( i, summary ) );
+		}
+		tx.commit();
+		session.close();
+	}
+
+	private void deleteBooks(int firstId, int lastId, int step) {
+		FullTextSession session = Search.getFullTextSession( openSession() );
+		Transaction tx = session.beginTransaction();
+		for ( int i = firstId; i < lastId; i += step ) {
+			session.delete( session.load( AlternateBook.class, i ) );
+		}
+		tx.commit();
+		session.close();
+	}
+
+	private static class SegmentTrackingFilter extends QueryWrapperFilter {
+
+		private final List<WeakReference<Object>> segments = new ArrayList<WeakReference<Object>>();
+		private boolean tracking = true;
+
+		SegmentTrackingFilter(Query query) {
+			super( query );
+		}
+
+		@Override
+		public DocIdSet getDocIdSet(IndexReader reader) throws IOException {
+			if ( tracking ) {
+				segments.add( new WeakReference<Object>( reader.getCoreCacheKey() ) );
+			}
+			return super.getDocIdSet( reader );
+		}
+
+		boolean hasReachableSegments() {
+			for ( WeakReference<Object> segment : segments ) {
+				if ( segment.get() != null ) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { AlternateBook.class };
+	}
+
+}
@@ -23,7 +23,12 @@
  */
 package org.hibernate.search.test.query;
 
+import java.io.IOException;
+
+import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.Term;
+import org.apache.lucene.search.DocIdSet;
+import org.apache.lucene.search.QueryWrapperFilter;
 import org.apache.lucene.search.Sort;
 import org.apache.lucene.search.SortField;
 import org.apache.lucene.search.TermQuery;
@@ -248,4 +253,56 @@ public class ScrollableResultsTest {
 		tx.commit();
 	}
 
+	/**
+	 * Verify a fetch size straddling the edge of the first cursor window
+	 * loads each batch with a single move of the window.
+	 */
+	@Test
+	public void testFetchSizeStraddlingCursorWindow() {
+		Transaction tx = sess.beginTransaction();
+		TermQuery tq = new TermQuery( new Term( "dept", "num") );
+		CountingFilter filter = new CountingFilter( tq );
+		//the tests relies on the results being returned sorted by id:
+		Sort sort = new Sort( new SortField( "id", SortField.STRING ) );
+		//the first window holds 100 hits, so the fourth batch crosses its edge:
+		ScrollableResults scrollableResults = sess
+			.createFullTextQuery( tq, Employee.class )
+			.setProjection( FullTextQuery.ID, "lastname" )
+			.setFilter( filter )
+			.setFetchSize( 30 )
+			.setSort( sort )
+			.scroll();
+		assertTrue( scrollableResults.next() );
+		int searchesForFirstWindow = filter.calls;
+		assertTrue( searchesForFirstWindow > 0 );
+		int position = 0;
+		do {
+			Object[] objs = scrollableResults.get();
+			assertEquals( position, objs[0] );
+			assertEquals( "Rossi", objs[1] );
+			position++;
+		}
+		while ( scrollableResults.next() );
+		assertEquals( 133, position );
+		//a single search moves the window past the edge:
+		assertEquals( 2 * searchesForFirstWindow, filter.calls );
+		scrollableResults.close();
+		tx.commit();
+	}
+
+	private static class CountingFilter extends QueryWrapperFilter {
+
+		private int calls = 0;
+
+		CountingFilter(TermQuery query) {
+			super( query );
+		}
+
+		@Override
+		public DocIdSet getDocIdSet(IndexReader reader) throws IOException {
+			calls++;
+			return super.getDocIdSet( reader );
+		}
+	}
+
 }
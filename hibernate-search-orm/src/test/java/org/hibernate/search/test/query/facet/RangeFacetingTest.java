@@ -157,6 +157,42 @@ public class RangeFacetingTest extends AbstractFacetTest {
 
 	}
 
+	public void testRangesNotDefinedInOrder() {
+		final String facetingName = "cdPriceFaceting";
+		FacetingRequest rangeRequest = queryBuilder( Cd.class ).facet()
+				.name( facetingName )
+				.onField( indexFieldName )
+				.range()
+				.below( 1000 )
+				.from( 1600 ).to( 3000 )
+				.from( 1001 ).to( 1500 )
+				.orderedBy( FacetSortOrder.RANGE_DEFINITION_ODER )
+				.createFacetingRequest();
+		FullTextQuery query = createMatchAllQuery( Cd.class );
+		query.getFacetManager().enableFaceting( rangeRequest );
+
+		List<Facet> facets = query.getFacetManager().getFacets( facetingName );
+		assertFacetCounts( facets, new int[] { 2, 5, 3 } );
+	}
+
+	public void testOverlappingRanges() {
+		final String facetingName = "cdPriceFaceting";
+		FacetingRequest rangeRequest = queryBuilder( Cd.class ).facet()
+				.name( facetingName )
+				.onField( indexFieldName )
+				.range()
+				.from( 0 ).to( 1500 )
+				.from( 1000 ).to( 2000 )
+				.above( 1800 )
+				.orderedBy( FacetSortOrder.RANGE_DEFINITION_ODER )
+				.createFacetingRequest();
+		FullTextQuery query = createMatchAllQuery( Cd.class );
+		query.getFacetManager().enableFaceting( rangeRequest );
+
+		List<Facet> facets = query.getFacetManager().getFacets( facetingName );
+		assertFacetCounts( facets, new int[] { 5, 7, 3 } );
+	}
+
 	// HSEARCH-770
 	public void testRangeBelowWithFacetSelection() {
 		final String facetingName = "truckHorsePowerFaceting";
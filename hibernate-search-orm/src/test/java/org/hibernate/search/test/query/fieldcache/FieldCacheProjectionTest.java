@@ -0,0 +1,134 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.test.query.fieldcache;
+
+import java.util.List;
+
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.search.Environment;
+import org.hibernate.search.FullTextQuery;
+import org.hibernate.search.FullTextSession;
+import org.hibernate.search.ProjectionConstants;
+import org.hibernate.search.Search;
+import org.hibernate.search.test.SearchTestCase;
+import org.hibernate.search.test.util.FieldSelectorLeakingReaderProvider;
+
+/**
+ * Tests the projections read from the FieldCache: see {@link org.hibernate.search.annotations.FieldCacheType#PROJECTIONS}.
+ */
+public class FieldCacheProjectionTest extends SearchTestCase {
+
+	private static final int STOCKS = 30;
+
+	private FullTextSession session;
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		Session s = openSession();
+		Transaction tx = s.beginTransaction();
+		for ( int i = 0; i < STOCKS; i++ ) {
+			// every third stock has no volume, every fifth one has no symbol
+			s.persist( new Stock(
+					i,
+					i % 5 == 0 ? null : symbol( i ),
+					"company number " + i,
+					i * 1.5d,
+					i % 3 == 0 ? null : i * 100
+			) );
+		}
+		tx.commit();
+		s.close();
+		session = Search.getFullTextSession( openSession() );
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		session.close();
+		super.tearDown();
+	}
+
+	public void testCachedFieldsAreNotReadFromDocuments() {
+		FieldSelectorLeakingReaderProvider.resetFieldSelector();
+		List<?> results = createQuery( "symbol", "price", "volume" ).list();
+		FieldSelectorLeakingReaderProvider.assertFieldSelectorEnabled();
+		assertEquals( STOCKS, results.size() );
+		for ( int i = 0; i < STOCKS; i++ ) {
+			Object[] projection = (Object[]) results.get( i );
+			assertEquals( i % 5 == 0 ? null : symbol( i ), projection[0] );
+			assertEquals( i * 1.5d, projection[1] );
+			assertEquals( i % 3 == 0 ? null : Integer.valueOf( i * 100 ), projection[2] );
+		}
+	}
+
+	public void testTokenizedFieldsAreReadFromDocuments() {
+		FieldSelectorLeakingReaderProvider.resetFieldSelector();
+		List<?> results = createQuery( "volume", "company", ProjectionConstants.ID, ProjectionConstants.SCORE ).list();
+		FieldSelectorLeakingReaderProvider.assertFieldSelectorEnabled( "company", "id" );
+		assertEquals( STOCKS, results.size() );
+		for ( int i = 0; i < STOCKS; i++ ) {
+			Object[] projection = (Object[]) results.get( i );
+			assertEquals( i % 3 == 0 ? null : Integer.valueOf( i * 100 ), projection[0] );
+			assertEquals( "company number " + i, projection[1] );
+			assertEquals( i, projection[2] );
+			assertNotNull( projection[3] );
+		}
+	}
+
+	public void testDocumentProjectionReadsAllFields() {
+		List<?> results = createQuery( "symbol", ProjectionConstants.DOCUMENT ).setMaxResults( 3 ).list();
+		for ( int i = 0; i < 3; i++ ) {
+			Object[] projection = (Object[]) results.get( i );
+			assertEquals( i % 5 == 0 ? null : symbol( i ), projection[0] );
+			assertNotNull( projection[1] );
+		}
+	}
+
+	private FullTextQuery createQuery(String... projection) {
+		return session.createFullTextQuery( new MatchAllDocsQuery(), Stock.class )
+				.setProjection( projection )
+				// to avoid reading the hits in document order
+				.setSort( new Sort( new SortField( "company", SortField.STRING ), new SortField( "price", SortField.DOUBLE ) ) );
+	}
+
+	private static String symbol(int i) {
+		return "S" + (char) ( 'A' + i );
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		// force multiple segments to also verify the docId transformations
+		cfg.setProperty( "hibernate.search.default.indexwriter.transaction.max_merge_docs", "10" );
+		cfg.setProperty( "hibernate.search.default." + Environment.READER_STRATEGY, FieldSelectorLeakingReaderProvider.class.getName() );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Stock.class };
+	}
+}
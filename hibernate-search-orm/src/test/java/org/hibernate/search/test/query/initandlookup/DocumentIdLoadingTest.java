@@ -0,0 +1,149 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.test.query.initandlookup;
+
+import java.util.List;
+
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.search.FullTextQuery;
+import org.hibernate.search.FullTextSession;
+import org.hibernate.search.Search;
+import org.hibernate.search.query.DatabaseRetrievalMethod;
+import org.hibernate.search.query.ObjectLookupMethod;
+import org.hibernate.search.test.SearchTestCase;
+import org.hibernate.stat.Statistics;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+/**
+ * Test loading entities whose document id is not the entity identifier: all the results
+ * have to be loaded in a single database round trip and returned in the order of the hits.
+ */
+public class DocumentIdLoadingTest extends SearchTestCase {
+
+	private static final int TICKETS = 200;
+
+	public void testLoadingByQuery() throws Exception {
+		assertLoadedInOneRoundTrip( ObjectLookupMethod.SKIP, DatabaseRetrievalMethod.QUERY, Ticket.class );
+	}
+
+	public void testLoadingByQueryWithPersistenceContextLookup() throws Exception {
+		assertLoadedInOneRoundTrip( ObjectLookupMethod.PERSISTENCE_CONTEXT, DatabaseRetrievalMethod.QUERY, Ticket.class );
+	}
+
+	public void testLoadingByQueryWithSecondLevelCacheLookup() throws Exception {
+		assertLoadedInOneRoundTrip( ObjectLookupMethod.SECOND_LEVEL_CACHE, DatabaseRetrievalMethod.QUERY, Ticket.class );
+	}
+
+	public void testLoadingByFindById() throws Exception {
+		assertLoadedInOneRoundTrip( ObjectLookupMethod.SKIP, DatabaseRetrievalMethod.FIND_BY_ID, Ticket.class );
+	}
+
+	public void testLoadingMultipleTypes() throws Exception {
+		assertLoadedInOneRoundTrip( ObjectLookupMethod.SKIP, DatabaseRetrievalMethod.QUERY );
+	}
+
+	public void testMissingEntitiesAreSkipped() throws Exception {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		// bulk operations are not propagated to the index
+		session.createQuery( "delete from Ticket t where t.code in ('T010', 'T020')" ).executeUpdate();
+		transaction.commit();
+		session.clear();
+
+		transaction = session.beginTransaction();
+		List<?> result = createQuery( session, ObjectLookupMethod.SKIP, DatabaseRetrievalMethod.QUERY, Ticket.class ).list();
+		assertThat( result ).hasSize( TICKETS - 2 );
+		assertInReverseCodeOrder( result );
+		transaction.commit();
+		session.close();
+	}
+
+	private void assertLoadedInOneRoundTrip(ObjectLookupMethod lookupMethod, DatabaseRetrievalMethod retrievalMethod,
+			Class<?>... entityTypes) {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		Statistics statistics = session.getSessionFactory().getStatistics();
+		statistics.clear();
+		statistics.setStatisticsEnabled( true );
+		List<?> result = createQuery( session, lookupMethod, retrievalMethod, entityTypes ).list();
+		assertThat( result ).hasSize( TICKETS );
+		assertInReverseCodeOrder( result );
+		assertThat( statistics.getPrepareStatementCount() )
+				.describedAs( "all the results should be loaded at once" )
+				.isEqualTo( 1 );
+		assertThat( statistics.getEntityLoadCount() ).isEqualTo( TICKETS );
+		statistics.setStatisticsEnabled( false );
+		transaction.commit();
+		session.close();
+	}
+
+	private FullTextQuery createQuery(Session session, ObjectLookupMethod lookupMethod,
+			DatabaseRetrievalMethod retrievalMethod, Class<?>... entityTypes) {
+		FullTextSession fullTextSession = Search.getFullTextSession( session );
+		return fullTextSession.createFullTextQuery( new MatchAllDocsQuery(), entityTypes )
+				.setSort( new Sort( new SortField( "code", SortField.STRING, true ) ) )
+				.initializeObjectsWith( lookupMethod, retrievalMethod );
+	}
+
+	private void assertInReverseCodeOrder(List<?> result) {
+		for ( int i = 1; i < result.size(); i++ ) {
+			String previous = ( (Ticket) result.get( i - 1 ) ).getCode();
+			String current = ( (Ticket) result.get( i ) ).getCode();
+			assertThat( previous.compareTo( current ) ).isGreaterThan( 0 );
+		}
+	}
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		for ( int i = 0; i < TICKETS; i++ ) {
+			Ticket ticket = new Ticket();
+			ticket.setCode( String.format( "T%03d", i ) );
+			ticket.setEvent( "concert" );
+			session.persist( ticket );
+		}
+		transaction.commit();
+		session.close();
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		session.createQuery( "delete from Ticket" ).executeUpdate();
+		transaction.commit();
+		session.close();
+		super.tearDown();
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Ticket.class };
+	}
+}
@@ -0,0 +1,201 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.test.reader.functionality;
+
+import org.apache.lucene.analysis.SimpleAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.search.Environment;
+import org.hibernate.search.FullTextSession;
+import org.hibernate.search.Search;
+import org.hibernate.search.indexes.impl.BackgroundRefreshingReaderProvider;
+import org.hibernate.search.indexes.impl.DirectoryBasedIndexManager;
+import org.hibernate.search.indexes.spi.ReaderProvider;
+import org.hibernate.search.test.SearchTestCase;
+import org.hibernate.search.test.reader.Detective;
+
+/**
+ * Verifies that the background-refresh reader strategy shares the IndexReader
+ * and makes committed changes visible. As the refresh triggered by a commit
+ * runs in background, changes are awaited for up to {@link #TIMEOUT} milliseconds.
+ */
+public class BackgroundRefreshingReaderProviderTest extends SearchTestCase {
+
+	private static final long TIMEOUT = 10000;
+
+	public void testChangesVisibleAfterCommit() throws Exception {
+		ReaderProvider readerProvider = getIndexManager().getReaderProvider();
+		assertTrue( readerProvider instanceof BackgroundRefreshingReaderProvider );
+
+		Session s = openSession();
+		Transaction tx = s.beginTransaction();
+		Detective detective = new Detective();
+		detective.setName( "John Doe" );
+		s.persist( detective );
+		tx.commit();
+		s.clear();
+
+		assertEquals( 1, awaitCountByName( s, "doe", 1 ) );
+
+		tx = s.beginTransaction();
+		detective = (Detective) s.get( Detective.class, detective.getId() );
+		detective.setName( "John Smith" );
+		tx.commit();
+		s.clear();
+
+		assertEquals( 1, awaitCountByName( s, "smith", 1 ) );
+		assertEquals( 0, countByName( s, "doe" ) );
+
+		tx = s.beginTransaction();
+		s.delete( s.get( Detective.class, detective.getId() ) );
+		tx.commit();
+		s.close();
+
+		assertEquals( 0, awaitIndexedDocuments( 0 ) );
+	}
+
+	public void testReaderSharedUntilIndexChanges() throws Exception {
+		ReaderProvider readerProvider = getIndexManager().getReaderProvider();
+		IndexReader first = readerProvider.openIndexReader();
+		IndexReader second = readerProvider.openIndexReader();
+		try {
+			assertSame( first, second );
+		}
+		finally {
+			readerProvider.closeIndexReader( second );
+		}
+
+		Session s = openSession();
+		Transaction tx = s.beginTransaction();
+		Detective detective = new Detective();
+		detective.setName( "Jane Doe" );
+		s.persist( detective );
+		tx.commit();
+		s.close();
+
+		IndexReader third = awaitNewReader( readerProvider, first );
+		try {
+			assertNotSame( first, third );
+			assertEquals( 1, third.numDocs() );
+			// still usable by queries which didn't release it yet
+			assertEquals( 0, first.numDocs() );
+		}
+		finally {
+			readerProvider.closeIndexReader( third );
+			readerProvider.closeIndexReader( first );
+		}
+		assertEquals( 0, first.getRefCount() );
+	}
+
+	public void testChangesFromOtherWritersVisibleAfterInterval() throws Exception {
+		DirectoryBasedIndexManager indexManager = getIndexManager();
+		IndexWriterConfig writerConfig = new IndexWriterConfig( Environment.DEFAULT_LUCENE_MATCH_VERSION, new SimpleAnalyzer( Environment.DEFAULT_LUCENE_MATCH_VERSION ) );
+		IndexWriter writer = new IndexWriter( indexManager.getDirectoryProvider().getDirectory(), writerConfig );
+		try {
+			Document document = new Document();
+			document.add( new Field( "name", "external", Field.Store.NO, Field.Index.NOT_ANALYZED ) );
+			writer.addDocument( document );
+		}
+		finally {
+			writer.close();
+		}
+
+		assertEquals( 1, awaitIndexedDocuments( 1 ) );
+	}
+
+	private int awaitCountByName(Session s, String name, int expected) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + TIMEOUT;
+		int count = countByName( s, name );
+		while ( count != expected && System.currentTimeMillis() < deadline ) {
+			Thread.sleep( 10 );
+			count = countByName( s, name );
+		}
+		return count;
+	}
+
+	private int awaitIndexedDocuments(int expected) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + TIMEOUT;
+		int count = countIndexedDocuments();
+		while ( count != expected && System.currentTimeMillis() < deadline ) {
+			Thread.sleep( 10 );
+			count = countIndexedDocuments();
+		}
+		return count;
+	}
+
+	private IndexReader awaitNewReader(ReaderProvider readerProvider, IndexReader previous) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + TIMEOUT;
+		IndexReader reader = readerProvider.openIndexReader();
+		while ( reader == previous && System.currentTimeMillis() < deadline ) {
+			readerProvider.closeIndexReader( reader );
+			Thread.sleep( 10 );
+			reader = readerProvider.openIndexReader();
+		}
+		return reader;
+	}
+
+	private int countByName(Session s, String name) {
+		FullTextSession fts = Search.getFullTextSession( s );
+		Query q = new TermQuery( new Term( "name", name ) );
+		return fts.createFullTextQuery( q, Detective.class ).getResultSize();
+	}
+
+	private int countIndexedDocuments() {
+		ReaderProvider readerProvider = getIndexManager().getReaderProvider();
+		IndexReader reader = readerProvider.openIndexReader();
+		try {
+			return reader.numDocs();
+		}
+		finally {
+			readerProvider.closeIndexReader( reader );
+		}
+	}
+
+	private DirectoryBasedIndexManager getIndexManager() {
+		return (DirectoryBasedIndexManager) getSearchFactoryImpl().getAllIndexesManager()
+				.getIndexManager( Detective.class.getName() );
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( "hibernate.search.default." + Environment.READER_STRATEGY, "background-refresh" );
+		cfg.setProperty( "hibernate.search.default." + Environment.READER_REFRESH_INTERVAL, "20" );
+		cfg.setProperty( "hibernate.search.default." + Environment.EXCLUSIVE_INDEX_USE, "false" );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] {
+				Detective.class
+		};
+	}
+
+}
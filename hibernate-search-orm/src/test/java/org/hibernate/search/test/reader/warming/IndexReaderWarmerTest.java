@@ -0,0 +1,220 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.test.reader.warming;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.search.FieldCache;
+import org.apache.lucene.util.ReaderUtil;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.search.Environment;
+import org.hibernate.search.ProjectionConstants;
+import org.hibernate.search.indexes.impl.DirectoryBasedIndexManager;
+import org.hibernate.search.indexes.spi.IndexReaderWarmer;
+import org.hibernate.search.indexes.spi.ReaderProvider;
+import org.hibernate.search.test.SearchTestCase;
+import org.hibernate.search.test.engine.Country;
+import org.hibernate.search.test.engine.Location;
+import org.hibernate.search.test.engine.PinPoint;
+
+/**
+ * Verifies that the configured IndexReaderWarmers are applied to the new segments
+ * of a refreshed IndexReader, before any query can use it.
+ */
+public class IndexReaderWarmerTest extends SearchTestCase {
+
+	public void testFieldCacheWarmedFromMapping() throws Exception {
+		storeLocations( 0, 10 );
+		ReaderProvider readerProvider = getIndexManager().getReaderProvider();
+		IndexReader reader = readerProvider.openIndexReader();
+		try {
+			for ( IndexReader segment : gatherSegments( reader ) ) {
+				Set<String> warmedFields = getFieldCacheEntries( segment );
+				// @CacheFromIndex({CLASS,ID})
+				assertTrue( warmedFields.contains( ProjectionConstants.OBJECT_CLASS ) );
+				assertTrue( warmedFields.contains( "overridenFieldName" ) );
+				// @NumericField
+				assertTrue( warmedFields.contains( "myCounter" ) );
+				assertTrue( warmedFields.contains( "ranking" ) );
+				assertTrue( warmedFields.contains( "country.idh" ) );
+				// listed in the sort fields
+				assertTrue( warmedFields.contains( "description" ) );
+				// multi-valued, from an embedded collection
+				assertFalse( warmedFields.contains( "pinPoints.stars" ) );
+			}
+		}
+		finally {
+			readerProvider.closeIndexReader( reader );
+		}
+	}
+
+	public void testOnlyNewSegmentsWarmed() throws Exception {
+		storeLocations( 0, 10 );
+		ReaderProvider readerProvider = getIndexManager().getReaderProvider();
+		IndexReader reader = readerProvider.openIndexReader();
+		List<IndexReader> segments;
+		try {
+			segments = gatherSegments( reader );
+		}
+		finally {
+			readerProvider.closeIndexReader( reader );
+		}
+		SegmentRecordingWarmer.warmedSegments.clear();
+
+		storeLocations( 10, 11 );
+		reader = readerProvider.openIndexReader();
+		try {
+			List<IndexReader> newSegments = gatherSegments( reader );
+			Set<Object> expected = new HashSet<Object>();
+			for ( IndexReader segment : newSegments ) {
+				expected.add( segment.getCoreCacheKey() );
+			}
+			for ( IndexReader segment : segments ) {
+				expected.remove( segment.getCoreCacheKey() );
+			}
+			assertFalse( expected.isEmpty() );
+			assertEquals( expected, new HashSet<Object>( SegmentRecordingWarmer.warmedSegments ) );
+		}
+		finally {
+			readerProvider.closeIndexReader( reader );
+		}
+	}
+
+	public void testRefreshAfterWarmerError() throws Exception {
+		storeLocations( 0, 10 );
+		ReaderProvider readerProvider = getIndexManager().getReaderProvider();
+		readerProvider.closeIndexReader( readerProvider.openIndexReader() );
+
+		storeLocations( 10, 11 );
+		FailingWarmer.fail = true;
+		try {
+			readerProvider.openIndexReader();
+			fail( "the warmer error should be propagated" );
+		}
+		catch (WarmingError e) {
+			// expected
+		}
+		finally {
+			FailingWarmer.fail = false;
+		}
+
+		// the next refresh must not wait for nor reuse the reader which failed warming
+		storeLocations( 11, 12 );
+		IndexReader reader = readerProvider.openIndexReader();
+		try {
+			assertEquals( 12, reader.numDocs() );
+		}
+		finally {
+			readerProvider.closeIndexReader( reader );
+		}
+	}
+
+	private void storeLocations(int from, int to) {
+		Session session = openSession();
+		Transaction tx = session.beginTransaction();
+		Country italy = new Country( "Italy", 39d );
+		for ( int i = from; i < to; i++ ) {
+			session.persist( new Location( i, Long.valueOf( i ), 7 * i, Double.valueOf( 9 * i ), Integer.valueOf( 100 - i ),
+					String.valueOf( i ) + "42", null, italy, BigDecimal.ONE ) );
+		}
+		tx.commit();
+		session.close();
+	}
+
+	private Set<String> getFieldCacheEntries(IndexReader segment) {
+		Set<String> fields = new HashSet<String>();
+		for ( FieldCache.CacheEntry entry : FieldCache.DEFAULT.getCacheEntries() ) {
+			if ( entry.getReaderKey() == segment.getCoreCacheKey() ) {
+				fields.add( entry.getFieldName() );
+			}
+		}
+		return fields;
+	}
+
+	private static List<IndexReader> gatherSegments(IndexReader reader) {
+		List<IndexReader> segments = new ArrayList<IndexReader>();
+		ReaderUtil.gatherSubReaders( segments, reader );
+		return segments;
+	}
+
+	private DirectoryBasedIndexManager getIndexManager() {
+		return (DirectoryBasedIndexManager) getSearchFactoryImpl().getAllIndexesManager()
+				.getIndexManager( "numeric_field_test" );
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( "hibernate.search.default." + Environment.READER_WARMER,
+				"field-cache, " + SegmentRecordingWarmer.class.getName() + ", " + FailingWarmer.class.getName() );
+		cfg.setProperty( "hibernate.search.default." + Environment.READER_WARMER_SORT_FIELDS, "description" );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { PinPoint.class, Location.class };
+	}
+
+	public static class SegmentRecordingWarmer implements IndexReaderWarmer {
+
+		static final List<Object> warmedSegments = new ArrayList<Object>();
+
+		@Override
+		public void initialize(DirectoryBasedIndexManager indexManager, Properties props) {
+		}
+
+		@Override
+		public void warm(IndexReader segmentReader) throws IOException {
+			synchronized ( warmedSegments ) {
+				warmedSegments.add( segmentReader.getCoreCacheKey() );
+			}
+		}
+	}
+
+	public static class FailingWarmer implements IndexReaderWarmer {
+
+		static volatile boolean fail = false;
+
+		@Override
+		public void initialize(DirectoryBasedIndexManager indexManager, Properties props) {
+		}
+
+		@Override
+		public void warm(IndexReader segmentReader) throws IOException {
+			if ( fail ) {
+				throw new WarmingError();
+			}
+		}
+	}
+
+	private static class WarmingError extends Error {
+	}
+
+}
@@ -80,6 +80,16 @@ public class DirectoryProviderForQueryTest extends SearchTestCase {
 		// index is not a field on the entity; the only way to filter on this is by shard
 		fullTextQuery.enableFullTextFilter("shard").setParameter("index", 0);
 		assertEquals( "Query with filter should bring back results from only one shard.", 1, fullTextQuery.list().size() );		
+
+		// the shards to query depend on the filter parameters
+		fullTextQuery.enableFullTextFilter( "shard" ).setParameter( "index", 1 );
+		List otherShardResults = fullTextQuery.list();
+		assertEquals( "Query with filter should bring back results from only one shard.", 1, otherShardResults.size() );
+		fullTextQuery.enableFullTextFilter( "shard" ).setParameter( "index", 0 );
+		assertFalse( "Each shard should bring back a different result.", otherShardResults.equals( fullTextQuery.list() ) );
+
+		fullTextQuery.disableFullTextFilter( "shard" );
+		assertEquals( "Query with no filter should bring back results from both shards.", 2, fullTextQuery.list().size() );
 		
 		for (Object o : results) s.delete( o );
 		tx.commit();
@@ -0,0 +1,172 @@
+/* 
+ * Hibernate, Relational Persistence for Idiomatic Java
+ * 
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.search.test.shards;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.DocIdSet;
+import org.apache.lucene.search.Filter;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.QueryWrapperFilter;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.search.Environment;
+import org.hibernate.search.FullTextQuery;
+import org.hibernate.search.FullTextSession;
+import org.hibernate.search.Search;
+import org.hibernate.search.test.SearchTestCase;
+
+/**
+ * Tests the queries searching the shards of an index in parallel:
+ * see {@link Environment#QUERY_PARALLEL_THREADPOOL_SIZE}.
+ */
+public class ParallelShardsTest extends SearchTestCase {
+
+	private static final int ANIMALS = 40;
+
+	private FullTextSession session;
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		Session s = openSession();
+		Transaction tx = s.beginTransaction();
+		for ( int i = 0; i < ANIMALS; i++ ) {
+			Animal animal = new Animal();
+			animal.setId( i );
+			animal.setName( name( i ) );
+			s.persist( animal );
+		}
+		tx.commit();
+		s.close();
+		session = Search.getFullTextSession( openSession() );
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		session.close();
+		super.tearDown();
+	}
+
+	public void testSortedPagesSpanAllShards() {
+		FullTextQuery query = session.createFullTextQuery( new MatchAllDocsQuery(), Animal.class )
+				.setSort( new Sort( new SortField( "name", SortField.STRING ) ) )
+				.setFirstResult( 5 )
+				.setMaxResults( 10 );
+		assertEquals( ANIMALS, query.getResultSize() );
+		assertEquals( ids( 5, 15 ), listIds( query ) );
+		query.setSort( new Sort( new SortField( "name", SortField.STRING, true ) ) );
+		assertEquals( reverse( ids( ANIMALS - 15, ANIMALS - 5 ) ), listIds( query ) );
+	}
+
+	public void testScoresAreComparedAcrossShards() {
+		BooleanQuery luceneQuery = new BooleanQuery();
+		for ( int i = 0; i < 10; i++ ) {
+			TermQuery clause = new TermQuery( new Term( "name", name( i ) ) );
+			clause.setBoost( i + 1 );
+			luceneQuery.add( clause, BooleanClause.Occur.SHOULD );
+		}
+		FullTextQuery query = session.createFullTextQuery( luceneQuery, Animal.class ).setMaxResults( 5 );
+		assertEquals( reverse( ids( 5, 10 ) ), listIds( query ) );
+		assertEquals( 10, query.getResultSize() );
+	}
+
+	public void testAllHitsAreListedWithoutMaxResults() {
+		FullTextQuery query = session.createFullTextQuery( new MatchAllDocsQuery(), Animal.class )
+				.setSort( new Sort( new SortField( "name", SortField.STRING ) ) );
+		assertEquals( ids( 0, ANIMALS ), listIds( query ) );
+	}
+
+	public void testShardsAreSearchedInParallel() {
+		ThreadRecordingFilter filter = new ThreadRecordingFilter();
+		session.createFullTextQuery( new MatchAllDocsQuery(), Animal.class )
+				.setFilter( filter )
+				.setMaxResults( 5 )
+				.list();
+		assertTrue( "Shards were searched by the threads " + filter.threadNames, filter.threadNames.size() > 1 );
+	}
+
+	private List<Integer> listIds(FullTextQuery query) {
+		List<Integer> ids = new ArrayList<Integer>();
+		for ( Object animal : query.list() ) {
+			ids.add( ( (Animal) animal ).getId() );
+		}
+		return ids;
+	}
+
+	private static List<Integer> ids(int from, int to) {
+		List<Integer> ids = new ArrayList<Integer>();
+		for ( int i = from; i < to; i++ ) {
+			ids.add( i );
+		}
+		return ids;
+	}
+
+	private static List<Integer> reverse(List<Integer> ids) {
+		Collections.reverse( ids );
+		return ids;
+	}
+
+	/**
+	 * @return a name made of letters only, sorting as the id
+	 */
+	private static String name(int id) {
+		return "animal" + (char) ( 'a' + id / 26 ) + (char) ( 'a' + id % 26 );
+	}
+
+	private static class ThreadRecordingFilter extends Filter {
+
+		private final Filter delegate = new QueryWrapperFilter( new MatchAllDocsQuery() );
+		private final Set<String> threadNames = Collections.synchronizedSet( new HashSet<String>() );
+
+		@Override
+		public DocIdSet getDocIdSet(IndexReader reader) throws IOException {
+			threadNames.add( Thread.currentThread().getName() );
+			return delegate.getDocIdSet( reader );
+		}
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( "hibernate.search.Animal.sharding_strategy.nbr_of_shards", "3" );
+		cfg.setProperty( Environment.QUERY_PARALLEL_THREADPOOL_SIZE, "2" );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Animal.class };
+	}
+}